@@ -0,0 +1,151 @@
+package com.logreposit.logrepositapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Deterministic sample definitions and readings shared by the benchmarks. */
+public final class BenchmarkData {
+  private static final DataType[] DATA_TYPES = {
+    DataType.FLOAT, DataType.INTEGER, DataType.STRING
+  };
+
+  private static final int TAGS_PER_MEASUREMENT = 3;
+
+  private BenchmarkData() {}
+
+  /** Returns an object mapper configured like the one of the application. */
+  public static ObjectMapper objectMapper() {
+    return JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+
+  public static DeviceDefinition definition(int measurements, int fieldsPerMeasurement) {
+    final var definition = new DeviceDefinition();
+
+    for (var m = 0; m < measurements; m++) {
+      final var measurement = new MeasurementDefinition();
+      final var tags = new HashSet<String>();
+      final var fields = new HashSet<FieldDefinition>();
+
+      for (var t = 0; t < TAGS_PER_MEASUREMENT; t++) {
+        tags.add("tag_" + t);
+      }
+
+      for (var f = 0; f < fieldsPerMeasurement; f++) {
+        final var field = new FieldDefinition();
+
+        field.setName("field_" + f);
+        field.setDatatype(dataType(f));
+        field.setDescription("Field " + f);
+
+        fields.add(field);
+      }
+
+      measurement.setName("measurement_" + m);
+      measurement.setTags(tags);
+      measurement.setFields(fields);
+
+      definition.getMeasurements().add(measurement);
+    }
+
+    return definition;
+  }
+
+  /**
+   * Returns readings matching the given definition, cycling through its measurements. Every
+   * reading contains all tags and fields of its measurement.
+   */
+  public static List<ReadingDto> readings(DeviceDefinition definition, int count) {
+    final var measurements = definition.getMeasurements();
+    final var readings = new ArrayList<ReadingDto>(count);
+    final var start = Instant.parse("2024-01-01T00:00:00Z");
+
+    for (var i = 0; i < count; i++) {
+      final var measurement = measurements.get(i % measurements.size());
+      final var reading = new ReadingDto();
+
+      reading.setDate(start.plusSeconds(i));
+      reading.setMeasurement(measurement.getName());
+      reading.setTags(tags(measurement.getTags()));
+      reading.setFields(fields(measurement.getFields(), i));
+
+      readings.add(reading);
+    }
+
+    return readings;
+  }
+
+  private static List<TagDto> tags(Set<String> names) {
+    final var tags = new ArrayList<TagDto>(names.size());
+
+    for (final var name : names) {
+      final var tag = new TagDto();
+
+      tag.setName(name);
+      tag.setValue(name + "_value");
+
+      tags.add(tag);
+    }
+
+    return tags;
+  }
+
+  private static List<FieldDto> fields(Set<FieldDefinition> definitions, int seed) {
+    final var fields = new ArrayList<FieldDto>(definitions.size());
+
+    for (final var definition : definitions) {
+      final FieldDto field =
+          switch (definition.getDatatype()) {
+            case FLOAT -> {
+              final var floatField = new FloatFieldDto();
+
+              floatField.setValue(seed * 0.5);
+
+              yield floatField;
+            }
+            case INTEGER -> {
+              final var integerField = new IntegerFieldDto();
+
+              integerField.setValue((long) seed);
+
+              yield integerField;
+            }
+            case STRING -> {
+              final var stringField = new StringFieldDto();
+
+              stringField.setValue("value_" + seed);
+
+              yield stringField;
+            }
+          };
+
+      field.setName(definition.getName());
+
+      fields.add(field);
+    }
+
+    return fields;
+  }
+
+  private static DataType dataType(int index) {
+    return DATA_TYPES[index % DATA_TYPES.length];
+  }
+}
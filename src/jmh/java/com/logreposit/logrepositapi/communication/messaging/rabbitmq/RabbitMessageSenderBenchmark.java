@@ -0,0 +1,78 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.utils.MessageFactory;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building and serializing messages into AMQP messages, without publishing them. The payload is
+ * serialized along with the envelope, so this covers the whole cost of turning readings into a
+ * message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RabbitMessageSenderBenchmark {
+  @Param({"STRING", "EMBEDDED"})
+  private ApplicationConfiguration.MessagePayloadFormat payloadFormat;
+
+  @Param({"1", "1000"})
+  private int readings;
+
+  private RabbitMessageSender rabbitMessageSender;
+  private MessageFactory messageFactory;
+  private List<ReadingDto> readingDtos;
+  private ReadingBatch readingBatch;
+
+  @Setup
+  public void setUp() throws IOException {
+    final var objectMapper = BenchmarkData.objectMapper();
+    final var applicationConfiguration = new ApplicationConfiguration();
+
+    applicationConfiguration.getMessagePublisher().setPayloadFormat(this.payloadFormat);
+
+    this.rabbitMessageSender =
+        new RabbitMessageSender(applicationConfiguration, objectMapper, null);
+    this.messageFactory = new MessageFactory();
+    this.readingDtos = BenchmarkData.readings(BenchmarkData.definition(5, 20), this.readings);
+    this.readingBatch = ReadingBatch.of(this.readingDtos);
+  }
+
+  @Benchmark
+  public org.springframework.amqp.core.Message buildAmqpMessage()
+      throws IOException, MessageSenderException {
+    return this.rabbitMessageSender.buildAmqpMessage(this.buildMessage(this.readingDtos));
+  }
+
+  @Benchmark
+  public org.springframework.amqp.core.Message buildAmqpMessageFromBatch()
+      throws IOException, MessageSenderException {
+    return this.rabbitMessageSender.buildAmqpMessage(this.buildMessage(this.readingBatch));
+  }
+
+  private Message buildMessage(List<ReadingDto> readings) throws IOException {
+    return this.messageFactory.buildEventGenericLogdataReceivedMessage(
+        readings, "6374a55ae4b0b5e3c9d6d1a4", "6374a55ae4b0b5e3c9d6d1a3");
+  }
+}
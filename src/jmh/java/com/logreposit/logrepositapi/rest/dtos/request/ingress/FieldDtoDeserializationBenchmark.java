@@ -0,0 +1,48 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Deserialization of ingress requests with polymorphic {@link FieldDto} values. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldDtoDeserializationBenchmark {
+  @Param({"1", "1000"})
+  private int readings;
+
+  private ObjectReader reader;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException {
+    final var objectMapper = BenchmarkData.objectMapper();
+    final var request = new IngressV2RequestDto();
+
+    request.setReadings(BenchmarkData.readings(BenchmarkData.definition(5, 20), this.readings));
+
+    this.reader = objectMapper.readerFor(IngressV2RequestDto.class);
+    this.payload = objectMapper.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public IngressV2RequestDto deserialize() throws IOException {
+    return this.reader.readValue(this.payload);
+  }
+}
@@ -0,0 +1,122 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IngressV2RequestDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing of the same readings from an InfluxDB line protocol body and from a JSON body, both read
+ * one by one as on the streaming ingress paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineProtocolReaderBenchmark {
+  private static final Instant DEFAULT_DATE = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Param({"1", "1000"})
+  private int readings;
+
+  private ObjectMapper objectMapper;
+  private byte[] json;
+  private byte[] lineProtocol;
+
+  @Setup
+  public void setUp() throws IOException {
+    final var readingDtos =
+        BenchmarkData.readings(BenchmarkData.definition(5, 20), this.readings);
+    final var request = new IngressV2RequestDto();
+
+    request.setReadings(readingDtos);
+
+    this.objectMapper = BenchmarkData.objectMapper();
+    this.json = this.objectMapper.writeValueAsBytes(request);
+    this.lineProtocol = toLineProtocol(readingDtos);
+  }
+
+  @Benchmark
+  public void lineProtocol(Blackhole blackhole) throws Exception {
+    try (final var reader =
+        new LineProtocolReader(
+            new ByteArrayInputStream(this.lineProtocol),
+            LineProtocolPrecision.NANOSECONDS,
+            DEFAULT_DATE)) {
+      readAll(reader, blackhole);
+    }
+  }
+
+  @Benchmark
+  public void json(Blackhole blackhole) throws Exception {
+    try (final var reader =
+        new ReadingStreamReader(this.objectMapper, new ByteArrayInputStream(this.json))) {
+      readAll(reader, blackhole);
+    }
+  }
+
+  private static void readAll(ReadingReader reader, Blackhole blackhole) throws Exception {
+    for (var reading = reader.next(); reading != null; reading = reader.next()) {
+      blackhole.consume(reading);
+    }
+  }
+
+  private static byte[] toLineProtocol(List<ReadingDto> readings) {
+    final var lines = new StringBuilder();
+
+    for (final var reading : readings) {
+      lines.append(reading.getMeasurement());
+
+      for (final var tag : reading.getTags()) {
+        lines.append(',').append(tag.getName()).append('=').append(tag.getValue());
+      }
+
+      var separator = ' ';
+
+      for (final FieldDto field : reading.getFields()) {
+        lines.append(separator).append(field.getName()).append('=');
+
+        switch (field) {
+          case FloatFieldDto f -> lines.append(f.getValue());
+          case IntegerFieldDto i -> lines.append(i.getValue()).append('i');
+          case StringFieldDto s -> lines.append('"').append(s.getValue()).append('"');
+          default -> throw new IllegalArgumentException("Unknown field " + field);
+        }
+
+        separator = ',';
+      }
+
+      lines
+          .append(' ')
+          .append(ChronoUnit.NANOS.between(Instant.EPOCH, reading.getDate()))
+          .append('\n');
+    }
+
+    return lines.toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
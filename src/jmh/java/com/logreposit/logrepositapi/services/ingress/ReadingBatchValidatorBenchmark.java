@@ -0,0 +1,68 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.utils.definition.DefinitionValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validation of ingress readings, with bean validation followed by the definition check and with the
+ * batch validator, which checks both in one pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadingBatchValidatorBenchmark {
+  @Param({"1", "1000"})
+  private int readings;
+
+  private Validator validator;
+  private DeviceDefinition definition;
+  private List<ReadingDto> readingDtos;
+  private ReadingBatch readingBatch;
+
+  @Setup
+  public void setUp() {
+    this.validator = Validation.buildDefaultValidatorFactory().getValidator();
+    this.definition = BenchmarkData.definition(5, 20);
+    this.readingDtos = BenchmarkData.readings(this.definition, this.readings);
+    this.readingBatch = ReadingBatch.of(this.readingDtos);
+  }
+
+  @Benchmark
+  public int beanValidation() {
+    var violations = 0;
+
+    for (final var reading : this.readingDtos) {
+      violations += this.validator.validate(reading).size();
+    }
+
+    DefinitionValidator.forDefinition(this.definition).validate(this.readingDtos);
+
+    return violations;
+  }
+
+  @Benchmark
+  public void readingBatchValidator() throws ReadingValidationException {
+    ReadingBatchValidator.forDefinition(this.definition).validate(this.readingBatch);
+  }
+}
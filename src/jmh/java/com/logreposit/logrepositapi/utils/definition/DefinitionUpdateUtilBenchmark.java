@@ -0,0 +1,48 @@
+package com.logreposit.logrepositapi.utils.definition;
+
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinitionUpdateUtilBenchmark {
+  @Param({"10", "200"})
+  private int measurements;
+
+  @Param({"20"})
+  private int fieldsPerMeasurement;
+
+  private DeviceDefinition existingDefinition;
+  private DeviceDefinition newDefinition;
+
+  @Setup
+  public void setUp() {
+    this.existingDefinition =
+        BenchmarkData.definition(this.measurements, this.fieldsPerMeasurement);
+
+    // The new definition adds measurements and fields, like a device which got new sensors.
+    this.newDefinition =
+        BenchmarkData.definition(this.measurements + 1, this.fieldsPerMeasurement + 1);
+  }
+
+  @Benchmark
+  public DeviceDefinition updateDefinition() {
+    return DefinitionUpdateUtil.updateDefinition(this.existingDefinition, this.newDefinition);
+  }
+}
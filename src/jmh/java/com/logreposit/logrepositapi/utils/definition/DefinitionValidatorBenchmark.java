@@ -0,0 +1,49 @@
+package com.logreposit.logrepositapi.utils.definition;
+
+import com.logreposit.logrepositapi.benchmarks.BenchmarkData;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinitionValidatorBenchmark {
+  @Param({"10", "200"})
+  private int measurements;
+
+  @Param({"20"})
+  private int fieldsPerMeasurement;
+
+  @Param({"1", "1000"})
+  private int readings;
+
+  private DeviceDefinition definition;
+  private List<ReadingDto> readingDtos;
+
+  @Setup
+  public void setUp() {
+    this.definition = BenchmarkData.definition(this.measurements, this.fieldsPerMeasurement);
+    this.readingDtos = BenchmarkData.readings(this.definition, this.readings);
+  }
+
+  @Benchmark
+  public void validate() {
+    DefinitionValidator.forDefinition(this.definition).validate(this.readingDtos);
+  }
+}
@@ -0,0 +1,237 @@
+package com.logreposit.logrepositapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfiguration;
+import com.logreposit.logrepositapi.rest.dtos.request.DeviceCreationRequestDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IngressV2RequestDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import com.logreposit.logrepositapi.rest.dtos.shared.definition.DeviceDefinitionDto;
+import com.logreposit.logrepositapi.rest.dtos.shared.definition.FieldDefinitionDto;
+import com.logreposit.logrepositapi.rest.dtos.shared.definition.MeasurementDefinitionDto;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Provisions the simulated devices and builds their ingress payloads. */
+class DeviceFleet {
+  private final LoadTestOptions options;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+
+  DeviceFleet(LoadTestOptions options, HttpClient httpClient, ObjectMapper objectMapper) {
+    this.options = options;
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Creates the devices via {@code /v1/devices}, a token for each of them and pushes their
+   * definitions.
+   */
+  List<SimulatedDevice> provision() throws IOException, InterruptedException {
+    final var devices = new ArrayList<SimulatedDevice>(this.options.devices());
+    final var random = new Random(42);
+
+    for (var i = 0; i < this.options.devices(); i++) {
+      final var deviceCreationRequest = new DeviceCreationRequestDto();
+
+      deviceCreationRequest.setName("loadtest-device-" + i);
+
+      final var deviceId =
+          this.send(
+                  apiKeyRequest("/v1/devices")
+                      .POST(this.body(deviceCreationRequest))
+                      .header("Content-Type", "application/json"),
+                  201)
+              .path("data")
+              .path("id")
+              .asText();
+
+      final var token =
+          this.send(
+                  apiKeyRequest("/v1/devices/" + deviceId + "/tokens")
+                      .POST(HttpRequest.BodyPublishers.noBody()),
+                  201)
+              .path("data")
+              .path("token")
+              .asText();
+
+      final var device = new SimulatedDevice(deviceId, token, this.definition(random));
+
+      this.send(
+          deviceTokenRequest(device, "/v2/ingress/definition")
+              .PUT(this.body(device.definition()))
+              .header("Content-Type", "application/json"),
+          200);
+
+      devices.add(device);
+    }
+
+    return devices;
+  }
+
+  /** Builds a request body with readings for all measurements of the device. */
+  byte[] payload(SimulatedDevice device) throws IOException {
+    final var random = ThreadLocalRandom.current();
+    final var measurements = device.definition().getMeasurements();
+    final var request = new IngressV2RequestDto();
+    final var now = Instant.now();
+
+    for (var i = 0; i < this.options.readings(); i++) {
+      final var measurement = measurements.get(i % measurements.size());
+      final var reading = new ReadingDto();
+
+      reading.setDate(now.minusMillis(this.options.readings() - i));
+      reading.setMeasurement(measurement.getName());
+      reading.setTags(tags(measurement.getTags()));
+      reading.setFields(fields(measurement.getFields(), random));
+
+      request.getReadings().add(reading);
+    }
+
+    return this.objectMapper.writeValueAsBytes(request);
+  }
+
+  HttpRequest.Builder deviceTokenRequest(SimulatedDevice device, String path) {
+    return HttpRequest.newBuilder(this.options.baseUrl().resolve(path))
+        .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, device.token());
+  }
+
+  private HttpRequest.Builder apiKeyRequest(String path) {
+    return HttpRequest.newBuilder(this.options.baseUrl().resolve(path))
+        .header(LogrepositWebMvcConfiguration.API_KEY_HEADER_NAME, this.options.apiKey());
+  }
+
+  private JsonNode send(HttpRequest.Builder request, int expectedStatus)
+      throws IOException, InterruptedException {
+    final var builtRequest = request.build();
+    final var response =
+        this.httpClient.send(builtRequest, HttpResponse.BodyHandlers.ofByteArray());
+
+    if (response.statusCode() != expectedStatus) {
+      throw new IOException(
+          String.format(
+              "%s %s returned %d: %s",
+              builtRequest.method(),
+              builtRequest.uri(),
+              response.statusCode(),
+              new String(response.body())));
+    }
+
+    return this.objectMapper.readTree(response.body());
+  }
+
+  private HttpRequest.BodyPublisher body(Object value) throws IOException {
+    return HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(value));
+  }
+
+  private DeviceDefinitionDto definition(Random random) {
+    final var definition = new DeviceDefinitionDto();
+
+    for (var m = 0; m < this.options.measurements(); m++) {
+      final var measurement = new MeasurementDefinitionDto();
+
+      measurement.setName("measurement_" + m);
+      measurement.setTags(Set.of("location", "sensor"));
+
+      for (var f = 0; f < this.options.fields(); f++) {
+        final var field = new FieldDefinitionDto();
+
+        field.setName("field_" + f);
+        field.setDatatype(this.randomDataType(random));
+
+        measurement.getFields().add(field);
+      }
+
+      definition.getMeasurements().add(measurement);
+    }
+
+    return definition;
+  }
+
+  private DataType randomDataType(Random random) {
+    final var fieldMix = this.options.fieldMix();
+    final var total = fieldMix.values().stream().mapToInt(Integer::intValue).sum();
+
+    var value = random.nextInt(total);
+
+    for (final var entry : fieldMix.entrySet()) {
+      value -= entry.getValue();
+
+      if (value < 0) {
+        return entry.getKey();
+      }
+    }
+
+    throw new IllegalStateException("field-mix weights are inconsistent");
+  }
+
+  private static List<TagDto> tags(Set<String> names) {
+    final var tags = new ArrayList<TagDto>(names.size());
+
+    for (final var name : names) {
+      final var tag = new TagDto();
+
+      tag.setName(name);
+      tag.setValue(name + "_1");
+
+      tags.add(tag);
+    }
+
+    return tags;
+  }
+
+  private static List<FieldDto> fields(
+      List<FieldDefinitionDto> definitions, ThreadLocalRandom random) {
+    final var fields = new ArrayList<FieldDto>(definitions.size());
+
+    for (final var definition : definitions) {
+      final FieldDto field =
+          switch (definition.getDatatype()) {
+            case FLOAT -> {
+              final var floatField = new FloatFieldDto();
+
+              floatField.setValue(random.nextDouble(-20, 40));
+
+              yield floatField;
+            }
+            case INTEGER -> {
+              final var integerField = new IntegerFieldDto();
+
+              integerField.setValue(random.nextLong(0, 10_000));
+
+              yield integerField;
+            }
+            case STRING -> {
+              final var stringField = new StringFieldDto();
+
+              stringField.setValue("state_" + random.nextInt(10));
+
+              yield stringField;
+            }
+          };
+
+      field.setName(definition.getName());
+
+      fields.add(field);
+    }
+
+    return fields;
+  }
+
+  record SimulatedDevice(String id, String token, DeviceDefinitionDto definition) {}
+}
@@ -0,0 +1,235 @@
+package com.logreposit.logrepositapi.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.logreposit.logrepositapi.loadtest.DeviceFleet.SimulatedDevice;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Simulates a fleet of devices pushing data to the ingress endpoint.
+ *
+ * <p>Requests are scheduled by an open model: each request has an intended start time derived from
+ * the configured rate, independent of how long earlier requests took. Latencies are measured from
+ * that intended start time, so a stalled server shows up in the percentiles instead of silently
+ * lowering the request rate (coordinated omission).
+ *
+ * <p>Latencies are written as HdrHistogram percentile distribution ({@code latency.hgrm}) and as
+ * interval log with one histogram per second ({@code latency.hlog}) into the output directory.
+ */
+public class DeviceFleetLoadGenerator {
+  private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+  private static final double MICROS_PER_MILLISECOND = 1000.0;
+
+  private final LoadTestOptions options;
+  private final HttpClient httpClient;
+  private final DeviceFleet deviceFleet;
+  private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_LATENCY_MICROS, 3);
+  private final LongAdder succeeded = new LongAdder();
+  private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+  DeviceFleetLoadGenerator(LoadTestOptions options) {
+    final var objectMapper =
+        JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    this.options = options;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    this.deviceFleet = new DeviceFleet(options, this.httpClient, objectMapper);
+  }
+
+  public static void main(String[] args) throws Exception {
+    final LoadTestOptions options;
+
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println("See LoadTestOptions for the available arguments.");
+      System.exit(2);
+
+      return;
+    }
+
+    new DeviceFleetLoadGenerator(options).run();
+  }
+
+  void run() throws IOException, InterruptedException {
+    System.out.printf("Provisioning %d devices at %s ...%n", options.devices(), options.baseUrl());
+
+    final var devices = this.deviceFleet.provision();
+
+    System.out.printf(
+        "Sending %.1f requests/s with %d readings each (%s arrivals), warmup %s, duration %s ...%n",
+        options.rate(),
+        options.readings(),
+        options.arrivals(),
+        options.warmup(),
+        options.duration());
+
+    Files.createDirectories(options.output());
+
+    final var total = new Histogram(HIGHEST_TRACKABLE_LATENCY_MICROS, 3);
+
+    try (final var hlog = new PrintStream(options.output().resolve("latency.hlog").toFile());
+        final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var logWriter = new HistogramLogWriter(hlog);
+      final var start = System.nanoTime();
+      final var measurementStart = start + options.warmup().toNanos();
+      final var end = measurementStart + options.duration().toNanos();
+
+      logWriter.outputLogFormatVersion();
+      logWriter.outputLegend();
+
+      final var scheduler =
+          Thread.ofPlatform()
+              .name("loadtest-scheduler")
+              .start(() -> this.schedule(devices, executor, start, measurementStart, end));
+
+      Histogram interval = null;
+
+      while (scheduler.isAlive()) {
+        scheduler.join(1000);
+
+        interval = this.recorder.getIntervalHistogram(interval);
+
+        if (interval.getTotalCount() > 0) {
+          logWriter.outputIntervalHistogram(interval);
+          total.add(interval);
+        }
+      }
+
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+
+      interval = this.recorder.getIntervalHistogram(interval);
+      logWriter.outputIntervalHistogram(interval);
+      total.add(interval);
+    }
+
+    this.report(total);
+  }
+
+  private void schedule(
+      List<SimulatedDevice> devices,
+      ExecutorService executor,
+      long start,
+      long measurementStart,
+      long end) {
+    final var meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+    var intendedStart = (double) start;
+    var request = 0L;
+
+    while (intendedStart < end) {
+      final var scheduledStart = (long) intendedStart;
+      final var device = devices.get((int) (request++ % devices.size()));
+      final var delay = scheduledStart - System.nanoTime();
+
+      if (delay > 0) {
+        LockSupport.parkNanos(delay);
+      }
+
+      executor.execute(() -> this.send(device, scheduledStart, scheduledStart >= measurementStart));
+
+      intendedStart += nextInterval(meanIntervalNanos);
+    }
+  }
+
+  private double nextInterval(double meanIntervalNanos) {
+    if (options.arrivals() == LoadTestOptions.Arrivals.POISSON) {
+      return -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos;
+    }
+
+    return meanIntervalNanos;
+  }
+
+  private void send(SimulatedDevice device, long intendedStart, boolean record) {
+    String outcome;
+
+    try {
+      final var request =
+          this.deviceFleet
+              .deviceTokenRequest(device, options.endpoint())
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofByteArray(this.deviceFleet.payload(device)))
+              .build();
+      final var response = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+
+      outcome = response.statusCode() / 100 == 2 ? null : String.valueOf(response.statusCode());
+    } catch (IOException e) {
+      outcome = e.getClass().getSimpleName();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      return;
+    }
+
+    if (!record) {
+      return;
+    }
+
+    final var latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+
+    this.recorder.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_LATENCY_MICROS));
+
+    if (outcome == null) {
+      this.succeeded.increment();
+    } else {
+      this.failures.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+  }
+
+  private void report(Histogram total) throws IOException {
+    final var seconds = options.duration().toMillis() / 1000.0;
+    final var succeededRequests = this.succeeded.sum();
+
+    try (final var hgrm = new PrintStream(options.output().resolve("latency.hgrm").toFile())) {
+      total.outputPercentileDistribution(hgrm, MICROS_PER_MILLISECOND);
+    }
+
+    System.out.println();
+    System.out.println("Latency by percentile (ms):");
+    total.outputPercentileDistribution(System.out, 5, MICROS_PER_MILLISECOND);
+
+    System.out.println();
+    System.out.printf("Requests:     %d (%d succeeded)%n", total.getTotalCount(), succeededRequests);
+    System.out.printf("Failures:     %s%n", this.failures);
+    System.out.printf("Throughput:   %.1f requests/s%n", succeededRequests / seconds);
+    System.out.printf(
+        "Throughput:   %.1f readings/s%n", succeededRequests * options.readings() / seconds);
+    System.out.printf("p50:          %.3f ms%n", percentile(total, 50.0));
+    System.out.printf("p99:          %.3f ms%n", percentile(total, 99.0));
+    System.out.printf("p99.9:        %.3f ms%n", percentile(total, 99.9));
+    System.out.printf(
+        "max:          %.3f ms%n", total.getMaxValue() / MICROS_PER_MILLISECOND);
+    System.out.printf("Histograms:   %s%n", options.output().toAbsolutePath());
+  }
+
+  private static double percentile(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLISECOND;
+  }
+}
@@ -0,0 +1,120 @@
+package com.logreposit.logrepositapi.loadtest;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of the load generator, given as {@code name=value} arguments.
+ *
+ * <pre>
+ * api-key        API key of the user owning the simulated devices (required)
+ * base-url       http://localhost:8080
+ * devices        number of simulated devices, default 10
+ * rate           requests per second over all devices, default 100
+ * arrivals       CONSTANT or POISSON inter-arrival times, default CONSTANT
+ * warmup         ISO-8601 duration which is not recorded, default PT10S
+ * duration       ISO-8601 duration which is recorded, default PT60S
+ * readings       readings per request, default 10
+ * measurements   measurements per device definition, default 2
+ * fields         fields per measurement, default 5
+ * field-mix      weights of the field data types, default float=60,integer=30,string=10
+ * endpoint       ingress path, default /v2/ingress/data
+ * output         directory for the histogram files, default target/loadtest
+ * </pre>
+ */
+record LoadTestOptions(
+    String apiKey,
+    URI baseUrl,
+    int devices,
+    double rate,
+    Arrivals arrivals,
+    Duration warmup,
+    Duration duration,
+    int readings,
+    int measurements,
+    int fields,
+    Map<DataType, Integer> fieldMix,
+    String endpoint,
+    Path output) {
+  enum Arrivals {
+    CONSTANT,
+    POISSON
+  }
+
+  static LoadTestOptions parse(String... args) {
+    final var values = new HashMap<String, String>();
+
+    for (final var arg : args) {
+      final var separator = arg.indexOf('=');
+
+      if (separator < 1) {
+        throw new IllegalArgumentException("Arguments have to be given as name=value: " + arg);
+      }
+
+      values.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+
+    final var apiKey = values.remove("api-key");
+
+    if (apiKey == null || apiKey.isBlank()) {
+      throw new IllegalArgumentException("api-key is required");
+    }
+
+    final var options =
+        new LoadTestOptions(
+            apiKey,
+            URI.create(take(values, "base-url", "http://localhost:8080")),
+            Integer.parseInt(take(values, "devices", "10")),
+            Double.parseDouble(take(values, "rate", "100")),
+            Arrivals.valueOf(take(values, "arrivals", "CONSTANT").toUpperCase()),
+            Duration.parse(take(values, "warmup", "PT10S")),
+            Duration.parse(take(values, "duration", "PT60S")),
+            Integer.parseInt(take(values, "readings", "10")),
+            Integer.parseInt(take(values, "measurements", "2")),
+            Integer.parseInt(take(values, "fields", "5")),
+            parseFieldMix(take(values, "field-mix", "float=60,integer=30,string=10")),
+            take(values, "endpoint", "/v2/ingress/data"),
+            Path.of(take(values, "output", "target/loadtest")));
+
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown arguments: " + values.keySet());
+    }
+
+    if (options.devices() < 1 || options.rate() <= 0 || options.readings() < 1) {
+      throw new IllegalArgumentException("devices, rate and readings have to be positive");
+    }
+
+    return options;
+  }
+
+  private static String take(Map<String, String> values, String name, String defaultValue) {
+    final var value = values.remove(name);
+
+    return value != null ? value : defaultValue;
+  }
+
+  private static Map<DataType, Integer> parseFieldMix(String value) {
+    final var fieldMix = new EnumMap<DataType, Integer>(DataType.class);
+
+    for (final var entry : value.split(",")) {
+      final var parts = entry.split("=");
+
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid field-mix entry: " + entry);
+      }
+
+      fieldMix.put(DataType.valueOf(parts[0].trim().toUpperCase()), Integer.valueOf(parts[1]));
+    }
+
+    if (fieldMix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+      throw new IllegalArgumentException("field-mix weights have to add up to more than zero");
+    }
+
+    return fieldMix;
+  }
+}
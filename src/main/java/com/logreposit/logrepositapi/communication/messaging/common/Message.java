@@ -1,6 +1,8 @@
 package com.logreposit.logrepositapi.communication.messaging.common;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.Date;
 import lombok.Data;
 
@@ -11,5 +13,8 @@ public class Message {
   private Date date;
   private String type;
   private MessageMetaData metaData;
-  private String payload;
+
+  @JsonSerialize(using = MessagePayloadSerializer.class)
+  @JsonDeserialize(using = MessagePayloadDeserializer.class)
+  private Object payload;
 }
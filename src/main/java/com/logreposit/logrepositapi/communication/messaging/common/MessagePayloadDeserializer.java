@@ -0,0 +1,35 @@
+package com.logreposit.logrepositapi.communication.messaging.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+
+/**
+ * Reads the {@link Message} payload from both envelope formats: the legacy one where the payload is
+ * a JSON string, which is returned as it is, and the one where it is embedded as JSON object or
+ * array. Embedded payloads are returned as {@link TokenBuffer}, so that they can be bound to their
+ * type once it is known without being written out as text and parsed again.
+ */
+public class MessagePayloadDeserializer extends StdDeserializer<Object> {
+  public MessagePayloadDeserializer() {
+    super(Object.class);
+  }
+
+  @Override
+  public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    final var token = p.currentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      return p.getText();
+    }
+
+    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      return ctxt.bufferAsCopyOfValue(p);
+    }
+
+    return ctxt.handleUnexpectedToken(Object.class, p);
+  }
+}
@@ -0,0 +1,50 @@
+package com.logreposit.logrepositapi.communication.messaging.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Writes the {@link Message} payload either as JSON string (legacy format) or, if the {@link
+ * #EMBED_PAYLOAD_ATTRIBUTE} writer attribute is set, embedded as JSON value.
+ *
+ * <p>Payload objects are serialized straight into the envelope when they are embedded, so they are
+ * only serialized once. A payload which is a {@link String} is taken as already serialized JSON.
+ */
+public class MessagePayloadSerializer extends StdSerializer<Object> {
+  public static final String EMBED_PAYLOAD_ATTRIBUTE =
+      MessagePayloadSerializer.class.getName() + ".embedPayload";
+
+  private static final JsonFactory jsonFactory = new JsonFactory();
+
+  public MessagePayloadSerializer() {
+    super(Object.class);
+  }
+
+  @Override
+  public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    final var embed = Boolean.TRUE.equals(provider.getAttribute(EMBED_PAYLOAD_ATTRIBUTE));
+
+    if (value instanceof String json) {
+      if (embed) {
+        gen.writeRawValue(json);
+      } else {
+        gen.writeString(json);
+      }
+    } else if (embed) {
+      provider.defaultSerializeValue(value, gen);
+    } else {
+      final var writer = new StringWriter();
+
+      try (final var generator = jsonFactory.createGenerator(writer)) {
+        provider.defaultSerializeValue(value, generator);
+      }
+
+      gen.writeString(writer.toString());
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.logreposit.logrepositapi.communication.messaging.common;
 
 public enum MessageType {
   EVENT_GENERIC_LOGDATA_RECEIVED,
+  EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED,
   EVENT_USER_CREATED,
   EVENT_USER_PASSWORD_CHANGED,
   EVENT_DEVICE_CREATED
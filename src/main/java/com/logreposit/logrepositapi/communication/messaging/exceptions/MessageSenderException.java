@@ -1,6 +1,10 @@
 package com.logreposit.logrepositapi.communication.messaging.exceptions;
 
 public class MessageSenderException extends MessagingException {
+  public MessageSenderException(String message) {
+    super(message);
+  }
+
   public MessageSenderException(String message, Throwable cause) {
     super(message, cause);
   }
@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.communication.messaging.exceptions;
+
+public class MessageSpoolException extends MessagingException {
+  public MessageSpoolException(String message) {
+    super(message);
+  }
+
+  public MessageSpoolException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -20,7 +20,10 @@ public class MessageHandler {
     this.messageProcessors =
         Map.ofEntries(
             Map.entry(
-                MessageType.EVENT_GENERIC_LOGDATA_RECEIVED, eventLogdataReceivedMessageProcessor));
+                MessageType.EVENT_GENERIC_LOGDATA_RECEIVED, eventLogdataReceivedMessageProcessor),
+            Map.entry(
+                MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED,
+                eventLogdataReceivedMessageProcessor));
   }
 
   public void handle(Message message) throws MessagingException {
@@ -3,10 +3,21 @@ package com.logreposit.logrepositapi.communication.messaging.mqtt;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logreposit.logrepositapi.configuration.MqttConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.MqttCredential;
 import com.logreposit.logrepositapi.services.mqtt.MqttClientProvider;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.springframework.stereotype.Service;
@@ -14,65 +25,202 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 public class MqttMessageSender {
+  private static final String PUBLISH_TIMER_NAME = "logreposit.mqtt.publish";
+
+  private static final Pattern ID_TOPIC_LEVEL_PATTERN =
+      Pattern.compile(
+          "(?<=^|/)([0-9a-fA-F]{24}|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+
   private final ObjectMapper objectMapper;
   private final MqttConfiguration mqttConfiguration;
   private final MqttClientProvider mqttClientProvider;
   private final MqttCredentialService mqttCredentialService;
+  private final MeterRegistry meterRegistry;
+  private final Semaphore inflightPermits;
 
-  private IMqttClient mqttClient;
+  private volatile MqttCredential mqttCredential;
 
   public MqttMessageSender(
       ObjectMapper objectMapper,
       MqttConfiguration mqttConfiguration,
       MqttClientProvider mqttClientProvider,
-      MqttCredentialService mqttCredentialService) {
+      MqttCredentialService mqttCredentialService,
+      MeterRegistry meterRegistry) {
     this.objectMapper = objectMapper;
     this.mqttConfiguration = mqttConfiguration;
     this.mqttClientProvider = mqttClientProvider;
     this.mqttCredentialService = mqttCredentialService;
+    this.meterRegistry = meterRegistry;
+
+    final int maxInflight = mqttConfiguration.getMaxInflight();
+
+    this.inflightPermits = new Semaphore(maxInflight);
+
+    Gauge.builder(
+            "logreposit.mqtt.publish.inflight",
+            this.inflightPermits,
+            permits -> maxInflight - permits.availablePermits())
+        .description("Number of asynchronous MQTT publishes waiting for acknowledgement")
+        .register(meterRegistry);
   }
 
+  /**
+   * Publishes the given message with QoS 1 and waits until the broker has acknowledged it.
+   *
+   * @throws MqttMessageSenderException if the message could not be published
+   */
   public <T> void send(String topic, T message) {
+    try {
+      sendAsync(topic, message).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof MqttMessageSenderException mqttMessageSenderException) {
+        throw mqttMessageSenderException;
+      }
+
+      throw new MqttMessageSenderException("Unable to publish MQTT message", e.getCause());
+    }
+  }
+
+  /**
+   * Publishes the given message with QoS 1. The returned future completes once the broker has
+   * acknowledged the publish, or exceptionally with a {@link MqttMessageSenderException}.
+   *
+   * <p>In synchronous publish mode the message is published before this method returns. In
+   * asynchronous publish mode this method returns as soon as the message has been handed over to
+   * the MQTT client, but blocks while the maximum number of unacknowledged publishes is reached.
+   * This way a slow MQTT broker slows down the consumption of the calling message listener instead
+   * of piling up messages in memory.
+   */
+  public <T> CompletableFuture<Void> sendAsync(String topic, T message) {
     if (!mqttConfiguration.isEnabled()) {
-      log.info(
-          "MQTT support is not enabled. Not sending MQTT Message => topic: '{}', message: '{}'",
-          topic,
-          message);
+      log.debug("MQTT support is not enabled. Not sending MQTT Message to topic: '{}'", topic);
 
-      return;
+      return CompletableFuture.completedFuture(null);
     }
 
-    log.info("Sending MQTT Message to topic: '{}'", topic);
+    log.debug("Sending MQTT Message to topic: '{}'", topic);
 
     final var mqttMessage = mqttMessage(message);
 
+    if (mqttConfiguration.getPublishMode() == MqttConfiguration.PublishMode.ASYNCHRONOUS) {
+      return publishAsync(topic, mqttMessage);
+    }
+
+    final var sample = Timer.start(meterRegistry);
+
     try {
       // TODO DoM: does try with resources make sense here with the auto-closable mqttClient?
       mqttClient().publish(topic, mqttMessage);
+
+      sample.stop(publishTimer(topic, "success"));
+
+      return CompletableFuture.completedFuture(null);
     } catch (MqttException e) {
+      sample.stop(publishTimer(topic, "failure"));
+
       throw new MqttMessageSenderException("Unable to publish MQTT message", e);
     }
   }
 
-  private IMqttClient mqttClient() throws MqttException {
-    if (mqttClient != null) {
-      return mqttClient;
+  private CompletableFuture<Void> publishAsync(String topic, MqttMessage mqttMessage) {
+    try {
+      inflightPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new MqttMessageSenderException("Interrupted while waiting to publish MQTT message", e);
     }
 
-    final var mqttCredential = mqttCredentialService.getGlobalDeviceDataWriteCredential();
+    final var sample = Timer.start(meterRegistry);
+    final var future = new CompletableFuture<Void>();
+
+    try {
+      mqttAsyncClient()
+          .publish(
+              topic,
+              mqttMessage,
+              null,
+              new IMqttActionListener() {
+                @Override
+                public void onSuccess(IMqttToken asyncActionToken) {
+                  inflightPermits.release();
+                  sample.stop(publishTimer(topic, "success"));
+                  future.complete(null);
+                }
+
+                @Override
+                public void onFailure(IMqttToken asyncActionToken, Throwable exception) {
+                  inflightPermits.release();
+                  sample.stop(publishTimer(topic, "failure"));
+
+                  log.error(
+                      "Unable to publish MQTT message to topic '{}': {}",
+                      topic,
+                      exception.getMessage());
+
+                  future.completeExceptionally(
+                      new MqttMessageSenderException("Unable to publish MQTT message", exception));
+                }
+              });
+    } catch (MqttException | RuntimeException e) {
+      inflightPermits.release();
+      sample.stop(publishTimer(topic, "failure"));
+
+      throw new MqttMessageSenderException("Unable to publish MQTT message", e);
+    }
+
+    return future;
+  }
+
+  private Timer publishTimer(String topic, String outcome) {
+    return Timer.builder(PUBLISH_TIMER_NAME)
+        .description("Time until a MQTT publish has been acknowledged by the broker")
+        .tag("topic", topicPattern(topic))
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /** Replaces ids within the topic by wildcards to keep the number of metric tags bounded. */
+  static String topicPattern(String topic) {
+    return ID_TOPIC_LEVEL_PATTERN.matcher(topic).replaceAll("+");
+  }
+
+  /**
+   * Returns the pooled client for every publish instead of holding on to it, so that a client which
+   * has been evicted and replaced by the pool after a disconnect is not used any longer.
+   */
+  private IMqttClient mqttClient() throws MqttException {
+    final var credential = mqttCredential();
     final var globalDeviceDataWriteMqttClient =
-        mqttClientProvider.getMqttClient(
-            mqttCredential.getUsername(), mqttCredential.getPassword());
+        mqttClientProvider.getMqttClient(credential.getUsername(), credential.getPassword());
 
     if (globalDeviceDataWriteMqttClient == null) {
       throw new IllegalStateException("mqttClient should have been initialized before!");
     }
 
-    this.mqttClient = globalDeviceDataWriteMqttClient;
+    return globalDeviceDataWriteMqttClient;
+  }
+
+  private IMqttAsyncClient mqttAsyncClient() throws MqttException {
+    final var credential = mqttCredential();
+    final var globalDeviceDataWriteMqttClient =
+        mqttClientProvider.getMqttAsyncClient(credential.getUsername(), credential.getPassword());
+
+    if (globalDeviceDataWriteMqttClient == null) {
+      throw new IllegalStateException("mqttAsyncClient should have been initialized before!");
+    }
 
     return globalDeviceDataWriteMqttClient;
   }
 
+  private MqttCredential mqttCredential() {
+    if (mqttCredential == null) {
+      mqttCredential = mqttCredentialService.getGlobalDeviceDataWriteCredential();
+    }
+
+    return mqttCredential;
+  }
+
   private <T> MqttMessage mqttMessage(T payload) {
     try {
       final var serializedPayload = objectMapper.writeValueAsBytes(payload);
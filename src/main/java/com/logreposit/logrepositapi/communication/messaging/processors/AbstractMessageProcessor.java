@@ -2,6 +2,7 @@ package com.logreposit.logrepositapi.communication.messaging.processors;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
 import java.io.IOException;
@@ -19,11 +20,27 @@ public abstract class AbstractMessageProcessor<T> {
 
   public abstract void processMessage(Message message) throws MessagingException;
 
-  protected T getMessagePayload(Message message, TypeReference<T> typeReference)
+  /**
+   * Binds the payload to the given type. Payloads received as JSON string are parsed, embedded ones
+   * are bound from the tokens buffered while the message was read.
+   */
+  protected <P> P getMessagePayload(Message message, TypeReference<P> typeReference)
       throws MessagingException {
     try {
-      return this.objectMapper.readValue(message.getPayload(), typeReference);
-    } catch (IOException exception) {
+      final var payload = message.getPayload();
+
+      if (payload instanceof String json) {
+        return this.objectMapper.readValue(json, typeReference);
+      }
+
+      if (payload instanceof TokenBuffer tokenBuffer) {
+        try (final var parser = tokenBuffer.asParser(this.objectMapper)) {
+          return this.objectMapper.readValue(parser, typeReference);
+        }
+      }
+
+      return this.objectMapper.convertValue(payload, typeReference);
+    } catch (IOException | IllegalArgumentException exception) {
       logger.error(
           "Unable to deserialize Message payload to instance of '{}'.", typeReference.toString());
       throw new MessagingException(
@@ -4,16 +4,21 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
 import com.logreposit.logrepositapi.communication.messaging.mqtt.MqttMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.mqtt.dtos.IngressV2MqttDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.mappers.ColumnBlockMapper;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Component;
 
 @Component
-public class EventLogdataReceivedMessageProcessor
-    extends AbstractMessageProcessor<List<ReadingDto>> {
+public class EventLogdataReceivedMessageProcessor extends AbstractMessageProcessor<ReadingBatch> {
   private final MqttMessageSender mqttMessageSender;
 
   public EventLogdataReceivedMessageProcessor(
@@ -25,13 +30,72 @@ public class EventLogdataReceivedMessageProcessor
 
   @Override
   public void processMessage(Message message) throws MessagingException {
-    List<ReadingDto> logData = this.getMessagePayload(message, new TypeReference<>() {});
+    ReadingBatch logData = this.getReadings(message);
 
-    sendLogdataReceivedMqttMessage(message.getMetaData(), logData);
+    final var metaData = message.getMetaData();
+
+    mqttMessageSender.send(topic(metaData), mqttPayload(metaData, logData));
   }
 
-  private void sendLogdataReceivedMqttMessage(
-      MessageMetaData messageMetaData, List<ReadingDto> readings) {
+  /**
+   * Processes messages of the same device with a single MQTT publish containing the readings of all
+   * messages. The correlation id is only set if it is the same for all messages.
+   *
+   * @return a future which completes once the MQTT broker has acknowledged the publish, see {@link
+   *     MqttMessageSender#sendAsync(String, Object)}
+   */
+  public CompletableFuture<Void> processMessages(List<Message> messages) throws MessagingException {
+    if (messages.size() == 1) {
+      final var metaData = messages.get(0).getMetaData();
+
+      return mqttMessageSender.sendAsync(
+          topic(metaData), mqttPayload(metaData, this.getReadings(messages.get(0))));
+    }
+
+    final var firstMetaData = messages.get(0).getMetaData();
+    final var readings = ReadingBatch.builder();
+    var correlationId = firstMetaData.getCorrelationId();
+
+    for (final Message message : messages) {
+      final var metaData = message.getMetaData();
+
+      if (!Objects.equals(metaData.getUserId(), firstMetaData.getUserId())
+          || !Objects.equals(metaData.getDeviceId(), firstMetaData.getDeviceId())) {
+        throw new IllegalArgumentException("All messages have to belong to the same device!");
+      }
+
+      if (!Objects.equals(metaData.getCorrelationId(), correlationId)) {
+        correlationId = null;
+      }
+
+      readings.addAll(this.getReadings(message));
+    }
+
+    final var combinedMetaData = new MessageMetaData();
+
+    combinedMetaData.setUserId(firstMetaData.getUserId());
+    combinedMetaData.setDeviceId(firstMetaData.getDeviceId());
+    combinedMetaData.setCorrelationId(correlationId);
+
+    return mqttMessageSender.sendAsync(
+        topic(combinedMetaData), mqttPayload(combinedMetaData, readings.build()));
+  }
+
+  /**
+   * Returns the readings of the message. Columnar payloads are expanded into readings only here, as
+   * the MQTT subscribers expect readings.
+   */
+  private ReadingBatch getReadings(Message message) throws MessagingException {
+    if (MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.name().equals(message.getType())) {
+      final List<ColumnBlockDto> blocks = this.getMessagePayload(message, new TypeReference<>() {});
+
+      return ColumnBlockMapper.toReadings(blocks);
+    }
+
+    return this.getMessagePayload(message, new TypeReference<>() {});
+  }
+
+  private static String topic(MessageMetaData messageMetaData) {
     final var userId = messageMetaData.getUserId();
     final var deviceId = messageMetaData.getDeviceId();
 
@@ -39,14 +103,14 @@ public class EventLogdataReceivedMessageProcessor
       throw new IllegalArgumentException("userId and deviceId has to be set!");
     }
 
-    final var topic = String.format("logreposit/users/%s/devices/%s/ingress", userId, deviceId);
-
-    final var payload =
-        IngressV2MqttDto.builder()
-            .correlationId(messageMetaData.getCorrelationId())
-            .readings(readings)
-            .build();
+    return String.format("logreposit/users/%s/devices/%s/ingress", userId, deviceId);
+  }
 
-    mqttMessageSender.send(topic, payload);
+  private static IngressV2MqttDto mqttPayload(
+      MessageMetaData messageMetaData, List<ReadingDto> readings) {
+    return IngressV2MqttDto.builder()
+        .correlationId(messageMetaData.getCorrelationId())
+        .readings(readings)
+        .build();
   }
 }
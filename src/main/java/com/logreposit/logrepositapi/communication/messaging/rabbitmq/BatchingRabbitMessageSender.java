@@ -0,0 +1,272 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.utils.LoggingUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes messages in batches on a single channel and relies on publisher confirms instead of
+ * waiting for each message separately.
+ *
+ * <p>Messages are collected until either the configured batch size is reached or the linger time of
+ * the first message in the batch has passed. The future returned by {@link #send(Message)}
+ * completes once the broker confirmed the message, or exceptionally if it has been nacked, could
+ * not be published or was not confirmed within the configured timeout.
+ */
+@Service
+public class BatchingRabbitMessageSender {
+  private static final Logger logger = LoggerFactory.getLogger(BatchingRabbitMessageSender.class);
+
+  private static final long IDLE_POLL_INTERVAL_MILLIS = 100;
+
+  private final ApplicationConfiguration.MessagePublisherConfiguration configuration;
+  private final RabbitTemplate rabbitTemplate;
+  private final RabbitMessageSender rabbitMessageSender;
+  private final BlockingQueue<PendingMessage> queue;
+
+  private volatile boolean running;
+  private Thread publisherThread;
+
+  public BatchingRabbitMessageSender(
+      ApplicationConfiguration applicationConfiguration,
+      RabbitTemplate rabbitTemplate,
+      RabbitMessageSender rabbitMessageSender) {
+    this.configuration = applicationConfiguration.getMessagePublisher();
+    this.rabbitTemplate = rabbitTemplate;
+    this.rabbitMessageSender = rabbitMessageSender;
+    this.queue = new LinkedBlockingQueue<>(this.configuration.getQueueCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+    if (this.configuration.getMode() != ApplicationConfiguration.MessagePublisherMode.BATCHING) {
+      return;
+    }
+
+    final var connectionFactory = this.rabbitTemplate.getConnectionFactory();
+
+    if (connectionFactory != null && !connectionFactory.isPublisherConfirms()) {
+      throw new IllegalStateException(
+          "Batching message publisher requires correlated publisher confirms to be enabled.");
+    }
+
+    this.running = true;
+    this.publisherThread =
+        Thread.ofPlatform().name("rabbit-batching-publisher").daemon().start(this::run);
+
+    logger.info(
+        "Started batching message publisher with batch size {} and linger {}.",
+        this.configuration.getBatchSize(),
+        this.configuration.getBatchLinger());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (this.publisherThread == null) {
+      return;
+    }
+
+    this.running = false;
+    this.publisherThread.join(this.configuration.getConfirmTimeout().toMillis());
+
+    final var remaining = new ArrayList<PendingMessage>();
+
+    this.queue.drainTo(remaining);
+
+    remaining.forEach(
+        p ->
+            p.future()
+                .completeExceptionally(
+                    new MessageSenderException("Batching message publisher has been stopped")));
+  }
+
+  public CompletableFuture<Void> send(Message message) {
+    final var future = new CompletableFuture<Void>();
+
+    if (!this.running) {
+      future.completeExceptionally(
+          new MessageSenderException("Batching message publisher is not running"));
+
+      return future;
+    }
+
+    final org.springframework.amqp.core.Message amqpMessage;
+
+    try {
+      amqpMessage = this.rabbitMessageSender.buildAmqpMessage(message);
+    } catch (MessageSenderException e) {
+      future.completeExceptionally(e);
+
+      return future;
+    }
+
+    final var pendingMessage =
+        new PendingMessage(
+            RabbitMessageSender.exchangeName(message),
+            this.rabbitMessageSender.routingKey(message),
+            amqpMessage,
+            future);
+
+    if (!this.queue.offer(pendingMessage)) {
+      future.completeExceptionally(
+          new MessageSenderException("Batching message publisher queue is full"));
+
+      return future;
+    }
+
+    return future.orTimeout(
+        this.configuration.getConfirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void sendAndAwaitConfirm(Message message) throws MessageSenderException {
+    try {
+      this.send(message).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new MessageSenderException("Interrupted while waiting for publisher confirm", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MessageSenderException messageSenderException) {
+        throw messageSenderException;
+      }
+
+      if (e.getCause() instanceof TimeoutException) {
+        throw new MessageSenderException("Publisher confirm timed out", e.getCause());
+      }
+
+      throw new MessageSenderException("Unable to send Message", e.getCause());
+    }
+  }
+
+  private void run() {
+    while (this.running) {
+      try {
+        this.publish(this.nextBatch());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+
+        break;
+      } catch (RuntimeException e) {
+        logger.error(
+            "Unexpected error in batching message publisher: {}",
+            LoggingUtils.getLogForException(e));
+      }
+    }
+
+    final var remaining = new ArrayList<PendingMessage>();
+
+    while (this.queue.drainTo(remaining, this.configuration.getBatchSize()) > 0) {
+      this.publish(remaining);
+
+      remaining.clear();
+    }
+  }
+
+  private List<PendingMessage> nextBatch() throws InterruptedException {
+    final var first = this.queue.poll(IDLE_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+    if (first == null) {
+      return List.of();
+    }
+
+    final var batchSize = this.configuration.getBatchSize();
+    final var batch = new ArrayList<PendingMessage>(batchSize);
+    final var deadline = System.nanoTime() + this.configuration.getBatchLinger().toNanos();
+
+    batch.add(first);
+
+    while (batch.size() < batchSize) {
+      this.queue.drainTo(batch, batchSize - batch.size());
+
+      final var remainingNanos = deadline - System.nanoTime();
+
+      if (batch.size() >= batchSize || remainingNanos <= 0) {
+        break;
+      }
+
+      final var next = this.queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+
+      if (next == null) {
+        break;
+      }
+
+      batch.add(next);
+    }
+
+    return batch;
+  }
+
+  private void publish(List<PendingMessage> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    logger.debug("Publishing batch of {} messages.", batch.size());
+
+    try {
+      this.rabbitTemplate.invoke(
+          operations -> {
+            for (final var pendingMessage : batch) {
+              final var correlationData = new CorrelationData();
+
+              correlationData.getFuture().whenComplete(pendingMessage::onConfirm);
+
+              operations.send(
+                  pendingMessage.exchange(),
+                  pendingMessage.routingKey(),
+                  pendingMessage.message(),
+                  correlationData);
+            }
+
+            return null;
+          });
+    } catch (AmqpException e) {
+      logger.error(
+          "Unable to publish batch of {} messages: {}",
+          batch.size(),
+          LoggingUtils.getLogForException(e));
+
+      batch.forEach(
+          p ->
+              p.future()
+                  .completeExceptionally(
+                      new MessageSenderException("Unable to publish message batch", e)));
+    }
+  }
+
+  private record PendingMessage(
+      String exchange,
+      String routingKey,
+      org.springframework.amqp.core.Message message,
+      CompletableFuture<Void> future) {
+    private void onConfirm(CorrelationData.Confirm confirm, Throwable throwable) {
+      if (throwable != null) {
+        this.future.completeExceptionally(
+            new MessageSenderException("Unable to receive publisher confirm", throwable));
+      } else if (!confirm.isAck()) {
+        this.future.completeExceptionally(
+            new MessageSenderException(
+                String.format("Message has been nacked by the broker: %s", confirm.getReason())));
+      } else {
+        this.future.complete(null);
+      }
+    }
+  }
+}
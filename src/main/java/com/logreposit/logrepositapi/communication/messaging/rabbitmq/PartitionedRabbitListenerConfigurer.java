@@ -0,0 +1,120 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers one listener container with a single consumer per partition queue. This keeps the
+ * messages of a device in order while the partitions are processed in parallel. Every instance
+ * consumes every partition, the partition queues are declared with a single active consumer so that
+ * only one of them receives the messages of a partition at a time.
+ *
+ * <p>The containers are started once the application is ready, as the partition queues are declared
+ * by the {@link RabbitMqAutoConfigurationCommandLineRunner}.
+ */
+@Component
+@ConditionalOnProperty(value = "logreposit.partitioning.enabled", havingValue = "true")
+public class PartitionedRabbitListenerConfigurer implements RabbitListenerConfigurer {
+  private static final Logger logger =
+      LoggerFactory.getLogger(PartitionedRabbitListenerConfigurer.class);
+
+  private static final String ENDPOINT_ID_PREFIX = "partition-";
+
+  private final ApplicationConfiguration applicationConfiguration;
+  private final ObjectMapper objectMapper;
+  private final ObjectProvider<RabbitMessageListener> rabbitMessageListener;
+  private final ObjectProvider<RabbitBatchMessageListener> rabbitBatchMessageListener;
+  private final RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry;
+
+  public PartitionedRabbitListenerConfigurer(
+      ApplicationConfiguration applicationConfiguration,
+      ObjectMapper objectMapper,
+      ObjectProvider<RabbitMessageListener> rabbitMessageListener,
+      ObjectProvider<RabbitBatchMessageListener> rabbitBatchMessageListener,
+      RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry) {
+    this.applicationConfiguration = applicationConfiguration;
+    this.objectMapper = objectMapper;
+    this.rabbitMessageListener = rabbitMessageListener;
+    this.rabbitBatchMessageListener = rabbitBatchMessageListener;
+    this.rabbitListenerEndpointRegistry = rabbitListenerEndpointRegistry;
+  }
+
+  @Override
+  public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+    final var partitionQueueNames = this.partitionQueueNames();
+
+    for (var partition = 0; partition < partitionQueueNames.size(); partition++) {
+      final var endpoint = new SimpleRabbitListenerEndpoint();
+
+      endpoint.setId(ENDPOINT_ID_PREFIX + partition);
+      endpoint.setQueueNames(partitionQueueNames.get(partition));
+      endpoint.setConcurrency("1");
+      endpoint.setAutoStartup(false);
+      endpoint.setMessageListener(new PartitionMessageListener());
+
+      registrar.registerEndpoint(endpoint);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void startPartitionListeners() {
+    final var partitions = this.applicationConfiguration.getPartitioning().getPartitions();
+
+    for (var partition = 0; partition < partitions; partition++) {
+      final var container =
+          this.rabbitListenerEndpointRegistry.getListenerContainer(ENDPOINT_ID_PREFIX + partition);
+
+      if (container != null) {
+        container.start();
+      }
+    }
+
+    logger.info("Started listeners for {} partition queues.", partitions);
+  }
+
+  private List<String> partitionQueueNames() {
+    return RabbitPartitioning.getPartitionQueueNames(
+        this.applicationConfiguration.getQueueName(),
+        this.applicationConfiguration.getPartitioning().getPartitions());
+  }
+
+  private class PartitionMessageListener implements MessageListener {
+    @Override
+    public void onMessage(org.springframework.amqp.core.Message amqpMessage) {
+      try {
+        final var message = objectMapper.readValue(amqpMessage.getBody(), Message.class);
+
+        rabbitMessageListener.getObject().listen(message);
+      } catch (IOException e) {
+        throw new ListenerExecutionFailedException(
+            "Unable to deserialize Message",
+            new MessagingException("Unable to deserialize Message", e),
+            amqpMessage);
+      } catch (MessagingException e) {
+        throw new ListenerExecutionFailedException("Unable to process Message", e, amqpMessage);
+      }
+    }
+
+    @Override
+    public void onMessageBatch(List<org.springframework.amqp.core.Message> amqpMessages) {
+      rabbitBatchMessageListener.getObject().listen(amqpMessages);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
+import com.logreposit.logrepositapi.communication.messaging.handler.MessageHandler;
+import com.logreposit.logrepositapi.communication.messaging.processors.EventLogdataReceivedMessageProcessor;
+import com.logreposit.logrepositapi.rest.filters.RequestCorrelation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes messages in batches. {@code EVENT_GENERIC_LOGDATA_RECEIVED} and {@code
+ * EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED} messages of the same device are combined into a single
+ * MQTT publish, all other messages are handled one by one.
+ *
+ * <p>Messages which cannot be processed are handed over to the {@link MessageRecoverer} (and
+ * thereby to the retry queues) individually, so that a failure of one device does not cause the
+ * messages of other devices to be processed again. If a combined publish fails, the messages of the
+ * group are processed one by one, so that only the failing ones are retried.
+ *
+ * <p>The combined publishes of all groups are started before any of them is awaited, so that they
+ * are pipelined if the MQTT publish mode is asynchronous. The batch is acknowledged once all
+ * messages have been either published and acknowledged by the MQTT broker, or recovered.
+ */
+@Component
+@ConditionalOnProperty(value = "logreposit.message-listener.batch-enabled", havingValue = "true")
+public class RabbitBatchMessageListener {
+  private static final Logger logger = LoggerFactory.getLogger(RabbitBatchMessageListener.class);
+
+  private static final Set<String> LOGDATA_MESSAGE_TYPES =
+      Set.of(
+          MessageType.EVENT_GENERIC_LOGDATA_RECEIVED.name(),
+          MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.name());
+
+  private final ObjectMapper objectMapper;
+  private final MessageHandler messageHandler;
+  private final EventLogdataReceivedMessageProcessor eventLogdataReceivedMessageProcessor;
+  private final MessageRecoverer messageRecoverer;
+
+  public RabbitBatchMessageListener(
+      ObjectMapper objectMapper,
+      MessageHandler messageHandler,
+      EventLogdataReceivedMessageProcessor eventLogdataReceivedMessageProcessor,
+      MessageRecoverer messageRecoverer) {
+    this.objectMapper = objectMapper;
+    this.messageHandler = messageHandler;
+    this.eventLogdataReceivedMessageProcessor = eventLogdataReceivedMessageProcessor;
+    this.messageRecoverer = messageRecoverer;
+  }
+
+  @RabbitListener(
+      queuesToDeclare =
+          @Queue(value = "${logreposit.queue-name:q.logreposit_api}", durable = "true"))
+  public void listen(List<org.springframework.amqp.core.Message> amqpMessages) {
+    logger.info("Retrieved batch of {} messages", amqpMessages.size());
+
+    final var logdataGroups = new LinkedHashMap<String, List<ReceivedMessage>>();
+
+    for (final var amqpMessage : amqpMessages) {
+      final Message message;
+
+      try {
+        message = this.objectMapper.readValue(amqpMessage.getBody(), Message.class);
+      } catch (IOException e) {
+        this.messageRecoverer.recover(
+            amqpMessage, new MessagingException("Unable to deserialize Message", e));
+
+        continue;
+      }
+
+      final var groupKey = logdataGroupKey(message);
+
+      if (groupKey != null) {
+        logdataGroups
+            .computeIfAbsent(groupKey, k -> new ArrayList<>())
+            .add(new ReceivedMessage(amqpMessage, message));
+      } else {
+        this.handle(new ReceivedMessage(amqpMessage, message));
+      }
+    }
+
+    final var publishes = new ArrayList<LogdataGroupPublish>();
+
+    for (final var group : logdataGroups.values()) {
+      final var future = this.publishLogdataGroup(group);
+
+      if (future != null) {
+        publishes.add(new LogdataGroupPublish(group, future));
+      }
+    }
+
+    publishes.forEach(this::awaitLogdataGroup);
+
+    RequestCorrelation.setCorrelationId(null);
+  }
+
+  private void handle(ReceivedMessage receivedMessage) {
+    setCorrelationId(receivedMessage.message());
+
+    try {
+      this.messageHandler.handle(receivedMessage.message());
+    } catch (MessagingException | RuntimeException e) {
+      this.messageRecoverer.recover(receivedMessage.amqpMessage(), e);
+    }
+  }
+
+  /** Starts the combined publish of the group, returns {@code null} if it failed right away. */
+  private CompletableFuture<Void> publishLogdataGroup(List<ReceivedMessage> group) {
+    final var messages = group.stream().map(ReceivedMessage::message).toList();
+
+    setCorrelationId(messages.get(0));
+
+    logger.info(
+        "Processing {} messages for device {}",
+        messages.size(),
+        messages.get(0).getMetaData().getDeviceId());
+
+    try {
+      return this.eventLogdataReceivedMessageProcessor.processMessages(messages);
+    } catch (MessagingException | RuntimeException e) {
+      this.handleFailedLogdataGroup(group, e);
+
+      return null;
+    }
+  }
+
+  private void awaitLogdataGroup(LogdataGroupPublish publish) {
+    try {
+      publish.future().join();
+    } catch (CompletionException e) {
+      setCorrelationId(publish.group().get(0).message());
+
+      this.handleFailedLogdataGroup(publish.group(), e.getCause());
+    }
+  }
+
+  private void handleFailedLogdataGroup(List<ReceivedMessage> group, Throwable e) {
+    if (group.size() == 1) {
+      this.messageRecoverer.recover(group.get(0).amqpMessage(), e);
+
+      return;
+    }
+
+    logger.warn(
+        "Unable to process combined messages, processing them one by one: {}", e.getMessage());
+
+    group.forEach(this::handle);
+  }
+
+  private static String logdataGroupKey(Message message) {
+    final var metaData = message.getMetaData();
+
+    if (!LOGDATA_MESSAGE_TYPES.contains(message.getType())
+        || metaData == null
+        || metaData.getUserId() == null
+        || metaData.getDeviceId() == null) {
+      return null;
+    }
+
+    return metaData.getUserId() + "/" + metaData.getDeviceId();
+  }
+
+  private static void setCorrelationId(Message message) {
+    if (message.getMetaData() != null
+        && StringUtils.isNotEmpty(message.getMetaData().getCorrelationId())) {
+      RequestCorrelation.setCorrelationId(message.getMetaData().getCorrelationId());
+    } else {
+      RequestCorrelation.setCorrelationId(null);
+    }
+  }
+
+  private record ReceivedMessage(
+      org.springframework.amqp.core.Message amqpMessage, Message message) {}
+
+  private record LogdataGroupPublish(List<ReceivedMessage> group, CompletableFuture<Void> future) {}
+}
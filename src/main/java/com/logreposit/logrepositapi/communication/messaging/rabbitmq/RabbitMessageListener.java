@@ -9,10 +9,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.Queue;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(
+    value = "logreposit.message-listener.batch-enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class RabbitMessageListener {
   private static final Logger logger = LoggerFactory.getLogger(RabbitMessageListener.class);
 
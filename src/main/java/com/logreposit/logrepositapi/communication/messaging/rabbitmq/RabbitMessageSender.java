@@ -2,14 +2,23 @@ package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessagePayloadSerializer;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
 import com.logreposit.logrepositapi.utils.LoggingUtils;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.MessageBuilder;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
@@ -17,23 +26,33 @@ import org.springframework.stereotype.Service;
 public class RabbitMessageSender {
   private static final Logger logger = LoggerFactory.getLogger(RabbitMessageSender.class);
 
-  private final ObjectMapper objectMapper;
+  private final ObjectWriter messageWriter;
   private final RabbitTemplate rabbitTemplate;
+  private final int partitions;
 
-  public RabbitMessageSender(ObjectMapper objectMapper, RabbitTemplate rabbitTemplate) {
-    this.objectMapper = objectMapper;
+  public RabbitMessageSender(
+      ApplicationConfiguration applicationConfiguration,
+      ObjectMapper objectMapper,
+      RabbitTemplate rabbitTemplate) {
+    final var embedPayload =
+        applicationConfiguration.getMessagePublisher().getPayloadFormat()
+            == ApplicationConfiguration.MessagePayloadFormat.EMBEDDED;
+
+    this.messageWriter =
+        objectMapper
+            .writerFor(Message.class)
+            .withAttribute(MessagePayloadSerializer.EMBED_PAYLOAD_ATTRIBUTE, embedPayload);
     this.rabbitTemplate = rabbitTemplate;
+
+    final var partitioning = applicationConfiguration.getPartitioning();
+
+    this.partitions = partitioning.isEnabled() ? partitioning.getPartitions() : 0;
   }
 
   public void send(Message message) throws MessageSenderException {
-    String exchange = String.format("x.%s", message.getType().toLowerCase());
-    String routingKey = UUID.randomUUID().toString();
-    String payload = this.serializeMessage(message);
-
-    var amqpMessage =
-        MessageBuilder.withBody(payload.getBytes())
-            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
-            .build();
+    String exchange = exchangeName(message);
+    String routingKey = this.routingKey(message);
+    var amqpMessage = this.buildAmqpMessage(message);
 
     logger.info(
         "Sending message with type '{}' to exchange '{}' with routing key '{}'",
@@ -44,9 +63,86 @@ public class RabbitMessageSender {
     this.rabbitTemplate.convertAndSend(exchange, routingKey, amqpMessage);
   }
 
-  private String serializeMessage(Message message) throws MessageSenderException {
+  /**
+   * Publishes the message and waits until the broker has confirmed it. Requires correlated
+   * publisher confirms, and publisher returns with mandatory publishing to detect unroutable
+   * messages.
+   *
+   * @throws MessageSenderException if the message has been nacked or returned by the broker, or has
+   *     not been confirmed within the given timeout
+   */
+  public void sendAndAwaitConfirm(Message message, Duration timeout)
+      throws MessageSenderException, InterruptedException {
+    final var correlationData = new CorrelationData(message.getId());
+
+    this.rabbitTemplate.convertAndSend(
+        exchangeName(message),
+        this.routingKey(message),
+        this.buildAmqpMessage(message),
+        correlationData);
+
+    final CorrelationData.Confirm confirm;
+
+    try {
+      confirm = correlationData.getFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw new MessageSenderException("Unable to receive publisher confirm", e.getCause());
+    } catch (TimeoutException e) {
+      throw new MessageSenderException("Publisher confirm timed out", e);
+    }
+
+    if (!confirm.isAck()) {
+      throw new MessageSenderException(
+          String.format("Message has been nacked by the broker: %s", confirm.getReason()));
+    }
+
+    final var returned = correlationData.getReturned();
+
+    if (returned != null) {
+      throw new MessageSenderException(
+          String.format("Message has been returned by the broker: %s", returned.getReplyText()));
+    }
+  }
+
+  /** Returns whether the connection factory has correlated publisher confirms enabled. */
+  public boolean isPublisherConfirms() {
+    final var connectionFactory = this.rabbitTemplate.getConnectionFactory();
+
+    return connectionFactory == null || connectionFactory.isPublisherConfirms();
+  }
+
+  static String exchangeName(Message message) {
+    return String.format("x.%s", message.getType().toLowerCase());
+  }
+
+  /**
+   * Returns the partition of the device as routing key if partitioning is enabled. Messages without
+   * a device are spread randomly over all partitions.
+   */
+  String routingKey(Message message) {
+    if (this.partitions == 0) {
+      return UUID.randomUUID().toString();
+    }
+
+    final var metaData = message.getMetaData();
+
+    if (metaData == null || metaData.getDeviceId() == null) {
+      return String.valueOf(ThreadLocalRandom.current().nextInt(this.partitions));
+    }
+
+    return String.valueOf(RabbitPartitioning.getPartition(metaData.getDeviceId(), this.partitions));
+  }
+
+  org.springframework.amqp.core.Message buildAmqpMessage(Message message)
+      throws MessageSenderException {
+    return MessageBuilder.withBody(this.serializeMessage(message))
+        .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+        .build();
+  }
+
+  private byte[] serializeMessage(Message message) throws MessageSenderException {
     try {
-      return this.objectMapper.writeValueAsString(message);
+      return this.messageWriter.writeValueAsBytes(message);
     } catch (JsonProcessingException exception) {
       logger.error("Unable to serialize Message: {}", LoggingUtils.getLogForException(exception));
 
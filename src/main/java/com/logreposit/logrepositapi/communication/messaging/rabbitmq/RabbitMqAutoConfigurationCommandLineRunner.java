@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
@@ -24,7 +25,9 @@ public class RabbitMqAutoConfigurationCommandLineRunner implements CommandLineRu
       LoggerFactory.getLogger(RabbitMqAutoConfigurationCommandLineRunner.class);
 
   private static final List<MessageType> SUBSCRIBED_MESSAGE_TYPES =
-      List.of(MessageType.EVENT_GENERIC_LOGDATA_RECEIVED);
+      List.of(
+          MessageType.EVENT_GENERIC_LOGDATA_RECEIVED,
+          MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED);
 
   private final ApplicationConfiguration applicationConfiguration;
   private final AmqpAdmin amqpAdmin;
@@ -49,7 +52,13 @@ public class RabbitMqAutoConfigurationCommandLineRunner implements CommandLineRu
     this.declareRetryExchangesQueuesAndBindings();
 
     this.declareExchanges();
-    this.declareBindings();
+
+    if (this.applicationConfiguration.getPartitioning().isEnabled()) {
+      this.declarePartitionExchangeQueuesAndBindings();
+      this.declarePartitionedBindings();
+    } else {
+      this.declareBindings();
+    }
   }
 
   private void declareErrorExchangeAndQueueAndBinding() {
@@ -68,6 +77,73 @@ public class RabbitMqAutoConfigurationCommandLineRunner implements CommandLineRu
     this.amqpAdmin.declareQueue(errorQueue);
 
     this.declareBinding(errorQueueName, RabbitRetryStrategy.ERROR_EXCHANGE_NAME, queueName);
+
+    if (this.applicationConfiguration.getPartitioning().isEnabled()) {
+      this.partitionQueueNames()
+          .forEach(
+              partitionQueueName ->
+                  this.declareBinding(
+                      errorQueueName, RabbitRetryStrategy.ERROR_EXCHANGE_NAME, partitionQueueName));
+    }
+  }
+
+  /**
+   * Every instance consumes every partition queue, the queues are declared with a single active
+   * consumer so that the messages of a partition are still processed by one consumer at a time.
+   */
+  private void declarePartitionExchangeQueuesAndBindings() {
+    final var partitionExchangeName =
+        RabbitPartitioning.getPartitionExchangeName(this.applicationConfiguration.getQueueName());
+
+    this.amqpAdmin.declareExchange(
+        ExchangeBuilder.directExchange(partitionExchangeName).durable(true).build());
+
+    final var partitionQueueNames = this.partitionQueueNames();
+
+    for (var partition = 0; partition < partitionQueueNames.size(); partition++) {
+      final var partitionQueueName = partitionQueueNames.get(partition);
+
+      logger.warn("declaring partition queue '{}' ...", partitionQueueName);
+
+      this.amqpAdmin.declareQueue(
+          QueueBuilder.durable(partitionQueueName).singleActiveConsumer().build());
+
+      this.declareBinding(partitionQueueName, partitionExchangeName, String.valueOf(partition));
+    }
+  }
+
+  /**
+   * Routes the subscribed message types through the partition exchange. The binding of the
+   * unpartitioned queue is removed, so that messages are not processed twice after partitioning has
+   * been enabled. Messages which are still in the unpartitioned queue are consumed as before.
+   */
+  private void declarePartitionedBindings() {
+    final var queueName = this.applicationConfiguration.getQueueName();
+    final var partitionExchangeName = RabbitPartitioning.getPartitionExchangeName(queueName);
+
+    SUBSCRIBED_MESSAGE_TYPES.stream()
+        .map(t -> String.format("x.%s", t.toString().toLowerCase()))
+        .forEach(
+            x -> {
+              this.amqpAdmin.removeBinding(
+                  new Binding(queueName, Binding.DestinationType.QUEUE, x, "", new HashMap<>()));
+
+              this.amqpAdmin.declareBinding(
+                  new Binding(
+                      partitionExchangeName,
+                      Binding.DestinationType.EXCHANGE,
+                      x,
+                      "",
+                      new HashMap<>()));
+
+              logger.info("Declared binding {} => {}.", x, partitionExchangeName);
+            });
+  }
+
+  private List<String> partitionQueueNames() {
+    return RabbitPartitioning.getPartitionQueueNames(
+        this.applicationConfiguration.getQueueName(),
+        this.applicationConfiguration.getPartitioning().getPartitions());
   }
 
   private void declareRetryExchangesQueuesAndBindings() {
@@ -120,12 +196,41 @@ public class RabbitMqAutoConfigurationCommandLineRunner implements CommandLineRu
     logger.warn("declared queue '{}'.", queueName);
   }
 
+  /**
+   * Binds the subscribed message types to the unpartitioned queue. The binding of the partition
+   * exchange is removed, so that messages are not processed twice after partitioning has been
+   * disabled. Messages which are still in the partition queues are not consumed anymore.
+   */
   private void declareBindings() {
     final var queueName = this.applicationConfiguration.getQueueName();
+    final var partitionExchangeName = RabbitPartitioning.getPartitionExchangeName(queueName);
 
     SUBSCRIBED_MESSAGE_TYPES.stream()
         .map(t -> String.format("x.%s", t.toString().toLowerCase()))
-        .forEach(x -> declareBinding(queueName, x, ""));
+        .forEach(
+            x -> {
+              this.removePartitionExchangeBinding(x, partitionExchangeName);
+
+              this.declareBinding(queueName, x, "");
+            });
+  }
+
+  private void removePartitionExchangeBinding(String exchangeName, String partitionExchangeName) {
+    try {
+      this.amqpAdmin.removeBinding(
+          new Binding(
+              partitionExchangeName,
+              Binding.DestinationType.EXCHANGE,
+              exchangeName,
+              "",
+              new HashMap<>()));
+    } catch (AmqpException e) {
+      logger.debug(
+          "Unable to remove binding {} => {}, partitioning has probably never been enabled.",
+          exchangeName,
+          partitionExchangeName,
+          e);
+    }
   }
 
   private void declareBinding(String queueName, String exchangeName, String routingKey) {
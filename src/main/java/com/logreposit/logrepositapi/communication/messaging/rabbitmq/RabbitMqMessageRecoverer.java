@@ -1,13 +1,14 @@
 package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageDeliveryMode;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 
-public class RabbitMqMessageRecoverer implements MessageRecoverer {
+public class RabbitMqMessageRecoverer implements MessageBatchRecoverer {
   private static final Logger logger = LoggerFactory.getLogger(RabbitMqMessageRecoverer.class);
 
   private static final String MESSAGE_ERROR_COUNT_HEADER_KEY = "x-error-count";
@@ -44,6 +45,11 @@ public class RabbitMqMessageRecoverer implements MessageRecoverer {
         newErrorCount);
   }
 
+  @Override
+  public void recover(List<Message> messages, Throwable throwable) {
+    messages.forEach(message -> this.recover(message, throwable));
+  }
+
   private static long getMessageErrorCount(Message amqpMessage) {
     Object errorCountAsObject =
         amqpMessage.getMessageProperties().getHeaders().get(MESSAGE_ERROR_COUNT_HEADER_KEY);
@@ -0,0 +1,37 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Naming and routing of the device partitioned queue topology.
+ *
+ * <p>Messages are routed by the partition of their device id (as routing key) through a direct
+ * exchange into one of {@code n} partition queues. Each partition queue is consumed by exactly one
+ * consumer, so the messages of a device are processed in the order they have been published.
+ */
+public final class RabbitPartitioning {
+  private RabbitPartitioning() {}
+
+  public static String getPartitionExchangeName(String queueName) {
+    return "partition.x." + queueName;
+  }
+
+  public static String getPartitionQueueName(String queueName, int partition) {
+    return queueName + "." + partition;
+  }
+
+  public static List<String> getPartitionQueueNames(String queueName, int partitions) {
+    return IntStream.range(0, partitions)
+        .mapToObj(partition -> getPartitionQueueName(queueName, partition))
+        .toList();
+  }
+
+  /**
+   * Returns the partition of the given device. {@link String#hashCode()} is specified by the JLS,
+   * so all instances agree on the partition of a device.
+   */
+  public static int getPartition(String deviceId, int partitions) {
+    return Math.floorMod(deviceId.hashCode(), partitions);
+  }
+}
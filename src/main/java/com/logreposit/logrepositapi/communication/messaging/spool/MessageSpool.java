@@ -0,0 +1,213 @@
+package com.logreposit.logrepositapi.communication.messaging.spool;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessagePayloadSerializer;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSpoolException;
+import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.utils.LoggingUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local write-ahead spool for messages which could not be published because the broker is
+ * unavailable.
+ *
+ * <p>Spooled messages are stored in a {@link SegmentedSpool} and replayed in order by a background
+ * drainer thread once the broker is reachable again. A message is removed from the spool only after
+ * the broker has confirmed it, so messages may be published more than once if the application stops
+ * in between or a confirm times out. Messages which have been nacked or returned stay at the head
+ * of the spool and are retried after the drain interval.
+ */
+@Service
+public class MessageSpool {
+  private static final Logger logger = LoggerFactory.getLogger(MessageSpool.class);
+
+  private final ApplicationConfiguration.SpoolConfiguration configuration;
+  private final Duration confirmTimeout;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter messageWriter;
+  private final RabbitMessageSender messageSender;
+
+  private volatile boolean running;
+  private SegmentedSpool spool;
+  private Thread drainerThread;
+
+  public MessageSpool(
+      ApplicationConfiguration applicationConfiguration,
+      ObjectMapper objectMapper,
+      RabbitMessageSender messageSender) {
+    this.configuration = applicationConfiguration.getSpool();
+    this.confirmTimeout = applicationConfiguration.getMessagePublisher().getConfirmTimeout();
+    this.objectMapper = objectMapper;
+    this.messageWriter =
+        objectMapper
+            .writerFor(Message.class)
+            .withAttribute(MessagePayloadSerializer.EMBED_PAYLOAD_ATTRIBUTE, true);
+    this.messageSender = messageSender;
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    if (!this.configuration.isEnabled()) {
+      return;
+    }
+
+    if (!this.messageSender.isPublisherConfirms()) {
+      throw new IllegalStateException(
+          "Message spool requires correlated publisher confirms to be enabled.");
+    }
+
+    this.spool =
+        new SegmentedSpool(
+            Path.of(this.configuration.getDirectory()),
+            this.configuration.getSegmentSize().toBytes(),
+            this.configuration.getMaxSize().toBytes(),
+            this.configuration.isFsync());
+
+    this.running = true;
+    this.drainerThread =
+        Thread.ofPlatform().name("message-spool-drainer").daemon().start(this::drain);
+
+    logger.info(
+        "Started message spool in directory '{}' with {} pending messages.",
+        this.configuration.getDirectory(),
+        this.spool.getPendingRecords());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException, IOException {
+    if (this.drainerThread == null) {
+      return;
+    }
+
+    this.running = false;
+    this.drainerThread.interrupt();
+    this.drainerThread.join();
+    this.spool.close();
+  }
+
+  public boolean isEnabled() {
+    return this.spool != null;
+  }
+
+  public boolean isEmpty() {
+    return !this.isEnabled() || this.spool.getPendingRecords() == 0;
+  }
+
+  public void append(Message message) throws MessageSpoolException {
+    if (!this.isEnabled()) {
+      throw new MessageSpoolException("Message spool is not enabled");
+    }
+
+    final boolean appended;
+
+    try {
+      appended = this.spool.append(this.messageWriter.writeValueAsBytes(message));
+    } catch (IOException e) {
+      logger.error("Unable to spool message: {}", LoggingUtils.getLogForException(e));
+
+      throw new MessageSpoolException("Unable to spool message", e);
+    }
+
+    if (!appended) {
+      throw new MessageSpoolException("Message spool is full");
+    }
+  }
+
+  public long getPendingMessages() {
+    return this.isEnabled() ? this.spool.getPendingRecords() : 0;
+  }
+
+  public long getSizeBytes() {
+    return this.isEnabled() ? this.spool.getSizeBytes() : 0;
+  }
+
+  /** Returns how long the oldest pending message has been waiting in the spool. */
+  public Duration getLag() {
+    final var headTimestamp = this.isEnabled() ? this.spool.getHeadTimestamp() : 0;
+
+    if (headTimestamp == 0) {
+      return Duration.ZERO;
+    }
+
+    return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - headTimestamp));
+  }
+
+  private void drain() {
+    while (this.running) {
+      try {
+        if (!this.drainNext()) {
+          Thread.sleep(this.configuration.getDrainInterval());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+
+        break;
+      } catch (IOException | RuntimeException e) {
+        logger.error("Unable to read from message spool: {}", LoggingUtils.getLogForException(e));
+
+        try {
+          Thread.sleep(this.configuration.getDrainInterval());
+        } catch (InterruptedException interruptedException) {
+          Thread.currentThread().interrupt();
+
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Publishes the oldest pending message and commits it once the broker has confirmed it. Returns
+   * {@code false} if there was nothing to do or the message has not been confirmed.
+   */
+  boolean drainNext() throws IOException, InterruptedException {
+    final var record = this.spool.peek();
+
+    if (record == null) {
+      return false;
+    }
+
+    final Message message;
+
+    try {
+      message = this.objectMapper.readValue(record.data(), Message.class);
+    } catch (JsonProcessingException e) {
+      logger.error(
+          "Dropping spooled message which cannot be deserialized: {}",
+          LoggingUtils.getLogForException(e));
+
+      this.spool.commit(record);
+
+      return true;
+    }
+
+    try {
+      this.messageSender.sendAndAwaitConfirm(message, this.confirmTimeout);
+    } catch (MessageSenderException | AmqpException e) {
+      logger.warn(
+          "Unable to publish spooled message {}, {} messages pending: {}",
+          message.getId(),
+          this.spool.getPendingRecords(),
+          e.getMessage());
+
+      return false;
+    }
+
+    this.spool.commit(record);
+
+    return true;
+  }
+}
@@ -0,0 +1,431 @@
+package com.logreposit.logrepositapi.communication.messaging.spool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only FIFO of byte records, stored in a directory of segment files.
+ *
+ * <p>Every record consists of a header (length, CRC32 checksum and append timestamp) followed by
+ * the data. New records are always appended to the newest segment, a new segment is started once
+ * the configured segment size would be exceeded. Records are consumed in order with {@link #peek()}
+ * and {@link #commit(SpoolRecord)}, the read position is persisted in a checkpoint file and fully
+ * consumed segments are deleted.
+ *
+ * <p>If enabled, appended records are forced to disk before {@link #append(byte[])} returns. The
+ * force happens outside of the spool's lock and covers every record appended so far, so concurrent
+ * appenders share a single force instead of queueing up for one each.
+ *
+ * <p>After a restart, writing continues in a new segment. Incomplete records at the end of older
+ * segments (e.g. caused by a crash while appending) are skipped, as are records with an invalid
+ * checksum.
+ */
+class SegmentedSpool implements Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(SegmentedSpool.class);
+
+  static final int HEADER_SIZE = 16;
+
+  private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+  private static final Pattern SEGMENT_FILE_NAME_PATTERN =
+      Pattern.compile("^segment-(\\d+)\\.log$");
+
+  private final Path directory;
+  private final long segmentMaxBytes;
+  private final long maxBytes;
+  private final boolean fsync;
+  private final NavigableMap<Long, Long> segmentSizes = new TreeMap<>();
+  private final FileChannel checkpointChannel;
+  private final Object forceLock = new Object();
+
+  private FileChannel writeChannel;
+  private long writeSegmentId;
+  private FileChannel readChannel;
+  private long readSegmentId;
+  private long readOffset;
+  private long pendingRecords;
+  private long sizeBytes;
+  private long headTimestamp;
+  private long appendedRecords;
+  private long forcedRecords;
+
+  SegmentedSpool(Path directory, long segmentMaxBytes, long maxBytes, boolean fsync)
+      throws IOException {
+    this.directory = directory;
+    this.segmentMaxBytes = segmentMaxBytes;
+    this.maxBytes = maxBytes;
+    this.fsync = fsync;
+
+    Files.createDirectories(directory);
+
+    try (final var files = Files.list(directory)) {
+      files.forEach(this::registerSegment);
+    }
+
+    this.checkpointChannel =
+        FileChannel.open(
+            directory.resolve(CHECKPOINT_FILE_NAME),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+    this.restoreCheckpoint();
+
+    if (!this.segmentSizes.containsKey(this.readSegmentId)) {
+      this.readOffset = 0;
+    }
+
+    this.writeSegmentId =
+        Math.max(
+            this.readSegmentId, this.segmentSizes.isEmpty() ? 1 : this.segmentSizes.lastKey() + 1);
+    this.writeChannel = this.openSegment(this.writeSegmentId, true);
+    this.segmentSizes.put(this.writeSegmentId, 0L);
+    this.readSegmentId = this.segmentSizes.ceilingKey(this.readSegmentId);
+
+    this.readChannel = this.openSegment(this.readSegmentId, false);
+    this.sizeBytes = this.segmentSizes.values().stream().mapToLong(Long::longValue).sum();
+    this.pendingRecords = this.countPendingRecords();
+
+    this.writeCheckpoint();
+  }
+
+  /**
+   * Appends the given data as a new record.
+   *
+   * @return {@code false} if the record has not been appended because the spool is full
+   */
+  boolean append(byte[] data) throws IOException {
+    final var sequence = this.write(data);
+
+    if (sequence < 0) {
+      return false;
+    }
+
+    if (this.fsync) {
+      this.force(sequence);
+    }
+
+    return true;
+  }
+
+  /** Writes the record and returns its sequence number, or -1 if the spool is full. */
+  private synchronized long write(byte[] data) throws IOException {
+    final var recordSize = HEADER_SIZE + data.length;
+
+    if (this.sizeBytes + recordSize > this.maxBytes) {
+      return -1;
+    }
+
+    var writeOffset = this.segmentSizes.get(this.writeSegmentId);
+
+    if (writeOffset > 0 && writeOffset + recordSize > this.segmentMaxBytes) {
+      this.roll();
+
+      writeOffset = 0L;
+    }
+
+    final var checksum = new CRC32();
+
+    checksum.update(data);
+
+    final var timestamp = System.currentTimeMillis();
+    final var buffer =
+        ByteBuffer.allocate(recordSize)
+            .putInt(data.length)
+            .putInt((int) checksum.getValue())
+            .putLong(timestamp)
+            .put(data)
+            .flip();
+
+    writeFully(this.writeChannel, buffer, writeOffset);
+
+    this.segmentSizes.put(this.writeSegmentId, writeOffset + recordSize);
+    this.sizeBytes += recordSize;
+
+    if (this.pendingRecords++ == 0) {
+      this.headTimestamp = timestamp;
+    }
+
+    return ++this.appendedRecords;
+  }
+
+  /**
+   * Forces the current segment to disk unless a force which started after the record with the given
+   * sequence number had been written already did so.
+   */
+  private void force(long sequence) throws IOException {
+    synchronized (this.forceLock) {
+      if (this.forcedRecords >= sequence) {
+        return;
+      }
+
+      final long appended;
+      final FileChannel channel;
+
+      synchronized (this) {
+        appended = this.appendedRecords;
+        channel = this.writeChannel;
+      }
+
+      try {
+        channel.force(false);
+      } catch (ClosedChannelException e) {
+        // the segment has been rolled or the spool closed, both force the segment before closing
+        return;
+      }
+
+      this.forcedRecords = appended;
+    }
+  }
+
+  /** Returns the oldest record which has not been committed yet or {@code null} if none. */
+  synchronized SpoolRecord peek() throws IOException {
+    while (true) {
+      final long segmentSize = this.segmentSizes.get(this.readSegmentId);
+
+      if (this.readOffset + HEADER_SIZE <= segmentSize) {
+        final var header = ByteBuffer.allocate(HEADER_SIZE);
+
+        readFully(this.readChannel, header, this.readOffset);
+        header.flip();
+
+        final var length = header.getInt();
+        final var checksum = header.getInt();
+        final var timestamp = header.getLong();
+        final var nextOffset = this.readOffset + HEADER_SIZE + length;
+
+        if (length >= 0 && nextOffset <= segmentSize) {
+          final var data = ByteBuffer.allocate(length);
+
+          readFully(this.readChannel, data, this.readOffset + HEADER_SIZE);
+
+          if (checksum(data.array()) == checksum) {
+            this.headTimestamp = timestamp;
+
+            return new SpoolRecord(this.readSegmentId, this.readOffset, nextOffset, data.array());
+          }
+
+          logger.error(
+              "Skipping spooled record with invalid checksum in segment {} at offset {}.",
+              this.readSegmentId,
+              this.readOffset);
+
+          this.readOffset = nextOffset;
+          this.pendingRecords--;
+          this.writeCheckpoint();
+
+          continue;
+        }
+      }
+
+      if (this.readSegmentId == this.writeSegmentId) {
+        return null;
+      }
+
+      if (this.readOffset < segmentSize) {
+        logger.warn(
+            "Skipping incomplete spooled record at the end of segment {}.", this.readSegmentId);
+      }
+
+      this.deleteReadSegment();
+    }
+  }
+
+  /** Marks the given record, which must be the last one returned by {@link #peek()}, as done. */
+  synchronized void commit(SpoolRecord record) throws IOException {
+    if (record.segmentId() != this.readSegmentId || record.offset() != this.readOffset) {
+      throw new IllegalStateException("Only the oldest pending record can be committed.");
+    }
+
+    this.readOffset = record.nextOffset();
+    this.pendingRecords--;
+    this.writeCheckpoint();
+  }
+
+  synchronized long getPendingRecords() {
+    return this.pendingRecords;
+  }
+
+  synchronized long getSizeBytes() {
+    return this.sizeBytes;
+  }
+
+  /** Returns the append timestamp of the oldest pending record or {@code 0} if none. */
+  synchronized long getHeadTimestamp() {
+    return this.pendingRecords == 0 ? 0 : this.headTimestamp;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      this.writeCheckpoint();
+
+      if (this.fsync) {
+        this.writeChannel.force(false);
+      }
+    } finally {
+      this.checkpointChannel.close();
+      this.writeChannel.close();
+      this.readChannel.close();
+    }
+  }
+
+  private void roll() throws IOException {
+    if (this.fsync) {
+      this.writeChannel.force(false);
+    }
+
+    this.writeChannel.close();
+    this.writeSegmentId++;
+    this.writeChannel = this.openSegment(this.writeSegmentId, true);
+    this.segmentSizes.put(this.writeSegmentId, 0L);
+  }
+
+  private void deleteReadSegment() throws IOException {
+    this.readChannel.close();
+
+    Files.deleteIfExists(this.segmentPath(this.readSegmentId));
+
+    this.sizeBytes -= this.segmentSizes.remove(this.readSegmentId);
+    this.readSegmentId = this.segmentSizes.firstKey();
+    this.readOffset = 0;
+    this.readChannel = this.openSegment(this.readSegmentId, false);
+    this.writeCheckpoint();
+  }
+
+  private long countPendingRecords() throws IOException {
+    var count = 0L;
+    var first = true;
+
+    for (final var segment : this.segmentSizes.tailMap(this.readSegmentId, true).entrySet()) {
+      try (final var channel = this.openSegment(segment.getKey(), false)) {
+        var offset = segment.getKey() == this.readSegmentId ? this.readOffset : 0;
+        final var header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while (offset + HEADER_SIZE <= segment.getValue()) {
+          header.clear();
+          readFully(channel, header, offset);
+          header.flip();
+
+          final var length = header.getInt();
+          final var nextOffset = offset + HEADER_SIZE + length;
+
+          if (length < 0 || nextOffset > segment.getValue()) {
+            break;
+          }
+
+          if (first) {
+            this.headTimestamp = header.getLong(8);
+            first = false;
+          }
+
+          offset = nextOffset;
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  private void restoreCheckpoint() throws IOException {
+    if (this.checkpointChannel.size() < HEADER_SIZE) {
+      this.readSegmentId = this.segmentSizes.isEmpty() ? 1 : this.segmentSizes.firstKey();
+      this.readOffset = 0;
+
+      return;
+    }
+
+    final var checkpoint = ByteBuffer.allocate(HEADER_SIZE);
+
+    readFully(this.checkpointChannel, checkpoint, 0);
+    checkpoint.flip();
+
+    this.readSegmentId = checkpoint.getLong();
+    this.readOffset = checkpoint.getLong();
+
+    final var consumedSegments = this.segmentSizes.headMap(this.readSegmentId, false);
+
+    for (final var segmentId : consumedSegments.keySet()) {
+      Files.deleteIfExists(this.segmentPath(segmentId));
+    }
+
+    consumedSegments.clear();
+  }
+
+  private void writeCheckpoint() throws IOException {
+    final var checkpoint =
+        ByteBuffer.allocate(HEADER_SIZE).putLong(this.readSegmentId).putLong(this.readOffset);
+
+    writeFully(this.checkpointChannel, checkpoint.flip(), 0);
+  }
+
+  private void registerSegment(Path path) {
+    final var matcher = SEGMENT_FILE_NAME_PATTERN.matcher(path.getFileName().toString());
+
+    if (!matcher.matches()) {
+      return;
+    }
+
+    try {
+      this.segmentSizes.put(Long.parseLong(matcher.group(1)), Files.size(path));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to determine size of spool segment " + path, e);
+    }
+  }
+
+  private FileChannel openSegment(long segmentId, boolean write) throws IOException {
+    final var path = this.segmentPath(segmentId);
+
+    if (write) {
+      return FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    return FileChannel.open(path, StandardOpenOption.READ);
+  }
+
+  private Path segmentPath(long segmentId) {
+    return this.directory.resolve(String.format("segment-%020d.log", segmentId));
+  }
+
+  private static int checksum(byte[] data) {
+    final var checksum = new CRC32();
+
+    checksum.update(data);
+
+    return (int) checksum.getValue();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      final var read = channel.read(buffer, position);
+
+      if (read < 0) {
+        throw new IOException("Unexpected end of spool segment");
+      }
+
+      position += read;
+    }
+  }
+
+  record SpoolRecord(long segmentId, long offset, long nextOffset, byte[] data) {}
+}
@@ -1,12 +1,11 @@
 package com.logreposit.logrepositapi.communication.messaging.utils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
 import com.logreposit.logrepositapi.communication.messaging.dtos.DeviceCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.dtos.UserCreatedMessageDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
 import com.logreposit.logrepositapi.rest.filters.RequestCorrelation;
 import java.util.Date;
@@ -14,56 +13,64 @@ import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builds the messages published to the broker. Payloads are set as objects, they are serialized
+ * along with the message envelope when it is sent.
+ */
 @Component
 public class MessageFactory {
-  private final ObjectMapper objectMapper;
+  public Message buildEventGenericLogdataReceivedMessage(
+      List<ReadingDto> readings, String deviceId, String userId) {
+    return this.buildLogdataReceivedMessage(
+        MessageType.EVENT_GENERIC_LOGDATA_RECEIVED, readings, deviceId, userId);
+  }
 
-  public MessageFactory(ObjectMapper objectMapper) {
-    this.objectMapper = objectMapper;
+  public Message buildEventGenericColumnarLogdataReceivedMessage(
+      List<ColumnBlockDto> blocks, String deviceId, String userId) {
+    return this.buildLogdataReceivedMessage(
+        MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED, blocks, deviceId, userId);
   }
 
-  public Message buildEventGenericLogdataReceivedMessage(
-      List<ReadingDto> readings, String deviceId, String userId) throws JsonProcessingException {
+  public Message buildEventUserCreatedMessage(UserCreatedMessageDto user) {
     MessageMetaData messageMetaData = new MessageMetaData();
-    messageMetaData.setDeviceId(deviceId);
-    messageMetaData.setUserId(userId);
-
     Message message = createMessage(messageMetaData);
 
-    message.setType(MessageType.EVENT_GENERIC_LOGDATA_RECEIVED.toString());
-    message.setPayload(this.objectMapper.writeValueAsString(readings));
+    message.setType(MessageType.EVENT_USER_CREATED.toString());
+    message.setPayload(user);
 
     addCorrelationIdToMessage(message);
 
     return message;
   }
 
-  public Message buildEventUserCreatedMessage(UserCreatedMessageDto user)
-      throws JsonProcessingException {
+  public Message buildEventDeviceCreatedMessage(
+      DeviceCreatedMessageDto device, String userId, String userEmail) {
     MessageMetaData messageMetaData = new MessageMetaData();
+
+    messageMetaData.setUserId(userId);
+    messageMetaData.setUserEmail(userEmail);
+    messageMetaData.setDeviceId(device.getId());
+
     Message message = createMessage(messageMetaData);
 
-    message.setType(MessageType.EVENT_USER_CREATED.toString());
-    message.setPayload(this.objectMapper.writeValueAsString(user));
+    message.setType(MessageType.EVENT_DEVICE_CREATED.toString());
+    message.setPayload(device);
 
     addCorrelationIdToMessage(message);
 
     return message;
   }
 
-  public Message buildEventDeviceCreatedMessage(
-      DeviceCreatedMessageDto device, String userId, String userEmail)
-      throws JsonProcessingException {
+  private Message buildLogdataReceivedMessage(
+      MessageType type, Object payload, String deviceId, String userId) {
     MessageMetaData messageMetaData = new MessageMetaData();
-
+    messageMetaData.setDeviceId(deviceId);
     messageMetaData.setUserId(userId);
-    messageMetaData.setUserEmail(userEmail);
-    messageMetaData.setDeviceId(device.getId());
 
     Message message = createMessage(messageMetaData);
 
-    message.setType(MessageType.EVENT_DEVICE_CREATED.toString());
-    message.setPayload(this.objectMapper.writeValueAsString(device));
+    message.setType(type.toString());
+    message.setPayload(payload);
 
     addCorrelationIdToMessage(message);
 
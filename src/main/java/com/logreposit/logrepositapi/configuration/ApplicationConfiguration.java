@@ -1,13 +1,23 @@
 package com.logreposit.logrepositapi.configuration;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
@@ -24,4 +34,219 @@ public class ApplicationConfiguration {
   @NotNull
   @Size(min = 3, max = 3)
   private List<Integer> messageRetryIntervals;
+
+  @NotNull
+  private AuthenticationCacheConfiguration authenticationCache =
+      new AuthenticationCacheConfiguration();
+
+  @NotNull
+  private MessagePublisherConfiguration messagePublisher = new MessagePublisherConfiguration();
+
+  @NotNull private IngressConfiguration ingress = new IngressConfiguration();
+
+  @NotNull private SpoolConfiguration spool = new SpoolConfiguration();
+
+  @NotNull
+  private MessageListenerConfiguration messageListener = new MessageListenerConfiguration();
+
+  @NotNull private PartitioningConfiguration partitioning = new PartitioningConfiguration();
+
+  @NotNull private UsageConfiguration usage = new UsageConfiguration();
+
+  @NotNull private AccessLogConfiguration accessLog = new AccessLogConfiguration();
+
+  @Valid @NotNull private RateLimitConfiguration rateLimit = new RateLimitConfiguration();
+
+  @NotNull private IdempotencyConfiguration idempotency = new IdempotencyConfiguration();
+
+  @Validated
+  @Getter
+  @Setter
+  public static class AuthenticationCacheConfiguration {
+    @NotNull private Long maximumSize = 100000L;
+    @NotNull private Duration expireAfterWrite = Duration.ofSeconds(60);
+    @NotNull private Long negativeMaximumSize = 10000L;
+    @NotNull private Duration negativeExpireAfterWrite = Duration.ofSeconds(10);
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class MessagePublisherConfiguration {
+    @NotNull private MessagePublisherMode mode = MessagePublisherMode.SYNCHRONOUS;
+
+    @NotNull
+    @Min(1)
+    private Integer batchSize = 100;
+
+    @NotNull private Duration batchLinger = Duration.ofMillis(5);
+
+    @NotNull
+    @Min(1)
+    private Integer queueCapacity = 10000;
+
+    @NotNull private Duration confirmTimeout = Duration.ofSeconds(10);
+
+    @NotNull private MessagePayloadFormat payloadFormat = MessagePayloadFormat.STRING;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class IngressConfiguration {
+    @NotNull
+    @Min(1)
+    private Integer streamingChunkSize = 1000;
+
+    /** Size up to which compressed request bodies may be inflated. */
+    @NotNull private DataSize maximumDecompressedSize = DataSize.ofMegabytes(64);
+
+    /** Number of asynchronous requests processed at once, further requests are rejected. */
+    @NotNull
+    @Min(1)
+    private Integer maximumConcurrentAsyncRequests = 1000;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class SpoolConfiguration {
+    private boolean enabled;
+
+    @NotBlank private String directory = "spool";
+    @NotNull private DataSize segmentSize = DataSize.ofMegabytes(64);
+    @NotNull private DataSize maxSize = DataSize.ofGigabytes(1);
+    @NotNull private Duration drainInterval = Duration.ofSeconds(1);
+    private boolean fsync = true;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class MessageListenerConfiguration {
+    private boolean batchEnabled;
+
+    @NotNull
+    @Min(1)
+    private Integer batchSize = 100;
+
+    @NotNull private Duration batchReceiveTimeout = Duration.ofMillis(100);
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class PartitioningConfiguration {
+    private boolean enabled;
+
+    @NotNull
+    @Min(1)
+    private Integer partitions = 4;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class UsageConfiguration {
+    private boolean enabled;
+
+    @NotNull private Duration flushInterval = Duration.ofMinutes(1);
+
+    @NotNull
+    @Min(1)
+    private Integer topK = 10;
+
+    /** Number of keys tracked by the heavy hitter sketches, a multiple of {@code topK}. */
+    @NotNull
+    @Min(1)
+    private Integer sketchCapacity = 1000;
+
+    @NotNull private Duration heavyHitterWindow = Duration.ofHours(1);
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class AccessLogConfiguration {
+    /** Share of successful ingress requests which are logged, failed requests are always logged. */
+    @NotNull
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Double ingressSampleRate = 0.1;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class RateLimitConfiguration {
+    private boolean enabled;
+
+    /** Limit of the ingress requests of a single device. */
+    @Valid @NotNull private RateLimit device = new RateLimit(10.0, 20);
+
+    /** Limit of the ingress requests of all devices of a user. */
+    @Valid @NotNull private RateLimit user = new RateLimit(100.0, 200);
+
+    /** Limits which replace the defaults above for the user with the given id. */
+    @Valid @NotNull private Map<String, UserRateLimits> users = new HashMap<>();
+
+    @NotNull
+    @Min(1)
+    private Integer maximumTrackedKeys = 500000;
+
+    @NotNull private Duration idleTimeout = Duration.ofMinutes(5);
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class IdempotencyConfiguration {
+    private boolean enabled = true;
+
+    /** Treats batches without idempotency key as duplicates if their content was seen before. */
+    private boolean contentHash;
+
+    @NotNull private Duration window = Duration.ofMinutes(10);
+
+    @NotNull
+    @Min(1)
+    private Integer maximumKeys = 100000;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RateLimit {
+    /** Sustained rate in requests per second. */
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false)
+    private Double rate;
+
+    /** Number of requests which may be sent at once after being idle. */
+    @NotNull
+    @Min(1)
+    private Integer burst;
+  }
+
+  @Validated
+  @Getter
+  @Setter
+  public static class UserRateLimits {
+    @Valid private RateLimit device;
+    @Valid private RateLimit user;
+  }
+
+  public enum MessagePublisherMode {
+    SYNCHRONOUS,
+    BATCHING
+  }
+
+  public enum MessagePayloadFormat {
+    /** Payload is written as JSON string, as expected by consumers prior to the embedded format. */
+    STRING,
+    /** Payload is embedded as JSON value, consumers have to be able to read both formats. */
+    EMBEDDED
+  }
 }
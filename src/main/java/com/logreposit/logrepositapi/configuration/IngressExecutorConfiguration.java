@@ -0,0 +1,33 @@
+package com.logreposit.logrepositapi.configuration;
+
+import com.logreposit.logrepositapi.rest.filters.RequestCorrelationTaskDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+@Configuration
+public class IngressExecutorConfiguration {
+  public static final String INGRESS_EXECUTOR = "ingressExecutor";
+
+  private static final long TASK_TERMINATION_TIMEOUT_MILLIS = 30_000;
+
+  /**
+   * Runs asynchronous ingress requests on virtual threads, so that waiting for broker
+   * acknowledgements or publish retries does not occupy a request thread. Tasks run with the
+   * correlation id and logging context of the request which submitted them. On shutdown, running
+   * tasks are awaited for up to 30 seconds.
+   *
+   * <p>The executor does not limit the number of tasks, the {@code IngressService} rejects requests
+   * beyond {@code logreposit.ingress.maximum-concurrent-async-requests}.
+   */
+  @Bean(name = INGRESS_EXECUTOR, destroyMethod = "close")
+  public SimpleAsyncTaskExecutor ingressExecutor() {
+    final var executor = new SimpleAsyncTaskExecutor("ingress-");
+
+    executor.setVirtualThreads(true);
+    executor.setTaskDecorator(new RequestCorrelationTaskDecorator());
+    executor.setTaskTerminationTimeout(TASK_TERMINATION_TIMEOUT_MILLIS);
+
+    return executor;
+  }
+}
@@ -1,6 +1,20 @@
 package com.logreposit.logrepositapi.configuration;
 
+import com.logreposit.logrepositapi.communication.messaging.spool.MessageSpool;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
+import com.logreposit.logrepositapi.services.mqtt.MqttClientPool;
+import com.logreposit.logrepositapi.services.usage.HeavyHitterSketch;
+import com.logreposit.logrepositapi.services.usage.UsageMeter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.context.annotation.Bean;
@@ -19,4 +33,97 @@ public class MonitoringConfiguration {
     return registry ->
         registry.config().commonTags("application", this.buildProperties.getArtifact());
   }
+
+  @Bean
+  public MeterBinder authenticationCacheMetrics(AuthenticationCache authenticationCache) {
+    return registry ->
+        authenticationCache
+            .getCaches()
+            .forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+  }
+
+  @Bean
+  public MeterBinder mqttClientPoolMetrics(MqttClientPool mqttClientPool) {
+    return registry -> {
+      Gauge.builder("logreposit.mqtt.clients", mqttClientPool, MqttClientPool::getClientCount)
+          .description("Number of pooled MQTT clients")
+          .register(registry);
+
+      Gauge.builder(
+              "logreposit.mqtt.clients.connected",
+              mqttClientPool,
+              MqttClientPool::getConnectedClientCount)
+          .description("Number of pooled MQTT clients which are currently connected")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder messageSpoolMetrics(MessageSpool messageSpool) {
+    return registry -> {
+      Gauge.builder("logreposit.spool.messages", messageSpool, MessageSpool::getPendingMessages)
+          .description("Number of messages waiting in the local spool")
+          .register(registry);
+
+      Gauge.builder("logreposit.spool.size", messageSpool, MessageSpool::getSizeBytes)
+          .description("Disk space used by the local spool")
+          .baseUnit("bytes")
+          .register(registry);
+
+      TimeGauge.builder(
+              "logreposit.spool.lag",
+              messageSpool,
+              TimeUnit.MILLISECONDS,
+              s -> s.getLag().toMillis())
+          .description("Age of the oldest message waiting in the local spool")
+          .register(registry);
+    };
+  }
+
+  /**
+   * Exports the heaviest devices and users of the current window. Only the top-K rows are
+   * registered, and they are replaced after every usage flush, so the number of time series stays
+   * bounded regardless of the number of devices.
+   */
+  @Bean
+  public MeterBinder usageMetrics(UsageMeter usageMeter) {
+    return registry -> {
+      final var topDeviceReadings =
+          heavyHitterGauge(
+              registry, "logreposit.usage.top.device.readings", "Readings of the top devices");
+      final var topDeviceBytes =
+          heavyHitterGauge(
+              registry, "logreposit.usage.top.device.bytes", "Request bytes of the top devices");
+      final var topUserReadings =
+          heavyHitterGauge(
+              registry, "logreposit.usage.top.user.readings", "Readings of the top users");
+      final var topUserBytes =
+          heavyHitterGauge(
+              registry, "logreposit.usage.top.user.bytes", "Request bytes of the top users");
+
+      usageMeter.addFlushListener(
+          () -> {
+            registerHeavyHitters(topDeviceReadings, "device", usageMeter::getTopDevicesByReadings);
+            registerHeavyHitters(topDeviceBytes, "device", usageMeter::getTopDevicesByBytes);
+            registerHeavyHitters(topUserReadings, "user", usageMeter::getTopUsersByReadings);
+            registerHeavyHitters(topUserBytes, "user", usageMeter::getTopUsersByBytes);
+          });
+    };
+  }
+
+  private static MultiGauge heavyHitterGauge(
+      MeterRegistry registry, String name, String description) {
+    return MultiGauge.builder(name).description(description).register(registry);
+  }
+
+  private static void registerHeavyHitters(
+      MultiGauge multiGauge,
+      String tagKey,
+      Supplier<List<HeavyHitterSketch.HeavyHitter>> heavyHitters) {
+    multiGauge.register(
+        heavyHitters.get().stream()
+            .<MultiGauge.Row<?>>map(h -> MultiGauge.Row.of(Tags.of(tagKey, h.key()), h.count()))
+            .toList(),
+        true);
+  }
 }
@@ -1,5 +1,6 @@
 package com.logreposit.logrepositapi.configuration;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -21,6 +22,11 @@ public class MqttConfiguration {
   @NotBlank private String username;
   @NotBlank private String password;
   @NotNull private EmqxConfiguration emqx = new EmqxConfiguration();
+  @NotNull private PublishMode publishMode = PublishMode.SYNCHRONOUS;
+
+  @NotNull
+  @Min(1)
+  private Integer maxInflight = 100;
 
   @Validated
   @Getter
@@ -28,4 +34,16 @@ public class MqttConfiguration {
   public static class EmqxConfiguration {
     @NotBlank private String managementEndpoint;
   }
+
+  public enum PublishMode {
+    /** Every publish waits for the acknowledgement of the broker. */
+    SYNCHRONOUS,
+
+    /**
+     * Publishes are acknowledged asynchronously, limited to {@code maxInflight} at a time. Only the
+     * batch message listener publishes several messages at once; a batch is acknowledged once the
+     * broker has acknowledged all of its publishes.
+     */
+    ASYNCHRONOUS
+  }
 }
@@ -8,11 +8,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.annotation.RabbitListenerAnnotationBeanPostProcessor;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.amqp.RabbitRetryTemplateCustomizer;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
@@ -29,6 +32,43 @@ public class RabbitConfiguration {
     return new Jackson2JsonMessageConverter(objectMapper);
   }
 
+  /**
+   * Enables correlated publisher confirms only if the batching message publisher or the message
+   * spool is used, the synchronous publisher does not wait for confirms and should not pay for
+   * them. The message spool additionally needs publisher returns and mandatory publishing, so that
+   * it does not drop messages which cannot be routed.
+   */
+  @Bean
+  public static BeanPostProcessor publisherConfirmsBeanPostProcessor(
+      ObjectProvider<ApplicationConfiguration> applicationConfiguration) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof CachingConnectionFactory connectionFactory
+            && (this.isBatching() || this.isSpool())) {
+          connectionFactory.setPublisherConfirmType(
+              CachingConnectionFactory.ConfirmType.CORRELATED);
+          connectionFactory.setPublisherReturns(this.isSpool());
+        }
+
+        if (bean instanceof RabbitTemplate rabbitTemplate && this.isSpool()) {
+          rabbitTemplate.setMandatory(true);
+        }
+
+        return bean;
+      }
+
+      private boolean isBatching() {
+        return applicationConfiguration.getObject().getMessagePublisher().getMode()
+            == ApplicationConfiguration.MessagePublisherMode.BATCHING;
+      }
+
+      private boolean isSpool() {
+        return applicationConfiguration.getObject().getSpool().isEnabled();
+      }
+    };
+  }
+
   @Bean
   public RabbitRetryTemplateCustomizer rabbitRetryTemplateCustomizer() {
     return (target, retryTemplate) -> retryTemplate.setRetryPolicy(new NeverRetryPolicy());
@@ -44,11 +84,21 @@ public class RabbitConfiguration {
       RabbitListenerAnnotationBeanPostProcessor.DEFAULT_RABBIT_LISTENER_CONTAINER_FACTORY_BEAN_NAME)
   public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
       SimpleRabbitListenerContainerFactoryConfigurer configurer,
-      ConnectionFactory connectionFactory) {
+      ConnectionFactory connectionFactory,
+      ApplicationConfiguration applicationConfiguration) {
     var factory = new SimpleRabbitListenerContainerFactory();
 
     configurer.configure(factory, connectionFactory);
 
+    final var listenerConfiguration = applicationConfiguration.getMessageListener();
+
+    if (listenerConfiguration.isBatchEnabled()) {
+      factory.setConsumerBatchEnabled(true);
+      factory.setBatchListener(true);
+      factory.setBatchSize(listenerConfiguration.getBatchSize());
+      factory.setReceiveTimeout(listenerConfiguration.getBatchReceiveTimeout().toMillis());
+    }
+
     factory.setAfterReceivePostProcessors(
         message -> {
           logger.debug("Received RabbitMQ message: {}", message);
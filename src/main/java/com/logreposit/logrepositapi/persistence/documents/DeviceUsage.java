@@ -0,0 +1,26 @@
+package com.logreposit.logrepositapi.persistence.documents;
+
+import java.util.Date;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** Accumulated ingress usage of a device. The id is the id of the device. */
+@NoArgsConstructor
+@Data
+@Document
+public class DeviceUsage {
+  @Id private String id;
+
+  @Indexed private String userId;
+
+  private long readingsAccepted;
+  private long readingsRejected;
+  private long fieldsAccepted;
+  private long fieldsRejected;
+  private long bytesAccepted;
+  private long bytesRejected;
+  private Date updatedAt;
+}
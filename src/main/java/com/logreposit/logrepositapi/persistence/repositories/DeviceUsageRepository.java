@@ -0,0 +1,10 @@
+package com.logreposit.logrepositapi.persistence.repositories;
+
+import com.logreposit.logrepositapi.persistence.documents.DeviceUsage;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface DeviceUsageRepository
+    extends MongoRepository<DeviceUsage, String>, DeviceUsageRepositoryCustom {
+  List<DeviceUsage> findByUserId(String userId);
+}
@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.persistence.repositories;
+
+import com.logreposit.logrepositapi.persistence.documents.DeviceUsage;
+
+public interface DeviceUsageRepositoryCustom {
+  /**
+   * Adds the counters of the given delta to the stored usage of the device, creating it if it does
+   * not exist yet.
+   */
+  void incrementUsage(DeviceUsage delta);
+}
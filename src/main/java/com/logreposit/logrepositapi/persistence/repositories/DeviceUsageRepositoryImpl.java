@@ -0,0 +1,32 @@
+package com.logreposit.logrepositapi.persistence.repositories;
+
+import com.logreposit.logrepositapi.persistence.documents.DeviceUsage;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class DeviceUsageRepositoryImpl implements DeviceUsageRepositoryCustom {
+  private final MongoTemplate mongoTemplate;
+
+  public DeviceUsageRepositoryImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public void incrementUsage(DeviceUsage delta) {
+    final var update =
+        new Update()
+            .set("userId", delta.getUserId())
+            .inc("readingsAccepted", delta.getReadingsAccepted())
+            .inc("readingsRejected", delta.getReadingsRejected())
+            .inc("fieldsAccepted", delta.getFieldsAccepted())
+            .inc("fieldsRejected", delta.getFieldsRejected())
+            .inc("bytesAccepted", delta.getBytesAccepted())
+            .inc("bytesRejected", delta.getBytesRejected())
+            .currentDate("updatedAt");
+
+    this.mongoTemplate.upsert(
+        Query.query(Criteria.where("_id").is(delta.getId())), update, DeviceUsage.class);
+  }
+}
@@ -1,13 +1,21 @@
 package com.logreposit.logrepositapi.rest.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.logreposit.logrepositapi.rest.converters.MessagePackHttpMessageConverter;
 import com.logreposit.logrepositapi.rest.resolvers.DeviceResolver;
 import com.logreposit.logrepositapi.rest.resolvers.UserResolver;
 import com.logreposit.logrepositapi.rest.security.LogrepositAuthenticationAndAuthorizationInterceptor;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserService;
 import java.util.List;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -16,16 +24,22 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class LogrepositWebMvcConfiguration implements WebMvcConfigurer {
   public static final String API_KEY_HEADER_NAME = "x-api-key";
   public static final String DEVICE_TOKEN_HEADER_NAME = "x-device-token";
+  public static final String IDEMPOTENCY_KEY_HEADER_NAME = "Idempotency-Key";
 
   private final ObjectMapper objectMapper;
   private final UserService userService;
   private final DeviceService deviceService;
+  private final IngressRateLimiter ingressRateLimiter;
 
   public LogrepositWebMvcConfiguration(
-      ObjectMapper objectMapper, UserService userService, DeviceService deviceService) {
+      ObjectMapper objectMapper,
+      UserService userService,
+      DeviceService deviceService,
+      IngressRateLimiter ingressRateLimiter) {
     this.objectMapper = objectMapper;
     this.userService = userService;
     this.deviceService = deviceService;
+    this.ingressRateLimiter = ingressRateLimiter;
   }
 
   @Override
@@ -36,7 +50,8 @@ public class LogrepositWebMvcConfiguration implements WebMvcConfigurer {
             DEVICE_TOKEN_HEADER_NAME,
             this.objectMapper,
             this.userService,
-            this.deviceService);
+            this.deviceService,
+            this.ingressRateLimiter);
 
     registry.addInterceptor(apiKeyCheckInterceptor);
   }
@@ -49,4 +64,25 @@ public class LogrepositWebMvcConfiguration implements WebMvcConfigurer {
     resolvers.add(userResolver);
     resolvers.add(deviceResolver);
   }
+
+  /**
+   * Replaces the default CBOR and Smile converters and adds a MessagePack converter, all of them
+   * sharing the configuration and modules of the application's {@link ObjectMapper}. They are
+   * appended after the JSON converter, so responses stay JSON unless a binary type is requested.
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.removeIf(
+        c ->
+            c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+
+    converters.add(
+        new MappingJackson2CborHttpMessageConverter(this.objectMapper.copyWith(new CBORFactory())));
+    converters.add(
+        new MappingJackson2SmileHttpMessageConverter(
+            this.objectMapper.copyWith(new SmileFactory())));
+    converters.add(
+        new MessagePackHttpMessageConverter(this.objectMapper.copyWith(new MessagePackFactory())));
+  }
 }
@@ -0,0 +1,19 @@
+package com.logreposit.logrepositapi.rest.configuration;
+
+import com.logreposit.logrepositapi.rest.filters.RequestBodySizeFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestBodySizeConfiguration {
+  @Bean
+  public FilterRegistrationBean<RequestBodySizeFilter> requestBodySizeFilter() {
+    final var registration = new FilterRegistrationBean<>(new RequestBodySizeFilter());
+
+    registration.addUrlPatterns("/v2/ingress/*");
+    registration.setOrder(4);
+
+    return registration;
+  }
+}
@@ -0,0 +1,26 @@
+package com.logreposit.logrepositapi.rest.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.rest.filters.RequestDecompressionFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestDecompressionConfiguration {
+  @Bean
+  public FilterRegistrationBean<RequestDecompressionFilter> requestDecompressionFilter(
+      ApplicationConfiguration applicationConfiguration, ObjectMapper objectMapper) {
+    final var registration =
+        new FilterRegistrationBean<>(
+            new RequestDecompressionFilter(
+                objectMapper,
+                applicationConfiguration.getIngress().getMaximumDecompressedSize().toBytes()));
+
+    registration.addUrlPatterns("/v2/ingress/*");
+    registration.setOrder(3);
+
+    return registration;
+  }
+}
@@ -0,0 +1,23 @@
+package com.logreposit.logrepositapi.rest.configuration;
+
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.rest.filters.RequestResponseLoggingFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestLoggingConfiguration {
+  @Bean
+  public FilterRegistrationBean<RequestResponseLoggingFilter> requestResponseLoggingFilter(
+      ApplicationConfiguration applicationConfiguration) {
+    final var registration =
+        new FilterRegistrationBean<>(
+            new RequestResponseLoggingFilter(
+                applicationConfiguration.getAccessLog().getIngressSampleRate()));
+
+    registration.setOrder(2);
+
+    return registration;
+  }
+}
@@ -2,31 +2,47 @@ package com.logreposit.logrepositapi.rest.controllers;
 
 import com.logreposit.logrepositapi.persistence.documents.Device;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfiguration;
 import com.logreposit.logrepositapi.rest.dtos.ResponseDto;
 import com.logreposit.logrepositapi.rest.dtos.common.SuccessResponse;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnarIngressRequestDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.IngressV2RequestDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
 import com.logreposit.logrepositapi.rest.dtos.response.IngressResponseDto;
 import com.logreposit.logrepositapi.rest.dtos.shared.definition.DeviceDefinitionDto;
+import com.logreposit.logrepositapi.rest.filters.RequestBodySizeFilter;
 import com.logreposit.logrepositapi.rest.mappers.DeviceDefinitionMapper;
 import com.logreposit.logrepositapi.services.device.DeviceService;
 import com.logreposit.logrepositapi.services.device.DeviceServiceException;
 import com.logreposit.logrepositapi.services.ingress.IngressService;
 import com.logreposit.logrepositapi.services.ingress.IngressServiceException;
+import com.logreposit.logrepositapi.services.ingress.LineProtocolPrecision;
 import com.logreposit.logrepositapi.utils.duration.DurationCalculator;
 import com.logreposit.logrepositapi.utils.duration.DurationCalculatorException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.io.InputStream;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @Validated
 public class IngressV2Controller {
+  private static final int MAXIMUM_IDEMPOTENCY_KEY_LENGTH = 255;
+
   private final DurationCalculator durationCalculator;
   private final DeviceService deviceService;
   private final IngressService ingressService;
@@ -53,17 +69,115 @@ public class IngressV2Controller {
 
   @PostMapping(path = "/v2/ingress/data")
   public ResponseEntity<SuccessResponse<ResponseDto>> ingressData(
-      Device device, @RequestBody @Valid IngressV2RequestDto ingressRequestDto)
+      Device device,
+      @RequestHeader(
+              name = LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME,
+              required = false)
+          @Size(max = MAXIMUM_IDEMPOTENCY_KEY_LENGTH)
+          String idempotencyKey,
+      @RequestBody IngressV2RequestDto ingressRequestDto,
+      HttpServletRequest request)
       throws DurationCalculatorException, IngressServiceException {
     final var start = new Date();
+    final var readings = ReadingBatch.of(ingressRequestDto.getReadings());
 
-    this.ingressService.processData(device, ingressRequestDto.getReadings());
+    this.ingressService.processData(
+        device, readings, idempotencyKey, RequestBodySizeFilter.getRequestBodySize(request));
 
     final var delta = this.durationCalculator.getDuration(start, new Date());
 
     return new ResponseEntity<>(buildIngressDataResponse(delta), HttpStatus.ACCEPTED);
   }
 
+  /**
+   * Accepts readings in InfluxDB line protocol. Timestamps are interpreted in the given precision,
+   * as with the {@code precision} parameter of InfluxDB.
+   */
+  @PostMapping(path = "/v2/ingress/data", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<SuccessResponse<ResponseDto>> ingressLineProtocol(
+      Device device,
+      @RequestParam(name = "precision", defaultValue = "ns") @Pattern(regexp = "ns|us|ms|s")
+          String precision,
+      InputStream body)
+      throws DurationCalculatorException, IngressServiceException {
+    final var start = new Date();
+    final var accepted =
+        this.ingressService.processLineProtocol(device, body, LineProtocolPrecision.of(precision));
+    final var delta = this.durationCalculator.getDuration(start, new Date());
+
+    return new ResponseEntity<>(
+        buildIngressDataStreamResponse(accepted, delta), HttpStatus.ACCEPTED);
+  }
+
+  @PostMapping(path = "/v2/ingress/data/async")
+  public CompletableFuture<ResponseEntity<SuccessResponse<ResponseDto>>> ingressDataAsync(
+      Device device,
+      @RequestHeader(
+              name = LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME,
+              required = false)
+          @Size(max = MAXIMUM_IDEMPOTENCY_KEY_LENGTH)
+          String idempotencyKey,
+      @RequestBody IngressV2RequestDto ingressRequestDto,
+      HttpServletRequest request) {
+    final var start = new Date();
+    final var readings = ReadingBatch.of(ingressRequestDto.getReadings());
+
+    return this.ingressService
+        .processDataAsync(
+            device, readings, idempotencyKey, RequestBodySizeFilter.getRequestBodySize(request))
+        .thenApply(
+            v ->
+                new ResponseEntity<>(
+                    buildIngressDataResponse(this.getDuration(start)), HttpStatus.ACCEPTED));
+  }
+
+  /**
+   * Accepts readings in columnar form: one block per measurement and tag set, with a shared list of
+   * timestamps and one array of values per field.
+   */
+  @PostMapping(path = "/v2/ingress/columns")
+  public ResponseEntity<SuccessResponse<ResponseDto>> ingressColumns(
+      Device device,
+      @RequestHeader(
+              name = LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME,
+              required = false)
+          @Size(max = MAXIMUM_IDEMPOTENCY_KEY_LENGTH)
+          String idempotencyKey,
+      @RequestBody @Valid ColumnarIngressRequestDto columnarIngressRequestDto,
+      HttpServletRequest request)
+      throws DurationCalculatorException, IngressServiceException {
+    final var start = new Date();
+
+    this.ingressService.processColumns(
+        device,
+        columnarIngressRequestDto.getBlocks(),
+        idempotencyKey,
+        RequestBodySizeFilter.getRequestBodySize(request));
+
+    final var delta = this.durationCalculator.getDuration(start, new Date());
+
+    return new ResponseEntity<>(buildIngressDataResponse(delta), HttpStatus.ACCEPTED);
+  }
+
+  @PostMapping(path = "/v2/ingress/data/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SuccessResponse<ResponseDto>> ingressDataStream(
+      Device device, InputStream body) throws DurationCalculatorException, IngressServiceException {
+    final var start = new Date();
+    final var accepted = this.ingressService.processDataStream(device, body);
+    final var delta = this.durationCalculator.getDuration(start, new Date());
+
+    return new ResponseEntity<>(
+        buildIngressDataStreamResponse(accepted, delta), HttpStatus.ACCEPTED);
+  }
+
+  private long getDuration(Date start) {
+    try {
+      return this.durationCalculator.getDuration(start, new Date());
+    } catch (DurationCalculatorException e) {
+      throw new CompletionException(e);
+    }
+  }
+
   private static SuccessResponse<ResponseDto> buildDefinitionUpdatedDto(
       DeviceDefinition deviceDefinition) {
     final var definition = DeviceDefinitionMapper.toDto(deviceDefinition);
@@ -78,4 +192,14 @@ public class IngressV2Controller {
 
     return SuccessResponse.builder().data(ingressResponseDto).build();
   }
+
+  private static SuccessResponse<ResponseDto> buildIngressDataStreamResponse(
+      long accepted, long delta) {
+    final var message =
+        String.format(
+            "%d readings were accepted for processing in %d milliseconds.", accepted, delta);
+    final var ingressResponseDto = new IngressResponseDto(message);
+
+    return SuccessResponse.builder().data(ingressResponseDto).build();
+  }
 }
@@ -0,0 +1,23 @@
+package com.logreposit.logrepositapi.rest.converters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Reads and writes {@code application/msgpack} bodies with Jackson, the MessagePack counterpart of
+ * Spring's CBOR and Smile converters.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+  public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+  public static final MediaType APPLICATION_X_MSGPACK = new MediaType("application", "x-msgpack");
+
+  public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper, APPLICATION_MSGPACK, APPLICATION_X_MSGPACK);
+
+    Assert.isInstanceOf(
+        MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+  }
+}
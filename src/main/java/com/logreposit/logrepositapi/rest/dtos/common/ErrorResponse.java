@@ -13,6 +13,9 @@ public class ErrorResponse extends Response {
   private Integer code;
   private String message;
 
+  /** Number of readings which have been accepted before a streamed request failed. */
+  private Long accepted;
+
   @Builder
   public ErrorResponse(Integer code, String message) {
     super(ResponseStatus.ERROR, RequestCorrelation.getCorrelationId());
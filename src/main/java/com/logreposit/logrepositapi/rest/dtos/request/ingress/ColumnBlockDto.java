@@ -0,0 +1,32 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.logreposit.logrepositapi.rest.dtos.validation.ValidColumnBlock;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Readings of one measurement and tag set in columnar form: the timestamps (epoch milliseconds)
+ * and, for each field, the values in the same order. Row {@code i} of the block corresponds to the
+ * reading with {@code timestamps[i]} and the {@code i}-th value of every field.
+ */
+@Data
+@ValidColumnBlock
+public class ColumnBlockDto {
+  @NotBlank private String measurement;
+
+  private List<@Valid TagDto> tags;
+
+  @NotNull private long[] timestamps;
+
+  @NotEmpty private List<@Valid ColumnDto> fields;
+
+  public ColumnBlockDto() {
+    this.tags = new ArrayList<>();
+    this.fields = new ArrayList<>();
+  }
+}
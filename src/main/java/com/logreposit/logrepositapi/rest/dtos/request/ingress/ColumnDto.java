@@ -0,0 +1,24 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.rest.dtos.validation.ValidKeyName;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@JsonTypeInfo(
+    use = JsonTypeInfo.Id.NAME,
+    include = JsonTypeInfo.As.EXISTING_PROPERTY,
+    property = "datatype")
+@JsonSubTypes({
+  @JsonSubTypes.Type(value = StringColumnDto.class, name = "STRING"),
+  @JsonSubTypes.Type(value = IntegerColumnDto.class, name = "INTEGER"),
+  @JsonSubTypes.Type(value = FloatColumnDto.class, name = "FLOAT")
+})
+@Data
+public abstract sealed class ColumnDto permits FloatColumnDto, IntegerColumnDto, StringColumnDto {
+  @ValidKeyName private String name;
+
+  @NotNull private DataType datatype;
+}
@@ -0,0 +1,18 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+public class ColumnarIngressRequestDto {
+  @NotNull private List<@Valid ColumnBlockDto> blocks;
+
+  public ColumnarIngressRequestDto() {
+    this.blocks = new ArrayList<>();
+  }
+}
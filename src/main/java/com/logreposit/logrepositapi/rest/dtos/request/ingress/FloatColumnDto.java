@@ -0,0 +1,16 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public final class FloatColumnDto extends ColumnDto {
+  @NotNull private double[] values;
+
+  public FloatColumnDto() {
+    this.setDatatype(DataType.FLOAT);
+  }
+}
@@ -1,7 +1,7 @@
 package com.logreposit.logrepositapi.rest.dtos.request.ingress;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
@@ -9,7 +9,8 @@ import lombok.Data;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 public class IngressV2RequestDto {
-  private List<@Valid ReadingDto> readings;
+  @JsonDeserialize(as = ReadingBatch.class)
+  private List<ReadingDto> readings;
 
   public IngressV2RequestDto() {
     this.readings = new ArrayList<>();
@@ -0,0 +1,16 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public final class IntegerColumnDto extends ColumnDto {
+  @NotNull private long[] values;
+
+  public IntegerColumnDto() {
+    this.setDatatype(DataType.INTEGER);
+  }
+}
@@ -0,0 +1,681 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact, immutable representation of a list of readings.
+ *
+ * <p>Readings, tags and fields are stored in primitive arrays: timestamps as epoch seconds and
+ * nanoseconds, integer and float values as {@code long}s and all names and string values as ids of
+ * a dictionary shared by the batch. A batch with thousands of readings therefore consists of a few
+ * dozen objects instead of several per reading. It is (de)serialized in the same JSON form as a
+ * list of {@link ReadingDto}s.
+ *
+ * <p>The batch is a {@link List} of {@link ReadingDto}s, so it can be used wherever readings are
+ * expected. {@link #get(int)} has to create a {@link ReadingDto} on first access though, code on
+ * the ingress path should use the primitive accessors instead.
+ */
+@JsonSerialize(using = ReadingBatchSerializer.class)
+@JsonDeserialize(using = ReadingBatchDeserializer.class)
+public final class ReadingBatch extends AbstractList<ReadingDto> implements RandomAccess {
+  /** Id of {@code null} names and values. */
+  public static final int NULL_ID = -1;
+
+  private static final DataType[] DATA_TYPES = DataType.values();
+
+  private static final long NULL_DATE = Long.MIN_VALUE;
+
+  private static final byte TAGS_NULL = 1;
+  private static final byte FIELDS_NULL = 2;
+
+  private static final byte TYPE_MASK = 0x0F;
+  private static final byte UNTYPED = TYPE_MASK;
+  private static final byte VALUE_MISSING = 0x10;
+
+  private static final ReadingBatch EMPTY = new Builder(0).build();
+
+  private final String[] names;
+  private final int size;
+  private final long[] seconds;
+  private final int[] nanos;
+  private final int[] measurements;
+  private final byte[] flags;
+  private final int[] tagOffsets;
+  private final int[] tagNames;
+  private final int[] tagValues;
+  private final int[] fieldOffsets;
+  private final int[] fieldNames;
+  private final byte[] fieldTypes;
+  private final long[] fieldValues;
+
+  private ReadingDto[] readings;
+
+  private ReadingBatch(Builder builder) {
+    this.names = Arrays.copyOf(builder.names, builder.nameCount);
+    this.size = builder.size;
+    this.seconds = Arrays.copyOf(builder.seconds, builder.size);
+    this.nanos = Arrays.copyOf(builder.nanos, builder.size);
+    this.measurements = Arrays.copyOf(builder.measurements, builder.size);
+    this.flags = Arrays.copyOf(builder.flags, builder.size);
+    this.tagOffsets = Arrays.copyOf(builder.tagOffsets, builder.size + 1);
+    this.tagOffsets[builder.size] = builder.tagCount;
+    this.tagNames = Arrays.copyOf(builder.tagNames, builder.tagCount);
+    this.tagValues = Arrays.copyOf(builder.tagValues, builder.tagCount);
+    this.fieldOffsets = Arrays.copyOf(builder.fieldOffsets, builder.size + 1);
+    this.fieldOffsets[builder.size] = builder.fieldCount;
+    this.fieldNames = Arrays.copyOf(builder.fieldNames, builder.fieldCount);
+    this.fieldTypes = Arrays.copyOf(builder.fieldTypes, builder.fieldCount);
+    this.fieldValues = Arrays.copyOf(builder.fieldValues, builder.fieldCount);
+  }
+
+  public static Builder builder() {
+    return new Builder(16);
+  }
+
+  public static Builder builder(int expectedReadings) {
+    return new Builder(expectedReadings);
+  }
+
+  /** Returns the readings as batch, without copying them if they already are one. */
+  public static ReadingBatch of(List<ReadingDto> readings) {
+    if (readings instanceof ReadingBatch batch) {
+      return batch;
+    }
+
+    if (readings == null || readings.isEmpty()) {
+      return EMPTY;
+    }
+
+    return new Builder(readings.size()).addAll(readings).build();
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the reading at the given index as {@link ReadingDto}. It is created on first access and
+   * kept, so that repeated accesses (like the cascades of bean validation) see the same instance.
+   * Changes to it are not reflected by the batch.
+   */
+  @Override
+  public ReadingDto get(int index) {
+    Objects.checkIndex(index, this.size);
+
+    if (this.readings == null) {
+      this.readings = new ReadingDto[this.size];
+    }
+
+    if (this.readings[index] == null) {
+      this.readings[index] = this.toReading(index);
+    }
+
+    return this.readings[index];
+  }
+
+  private ReadingDto toReading(int index) {
+    final var reading = new ReadingDto();
+
+    reading.setDate(this.date(index));
+    reading.setMeasurement(this.measurement(index));
+
+    if (this.hasTags(index)) {
+      for (var t = this.tagStart(index); t < this.tagEnd(index); t++) {
+        final var tag = new TagDto();
+
+        tag.setName(this.tagName(t));
+        tag.setValue(this.tagValue(t));
+
+        reading.getTags().add(tag);
+      }
+    } else {
+      reading.setTags(null);
+    }
+
+    if (this.hasFields(index)) {
+      for (var f = this.fieldStart(index); f < this.fieldEnd(index); f++) {
+        reading.getFields().add(this.toField(f));
+      }
+    } else {
+      reading.setFields(null);
+    }
+
+    return reading;
+  }
+
+  /** Returns the number of fields of all readings. */
+  public int fieldCount() {
+    return this.fieldOffsets[this.size];
+  }
+
+  /** Returns the number of entries of the dictionary, all ids are smaller than that. */
+  public int dictionarySize() {
+    return this.names.length;
+  }
+
+  /** Returns the name or string value with the given dictionary id. */
+  public String name(int id) {
+    return id == NULL_ID ? null : this.names[id];
+  }
+
+  public boolean hasDate(int index) {
+    return this.seconds[index] != NULL_DATE;
+  }
+
+  public long epochSecond(int index) {
+    return this.seconds[index];
+  }
+
+  public int nano(int index) {
+    return this.nanos[index];
+  }
+
+  public Instant date(int index) {
+    return this.hasDate(index)
+        ? Instant.ofEpochSecond(this.seconds[index], this.nanos[index])
+        : null;
+  }
+
+  public int measurementId(int index) {
+    return this.measurements[index];
+  }
+
+  public String measurement(int index) {
+    return this.name(this.measurements[index]);
+  }
+
+  /** Returns false if the tags of the reading are {@code null} (as opposed to empty). */
+  public boolean hasTags(int index) {
+    return (this.flags[index] & TAGS_NULL) == 0;
+  }
+
+  public int tagStart(int index) {
+    return this.tagOffsets[index];
+  }
+
+  public int tagEnd(int index) {
+    return this.tagOffsets[index + 1];
+  }
+
+  public int tagNameId(int tag) {
+    return this.tagNames[tag];
+  }
+
+  public String tagName(int tag) {
+    return this.name(this.tagNames[tag]);
+  }
+
+  public String tagValue(int tag) {
+    return this.name(this.tagValues[tag]);
+  }
+
+  /** Returns false if the fields of the reading are {@code null} (as opposed to empty). */
+  public boolean hasFields(int index) {
+    return (this.flags[index] & FIELDS_NULL) == 0;
+  }
+
+  public int fieldStart(int index) {
+    return this.fieldOffsets[index];
+  }
+
+  public int fieldEnd(int index) {
+    return this.fieldOffsets[index + 1];
+  }
+
+  public int fieldNameId(int field) {
+    return this.fieldNames[field];
+  }
+
+  public String fieldName(int field) {
+    return this.name(this.fieldNames[field]);
+  }
+
+  /** Returns the datatype of the field, or {@code null} if it has none. */
+  public DataType fieldType(int field) {
+    final var type = this.fieldTypes[field] & TYPE_MASK;
+
+    return type == UNTYPED ? null : DATA_TYPES[type];
+  }
+
+  /** Returns false if the value of the field is {@code null}. */
+  public boolean hasValue(int field) {
+    return (this.fieldTypes[field] & VALUE_MISSING) == 0;
+  }
+
+  public long integerValue(int field) {
+    return this.fieldValues[field];
+  }
+
+  public double floatValue(int field) {
+    return Double.longBitsToDouble(this.fieldValues[field]);
+  }
+
+  public String stringValue(int field) {
+    return this.hasValue(field) ? this.name((int) this.fieldValues[field]) : null;
+  }
+
+  private FieldDto toField(int field) {
+    final var type = this.fieldType(field);
+    final var hasValue = this.hasValue(field);
+
+    final FieldDto dto =
+        switch (type) {
+          case null -> new FieldDto();
+          case INTEGER -> {
+            final var integerField = new IntegerFieldDto();
+
+            integerField.setValue(hasValue ? this.integerValue(field) : null);
+
+            yield integerField;
+          }
+          case FLOAT -> {
+            final var floatField = new FloatFieldDto();
+
+            floatField.setValue(hasValue ? this.floatValue(field) : null);
+
+            yield floatField;
+          }
+          case STRING -> {
+            final var stringField = new StringFieldDto();
+
+            stringField.setValue(this.stringValue(field));
+
+            yield stringField;
+          }
+        };
+
+    dto.setName(this.fieldName(field));
+
+    return dto;
+  }
+
+  /**
+   * Builds a batch reading by reading: {@link #startReading()} appends a reading, the other methods
+   * set the properties of the last one. Names are looked up in a dictionary, so repeated names are
+   * stored only once.
+   */
+  public static final class Builder {
+    private String[] names;
+    private int nameCount;
+    private int[] table;
+
+    private int size;
+    private long[] seconds;
+    private int[] nanos;
+    private int[] measurements;
+    private byte[] flags;
+    private int[] tagOffsets;
+    private int[] fieldOffsets;
+
+    private int tagCount;
+    private int[] tagNames;
+    private int[] tagValues;
+
+    private int fieldCount;
+    private int[] fieldNames;
+    private byte[] fieldTypes;
+    private long[] fieldValues;
+
+    private Builder(int expectedReadings) {
+      final var readings = Math.max(expectedReadings, 1);
+
+      this.names = new String[16];
+      this.table = new int[32];
+      this.seconds = new long[readings];
+      this.nanos = new int[readings];
+      this.measurements = new int[readings];
+      this.flags = new byte[readings];
+      this.tagOffsets = new int[readings + 1];
+      this.fieldOffsets = new int[readings + 1];
+      this.tagNames = new int[readings];
+      this.tagValues = new int[readings];
+      this.fieldNames = new int[readings];
+      this.fieldTypes = new byte[readings];
+      this.fieldValues = new long[readings];
+    }
+
+    public int size() {
+      return this.size;
+    }
+
+    public boolean isEmpty() {
+      return this.size == 0;
+    }
+
+    /** Appends a reading without date, measurement, tags and fields. */
+    public Builder startReading() {
+      if (this.size + 1 >= this.tagOffsets.length) {
+        final var capacity = this.tagOffsets.length * 2;
+
+        this.seconds = Arrays.copyOf(this.seconds, capacity);
+        this.nanos = Arrays.copyOf(this.nanos, capacity);
+        this.measurements = Arrays.copyOf(this.measurements, capacity);
+        this.flags = Arrays.copyOf(this.flags, capacity);
+        this.tagOffsets = Arrays.copyOf(this.tagOffsets, capacity + 1);
+        this.fieldOffsets = Arrays.copyOf(this.fieldOffsets, capacity + 1);
+      }
+
+      this.seconds[this.size] = NULL_DATE;
+      this.nanos[this.size] = 0;
+      this.measurements[this.size] = NULL_ID;
+      this.flags[this.size] = 0;
+      this.tagOffsets[this.size] = this.tagCount;
+      this.fieldOffsets[this.size] = this.fieldCount;
+      this.size++;
+
+      return this;
+    }
+
+    public Builder date(Instant date) {
+      if (date == null) {
+        this.seconds[this.size - 1] = NULL_DATE;
+        this.nanos[this.size - 1] = 0;
+
+        return this;
+      }
+
+      return this.date(date.getEpochSecond(), date.getNano());
+    }
+
+    public Builder date(long epochSecond, int nano) {
+      this.seconds[this.size - 1] = epochSecond;
+      this.nanos[this.size - 1] = nano;
+
+      return this;
+    }
+
+    public Builder measurement(String measurement) {
+      return this.measurement(this.intern(measurement));
+    }
+
+    public Builder measurement(int id) {
+      this.measurements[this.size - 1] = id;
+
+      return this;
+    }
+
+    /** Marks the tags of the reading as {@code null} and removes tags added before. */
+    public Builder nullTags() {
+      this.clearTags();
+      this.flags[this.size - 1] |= TAGS_NULL;
+
+      return this;
+    }
+
+    /** Removes the tags of the reading, which are empty (and not {@code null}) afterwards. */
+    public Builder clearTags() {
+      this.tagCount = this.tagOffsets[this.size - 1];
+      this.flags[this.size - 1] &= ~TAGS_NULL;
+
+      return this;
+    }
+
+    public Builder tag(String name, String value) {
+      return this.tag(this.intern(name), this.intern(value));
+    }
+
+    public Builder tag(int nameId, int valueId) {
+      if (this.tagCount == this.tagNames.length) {
+        this.tagNames = Arrays.copyOf(this.tagNames, this.tagCount * 2);
+        this.tagValues = Arrays.copyOf(this.tagValues, this.tagCount * 2);
+      }
+
+      this.tagNames[this.tagCount] = nameId;
+      this.tagValues[this.tagCount] = valueId;
+      this.tagCount++;
+
+      return this;
+    }
+
+    /** Marks the fields of the reading as {@code null} and removes fields added before. */
+    public Builder nullFields() {
+      this.clearFields();
+      this.flags[this.size - 1] |= FIELDS_NULL;
+
+      return this;
+    }
+
+    /** Removes the fields of the reading, which are empty (and not {@code null}) afterwards. */
+    public Builder clearFields() {
+      this.fieldCount = this.fieldOffsets[this.size - 1];
+      this.flags[this.size - 1] &= ~FIELDS_NULL;
+
+      return this;
+    }
+
+    public Builder integerField(int nameId, long value) {
+      return this.field(nameId, (byte) DataType.INTEGER.ordinal(), value);
+    }
+
+    public Builder floatField(int nameId, double value) {
+      return this.field(nameId, (byte) DataType.FLOAT.ordinal(), Double.doubleToRawLongBits(value));
+    }
+
+    public Builder stringField(int nameId, int valueId) {
+      if (valueId == NULL_ID) {
+        return this.fieldWithoutValue(nameId, DataType.STRING);
+      }
+
+      return this.field(nameId, (byte) DataType.STRING.ordinal(), valueId);
+    }
+
+    /** Appends a field whose value is {@code null}, the datatype may be {@code null} as well. */
+    public Builder fieldWithoutValue(int nameId, DataType datatype) {
+      final var type = datatype == null ? UNTYPED : (byte) datatype.ordinal();
+
+      return this.field(nameId, (byte) (type | VALUE_MISSING), 0);
+    }
+
+    /** Appends a copy of the reading. */
+    public Builder add(ReadingDto reading) {
+      this.startReading();
+      this.date(reading.getDate());
+      this.measurement(reading.getMeasurement());
+
+      if (reading.getTags() == null) {
+        this.nullTags();
+      } else {
+        for (final var tag : reading.getTags()) {
+          this.tag(tag.getName(), tag.getValue());
+        }
+      }
+
+      if (reading.getFields() == null) {
+        this.nullFields();
+      } else {
+        for (final var field : reading.getFields()) {
+          this.add(field);
+        }
+      }
+
+      return this;
+    }
+
+    /** Appends copies of the readings. */
+    public Builder addAll(List<ReadingDto> readings) {
+      if (readings instanceof ReadingBatch batch) {
+        return this.addAll(batch);
+      }
+
+      for (final var reading : readings) {
+        this.add(reading);
+      }
+
+      return this;
+    }
+
+    /** Appends the readings of the batch, without creating {@link ReadingDto}s. */
+    public Builder addAll(ReadingBatch batch) {
+      final var ids = new int[batch.dictionarySize()];
+
+      for (var id = 0; id < ids.length; id++) {
+        ids[id] = this.intern(batch.names[id]);
+      }
+
+      for (var r = 0; r < batch.size; r++) {
+        this.startReading();
+        this.seconds[this.size - 1] = batch.seconds[r];
+        this.nanos[this.size - 1] = batch.nanos[r];
+        this.measurements[this.size - 1] = remap(ids, batch.measurements[r]);
+        this.flags[this.size - 1] = batch.flags[r];
+
+        for (var t = batch.tagStart(r); t < batch.tagEnd(r); t++) {
+          this.tag(remap(ids, batch.tagNames[t]), remap(ids, batch.tagValues[t]));
+        }
+
+        for (var f = batch.fieldStart(r); f < batch.fieldEnd(r); f++) {
+          final var type = batch.fieldTypes[f];
+          final var value =
+              (type & TYPE_MASK) == DataType.STRING.ordinal() && (type & VALUE_MISSING) == 0
+                  ? remap(ids, (int) batch.fieldValues[f])
+                  : batch.fieldValues[f];
+
+          this.field(remap(ids, batch.fieldNames[f]), type, value);
+        }
+      }
+
+      return this;
+    }
+
+    public ReadingBatch build() {
+      return new ReadingBatch(this);
+    }
+
+    /** Returns the dictionary id of the name, adding it if necessary. */
+    public int intern(String name) {
+      if (name == null) {
+        return NULL_ID;
+      }
+
+      final var mask = this.table.length - 1;
+
+      for (var slot = mix(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+        final var entry = this.table[slot];
+
+        if (entry == 0) {
+          return this.insert(slot, name);
+        }
+
+        if (this.names[entry - 1].equals(name)) {
+          return entry - 1;
+        }
+      }
+    }
+
+    /**
+     * Same as {@link #intern(String)}, but for a name given as characters. A {@link String} is only
+     * created if the name is not in the dictionary yet.
+     */
+    public int intern(char[] chars, int offset, int length) {
+      var hash = 0;
+
+      for (var i = offset; i < offset + length; i++) {
+        hash = 31 * hash + chars[i];
+      }
+
+      final var mask = this.table.length - 1;
+
+      for (var slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+        final var entry = this.table[slot];
+
+        if (entry == 0) {
+          return this.insert(slot, new String(chars, offset, length));
+        }
+
+        if (contentEquals(this.names[entry - 1], chars, offset, length)) {
+          return entry - 1;
+        }
+      }
+    }
+
+    private void add(FieldDto field) {
+      final var name = this.intern(field.getName());
+
+      switch (field) {
+        case IntegerFieldDto f when f.getValue() != null -> this.integerField(name, f.getValue());
+        case FloatFieldDto f when f.getValue() != null -> this.floatField(name, f.getValue());
+        case StringFieldDto f -> this.stringField(name, this.intern(f.getValue()));
+        default -> this.fieldWithoutValue(name, field.getDatatype());
+      }
+    }
+
+    private Builder field(int nameId, byte type, long value) {
+      if (this.fieldCount == this.fieldNames.length) {
+        this.fieldNames = Arrays.copyOf(this.fieldNames, this.fieldCount * 2);
+        this.fieldTypes = Arrays.copyOf(this.fieldTypes, this.fieldCount * 2);
+        this.fieldValues = Arrays.copyOf(this.fieldValues, this.fieldCount * 2);
+      }
+
+      this.fieldNames[this.fieldCount] = nameId;
+      this.fieldTypes[this.fieldCount] = type;
+      this.fieldValues[this.fieldCount] = value;
+      this.fieldCount++;
+
+      return this;
+    }
+
+    private int insert(int slot, String name) {
+      if (this.nameCount == this.names.length) {
+        this.names = Arrays.copyOf(this.names, this.nameCount * 2);
+      }
+
+      final var id = this.nameCount++;
+
+      this.names[id] = name;
+      this.table[slot] = id + 1;
+
+      if (this.nameCount * 2 > this.table.length) {
+        this.rehash();
+      }
+
+      return id;
+    }
+
+    private void rehash() {
+      this.table = new int[this.table.length * 2];
+
+      final var mask = this.table.length - 1;
+
+      for (var id = 0; id < this.nameCount; id++) {
+        var slot = mix(this.names[id].hashCode()) & mask;
+
+        while (this.table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+
+        this.table[slot] = id + 1;
+      }
+    }
+
+    private static int remap(int[] ids, int id) {
+      return id == NULL_ID ? NULL_ID : ids[id];
+    }
+
+    private static int mix(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String name, char[] chars, int offset, int length) {
+      if (name.length() != length) {
+        return false;
+      }
+
+      for (var i = 0; i < length; i++) {
+        if (name.charAt(i) != chars[offset + i]) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
@@ -0,0 +1,299 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Reads a JSON array of readings straight into a {@link ReadingBatch}, accepting the same input as
+ * Jackson does for a list of {@link ReadingDto}s. Integer, float and string values are read without
+ * boxing them, values in other forms (like numbers given as strings) are left to the standard
+ * deserializers. Dates are read by the configured {@link Instant} deserializer.
+ */
+public class ReadingBatchDeserializer extends StdDeserializer<ReadingBatch>
+    implements ContextualDeserializer {
+  private final JsonDeserializer<Object> dateDeserializer;
+
+  public ReadingBatchDeserializer() {
+    this(null);
+  }
+
+  private ReadingBatchDeserializer(JsonDeserializer<Object> dateDeserializer) {
+    super(ReadingBatch.class);
+
+    this.dateDeserializer = dateDeserializer;
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+      throws JsonMappingException {
+    return new ReadingBatchDeserializer(
+        ctxt.findContextualValueDeserializer(ctxt.constructType(Instant.class), property));
+  }
+
+  @Override
+  public ReadingBatch deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (!p.isExpectedStartArrayToken()) {
+      return (ReadingBatch) ctxt.handleUnexpectedToken(ReadingBatch.class, p);
+    }
+
+    final var builder = ReadingBatch.builder();
+
+    for (var token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+      if (token != JsonToken.START_OBJECT) {
+        ctxt.reportInputMismatch(ReadingDto.class, "Expected reading object but got %s", token);
+      }
+
+      this.readReading(p, ctxt, builder);
+    }
+
+    return builder.build();
+  }
+
+  private void readReading(JsonParser p, DeserializationContext ctxt, ReadingBatch.Builder builder)
+      throws IOException {
+    builder.startReading();
+
+    for (var property = p.nextFieldName(); property != null; property = p.nextFieldName()) {
+      final var token = p.nextToken();
+
+      switch (property) {
+        case "date" ->
+            builder.date(
+                token == JsonToken.VALUE_NULL
+                    ? null
+                    : (Instant) this.dateDeserializer.deserialize(p, ctxt));
+        case "measurement" -> builder.measurement(readName(p, ctxt, builder));
+        case "tags" -> this.readTags(p, ctxt, builder);
+        case "fields" -> this.readFields(p, ctxt, builder);
+        default -> ctxt.handleUnknownProperty(p, this, ReadingDto.class, property);
+      }
+    }
+  }
+
+  private void readTags(JsonParser p, DeserializationContext ctxt, ReadingBatch.Builder builder)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      builder.nullTags();
+
+      return;
+    }
+
+    expectArray(p, ctxt, TagDto.class);
+
+    builder.clearTags();
+
+    for (var token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+      if (token != JsonToken.START_OBJECT) {
+        ctxt.reportInputMismatch(TagDto.class, "Expected tag object but got %s", token);
+      }
+
+      var name = ReadingBatch.NULL_ID;
+      var value = ReadingBatch.NULL_ID;
+
+      for (var property = p.nextFieldName(); property != null; property = p.nextFieldName()) {
+        p.nextToken();
+
+        switch (property) {
+          case "name" -> name = readName(p, ctxt, builder);
+          case "value" -> value = readName(p, ctxt, builder);
+          default -> ctxt.handleUnknownProperty(p, this, TagDto.class, property);
+        }
+      }
+
+      builder.tag(name, value);
+    }
+  }
+
+  private void readFields(JsonParser p, DeserializationContext ctxt, ReadingBatch.Builder builder)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      builder.nullFields();
+
+      return;
+    }
+
+    expectArray(p, ctxt, FieldDto.class);
+
+    builder.clearFields();
+
+    final var value = new FieldValue();
+
+    for (var token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+      if (token != JsonToken.START_OBJECT) {
+        ctxt.reportInputMismatch(FieldDto.class, "Expected field object but got %s", token);
+      }
+
+      this.readField(p, ctxt, builder, value);
+    }
+  }
+
+  /**
+   * Reads a field object. The value is read as soon as the datatype is known, if it comes first it
+   * is buffered.
+   */
+  private void readField(
+      JsonParser p, DeserializationContext ctxt, ReadingBatch.Builder builder, FieldValue value)
+      throws IOException {
+    var name = ReadingBatch.NULL_ID;
+    DataType datatype = null;
+    TokenBuffer bufferedValue = null;
+
+    value.present = false;
+
+    for (var property = p.nextFieldName(); property != null; property = p.nextFieldName()) {
+      p.nextToken();
+
+      switch (property) {
+        case "name" -> name = readName(p, ctxt, builder);
+        case "datatype" -> datatype = readDatatype(p, ctxt);
+        case "value" -> {
+          if (datatype == null) {
+            bufferedValue = ctxt.bufferAsCopyOfValue(p);
+          } else {
+            bufferedValue = null;
+            readValue(p, ctxt, builder, datatype, value);
+          }
+        }
+        default -> ctxt.handleUnknownProperty(p, this, FieldDto.class, property);
+      }
+    }
+
+    if (datatype == null) {
+      ctxt.reportInputMismatch(FieldDto.class, "Missing type id property 'datatype'");
+    }
+
+    if (bufferedValue != null) {
+      try (final var valueParser = bufferedValue.asParserOnFirstToken()) {
+        readValue(valueParser, ctxt, builder, datatype, value);
+      }
+    }
+
+    if (!value.present) {
+      builder.fieldWithoutValue(name, datatype);
+
+      return;
+    }
+
+    switch (datatype) {
+      case INTEGER -> builder.integerField(name, value.bits);
+      case FLOAT -> builder.floatField(name, Double.longBitsToDouble(value.bits));
+      case STRING -> builder.stringField(name, (int) value.bits);
+    }
+  }
+
+  /**
+   * Reads the value of a field: integers as they are, floats as their bits and strings as their
+   * dictionary id. Values which are not given as number or string respectively are coerced by the
+   * standard deserializers.
+   */
+  private static void readValue(
+      JsonParser p,
+      DeserializationContext ctxt,
+      ReadingBatch.Builder builder,
+      DataType datatype,
+      FieldValue value)
+      throws IOException {
+    final var token = p.currentToken();
+
+    value.present = false;
+
+    if (token == JsonToken.VALUE_NULL) {
+      return;
+    }
+
+    switch (datatype) {
+      case INTEGER -> {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+          value.set(p.getLongValue());
+        } else {
+          final var coerced = ctxt.readValue(p, Long.class);
+
+          if (coerced != null) {
+            value.set(coerced);
+          }
+        }
+      }
+      case FLOAT -> {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+          value.set(Double.doubleToRawLongBits(p.getDoubleValue()));
+        } else {
+          final var coerced = ctxt.readValue(p, Double.class);
+
+          if (coerced != null) {
+            value.set(Double.doubleToRawLongBits(coerced));
+          }
+        }
+      }
+      case STRING -> {
+        final var id = readName(p, ctxt, builder);
+
+        if (id != ReadingBatch.NULL_ID) {
+          value.set(id);
+        }
+      }
+    }
+  }
+
+  private static DataType readDatatype(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_STRING) {
+      switch (p.getText()) {
+        case "STRING":
+          return DataType.STRING;
+        case "INTEGER":
+          return DataType.INTEGER;
+        case "FLOAT":
+          return DataType.FLOAT;
+        default:
+          break;
+      }
+    }
+
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.reportInputMismatch(
+        FieldDto.class, "Could not resolve type id '%s' of field", p.getText());
+  }
+
+  /** Reads a name or string value and returns its dictionary id. */
+  private static int readName(
+      JsonParser p, DeserializationContext ctxt, ReadingBatch.Builder builder) throws IOException {
+    return switch (p.currentToken()) {
+      case VALUE_STRING ->
+          builder.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+      case VALUE_NULL -> ReadingBatch.NULL_ID;
+      default -> builder.intern(ctxt.readValue(p, String.class));
+    };
+  }
+
+  private static void expectArray(JsonParser p, DeserializationContext ctxt, Class<?> elementType)
+      throws IOException {
+    if (!p.isExpectedStartArrayToken()) {
+      ctxt.reportInputMismatch(
+          elementType, "Expected array of %s but got %s", elementType, p.currentToken());
+    }
+  }
+
+  /** Value of the field being read, reused for all fields of a reading. */
+  private static final class FieldValue {
+    private boolean present;
+    private long bits;
+
+    private void set(long bits) {
+      this.present = true;
+      this.bits = bits;
+    }
+  }
+}
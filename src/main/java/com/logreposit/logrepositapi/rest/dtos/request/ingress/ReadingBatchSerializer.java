@@ -0,0 +1,123 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes a {@link ReadingBatch} exactly like Jackson writes a list of {@link ReadingDto}s, but
+ * straight from its arrays. Dates are written by the configured {@link Instant} serializer.
+ */
+public class ReadingBatchSerializer extends StdSerializer<ReadingBatch> {
+  private static final SerializableString DATE = new SerializedString("date");
+  private static final SerializableString MEASUREMENT = new SerializedString("measurement");
+  private static final SerializableString TAGS = new SerializedString("tags");
+  private static final SerializableString FIELDS = new SerializedString("fields");
+  private static final SerializableString NAME = new SerializedString("name");
+  private static final SerializableString VALUE = new SerializedString("value");
+  private static final SerializableString DATATYPE = new SerializedString("datatype");
+
+  public ReadingBatchSerializer() {
+    super(ReadingBatch.class);
+  }
+
+  @Override
+  public void serialize(ReadingBatch batch, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    final JsonSerializer<Object> dateSerializer = provider.findValueSerializer(Instant.class);
+
+    gen.writeStartArray(batch, batch.size());
+
+    for (var r = 0; r < batch.size(); r++) {
+      gen.writeStartObject();
+
+      gen.writeFieldName(DATE);
+
+      if (batch.hasDate(r)) {
+        dateSerializer.serialize(batch.date(r), gen, provider);
+      } else {
+        gen.writeNull();
+      }
+
+      gen.writeFieldName(MEASUREMENT);
+      writeString(gen, batch.measurement(r));
+
+      gen.writeFieldName(TAGS);
+
+      if (batch.hasTags(r)) {
+        gen.writeStartArray();
+
+        for (var t = batch.tagStart(r); t < batch.tagEnd(r); t++) {
+          gen.writeStartObject();
+          gen.writeFieldName(NAME);
+          writeString(gen, batch.tagName(t));
+          gen.writeFieldName(VALUE);
+          writeString(gen, batch.tagValue(t));
+          gen.writeEndObject();
+        }
+
+        gen.writeEndArray();
+      } else {
+        gen.writeNull();
+      }
+
+      gen.writeFieldName(FIELDS);
+
+      if (batch.hasFields(r)) {
+        gen.writeStartArray();
+
+        for (var f = batch.fieldStart(r); f < batch.fieldEnd(r); f++) {
+          writeField(gen, batch, f);
+        }
+
+        gen.writeEndArray();
+      } else {
+        gen.writeNull();
+      }
+
+      gen.writeEndObject();
+    }
+
+    gen.writeEndArray();
+  }
+
+  private static void writeField(JsonGenerator gen, ReadingBatch batch, int field)
+      throws IOException {
+    final var datatype = batch.fieldType(field);
+
+    gen.writeStartObject();
+    gen.writeFieldName(NAME);
+    writeString(gen, batch.fieldName(field));
+    gen.writeFieldName(DATATYPE);
+    writeString(gen, datatype == null ? null : datatype.name());
+
+    if (datatype != null) {
+      gen.writeFieldName(VALUE);
+
+      if (!batch.hasValue(field)) {
+        gen.writeNull();
+      } else {
+        switch (datatype) {
+          case INTEGER -> gen.writeNumber(batch.integerValue(field));
+          case FLOAT -> gen.writeNumber(batch.floatValue(field));
+          case STRING -> gen.writeString(batch.stringValue(field));
+        }
+      }
+    }
+
+    gen.writeEndObject();
+  }
+
+  private static void writeString(JsonGenerator gen, String value) throws IOException {
+    if (value == null) {
+      gen.writeNull();
+    } else {
+      gen.writeString(value);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.logreposit.logrepositapi.rest.dtos.validation;
+
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringColumnDto;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Checks that the columns of a {@link ColumnBlockDto} line up with its timestamps. Constraints of
+ * single properties (like missing values) are left to their own annotations.
+ */
+public class ColumnBlockValidator implements ConstraintValidator<ValidColumnBlock, ColumnBlockDto> {
+  @Override
+  public boolean isValid(ColumnBlockDto block, ConstraintValidatorContext context) {
+    if (block == null || block.getTimestamps() == null || block.getFields() == null) {
+      return true;
+    }
+
+    final var rows = block.getTimestamps().length;
+    var valid = true;
+
+    context.disableDefaultConstraintViolation();
+
+    for (var i = 0; i < block.getFields().size(); i++) {
+      final var column = block.getFields().get(i);
+      final var size = size(column);
+
+      if (size < 0) {
+        continue;
+      }
+
+      if (size != rows) {
+        valid = false;
+
+        addViolation(
+            context, i, String.format("must contain one value per timestamp (expected: %d)", rows));
+      } else if (column instanceof StringColumnDto stringColumn
+          && containsBlank(stringColumn.getValues())) {
+        valid = false;
+
+        addViolation(context, i, "must not contain blank values");
+      }
+    }
+
+    return valid;
+  }
+
+  /** Returns the number of values of the column, or -1 if they are missing. */
+  private static int size(ColumnDto column) {
+    return switch (column) {
+      case null -> -1;
+      case FloatColumnDto c -> c.getValues() == null ? -1 : c.getValues().length;
+      case IntegerColumnDto c -> c.getValues() == null ? -1 : c.getValues().length;
+      case StringColumnDto c -> c.getValues() == null ? -1 : c.getValues().length;
+    };
+  }
+
+  private static boolean containsBlank(String[] values) {
+    for (final var value : values) {
+      if (StringUtils.isBlank(value)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static void addViolation(ConstraintValidatorContext context, int index, String message) {
+    context
+        .buildConstraintViolationWithTemplate(message)
+        .addPropertyNode("fields")
+        .addPropertyNode("values")
+        .inIterable()
+        .atIndex(index)
+        .addConstraintViolation();
+  }
+}
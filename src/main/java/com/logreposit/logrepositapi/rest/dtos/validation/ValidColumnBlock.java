@@ -0,0 +1,24 @@
+package com.logreposit.logrepositapi.rest.dtos.validation;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+// every field has as many values as there are timestamps
+// string values must not be blank
+@Target(TYPE)
+@Retention(RUNTIME)
+@Constraint(validatedBy = ColumnBlockValidator.class)
+@Documented
+public @interface ValidColumnBlock {
+  String message() default "Invalid column block.";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+}
@@ -17,12 +17,14 @@ import java.lang.annotation.Target;
 // must end with 0-9 or a-z
 // must not be "time" (reserved keyword)
 @NotBlank
-@Pattern(regexp = "^(?!^time$)[a-z]+(?:[0-9a-z_]*[0-9a-z]+)*$")
+@Pattern(regexp = ValidKeyName.REGEXP)
 @Target({FIELD, TYPE_USE})
 @Retention(RUNTIME)
 @Constraint(validatedBy = {})
 @Documented
 public @interface ValidKeyName {
+  String REGEXP = "^(?!^time$)[a-z]+(?:[0-9a-z_]*[0-9a-z]+)*$";
+
   String message() default
       "Invalid name. Must match regex `^(?!^time$)[a-z]+(?:[0-9a-z_]*[0-9a-z]+)*$`.";
 
@@ -10,6 +10,9 @@ public class ErrorCodes {
   public static final int DEVICE_TOKEN_NOT_FOUND = 40001;
   public static final int INGRESS_ERROR = 50001;
   public static final int INGRESS_UNSUPPORTED_DEVICE_TYPE_ERROR = 50002;
+  public static final int INGRESS_RATE_LIMIT_EXCEEDED_ERROR = 50003;
+  public static final int INGRESS_OVERLOADED_ERROR = 50004;
+  public static final int INGRESS_BATCH_IN_FLIGHT_ERROR = 50005;
   public static final int INGRESS_DEVICE_DEFINITION_UPDATE_ERROR = 51001;
   public static final int INGRESS_DATA_VALIDATION_ERROR = 51002;
   public static final int UNAUTHENTICATED_API_REQUEST = 70001;
@@ -31,6 +34,8 @@ public class ErrorCodes {
   public static final int BIND_ERROR = 80014;
   public static final int ASYNC_REQUEST_TIMEOUT_ERROR = 80015;
   public static final int CONSTRAINT_VIOLATION_ERROR = 80016;
+  public static final int PAYLOAD_TOO_LARGE_ERROR = 80017;
+  public static final int UNSUPPORTED_CONTENT_ENCODING_ERROR = 80018;
   public static final int OTHER_ERROR = 99999;
 
   private ErrorCodes() {}
@@ -4,11 +4,14 @@ import com.logreposit.logrepositapi.rest.dtos.DeviceType;
 import com.logreposit.logrepositapi.rest.dtos.common.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -68,6 +71,13 @@ class ErrorResponseFactory {
         .build();
   }
 
+  static ErrorResponse createPayloadTooLargeErrorResponse(String message) {
+    return ErrorResponse.builder()
+        .code(ErrorCodes.PAYLOAD_TOO_LARGE_ERROR)
+        .message(message)
+        .build();
+  }
+
   static ErrorResponse createIngressErrorResponse() {
     return ErrorResponse.builder()
         .code(ErrorCodes.INGRESS_ERROR)
@@ -75,6 +85,20 @@ class ErrorResponseFactory {
         .build();
   }
 
+  static ErrorResponse createIngressOverloadedErrorResponse() {
+    return ErrorResponse.builder()
+        .code(ErrorCodes.INGRESS_OVERLOADED_ERROR)
+        .message("Too many requests are being processed, retry later.")
+        .build();
+  }
+
+  static ErrorResponse createIngressBatchInFlightErrorResponse() {
+    return ErrorResponse.builder()
+        .code(ErrorCodes.INGRESS_BATCH_IN_FLIGHT_ERROR)
+        .message("The same batch is still being processed, retry later.")
+        .build();
+  }
+
   static ErrorResponse createDeviceDefinitionUpdateErrorResponse(String message) {
     return ErrorResponse.builder()
         .code(ErrorCodes.INGRESS_DEVICE_DEFINITION_UPDATE_ERROR)
@@ -116,6 +140,10 @@ class ErrorResponseFactory {
 
   static ErrorResponse createHttpMessageNotReadableErrorResponse(
       HttpMessageNotReadableException e) {
+    return createHttpMessageNotReadableErrorResponse();
+  }
+
+  static ErrorResponse createHttpMessageNotReadableErrorResponse() {
     final var errorMessage =
         "Request could not be processed. Please check if the JSON syntax is valid.";
 
@@ -125,6 +153,18 @@ class ErrorResponseFactory {
         .build();
   }
 
+  static ErrorResponse createLineProtocolParseErrorResponse(String message) {
+    final var errorMessage =
+        String.format(
+            "Request could not be processed. Please check if the line protocol syntax is valid. %s",
+            message);
+
+    return ErrorResponse.builder()
+        .code(ErrorCodes.HTTP_MESSAGE_NOT_READABLE_ERROR)
+        .message(errorMessage)
+        .build();
+  }
+
   static ErrorResponse createHttpMediaTypeNotSupportedErrorResponse(
       HttpMediaTypeNotSupportedException e) {
     StringBuilder stringBuilder = new StringBuilder();
@@ -158,9 +198,12 @@ class ErrorResponseFactory {
 
   static ErrorResponse createMethodArgumentNotValidErrorResponse(
       MethodArgumentNotValidException e) {
-    final var fieldErrors = e.getBindingResult().getFieldErrors();
-    final var globalErrors = e.getBindingResult().getGlobalErrors();
+    return createMethodArgumentNotValidErrorResponse(
+        e.getBindingResult().getGlobalErrors(), e.getBindingResult().getFieldErrors());
+  }
 
+  static ErrorResponse createMethodArgumentNotValidErrorResponse(
+      List<ObjectError> globalErrors, List<FieldError> fieldErrors) {
     final var stringBuilder = new StringBuilder();
 
     stringBuilder.append("Invalid input data. ");
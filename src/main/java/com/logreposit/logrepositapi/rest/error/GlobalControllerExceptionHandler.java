@@ -1,10 +1,17 @@
 package com.logreposit.logrepositapi.rest.error;
 
 import com.logreposit.logrepositapi.rest.dtos.common.ErrorResponse;
+import com.logreposit.logrepositapi.rest.filters.RequestBodyTooLargeException;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
+import com.logreposit.logrepositapi.services.ingress.BatchInFlightException;
+import com.logreposit.logrepositapi.services.ingress.IngressOverloadedException;
 import com.logreposit.logrepositapi.services.ingress.IngressServiceException;
+import com.logreposit.logrepositapi.services.ingress.LineProtocolParseException;
+import com.logreposit.logrepositapi.services.ingress.PartialIngressException;
+import com.logreposit.logrepositapi.services.ingress.ReadingStreamParseException;
+import com.logreposit.logrepositapi.services.ingress.ReadingValidationException;
 import com.logreposit.logrepositapi.services.ingress.UnsupportedDeviceTypeException;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserAlreadyExistentException;
@@ -14,10 +21,12 @@ import com.logreposit.logrepositapi.utils.definition.DefinitionUpdateValidationE
 import com.logreposit.logrepositapi.utils.definition.DefinitionValidationException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -29,6 +38,8 @@ public class GlobalControllerExceptionHandler {
   private static final Logger logger =
       LoggerFactory.getLogger(GlobalControllerExceptionHandler.class);
 
+  private static final int INGRESS_RETRY_AFTER_SECONDS = 5;
+
   @ExceptionHandler(UserNotFoundException.class)
   public ResponseEntity<ErrorResponse> handleUserNotFoundException(
       HttpServletRequest request, UserNotFoundException exception) {
@@ -94,11 +105,94 @@ public class GlobalControllerExceptionHandler {
       HttpServletRequest request, IngressServiceException exception) {
     logger.error(LoggingUtils.getLogForException(exception));
 
+    if (exception.getCause() instanceof RequestBodyTooLargeException tooLarge) {
+      return new ResponseEntity<>(
+          ErrorResponseFactory.createPayloadTooLargeErrorResponse(tooLarge.getMessage()),
+          HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     final var errorResponse = ErrorResponseFactory.createIngressErrorResponse();
 
     return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
+  @ExceptionHandler(IngressOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleIngressOverloadedException(
+      HttpServletRequest request, IngressOverloadedException exception) {
+    logger.warn(LoggingUtils.getLogForException(exception));
+
+    final var errorResponse = ErrorResponseFactory.createIngressOverloadedErrorResponse();
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(INGRESS_RETRY_AFTER_SECONDS))
+        .body(errorResponse);
+  }
+
+  @ExceptionHandler(BatchInFlightException.class)
+  public ResponseEntity<ErrorResponse> handleBatchInFlightException(
+      HttpServletRequest request, BatchInFlightException exception) {
+    logger.warn(LoggingUtils.getLogForException(exception));
+
+    final var errorResponse = ErrorResponseFactory.createIngressBatchInFlightErrorResponse();
+
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(INGRESS_RETRY_AFTER_SECONDS))
+        .body(errorResponse);
+  }
+
+  @ExceptionHandler(PartialIngressException.class)
+  public ResponseEntity<ErrorResponse> handlePartialIngressException(
+      HttpServletRequest request, PartialIngressException exception) {
+    final var response =
+        switch (exception.getCause()) {
+          case ReadingValidationException e -> this.handleReadingValidationException(request, e);
+          case LineProtocolParseException e -> this.handleLineProtocolParseException(request, e);
+          case ReadingStreamParseException e -> this.handleReadingStreamParseException(request, e);
+          case DefinitionValidationException e ->
+              this.handleDefinitionValidationException(request, e);
+          case IngressServiceException e -> this.handleIngressServiceException(request, e);
+          case Exception e -> this.handleOtherExceptions(request, e);
+          default -> this.handleOtherExceptions(request, exception);
+        };
+
+    response.getBody().setAccepted(exception.getAccepted());
+
+    return response;
+  }
+
+  @ExceptionHandler(ReadingValidationException.class)
+  public ResponseEntity<ErrorResponse> handleReadingValidationException(
+      HttpServletRequest request, ReadingValidationException exception) {
+    logger.error(LoggingUtils.getLogForException(exception));
+
+    final var errorResponse =
+        ErrorResponseFactory.createMethodArgumentNotValidErrorResponse(
+            List.of(), exception.getFieldErrors());
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(LineProtocolParseException.class)
+  public ResponseEntity<ErrorResponse> handleLineProtocolParseException(
+      HttpServletRequest request, LineProtocolParseException exception) {
+    logger.error(LoggingUtils.getLogForException(exception));
+
+    final var errorResponse =
+        ErrorResponseFactory.createLineProtocolParseErrorResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(ReadingStreamParseException.class)
+  public ResponseEntity<ErrorResponse> handleReadingStreamParseException(
+      HttpServletRequest request, ReadingStreamParseException exception) {
+    logger.error(LoggingUtils.getLogForException(exception));
+
+    final var errorResponse = ErrorResponseFactory.createHttpMessageNotReadableErrorResponse();
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
   @ExceptionHandler(UnsupportedDeviceTypeException.class)
   public ResponseEntity<ErrorResponse> handleUnsupportedDeviceTypeException(
       HttpServletRequest request, UnsupportedDeviceTypeException exception) {
@@ -1,5 +1,6 @@
 package com.logreposit.logrepositapi.rest.error;
 
+import com.logreposit.logrepositapi.rest.filters.RequestBodyTooLargeException;
 import com.logreposit.logrepositapi.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -151,6 +152,12 @@ public class LogrepositResponseEntityExceptionHandler extends ResponseEntityExce
       WebRequest request) {
     logger.error(LoggingUtils.getLogForException(ex));
 
+    if (ex.getCause() instanceof RequestBodyTooLargeException tooLarge) {
+      return new ResponseEntity<>(
+          ErrorResponseFactory.createPayloadTooLargeErrorResponse(tooLarge.getMessage()),
+          HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     final var errorResponse = ErrorResponseFactory.createHttpMessageNotReadableErrorResponse(ex);
 
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
@@ -0,0 +1,112 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.IOException;
+
+/**
+ * Counts the bytes read from the request body. Registered after the {@link
+ * RequestDecompressionFilter}, so compressed bodies are counted with their decompressed size.
+ *
+ * <p>The count is final once the body has been read, for example by binding it to a {@code
+ * RequestBody} parameter, and can be retrieved with {@link #getRequestBodySize(ServletRequest)}.
+ */
+public class RequestBodySizeFilter implements Filter {
+  private static final String REQUEST_BODY_SIZE_ATTRIBUTE =
+      RequestBodySizeFilter.class.getName() + ".requestBodySize";
+
+  @Override
+  public void doFilter(
+      ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+      throws IOException, ServletException {
+    final var request = new CountingRequest((HttpServletRequest) servletRequest);
+
+    request.setAttribute(REQUEST_BODY_SIZE_ATTRIBUTE, request);
+
+    filterChain.doFilter(request, servletResponse);
+  }
+
+  /** Returns the number of bytes read from the request body so far, 0 if they are not counted. */
+  public static long getRequestBodySize(ServletRequest request) {
+    if (request.getAttribute(REQUEST_BODY_SIZE_ATTRIBUTE) instanceof CountingRequest counting) {
+      return counting.inputStream != null ? counting.inputStream.read : 0;
+    }
+
+    return 0;
+  }
+
+  private static class CountingRequest extends HttpServletRequestWrapper {
+    private CountingServletInputStream inputStream;
+
+    private CountingRequest(HttpServletRequest request) {
+      super(request);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+      if (this.inputStream == null) {
+        this.inputStream = new CountingServletInputStream(super.getInputStream());
+      }
+
+      return this.inputStream;
+    }
+  }
+
+  private static class CountingServletInputStream extends ServletInputStream {
+    private final ServletInputStream delegate;
+    private volatile long read;
+
+    private CountingServletInputStream(ServletInputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var b = this.delegate.read();
+
+      if (b >= 0) {
+        this.read++;
+      }
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      final var n = this.delegate.read(buffer, offset, length);
+
+      if (n > 0) {
+        this.read += n;
+      }
+
+      return n;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return this.delegate.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+      return this.delegate.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      this.delegate.setReadListener(readListener);
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.delegate.close();
+    }
+  }
+}
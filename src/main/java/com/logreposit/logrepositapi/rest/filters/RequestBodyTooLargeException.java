@@ -0,0 +1,10 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import java.io.IOException;
+
+/** Thrown while reading a compressed request body which inflates beyond the configured limit. */
+public class RequestBodyTooLargeException extends IOException {
+  public RequestBodyTooLargeException(String message) {
+    super(message);
+  }
+}
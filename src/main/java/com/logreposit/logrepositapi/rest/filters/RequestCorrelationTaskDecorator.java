@@ -0,0 +1,41 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import java.util.Map;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs a task with the {@link RequestCorrelation} and the {@link MDC} of the thread which submitted
+ * it, so that messages, log lines and responses created by the task carry the correlation id of the
+ * request. The context of the executing thread is restored afterwards.
+ */
+public class RequestCorrelationTaskDecorator implements TaskDecorator {
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    final var correlationId = RequestCorrelation.getCorrelationId();
+    final var context = MDC.getCopyOfContextMap();
+
+    return () -> {
+      final var previousCorrelationId = RequestCorrelation.getCorrelationId();
+      final var previousContext = MDC.getCopyOfContextMap();
+
+      setContext(correlationId, context);
+
+      try {
+        runnable.run();
+      } finally {
+        setContext(previousCorrelationId, previousContext);
+      }
+    };
+  }
+
+  private static void setContext(String correlationId, Map<String, String> context) {
+    if (context == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(context);
+    }
+
+    RequestCorrelation.setCorrelationId(correlationId);
+  }
+}
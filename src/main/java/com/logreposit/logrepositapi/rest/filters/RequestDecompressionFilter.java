@@ -0,0 +1,215 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.logreposit.logrepositapi.rest.dtos.common.ErrorResponse;
+import com.logreposit.logrepositapi.rest.error.ErrorCodes;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Decompresses ingress request bodies sent with {@code Content-Encoding: gzip} or {@code zstd}.
+ *
+ * <p>The body is inflated while it is being read, so the parser never sees more than a buffer at a
+ * time. Reading fails with a {@link RequestBodyTooLargeException} as soon as the inflated body
+ * exceeds the configured size, which protects against decompression bombs.
+ *
+ * <p>The decompressed body can only be read with blocking I/O. Non-blocking reads would see the
+ * readiness of the compressed body rather than of the decompressed one, so registering a {@link
+ * ReadListener} is rejected.
+ */
+public class RequestDecompressionFilter implements Filter {
+  private static final String GZIP = "gzip";
+  private static final String ZSTD = "zstd";
+  private static final String IDENTITY = "identity";
+
+  private final ObjectMapper objectMapper;
+  private final long maximumDecompressedSize;
+
+  public RequestDecompressionFilter(ObjectMapper objectMapper, long maximumDecompressedSize) {
+    this.objectMapper = objectMapper;
+    this.maximumDecompressedSize = maximumDecompressedSize;
+  }
+
+  @Override
+  public void doFilter(
+      ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+      throws IOException, ServletException {
+    final var request = (HttpServletRequest) servletRequest;
+    final var contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+
+    if (contentEncoding == null) {
+      filterChain.doFilter(servletRequest, servletResponse);
+
+      return;
+    }
+
+    final var encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+
+    switch (encoding) {
+      case IDENTITY -> filterChain.doFilter(servletRequest, servletResponse);
+      case GZIP, ZSTD ->
+          filterChain.doFilter(new DecompressingRequest(request, encoding), servletResponse);
+      default ->
+          this.sendUnsupportedContentEncodingResponse(
+              (HttpServletResponse) servletResponse, contentEncoding);
+    }
+  }
+
+  private void sendUnsupportedContentEncodingResponse(
+      HttpServletResponse response, String contentEncoding) throws IOException {
+    final var errorResponse =
+        ErrorResponse.builder()
+            .code(ErrorCodes.UNSUPPORTED_CONTENT_ENCODING_ERROR)
+            .message(
+                String.format(
+                    "Content-Encoding '%s' is not supported, use gzip or zstd.", contentEncoding))
+            .build();
+
+    response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+    response.setHeader(HttpHeaders.ACCEPT_ENCODING, GZIP + ", " + ZSTD);
+    response.setContentType(MediaType.APPLICATION_JSON.toString());
+    response.getWriter().write(this.objectMapper.writeValueAsString(errorResponse));
+    response.flushBuffer();
+  }
+
+  private class DecompressingRequest extends HttpServletRequestWrapper {
+    private final String encoding;
+    private ServletInputStream inputStream;
+
+    private DecompressingRequest(HttpServletRequest request, String encoding) {
+      super(request);
+
+      this.encoding = encoding;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+      if (this.inputStream == null) {
+        final var body = super.getInputStream();
+        final var decompressed =
+            GZIP.equals(this.encoding) ? new GZIPInputStream(body) : new ZstdInputStream(body);
+
+        this.inputStream = new SizeLimitedServletInputStream(decompressed, maximumDecompressedSize);
+      }
+
+      return this.inputStream;
+    }
+
+    @Override
+    public int getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return isHiddenHeader(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      return isHiddenHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      return Collections.enumeration(
+          Collections.list(super.getHeaderNames()).stream()
+              .filter(name -> !isHiddenHeader(name))
+              .toList());
+    }
+
+    private static boolean isHiddenHeader(String name) {
+      return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+          || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+  }
+
+  private static class SizeLimitedServletInputStream extends ServletInputStream {
+    private final InputStream delegate;
+    private final long limit;
+    private long read;
+    private boolean finished;
+
+    private SizeLimitedServletInputStream(InputStream delegate, long limit) {
+      this.delegate = delegate;
+      this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var b = this.delegate.read();
+
+      this.count(b < 0 ? -1 : 1);
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      final var n = this.delegate.read(buffer, offset, length);
+
+      this.count(n);
+
+      return n;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return this.finished;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      throw new IllegalStateException(
+          "Decompressed request bodies can only be read with blocking I/O");
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.delegate.close();
+    }
+
+    private void count(int n) throws RequestBodyTooLargeException {
+      if (n < 0) {
+        this.finished = true;
+
+        return;
+      }
+
+      this.read += n;
+
+      if (this.read > this.limit) {
+        throw new RequestBodyTooLargeException(
+            String.format("Decompressed request body exceeds %d bytes", this.limit));
+      }
+    }
+  }
+}
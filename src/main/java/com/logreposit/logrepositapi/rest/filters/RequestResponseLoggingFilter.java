@@ -1,6 +1,12 @@
 package com.logreposit.logrepositapi.rest.filters;
 
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.persistence.documents.User;
 import com.logreposit.logrepositapi.rest.filters.clientinfo.ClientInfoFactory;
+import com.logreposit.logrepositapi.rest.security.LogrepositAuthenticationAndAuthorizationInterceptor;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,47 +15,164 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.annotation.Order;
-import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Component;
 
-@Component
-@Order(2)
+/**
+ * Writes one access log line per request once the response is complete, including requests which
+ * are processed asynchronously.
+ *
+ * <p>Successful ingress requests are sampled with the given rate, all other successful requests are
+ * logged at INFO. Failed requests are always logged at ERROR, along with the full client info.
+ */
 public class RequestResponseLoggingFilter implements Filter {
   private static final Logger logger = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
 
+  private final double ingressSampleRate;
+
+  public RequestResponseLoggingFilter(double ingressSampleRate) {
+    this.ingressSampleRate = ingressSampleRate;
+  }
+
   @Override
   public void doFilter(
       ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
       throws IOException, ServletException {
-    final var httpServletRequest = (HttpServletRequest) servletRequest;
-    final var httpServletResponse = (HttpServletResponse) servletResponse;
-    final var clientInfo = ClientInfoFactory.extract(httpServletRequest);
+    final var request = (HttpServletRequest) servletRequest;
+    final var response = (HttpServletResponse) servletResponse;
+
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      filterChain.doFilter(servletRequest, servletResponse);
+
+      return;
+    }
 
-    logger.info(
-        "Request: {} {} [{}, {}]",
-        httpServletRequest.getMethod(),
-        httpServletRequest.getRequestURI(),
-        clientInfo.getIpAddress(),
-        clientInfo.getUserAgent());
-    logger.info("Full client-info: {}", clientInfo);
+    final var start = System.nanoTime();
 
-    filterChain.doFilter(servletRequest, servletResponse);
+    try {
+      filterChain.doFilter(servletRequest, servletResponse);
+    } catch (IOException | ServletException | RuntimeException e) {
+      this.log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, start);
 
-    final var responseStatus = httpServletResponse.getStatus();
+      throw e;
+    }
+
+    if (request.isAsyncStarted()) {
+      request.getAsyncContext().addListener(new AccessLogAsyncListener(request, response, start));
+
+      return;
+    }
+
+    this.log(request, response.getStatus(), start);
+  }
 
-    final var httpStatus =
-        Optional.ofNullable(HttpStatus.resolve(responseStatus))
-            .map(HttpStatus::getReasonPhrase)
-            .orElse("");
+  private void log(HttpServletRequest request, int status, long start) {
+    final var successful = status >= 200 && status <= 299;
 
-    if (responseStatus < 200 || responseStatus > 299) {
-      logger.error("Response: {} {}", responseStatus, httpStatus);
-    } else {
-      logger.info("Response: {} {}", responseStatus, httpStatus);
+    if (successful && !logger.isInfoEnabled()) {
+      return;
     }
+
+    if (successful && isIngressRequest(request) && !this.sampled()) {
+      return;
+    }
+
+    final var line = new StringBuilder(256);
+
+    line.append("method=")
+        .append(request.getMethod())
+        .append(" uri=")
+        .append(request.getRequestURI())
+        .append(" status=")
+        .append(status)
+        .append(" duration_us=")
+        .append(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start))
+        .append(" bytes_in=")
+        .append(request.getContentLengthLong())
+        .append(" ip=")
+        .append(ClientInfoFactory.getClientIpAddress(request));
+
+    appendPrincipal(line, request);
+
+    if (successful) {
+      line.append(" user_agent=").append(quote(request.getHeader("User-Agent")));
+
+      logger.info(line.toString());
+
+      return;
+    }
+
+    final var clientInfo = ClientInfoFactory.extract(request);
+
+    line.append(" full_url=")
+        .append(quote(clientInfo.getFullUrl()))
+        .append(" referer=")
+        .append(quote(clientInfo.getReferer()))
+        .append(" user_agent=")
+        .append(quote(clientInfo.getUserAgent()));
+
+    logger.error(line.toString());
+  }
+
+  private boolean sampled() {
+    return this.ingressSampleRate >= 1.0
+        || ThreadLocalRandom.current().nextDouble() < this.ingressSampleRate;
+  }
+
+  private static boolean isIngressRequest(HttpServletRequest request) {
+    final var uri = request.getRequestURI();
+
+    return uri.startsWith("/ingress")
+        || uri.startsWith("/v1/ingress")
+        || uri.startsWith("/v2/ingress/");
+  }
+
+  private static void appendPrincipal(StringBuilder line, HttpServletRequest request) {
+    if (request.getAttribute(
+            LogrepositAuthenticationAndAuthorizationInterceptor.AUTHENTICATED_DEVICE_ATTRIBUTE)
+        instanceof Device device) {
+      line.append(" user=").append(device.getUserId()).append(" device=").append(device.getId());
+    } else if (request.getAttribute(
+            LogrepositAuthenticationAndAuthorizationInterceptor.AUTHENTICATED_USER_ATTRIBUTE)
+        instanceof User user) {
+      line.append(" user=").append(user.getId());
+    }
+  }
+
+  private static String quote(String value) {
+    if (value == null) {
+      return "-";
+    }
+
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  private class AccessLogAsyncListener implements AsyncListener {
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final long start;
+
+    private AccessLogAsyncListener(
+        HttpServletRequest request, HttpServletResponse response, long start) {
+      this.request = request;
+      this.response = response;
+      this.start = start;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      log(this.request, this.response.getStatus(), this.start);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
   }
 }
@@ -47,7 +47,7 @@ public class ClientInfoFactory {
     return requestUrl.append('?').append(queryString).toString();
   }
 
-  private static String getClientIpAddress(HttpServletRequest request) {
+  public static String getClientIpAddress(HttpServletRequest request) {
     return CLIENT_IP_ADDRESS_HEADERS.stream()
         .map(request::getHeader)
         .filter(Objects::nonNull)
@@ -0,0 +1,88 @@
+package com.logreposit.logrepositapi.rest.mappers;
+
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.util.List;
+
+public class ColumnBlockMapper {
+  private ColumnBlockMapper() {}
+
+  /**
+   * Expands the rows of the column blocks into a batch of readings. Names are looked up once per
+   * block and values are copied without boxing them.
+   */
+  public static ReadingBatch toReadings(List<ColumnBlockDto> blocks) {
+    final var batch = ReadingBatch.builder(countRows(blocks));
+
+    for (final var block : blocks) {
+      final var measurement = batch.intern(block.getMeasurement());
+      final var tags = block.getTags() == null ? List.<TagDto>of() : block.getTags();
+      final var tagNames = new int[tags.size()];
+      final var tagValues = new int[tags.size()];
+      final var columns = block.getFields();
+      final var columnNames = new int[columns.size()];
+      final var timestamps = block.getTimestamps();
+
+      for (var t = 0; t < tagNames.length; t++) {
+        tagNames[t] = batch.intern(tags.get(t).getName());
+        tagValues[t] = batch.intern(tags.get(t).getValue());
+      }
+
+      for (var c = 0; c < columnNames.length; c++) {
+        columnNames[c] = batch.intern(columns.get(c).getName());
+      }
+
+      for (var row = 0; row < timestamps.length; row++) {
+        batch
+            .startReading()
+            .date(
+                Math.floorDiv(timestamps[row], 1000L),
+                (int) Math.floorMod(timestamps[row], 1000L) * 1_000_000)
+            .measurement(measurement);
+
+        for (var t = 0; t < tagNames.length; t++) {
+          batch.tag(tagNames[t], tagValues[t]);
+        }
+
+        for (var c = 0; c < columnNames.length; c++) {
+          addField(batch, columnNames[c], columns.get(c), row);
+        }
+      }
+    }
+
+    return batch.build();
+  }
+
+  public static int countRows(List<ColumnBlockDto> blocks) {
+    var rows = 0;
+
+    for (final var block : blocks) {
+      rows += block.getTimestamps().length;
+    }
+
+    return rows;
+  }
+
+  public static long countFields(List<ColumnBlockDto> blocks) {
+    var fields = 0L;
+
+    for (final var block : blocks) {
+      fields += (long) block.getTimestamps().length * block.getFields().size();
+    }
+
+    return fields;
+  }
+
+  private static void addField(ReadingBatch.Builder batch, int name, ColumnDto column, int row) {
+    switch (column) {
+      case FloatColumnDto c -> batch.floatField(name, c.getValues()[row]);
+      case IntegerColumnDto c -> batch.integerField(name, c.getValues()[row]);
+      case StringColumnDto c -> batch.stringField(name, batch.intern(c.getValues()[row]));
+    }
+  }
+}
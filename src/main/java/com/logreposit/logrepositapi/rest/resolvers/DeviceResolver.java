@@ -1,6 +1,7 @@
 package com.logreposit.logrepositapi.rest.resolvers;
 
 import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.rest.security.LogrepositAuthenticationAndAuthorizationInterceptor;
 import com.logreposit.logrepositapi.services.device.DeviceService;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.commons.lang3.StringUtils;
@@ -8,6 +9,7 @@ import org.springframework.core.MethodParameter;
 import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
@@ -32,6 +34,15 @@ public class DeviceResolver implements HandlerMethodArgumentResolver {
       NativeWebRequest nativeWebRequest,
       WebDataBinderFactory webDataBinderFactory)
       throws Exception {
+    final var authenticatedDevice =
+        nativeWebRequest.getAttribute(
+            LogrepositAuthenticationAndAuthorizationInterceptor.AUTHENTICATED_DEVICE_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+
+    if (authenticatedDevice instanceof Device) {
+      return authenticatedDevice;
+    }
+
     final var headers = ResolverHelper.getHeaders(nativeWebRequest);
 
     final var deviceToken = this.getDeviceTokenFromHeaders(headers);
@@ -9,20 +9,28 @@ import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserService;
 import com.logreposit.logrepositapi.services.user.UserServiceException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 public class LogrepositAuthenticationAndAuthorizationInterceptor implements HandlerInterceptor {
+  public static final String AUTHENTICATED_DEVICE_ATTRIBUTE =
+      LogrepositAuthenticationAndAuthorizationInterceptor.class.getName() + ".device";
+  public static final String AUTHENTICATED_USER_ATTRIBUTE =
+      LogrepositAuthenticationAndAuthorizationInterceptor.class.getName() + ".user";
+
   private static final Logger logger =
       LoggerFactory.getLogger(LogrepositAuthenticationAndAuthorizationInterceptor.class);
 
@@ -31,18 +39,21 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
   private final ObjectMapper objectMapper;
   private final UserService userService;
   private final DeviceService deviceService;
+  private final IngressRateLimiter ingressRateLimiter;
 
   public LogrepositAuthenticationAndAuthorizationInterceptor(
       String apiKeyHeaderName,
       String deviceTokenHeaderName,
       ObjectMapper objectMapper,
       UserService userService,
-      DeviceService deviceService) {
+      DeviceService deviceService,
+      IngressRateLimiter ingressRateLimiter) {
     this.apiKeyHeaderName = apiKeyHeaderName;
     this.deviceTokenHeaderName = deviceTokenHeaderName;
     this.objectMapper = objectMapper;
     this.userService = userService;
     this.deviceService = deviceService;
+    this.ingressRateLimiter = ingressRateLimiter;
   }
 
   @Override
@@ -68,12 +79,17 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     final var deviceToken = request.getHeader(this.deviceTokenHeaderName);
     final var route = request.getRequestURI();
 
-    logger.info("Trying to authenticate request => deviceToken: {}, route: {}", deviceToken, route);
+    logger.debug(
+        "Trying to authenticate request => deviceToken: {}, route: {}", deviceToken, route);
+
+    final Device device;
 
     try {
-      final var device = this.authenticateDevice(deviceToken);
+      device = this.authenticateDevice(deviceToken);
+
+      request.setAttribute(AUTHENTICATED_DEVICE_ATTRIBUTE, device);
 
-      logger.info(
+      logger.debug(
           "Successfully authenticated and authorized => deviceToken: {}, route: {}, userId: {}, device: {} ({})",
           deviceToken,
           route,
@@ -83,13 +99,33 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     } catch (UnauthenticatedException e) {
       logger.error("Request unauthenticated => deviceToken: {}, route: {}", deviceToken, route);
 
-      return this.sendAuthFailedResponse(
+      return this.sendErrorResponse(
           response,
           "Unauthenticated",
           ErrorCodes.UNAUTHORIZED_INGRESS_REQUEST,
           HttpStatus.UNAUTHORIZED.value());
     }
 
+    final var retryAfterNanos = this.ingressRateLimiter.tryAcquire(device);
+
+    if (retryAfterNanos > 0) {
+      logger.debug(
+          "Request rate limited => route: {}, userId: {}, device: {}",
+          route,
+          device.getUserId(),
+          device.getId());
+
+      response.setHeader(
+          HttpHeaders.RETRY_AFTER,
+          String.valueOf(TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos - 1) + 1));
+
+      return this.sendErrorResponse(
+          response,
+          "Rate limit exceeded",
+          ErrorCodes.INGRESS_RATE_LIMIT_EXCEEDED_ERROR,
+          HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
     return true;
   }
 
@@ -98,12 +134,14 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     final var apiKey = request.getHeader(this.apiKeyHeaderName);
     final var route = request.getRequestURI();
 
-    logger.info("Trying to authenticate request => apiKey: {}, route: {}", apiKey, route);
+    logger.debug("Trying to authenticate request => apiKey: {}, route: {}", apiKey, route);
 
     try {
       final var user = this.authenticateUser(apiKey, route);
 
-      logger.info(
+      request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, user);
+
+      logger.debug(
           "Successfully authenticated and authorized => apiKey: {}, route: {}, user: {}",
           apiKey,
           route,
@@ -111,7 +149,7 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     } catch (UnauthenticatedException e) {
       logger.error("Request unauthenticated => apiKey: {}, route: {}", apiKey, route);
 
-      return this.sendAuthFailedResponse(
+      return this.sendErrorResponse(
           response,
           "Unauthenticated",
           ErrorCodes.UNAUTHENTICATED_API_REQUEST,
@@ -119,7 +157,7 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     } catch (UnauthorizedException e) {
       logger.error("Request unauthorized => apiKey: {}, route: {}", apiKey, route);
 
-      return this.sendAuthFailedResponse(
+      return this.sendErrorResponse(
           response,
           "Unauthorized",
           ErrorCodes.UNAUTHORIZED_API_REQUEST,
@@ -178,7 +216,7 @@ public class LogrepositAuthenticationAndAuthorizationInterceptor implements Hand
     }
   }
 
-  private boolean sendAuthFailedResponse(
+  private boolean sendErrorResponse(
       HttpServletResponse response, String errorMessage, int errorCode, int httpCode)
       throws IOException {
     final var errorResponse = ErrorResponse.builder().code(errorCode).message(errorMessage).build();
@@ -3,6 +3,7 @@ package com.logreposit.logrepositapi.services.apikey;
 import com.logreposit.logrepositapi.persistence.documents.ApiKey;
 import com.logreposit.logrepositapi.persistence.repositories.ApiKeyRepository;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import java.util.Date;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -16,9 +17,12 @@ public class ApiKeyServiceImpl implements ApiKeyService {
   private static final Logger logger = LoggerFactory.getLogger(ApiKeyServiceImpl.class);
 
   private final ApiKeyRepository apiKeyRepository;
+  private final AuthenticationCache authenticationCache;
 
-  public ApiKeyServiceImpl(ApiKeyRepository apiKeyRepository) {
+  public ApiKeyServiceImpl(
+      ApiKeyRepository apiKeyRepository, AuthenticationCache authenticationCache) {
     this.apiKeyRepository = apiKeyRepository;
+    this.authenticationCache = authenticationCache;
   }
 
   @Override
@@ -61,6 +65,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
     final var apiKey = this.get(apiKeyId, userId);
 
     this.apiKeyRepository.delete(apiKey);
+    this.authenticationCache.invalidateApiKey(apiKey.getKey());
 
     return apiKey;
   }
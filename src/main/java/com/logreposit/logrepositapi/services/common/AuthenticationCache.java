@@ -0,0 +1,109 @@
+package com.logreposit.logrepositapi.services.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.persistence.documents.User;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process cache for the device token and api key lookups which are done on every authenticated
+ * request.
+ *
+ * <p>Unknown tokens and keys are remembered in separate, smaller caches with a shorter lifetime, so
+ * that requests with invalid credentials can neither hit the database on every attempt nor evict
+ * valid entries. Entries are invalidated locally whenever a token, key or device gets deleted or
+ * changed, other instances pick up these changes once the entries expire.
+ */
+@Component
+public class AuthenticationCache {
+  public static final String DEVICES_BY_TOKEN = "logreposit.authentication.devices_by_token";
+  public static final String INVALID_DEVICE_TOKENS =
+      "logreposit.authentication.invalid_device_tokens";
+  public static final String USERS_BY_API_KEY = "logreposit.authentication.users_by_api_key";
+  public static final String INVALID_API_KEYS = "logreposit.authentication.invalid_api_keys";
+
+  private final Cache<String, Device> devicesByToken;
+  private final Cache<String, Boolean> invalidDeviceTokens;
+  private final Cache<String, User> usersByApiKey;
+  private final Cache<String, Boolean> invalidApiKeys;
+
+  public AuthenticationCache(ApplicationConfiguration applicationConfiguration) {
+    final var configuration = applicationConfiguration.getAuthenticationCache();
+
+    this.devicesByToken = buildCache(configuration, false);
+    this.invalidDeviceTokens = buildCache(configuration, true);
+    this.usersByApiKey = buildCache(configuration, false);
+    this.invalidApiKeys = buildCache(configuration, true);
+  }
+
+  public Optional<Device> getDevice(String deviceToken) {
+    return Optional.ofNullable(this.devicesByToken.getIfPresent(deviceToken));
+  }
+
+  public boolean isInvalidDeviceToken(String deviceToken) {
+    return this.invalidDeviceTokens.getIfPresent(deviceToken) != null;
+  }
+
+  public void putDevice(String deviceToken, Device device) {
+    this.devicesByToken.put(deviceToken, device);
+  }
+
+  public void putInvalidDeviceToken(String deviceToken) {
+    this.invalidDeviceTokens.put(deviceToken, Boolean.TRUE);
+  }
+
+  public void invalidateDeviceToken(String deviceToken) {
+    this.devicesByToken.invalidate(deviceToken);
+    this.invalidDeviceTokens.invalidate(deviceToken);
+  }
+
+  public void invalidateDevice(String deviceId) {
+    this.devicesByToken.asMap().values().removeIf(device -> deviceId.equals(device.getId()));
+  }
+
+  public Optional<User> getUser(String apiKey) {
+    return Optional.ofNullable(this.usersByApiKey.getIfPresent(apiKey));
+  }
+
+  public boolean isInvalidApiKey(String apiKey) {
+    return this.invalidApiKeys.getIfPresent(apiKey) != null;
+  }
+
+  public void putUser(String apiKey, User user) {
+    this.usersByApiKey.put(apiKey, user);
+  }
+
+  public void putInvalidApiKey(String apiKey) {
+    this.invalidApiKeys.put(apiKey, Boolean.TRUE);
+  }
+
+  public void invalidateApiKey(String apiKey) {
+    this.usersByApiKey.invalidate(apiKey);
+    this.invalidApiKeys.invalidate(apiKey);
+  }
+
+  public Map<String, Cache<String, ?>> getCaches() {
+    return Map.of(
+        DEVICES_BY_TOKEN, this.devicesByToken,
+        INVALID_DEVICE_TOKENS, this.invalidDeviceTokens,
+        USERS_BY_API_KEY, this.usersByApiKey,
+        INVALID_API_KEYS, this.invalidApiKeys);
+  }
+
+  private static <V> Cache<String, V> buildCache(
+      ApplicationConfiguration.AuthenticationCacheConfiguration configuration, boolean negative) {
+    return Caffeine.newBuilder()
+        .maximumSize(
+            negative ? configuration.getNegativeMaximumSize() : configuration.getMaximumSize())
+        .expireAfterWrite(
+            negative
+                ? configuration.getNegativeExpireAfterWrite()
+                : configuration.getExpireAfterWrite())
+        .recordStats()
+        .build();
+  }
+}
@@ -1,6 +1,5 @@
 package com.logreposit.logrepositapi.services.device;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.logreposit.logrepositapi.communication.messaging.dtos.DeviceCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
@@ -10,7 +9,10 @@ import com.logreposit.logrepositapi.persistence.documents.DeviceToken;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceRepository;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceTokenRepository;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
+import com.logreposit.logrepositapi.services.ingress.IngressStage;
+import com.logreposit.logrepositapi.services.ingress.IngressStageTimer;
 import com.logreposit.logrepositapi.utils.LoggingUtils;
 import com.logreposit.logrepositapi.utils.definition.DefinitionUpdateUtil;
 import java.util.Date;
@@ -29,16 +31,22 @@ public class DeviceServiceImpl implements DeviceService {
   private final DeviceTokenRepository deviceTokenRepository;
   private final MessageFactory messageFactory;
   private final RabbitMessageSender messageSender;
+  private final AuthenticationCache authenticationCache;
+  private final IngressStageTimer ingressStageTimer;
 
   public DeviceServiceImpl(
       DeviceRepository deviceRepository,
       DeviceTokenRepository deviceTokenRepository,
       MessageFactory messageFactory,
-      RabbitMessageSender messageSender) {
+      RabbitMessageSender messageSender,
+      AuthenticationCache authenticationCache,
+      IngressStageTimer ingressStageTimer) {
     this.deviceRepository = deviceRepository;
     this.deviceTokenRepository = deviceTokenRepository;
     this.messageFactory = messageFactory;
     this.messageSender = messageSender;
+    this.authenticationCache = authenticationCache;
+    this.ingressStageTimer = ingressStageTimer;
   }
 
   @Override
@@ -94,6 +102,7 @@ public class DeviceServiceImpl implements DeviceService {
 
     this.deviceTokenRepository.deleteByDeviceId(deviceId);
     this.deviceRepository.delete(device);
+    this.authenticationCache.invalidateDevice(deviceId);
 
     return device;
   }
@@ -101,11 +110,42 @@ public class DeviceServiceImpl implements DeviceService {
   @Override
   public Device getByDeviceToken(String token)
       throws DeviceTokenNotFoundException, DeviceNotFoundException {
+    final var sample = this.ingressStageTimer.start(IngressStage.TOKEN_RESOLUTION);
+
+    try {
+      final var device = this.resolveDeviceToken(token);
+
+      sample.stop(device.getId(), 0, true);
+
+      return device;
+    } catch (DeviceTokenNotFoundException | DeviceNotFoundException | RuntimeException e) {
+      sample.stop(null, 0, false);
+
+      throw e;
+    }
+  }
+
+  private Device resolveDeviceToken(String token)
+      throws DeviceTokenNotFoundException, DeviceNotFoundException {
+    final var cachedDevice = this.authenticationCache.getDevice(token);
+
+    if (cachedDevice.isPresent()) {
+      return cachedDevice.get();
+    }
+
+    if (this.authenticationCache.isInvalidDeviceToken(token)) {
+      logger.error("device token {} is cached as not existent.", token);
+
+      throw new DeviceTokenNotFoundException("device token not found.", token);
+    }
+
     final var deviceToken = this.deviceTokenRepository.findByToken(token);
 
     if (deviceToken.isEmpty()) {
       logger.error("device token {} not found in database.", token);
 
+      this.authenticationCache.putInvalidDeviceToken(token);
+
       throw new DeviceTokenNotFoundException("device token not found.", token);
     }
 
@@ -117,6 +157,8 @@ public class DeviceServiceImpl implements DeviceService {
       throw new DeviceNotFoundException("Device for given device token not found.");
     }
 
+    this.authenticationCache.putDevice(token, device.get());
+
     return device.get();
   }
 
@@ -161,6 +203,8 @@ public class DeviceServiceImpl implements DeviceService {
 
     final var savedDevice = this.deviceRepository.save(device);
 
+    this.authenticationCache.invalidateDevice(deviceId);
+
     return savedDevice.getDefinition();
   }
 
@@ -183,9 +227,6 @@ public class DeviceServiceImpl implements DeviceService {
               deviceCreatedMessageDto, device.getUserId(), userEmail);
 
       this.messageSender.send(deviceCreatedMessage);
-    } catch (JsonProcessingException e) {
-      logger.error("Unable to create deviceCreatedMessage: {}", LoggingUtils.getLogForException(e));
-      throw new DeviceServiceException("Unable to create deviceCreatedMessage", e);
     } catch (MessageSenderException e) {
       logger.error("Unable to send deviceCreatedMessage: {}", LoggingUtils.getLogForException(e));
       throw new DeviceServiceException("Unable to send deviceCreatedMessage", e);
@@ -2,6 +2,7 @@ package com.logreposit.logrepositapi.services.devicetoken;
 
 import com.logreposit.logrepositapi.persistence.documents.DeviceToken;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceTokenRepository;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
@@ -20,11 +21,15 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
 
   private final DeviceTokenRepository deviceTokenRepository;
   private final DeviceService deviceService;
+  private final AuthenticationCache authenticationCache;
 
   public DeviceTokenServiceImpl(
-      DeviceTokenRepository deviceTokenRepository, DeviceService deviceService) {
+      DeviceTokenRepository deviceTokenRepository,
+      DeviceService deviceService,
+      AuthenticationCache authenticationCache) {
     this.deviceTokenRepository = deviceTokenRepository;
     this.deviceService = deviceService;
+    this.authenticationCache = authenticationCache;
   }
 
   @Override
@@ -100,6 +105,7 @@ public class DeviceTokenServiceImpl implements DeviceTokenService {
     final var deviceToken = this.get(deviceTokenId, deviceId, userId);
 
     this.deviceTokenRepository.delete(deviceToken);
+    this.authenticationCache.invalidateDeviceToken(deviceToken.getToken());
 
     return deviceToken;
   }
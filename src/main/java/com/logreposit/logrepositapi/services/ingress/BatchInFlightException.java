@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+/**
+ * Thrown when a batch is received while the same batch is still being published by another request.
+ * The outcome of that request is not known yet, so the batch has to be retried later.
+ */
+public class BatchInFlightException extends IngressServiceException {
+  public BatchInFlightException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,54 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Counts the bytes read from the wrapped stream. */
+class CountingInputStream extends FilterInputStream {
+  private long count;
+
+  CountingInputStream(InputStream in) {
+    super(in);
+  }
+
+  long getCount() {
+    return this.count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final var b = super.read();
+
+    if (b >= 0) {
+      this.count++;
+    }
+
+    return b;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    final var n = super.read(buffer, offset, length);
+
+    if (n > 0) {
+      this.count += n;
+    }
+
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    final var skipped = super.skip(n);
+
+    this.count += skipped;
+
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+}
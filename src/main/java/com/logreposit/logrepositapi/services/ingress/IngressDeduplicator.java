@@ -0,0 +1,155 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the batches which have recently been published per device, so that retried requests can
+ * be answered without publishing them again.
+ *
+ * <p>Batches are identified by the idempotency key sent by the device or, if enabled, by a hash of
+ * the message payload. Keys are kept for the configured window in a size-bounded cache. A key
+ * evicted early only means that a retry is published once more, which downstream consumers already
+ * have to cope with.
+ *
+ * <p>A key is claimed before its batch is published, so that a retry which arrives while the batch
+ * is still being published is not published as well. Such a retry cannot be answered as a duplicate
+ * yet, as publishing may still fail. The key is released if publishing fails. Deduplication is per
+ * instance only, retries which are handled by other instances are published again.
+ */
+@Component
+public class IngressDeduplicator {
+  /** Outcome of claiming the key of a batch. */
+  public enum Claim {
+    /** The key has been claimed, or the batch has no key. The batch has to be published. */
+    CLAIMED,
+    /** The batch is being published by another request, it is not known yet whether it will be. */
+    IN_FLIGHT,
+    /** The batch has already been published. */
+    PUBLISHED
+  }
+
+  private enum State {
+    IN_FLIGHT,
+    PUBLISHED
+  }
+
+  private final ApplicationConfiguration.IdempotencyConfiguration configuration;
+  private final ObjectMapper objectMapper;
+  private final Cache<String, State> publishedKeys;
+  private final Counter duplicates;
+
+  public IngressDeduplicator(
+      ApplicationConfiguration applicationConfiguration,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.configuration = applicationConfiguration.getIdempotency();
+    this.objectMapper = objectMapper;
+    this.publishedKeys =
+        Caffeine.newBuilder()
+            .maximumSize(this.configuration.getMaximumKeys())
+            .expireAfterWrite(this.configuration.getWindow())
+            .build();
+    this.duplicates =
+        Counter.builder("logreposit.ingress.duplicates")
+            .description("Number of ingress batches which were not published again")
+            .register(meterRegistry);
+  }
+
+  /** Returns the key of a batch with the given idempotency key, or null if there is none. */
+  public String keyOf(Device device, String idempotencyKey) {
+    if (!this.configuration.isEnabled() || idempotencyKey == null) {
+      return null;
+    }
+
+    return device.getId() + "/k/" + idempotencyKey;
+  }
+
+  /** Returns the key of a batch by the hash of its message, or null if content hashing is off. */
+  public String keyOf(Device device, Message message) {
+    if (!this.configuration.isEnabled() || !this.configuration.isContentHash()) {
+      return null;
+    }
+
+    final var digest = this.digest(message.getPayload());
+
+    return device.getId() + "/h/" + Base64.getEncoder().withoutPadding().encodeToString(digest);
+  }
+
+  /** Claims the key of a batch which is about to be published. */
+  public Claim tryClaim(String key) {
+    if (key == null) {
+      return Claim.CLAIMED;
+    }
+
+    final var state = this.publishedKeys.asMap().putIfAbsent(key, State.IN_FLIGHT);
+
+    if (state == null) {
+      return Claim.CLAIMED;
+    }
+
+    if (state == State.IN_FLIGHT) {
+      return Claim.IN_FLIGHT;
+    }
+
+    this.duplicates.increment();
+
+    return Claim.PUBLISHED;
+  }
+
+  /** Marks a claimed batch as published, its key is kept for the configured window from now on. */
+  public void confirm(String key) {
+    if (key != null) {
+      this.publishedKeys.put(key, State.PUBLISHED);
+    }
+  }
+
+  /**
+   * Releases the key of a claimed batch which could not be published, so that it can be retried.
+   */
+  public void release(String key) {
+    if (key != null) {
+      this.publishedKeys.asMap().remove(key, State.IN_FLIGHT);
+    }
+  }
+
+  /** Hashes the payload as it would be serialized, without keeping the serialized form. */
+  private byte[] digest(Object payload) {
+    final var digest = sha256();
+
+    if (payload instanceof String json) {
+      return digest.digest(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    try (final var outputStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      this.objectMapper.writeValue(outputStream, payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to hash message payload", e);
+    }
+
+    return digest.digest();
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
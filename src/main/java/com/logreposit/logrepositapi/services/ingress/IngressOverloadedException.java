@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+/**
+ * Thrown when an asynchronous ingress request is rejected because the configured number of
+ * asynchronous requests is already being processed.
+ */
+public class IngressOverloadedException extends IngressServiceException {
+  public IngressOverloadedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,130 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token bucket rate limiter for ingress requests, keyed by device and by the user owning it.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the generic
+ * cell rate algorithm): a request is admitted if the bucket would not run ahead of the current time
+ * by more than the burst, and the arrival time is advanced with a compare-and-set. The buckets are
+ * kept in size-bounded caches and dropped once they have been idle for a while. A dropped bucket
+ * starts full again, so the idle timeout should not be shorter than {@code burst / rate}.
+ */
+@Service
+public class IngressRateLimiter {
+  private static final String REJECTIONS_COUNTER_NAME = "logreposit.ingress.rate_limited";
+
+  private final ApplicationConfiguration.RateLimitConfiguration configuration;
+  private final Cache<String, AtomicLong> deviceBuckets;
+  private final Cache<String, AtomicLong> userBuckets;
+  private final Counter deviceRejections;
+  private final Counter userRejections;
+
+  public IngressRateLimiter(
+      ApplicationConfiguration applicationConfiguration, MeterRegistry meterRegistry) {
+    this.configuration = applicationConfiguration.getRateLimit();
+    this.deviceBuckets = buildCache(this.configuration);
+    this.userBuckets = buildCache(this.configuration);
+    this.deviceRejections = rejectionsCounter(meterRegistry, "device");
+    this.userRejections = rejectionsCounter(meterRegistry, "user");
+  }
+
+  /**
+   * Takes a token from the buckets of the device and its user. If the user bucket rejects the
+   * request, the token taken from the device bucket is returned.
+   *
+   * @return zero if the request is admitted, otherwise the number of nanoseconds after which a
+   *     retry would be admitted
+   */
+  public long tryAcquire(Device device) {
+    if (!this.configuration.isEnabled()) {
+      return 0;
+    }
+
+    final var now = System.nanoTime();
+    final var userLimits = this.configuration.getUsers().get(device.getUserId());
+
+    final var deviceBucket = this.deviceBuckets.get(device.getId(), k -> new AtomicLong(now));
+    final var deviceLimit =
+        userLimits != null && userLimits.getDevice() != null
+            ? userLimits.getDevice()
+            : this.configuration.getDevice();
+    final var deviceWait = acquire(deviceBucket, deviceLimit, now);
+
+    if (deviceWait > 0) {
+      this.deviceRejections.increment();
+
+      return deviceWait;
+    }
+
+    final var userWait =
+        acquire(
+            this.userBuckets.get(device.getUserId(), k -> new AtomicLong(now)),
+            userLimits != null && userLimits.getUser() != null
+                ? userLimits.getUser()
+                : this.configuration.getUser(),
+            now);
+
+    if (userWait > 0) {
+      // The request is not admitted, so it must not use up the budget of the device.
+      release(deviceBucket, deviceLimit);
+
+      this.userRejections.increment();
+    }
+
+    return userWait;
+  }
+
+  private static long acquire(
+      AtomicLong arrivalTime, ApplicationConfiguration.RateLimit limit, long now) {
+    final var interval = interval(limit);
+    final var tolerance = interval * limit.getBurst();
+
+    while (true) {
+      final var current = arrivalTime.get();
+      final var next = Math.max(current, now) + interval;
+      final var wait = next - now - tolerance;
+
+      if (wait > 0) {
+        return wait;
+      }
+
+      if (arrivalTime.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /** Returns a token taken by {@link #acquire} to the bucket. */
+  private static void release(AtomicLong arrivalTime, ApplicationConfiguration.RateLimit limit) {
+    arrivalTime.addAndGet(-interval(limit));
+  }
+
+  private static long interval(ApplicationConfiguration.RateLimit limit) {
+    return (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRate());
+  }
+
+  private static Cache<String, AtomicLong> buildCache(
+      ApplicationConfiguration.RateLimitConfiguration configuration) {
+    return Caffeine.newBuilder()
+        .maximumSize(configuration.getMaximumTrackedKeys())
+        .expireAfterAccess(configuration.getIdleTimeout())
+        .build();
+  }
+
+  private static Counter rejectionsCounter(MeterRegistry meterRegistry, String scope) {
+    return Counter.builder(REJECTIONS_COUNTER_NAME)
+        .description("Number of ingress requests rejected by the rate limiter")
+        .tag("scope", scope)
+        .register(meterRegistry);
+  }
+}
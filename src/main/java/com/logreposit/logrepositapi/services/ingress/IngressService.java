@@ -1,19 +1,36 @@
 package com.logreposit.logrepositapi.services.ingress;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSpoolException;
+import com.logreposit.logrepositapi.communication.messaging.rabbitmq.BatchingRabbitMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
+import com.logreposit.logrepositapi.communication.messaging.spool.MessageSpool;
 import com.logreposit.logrepositapi.communication.messaging.utils.MessageFactory;
 import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.configuration.IngressExecutorConfiguration;
 import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.mappers.ColumnBlockMapper;
+import com.logreposit.logrepositapi.services.usage.UsageMeter;
 import com.logreposit.logrepositapi.utils.LoggingUtils;
 import com.logreposit.logrepositapi.utils.RetryTemplateFactory;
 import com.logreposit.logrepositapi.utils.definition.DefinitionValidator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,39 +39,424 @@ public class IngressService {
 
   private final ApplicationConfiguration applicationConfiguration;
   private final RabbitMessageSender messageSender;
+  private final BatchingRabbitMessageSender batchingMessageSender;
+  private final MessageSpool messageSpool;
   private final MessageFactory messageFactory;
+  private final ObjectMapper objectMapper;
+  private final Executor ingressExecutor;
+  private final IngressStageTimer ingressStageTimer;
+  private final UsageMeter usageMeter;
+  private final IngressDeduplicator ingressDeduplicator;
+  private final Semaphore asyncRequestPermits;
 
   public IngressService(
       ApplicationConfiguration applicationConfiguration,
       RabbitMessageSender messageSender,
-      MessageFactory messageFactory) {
+      BatchingRabbitMessageSender batchingMessageSender,
+      MessageSpool messageSpool,
+      MessageFactory messageFactory,
+      ObjectMapper objectMapper,
+      @Qualifier(IngressExecutorConfiguration.INGRESS_EXECUTOR) Executor ingressExecutor,
+      IngressStageTimer ingressStageTimer,
+      UsageMeter usageMeter,
+      IngressDeduplicator ingressDeduplicator) {
     this.applicationConfiguration = applicationConfiguration;
     this.messageSender = messageSender;
+    this.batchingMessageSender = batchingMessageSender;
+    this.messageSpool = messageSpool;
     this.messageFactory = messageFactory;
+    this.objectMapper = objectMapper;
+    this.ingressExecutor = ingressExecutor;
+    this.ingressStageTimer = ingressStageTimer;
+    this.usageMeter = usageMeter;
+    this.ingressDeduplicator = ingressDeduplicator;
+    this.asyncRequestPermits =
+        new Semaphore(applicationConfiguration.getIngress().getMaximumConcurrentAsyncRequests());
   }
 
   public void processData(Device device, List<ReadingDto> readings) throws IngressServiceException {
-    DefinitionValidator.forDefinition(device.getDefinition()).validate(readings);
+    this.processData(device, readings, null, 0);
+  }
+
+  /**
+   * Validates the readings and publishes them as one message. The readings are checked for their
+   * constraints and against the device definition in one pass. If a batch with the same idempotency
+   * key (or, without key, the same content) has recently been published for the device, it is not
+   * published again. The size of the request body the readings were read from is metered as usage.
+   *
+   * @throws ReadingValidationException if a reading violates the constraints of its DTO
+   * @throws BatchInFlightException if the same batch is currently being published
+   */
+  public void processData(
+      Device device, List<ReadingDto> readings, String idempotencyKey, long requestBytes)
+      throws IngressServiceException {
+    var deduplicationKey = this.ingressDeduplicator.keyOf(device, idempotencyKey);
+
+    if (!this.tryClaim(device, deduplicationKey, idempotencyKey)) {
+      return;
+    }
+
+    try {
+      final var batch = ReadingBatch.of(readings);
+
+      try {
+        this.ingressStageTimer.record(
+            IngressStage.DEFINITION_VALIDATION,
+            device.getId(),
+            batch.size(),
+            () -> {
+              ReadingBatchValidator.forDefinition(device.getDefinition()).validate(batch);
 
-    final var message = this.buildMessage(device, readings);
+              return null;
+            });
+      } catch (ReadingValidationException | RuntimeException e) {
+        this.usageMeter.recordRejected(device, batch.size(), batch.fieldCount(), requestBytes);
+
+        throw e;
+      }
+
+      final var message = this.buildMessage(device, batch);
+
+      if (deduplicationKey == null) {
+        final var contentKey = this.ingressDeduplicator.keyOf(device, message);
+
+        if (!this.tryClaim(device, contentKey, null)) {
+          return;
+        }
+
+        deduplicationKey = contentKey;
+      }
+
+      this.sendMessage(device, batch.size(), batch.fieldCount(), requestBytes, message);
+    } catch (IngressServiceException | RuntimeException e) {
+      this.ingressDeduplicator.release(deduplicationKey);
+
+      throw e;
+    }
 
-    this.sendMessage(message);
+    this.ingressDeduplicator.confirm(deduplicationKey);
   }
 
-  private Message buildMessage(Device device, List<ReadingDto> readings)
+  /**
+   * Same as {@link #processData(Device, List, String, long)}, but for column blocks. Each block is
+   * validated once against the device definition and the blocks are published as they are, they are
+   * only expanded into readings when they are fanned out via MQTT.
+   */
+  public void processColumns(
+      Device device, List<ColumnBlockDto> blocks, String idempotencyKey, long requestBytes)
       throws IngressServiceException {
+    var deduplicationKey = this.ingressDeduplicator.keyOf(device, idempotencyKey);
+
+    if (!this.tryClaim(device, deduplicationKey, idempotencyKey)) {
+      return;
+    }
+
     try {
-      return this.messageFactory.buildEventGenericLogdataReceivedMessage(
-          readings, device.getId(), device.getUserId());
-    } catch (JsonProcessingException e) {
-      logger.error(
-          "Unable to create Log Data Received Message: {}", LoggingUtils.getLogForException(e));
+      final var rows = ColumnBlockMapper.countRows(blocks);
+      final var fields = ColumnBlockMapper.countFields(blocks);
+
+      try {
+        this.ingressStageTimer.record(
+            IngressStage.DEFINITION_VALIDATION,
+            device.getId(),
+            rows,
+            () -> {
+              final var definitionValidator =
+                  DefinitionValidator.forDefinition(device.getDefinition());
+
+              definitionValidator.validateDefinitionPresent();
+              blocks.forEach(definitionValidator::validate);
+
+              return null;
+            });
+      } catch (RuntimeException e) {
+        this.usageMeter.recordRejected(device, rows, fields, requestBytes);
+
+        throw e;
+      }
 
-      throw new IngressServiceException("Unable to create Log Data Received Message", e);
+      final var message = this.buildColumnarMessage(device, blocks, rows);
+
+      if (deduplicationKey == null) {
+        final var contentKey = this.ingressDeduplicator.keyOf(device, message);
+
+        if (!this.tryClaim(device, contentKey, null)) {
+          return;
+        }
+
+        deduplicationKey = contentKey;
+      }
+
+      this.sendMessage(device, rows, fields, requestBytes, message);
+    } catch (IngressServiceException | RuntimeException e) {
+      this.ingressDeduplicator.release(deduplicationKey);
+
+      throw e;
     }
+
+    this.ingressDeduplicator.confirm(deduplicationKey);
+  }
+
+  public CompletableFuture<Void> processDataAsync(Device device, List<ReadingDto> readings) {
+    return this.processDataAsync(device, readings, null, 0);
+  }
+
+  /**
+   * Same as {@link #processData(Device, List, String, long)}, but runs on the ingress executor. The
+   * returned future completes once the message has been published, or exceptionally with an {@link
+   * IngressServiceException} or a {@link
+   * com.logreposit.logrepositapi.utils.definition.DefinitionValidationException}.
+   *
+   * <p>Each request holds its readings until it has been published, so the number of requests
+   * processed at once is limited. Once the limit is reached, the returned future fails right away
+   * with an {@link IngressOverloadedException}.
+   */
+  public CompletableFuture<Void> processDataAsync(
+      Device device, List<ReadingDto> readings, String idempotencyKey, long requestBytes) {
+    if (!this.asyncRequestPermits.tryAcquire()) {
+      logger.warn("Rejecting asynchronous ingress request of device {}.", device.getId());
+
+      return CompletableFuture.failedFuture(
+          new IngressOverloadedException("Too many asynchronous ingress requests"));
+    }
+
+    final var future = new CompletableFuture<Void>();
+
+    try {
+      this.ingressExecutor.execute(
+          () -> {
+            try {
+              this.processData(device, readings, idempotencyKey, requestBytes);
+
+              future.complete(null);
+            } catch (IngressServiceException | RuntimeException e) {
+              future.completeExceptionally(e);
+            } finally {
+              this.asyncRequestPermits.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      this.asyncRequestPermits.release();
+
+      throw e;
+    }
+
+    return future;
+  }
+
+  /**
+   * Reads the readings from the given request body one by one and validates and publishes them in
+   * chunks of the configured size. Processing is not atomic: chunks which have been published
+   * before a chunk with an invalid reading is encountered are not withdrawn.
+   *
+   * @return the number of accepted readings
+   * @throws PartialIngressException with the number of accepted readings, caused by the actual
+   *     failure
+   */
+  public long processDataStream(Device device, InputStream inputStream)
+      throws PartialIngressException {
+    final var body = new CountingInputStream(inputStream);
+
+    try (final var reader = new ReadingStreamReader(this.objectMapper, body)) {
+      return this.processReadings(device, reader, body, true);
+    } catch (IOException e) {
+      throw new PartialIngressException(0, readFailure(e));
+    }
+  }
+
+  /**
+   * Same as {@link #processDataStream(Device, InputStream)}, but for a body in InfluxDB line
+   * protocol. The parser already guarantees what the bean validation constraints of {@link
+   * ReadingDto} check, so the readings are only validated against the device definition.
+   *
+   * @return the number of accepted readings
+   */
+  public long processLineProtocol(
+      Device device, InputStream inputStream, LineProtocolPrecision precision)
+      throws PartialIngressException {
+    final var body = new CountingInputStream(inputStream);
+
+    try (final var reader = new LineProtocolReader(body, precision, Instant.now())) {
+      return this.processReadings(device, reader, body, false);
+    } catch (IOException e) {
+      throw new PartialIngressException(0, readFailure(e));
+    }
+  }
+
+  /**
+   * Reads, validates and publishes the readings in chunks. Each chunk is metered with the bytes of
+   * the body which have been read since the previous chunk. Any failure is wrapped together with
+   * the number of readings accepted so far.
+   */
+  private long processReadings(
+      Device device, ReadingReader reader, CountingInputStream body, boolean validateConstraints)
+      throws PartialIngressException {
+    var accepted = 0L;
+
+    try {
+      final var readingValidator =
+          validateConstraints ? ReadingBatchValidator.forDefinition(device.getDefinition()) : null;
+      final var definitionValidator = DefinitionValidator.forDefinition(device.getDefinition());
+      final var chunkSize = this.applicationConfiguration.getIngress().getStreamingChunkSize();
+
+      definitionValidator.validateDefinitionPresent();
+
+      var chunk = ReadingBatch.builder(chunkSize);
+      var metered = 0L;
+
+      for (var reading = reader.next(); reading != null; reading = reader.next()) {
+        chunk.add(reading);
+
+        if (chunk.size() >= chunkSize) {
+          final var bytes = body.getCount() - metered;
+
+          metered += bytes;
+          accepted +=
+              this.sendChunk(
+                  device, chunk.build(), accepted, bytes, readingValidator, definitionValidator);
+          chunk = ReadingBatch.builder(chunkSize);
+        }
+      }
+
+      if (!chunk.isEmpty()) {
+        accepted +=
+            this.sendChunk(
+                device,
+                chunk.build(),
+                accepted,
+                body.getCount() - metered,
+                readingValidator,
+                definitionValidator);
+      }
+
+      return accepted;
+    } catch (IOException e) {
+      throw new PartialIngressException(accepted, readFailure(e));
+    } catch (IngressServiceException | RuntimeException e) {
+      throw new PartialIngressException(accepted, e);
+    }
+  }
+
+  private static IngressServiceException readFailure(IOException e) {
+    if (e instanceof JsonProcessingException) {
+      logger.error("Unable to parse readings: {}", LoggingUtils.getLogForException(e));
+
+      return new ReadingStreamParseException("Unable to parse readings", e);
+    }
+
+    logger.error("Unable to read readings: {}", LoggingUtils.getLogForException(e));
+
+    return new IngressServiceException("Unable to read readings", e);
+  }
+
+  /**
+   * Validates and publishes a chunk of readings. The readings of the chunk have the indices {@code
+   * firstIndex} and onwards within the request body.
+   */
+  private int sendChunk(
+      Device device,
+      ReadingBatch chunk,
+      long firstIndex,
+      long bytes,
+      ReadingBatchValidator readingValidator,
+      DefinitionValidator definitionValidator)
+      throws IngressServiceException {
+    try {
+      if (readingValidator != null) {
+        readingValidator.validate(chunk, firstIndex);
+      } else {
+        definitionValidator.validate(chunk);
+      }
+    } catch (ReadingValidationException | RuntimeException e) {
+      this.usageMeter.recordRejected(device, chunk.size(), chunk.fieldCount(), bytes);
+
+      throw e;
+    }
+
+    this.sendMessage(
+        device, chunk.size(), chunk.fieldCount(), bytes, this.buildMessage(device, chunk));
+
+    return chunk.size();
+  }
+
+  private Message buildMessage(Device device, ReadingBatch readings) {
+    return this.ingressStageTimer.record(
+        IngressStage.MESSAGE_BUILD,
+        device.getId(),
+        readings.size(),
+        () ->
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                readings, device.getId(), device.getUserId()));
+  }
+
+  /**
+   * Claims the key of a batch, returns false if the batch has already been published.
+   *
+   * @throws BatchInFlightException if the batch is currently being published
+   */
+  private boolean tryClaim(Device device, String deduplicationKey, String idempotencyKey)
+      throws BatchInFlightException {
+    final var claim = this.ingressDeduplicator.tryClaim(deduplicationKey);
+
+    if (claim == IngressDeduplicator.Claim.CLAIMED) {
+      return true;
+    }
+
+    final var batch =
+        idempotencyKey != null
+            ? String.format("Batch with idempotency key %s", idempotencyKey)
+            : "Batch";
+
+    if (claim == IngressDeduplicator.Claim.IN_FLIGHT) {
+      logger.debug("{} of device {} is still being published.", batch, device.getId());
+
+      throw new BatchInFlightException("Batch is still being published");
+    }
+
+    logger.debug("{} of device {} has already been published.", batch, device.getId());
+
+    return false;
+  }
+
+  private Message buildColumnarMessage(Device device, List<ColumnBlockDto> blocks, int rows) {
+    return this.ingressStageTimer.record(
+        IngressStage.MESSAGE_BUILD,
+        device.getId(),
+        rows,
+        () ->
+            this.messageFactory.buildEventGenericColumnarLogdataReceivedMessage(
+                blocks, device.getId(), device.getUserId()));
+  }
+
+  /** Publishes the message and meters the readings it contains as accepted or rejected. */
+  private void sendMessage(Device device, int readings, long fields, long bytes, Message message)
+      throws IngressServiceException {
+    try {
+      this.ingressStageTimer.record(
+          IngressStage.MESSAGE_PUBLISH,
+          device.getId(),
+          readings,
+          () -> {
+            this.sendMessage(message);
+
+            return null;
+          });
+    } catch (IngressServiceException | RuntimeException e) {
+      this.usageMeter.recordRejected(device, readings, fields, bytes);
+
+      throw e;
+    }
+
+    this.usageMeter.recordAccepted(device, readings, fields, bytes);
   }
 
   private void sendMessage(Message message) throws IngressServiceException {
+    if (this.messageSpool.isEnabled()) {
+      this.sendOrSpoolMessage(message);
+
+      return;
+    }
+
     final var maxAttempts = this.applicationConfiguration.getMessageSenderRetryCount();
 
     final var retryTemplate =
@@ -72,7 +474,7 @@ public class IngressService {
                 maxAttempts,
                 message.getType());
 
-            this.messageSender.send(message);
+            this.publish(message);
 
             return null;
           });
@@ -85,4 +487,44 @@ public class IngressService {
       throw new IngressServiceException("Could not send Message", e);
     }
   }
+
+  /**
+   * Publishes the message with a single attempt and spools it if that fails. Messages are spooled
+   * right away as long as the spool has not been drained, so that they stay in order.
+   */
+  private void sendOrSpoolMessage(Message message) throws IngressServiceException {
+    if (this.messageSpool.isEmpty()) {
+      try {
+        this.publish(message);
+
+        return;
+      } catch (MessageSenderException | AmqpException e) {
+        logger.warn(
+            "Could not send Message of type {}, spooling it: {}",
+            message.getType(),
+            LoggingUtils.getLogForException(e));
+      }
+    }
+
+    try {
+      this.messageSpool.append(message);
+    } catch (MessageSpoolException e) {
+      logger.error(
+          "Could not spool Message of type {}: {}",
+          message.getType(),
+          LoggingUtils.getLogForException(e));
+
+      throw new IngressServiceException("Could not send Message", e);
+    }
+  }
+
+  private void publish(Message message) throws MessageSenderException {
+    final var mode = this.applicationConfiguration.getMessagePublisher().getMode();
+
+    if (mode == ApplicationConfiguration.MessagePublisherMode.BATCHING) {
+      this.batchingMessageSender.sendAndAwaitConfirm(message);
+    } else {
+      this.messageSender.send(message);
+    }
+  }
 }
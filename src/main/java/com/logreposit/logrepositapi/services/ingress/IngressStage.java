@@ -0,0 +1,19 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+/** Stages of an ingress request, used as tag of the stage timers and in JFR events. */
+public enum IngressStage {
+  TOKEN_RESOLUTION("token_resolution"),
+  DEFINITION_VALIDATION("definition_validation"),
+  MESSAGE_BUILD("message_build"),
+  MESSAGE_PUBLISH("message_publish");
+
+  private final String tagValue;
+
+  IngressStage(String tagValue) {
+    this.tagValue = tagValue;
+  }
+
+  public String getTagValue() {
+    return this.tagValue;
+  }
+}
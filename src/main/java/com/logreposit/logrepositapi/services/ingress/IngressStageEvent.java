@@ -0,0 +1,27 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.logreposit.IngressStage")
+@Label("Ingress Stage")
+@Category({"Logreposit", "Ingress"})
+@Description("Duration of a single stage of an ingress request")
+@StackTrace(false)
+class IngressStageEvent extends Event {
+  @Label("Stage")
+  String stage;
+
+  @Label("Device Id")
+  String deviceId;
+
+  @Label("Readings")
+  int readings;
+
+  @Label("Success")
+  boolean success;
+}
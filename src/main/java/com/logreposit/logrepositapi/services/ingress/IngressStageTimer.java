@@ -0,0 +1,95 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the stages of ingress requests with a Micrometer {@link Timer} and a JFR {@link
+ * IngressStageEvent}. Both use a monotonic clock, so the durations are not affected by wall clock
+ * adjustments.
+ */
+@Component
+public class IngressStageTimer {
+  private static final String TIMER_NAME = "logreposit.ingress.stage";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<IngressStage, Timer> successTimers = new EnumMap<>(IngressStage.class);
+  private final Map<IngressStage, Timer> failureTimers = new EnumMap<>(IngressStage.class);
+
+  public IngressStageTimer(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    for (final var stage : IngressStage.values()) {
+      this.successTimers.put(stage, timer(meterRegistry, stage, "success"));
+      this.failureTimers.put(stage, timer(meterRegistry, stage, "failure"));
+    }
+  }
+
+  public <T, E extends Exception> T record(
+      IngressStage stage, String deviceId, int readings, StageAction<T, E> action) throws E {
+    final var sample = this.start(stage);
+
+    var success = false;
+
+    try {
+      final var result = action.run();
+
+      success = true;
+
+      return result;
+    } finally {
+      sample.stop(deviceId, readings, success);
+    }
+  }
+
+  /** Starts measuring the given stage, for stages which cannot be wrapped in a single action. */
+  public Sample start(IngressStage stage) {
+    return new Sample(stage, Timer.start(this.meterRegistry));
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, IngressStage stage, String outcome) {
+    return Timer.builder(TIMER_NAME)
+        .description("Duration of the stages of ingress requests")
+        .tag("stage", stage.getTagValue())
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  public class Sample {
+    private final IngressStage stage;
+    private final Timer.Sample timerSample;
+    private final IngressStageEvent event;
+
+    private Sample(IngressStage stage, Timer.Sample timerSample) {
+      this.stage = stage;
+      this.timerSample = timerSample;
+      this.event = new IngressStageEvent();
+
+      this.event.begin();
+    }
+
+    public void stop(String deviceId, int readings, boolean success) {
+      this.timerSample.stop(
+          success ? successTimers.get(this.stage) : failureTimers.get(this.stage));
+
+      this.event.end();
+
+      if (this.event.shouldCommit()) {
+        this.event.stage = this.stage.getTagValue();
+        this.event.deviceId = deviceId;
+        this.event.readings = readings;
+        this.event.success = success;
+        this.event.commit();
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface StageAction<T, E extends Exception> {
+    T run() throws E;
+  }
+}
@@ -0,0 +1,7 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+public class LineProtocolParseException extends ReadingStreamParseException {
+  public LineProtocolParseException(String message) {
+    super(message);
+  }
+}
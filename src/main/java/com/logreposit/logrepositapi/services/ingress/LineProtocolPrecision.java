@@ -0,0 +1,56 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import java.time.Instant;
+
+/** Unit of the timestamps of InfluxDB line protocol readings. */
+public enum LineProtocolPrecision {
+  NANOSECONDS("ns", 1L),
+  MICROSECONDS("us", 1_000L),
+  MILLISECONDS("ms", 1_000_000L),
+  SECONDS("s", 1_000_000_000L);
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final String value;
+  private final long nanosPerUnit;
+
+  LineProtocolPrecision(String value, long nanosPerUnit) {
+    this.value = value;
+    this.nanosPerUnit = nanosPerUnit;
+  }
+
+  /** Returns the precision for the {@code precision} parameter values of InfluxDB. */
+  public static LineProtocolPrecision of(String value) {
+    for (final var precision : values()) {
+      if (precision.value.equals(value)) {
+        return precision;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown line protocol precision: " + value);
+  }
+
+  public String getValue() {
+    return this.value;
+  }
+
+  /** Returns whether the timestamp lies between {@link Instant#MIN} and {@link Instant#MAX}. */
+  boolean isInRange(long timestamp) {
+    final var epochSecond = Math.floorDiv(timestamp, this.unitsPerSecond());
+
+    return epochSecond >= Instant.MIN.getEpochSecond()
+        && epochSecond <= Instant.MAX.getEpochSecond();
+  }
+
+  Instant toInstant(long timestamp) {
+    final var unitsPerSecond = this.unitsPerSecond();
+
+    return Instant.ofEpochSecond(
+        Math.floorDiv(timestamp, unitsPerSecond),
+        Math.floorMod(timestamp, unitsPerSecond) * this.nanosPerUnit);
+  }
+
+  private long unitsPerSecond() {
+    return NANOS_PER_SECOND / this.nanosPerUnit;
+  }
+}
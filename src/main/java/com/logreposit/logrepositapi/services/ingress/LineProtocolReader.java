@@ -0,0 +1,615 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Reads the readings of an InfluxDB line protocol request body one line at a time.
+ *
+ * <pre>
+ * measurement[,tag_key=tag_value...] field_key=field_value[,field_key=field_value...] [timestamp]
+ * </pre>
+ *
+ * <p>Lines are scanned straight from the bytes of the body. Names and tag values repeat from line
+ * to line, so they are looked up in small caches keyed by their bytes instead of creating a new
+ * {@link String} for every token, and numbers are parsed without intermediate strings.
+ *
+ * <p>Field values without suffix are mapped to {@code FLOAT}, values with an {@code i} or {@code u}
+ * suffix to {@code INTEGER} and quoted values to {@code STRING}. Boolean values are not supported.
+ * Lines without timestamp are dated with the given default date. Empty lines and comments starting
+ * with {@code #} are skipped.
+ */
+class LineProtocolReader implements ReadingReader {
+  private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+  private static final int MAXIMUM_LINE_LENGTH = 1024 * 1024;
+  private static final int NAME_CACHE_SIZE = 256;
+  private static final int VALUE_CACHE_SIZE = 1024;
+
+  private static final int MAXIMUM_FAST_PATH_DIGITS = 15;
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final InputStream inputStream;
+  private final LineProtocolPrecision precision;
+  private final Instant defaultDate;
+  private final StringCache names = new StringCache(NAME_CACHE_SIZE);
+  private final StringCache values = new StringCache(VALUE_CACHE_SIZE);
+
+  private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+  private byte[] scratch = new byte[256];
+  private int position;
+  private int limit;
+  private boolean endOfStream;
+  private long lineNumber;
+
+  private int cursor;
+  private int lineEnd;
+  private boolean escaped;
+
+  LineProtocolReader(
+      InputStream inputStream, LineProtocolPrecision precision, Instant defaultDate) {
+    this.inputStream = inputStream;
+    this.precision = precision;
+    this.defaultDate = defaultDate;
+  }
+
+  @Override
+  public ReadingDto next() throws IOException, LineProtocolParseException {
+    while (this.nextLine()) {
+      this.lineNumber++;
+
+      if (this.lineEnd > this.cursor && this.buffer[this.lineEnd - 1] == '\r') {
+        this.lineEnd--;
+      }
+
+      this.skipWhitespace();
+
+      if (this.cursor < this.lineEnd && this.buffer[this.cursor] != '#') {
+        return this.parseLine();
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.inputStream.close();
+  }
+
+  private ReadingDto parseLine() throws LineProtocolParseException {
+    final var reading = new ReadingDto();
+
+    reading.setMeasurement(this.readName(false, "measurement"));
+
+    if (this.current() == ',') {
+      this.cursor++;
+      this.readTags(reading);
+    }
+
+    if (this.current() != ' ') {
+      throw this.error("expected field set after measurement and tags");
+    }
+
+    this.skipWhitespace();
+    this.readFields(reading);
+
+    if (this.cursor < this.lineEnd && this.current() != ' ') {
+      throw this.error("expected space before timestamp");
+    }
+
+    this.skipWhitespace();
+
+    if (this.cursor == this.lineEnd) {
+      reading.setDate(this.defaultDate);
+
+      return reading;
+    }
+
+    final var start = this.cursor;
+
+    while (this.cursor < this.lineEnd && this.buffer[this.cursor] != ' ') {
+      this.cursor++;
+    }
+
+    final var timestamp = this.parseLong(start, this.cursor, "timestamp");
+
+    if (!this.precision.isInRange(timestamp)) {
+      throw this.error("timestamp is out of range");
+    }
+
+    reading.setDate(this.precision.toInstant(timestamp));
+
+    this.skipWhitespace();
+
+    if (this.cursor != this.lineEnd) {
+      throw this.error("unexpected content after timestamp");
+    }
+
+    return reading;
+  }
+
+  private void readTags(ReadingDto reading) throws LineProtocolParseException {
+    while (true) {
+      final var tag = new TagDto();
+
+      tag.setName(this.readName(true, "tag key"));
+      this.expect('=', "expected '=' after tag key");
+      tag.setValue(this.readValue("tag value"));
+
+      reading.getTags().add(tag);
+
+      if (this.current() != ',') {
+        return;
+      }
+
+      this.cursor++;
+    }
+  }
+
+  private void readFields(ReadingDto reading) throws LineProtocolParseException {
+    while (true) {
+      final var name = this.readName(true, "field key");
+
+      this.expect('=', "expected '=' after field key");
+
+      final var field = this.readFieldValue(name);
+
+      field.setName(name);
+
+      reading.getFields().add(field);
+
+      if (this.current() != ',') {
+        return;
+      }
+
+      this.cursor++;
+    }
+  }
+
+  private FieldDto readFieldValue(String name) throws LineProtocolParseException {
+    if (this.current() == '"') {
+      final var field = new StringFieldDto();
+
+      field.setValue(this.readQuotedString());
+
+      return field;
+    }
+
+    final var start = this.cursor;
+
+    while (this.cursor < this.lineEnd
+        && this.buffer[this.cursor] != ','
+        && this.buffer[this.cursor] != ' ') {
+      this.cursor++;
+    }
+
+    final var end = this.cursor;
+
+    if (start == end) {
+      throw this.error(String.format("missing value of field '%s'", name));
+    }
+
+    final var suffix = this.buffer[end - 1];
+
+    if (suffix == 'i' || suffix == 'u') {
+      final var value = this.parseLong(start, end - 1, "integer value");
+
+      if (suffix == 'u' && value < 0) {
+        throw this.error(String.format("unsigned value of field '%s' is negative", name));
+      }
+
+      final var field = new IntegerFieldDto();
+
+      field.setValue(value);
+
+      return field;
+    }
+
+    if (isBoolean(this.buffer[start])) {
+      throw this.error(String.format("boolean value of field '%s' is not supported", name));
+    }
+
+    final var field = new FloatFieldDto();
+
+    field.setValue(this.parseDouble(start, end));
+
+    return field;
+  }
+
+  /**
+   * Reads a measurement name, tag key or field key. Commas, equal signs (not within measurement
+   * names) and spaces end the name unless they are escaped with a backslash.
+   */
+  private String readName(boolean equalSignDelimits, String description)
+      throws LineProtocolParseException {
+    final var start = this.cursor;
+
+    this.escaped = false;
+
+    while (this.cursor < this.lineEnd) {
+      final var b = this.buffer[this.cursor];
+
+      if (b == '\\' && this.cursor + 1 < this.lineEnd) {
+        this.escaped = true;
+        this.cursor += 2;
+
+        continue;
+      }
+
+      if (b == ',' || b == ' ' || (equalSignDelimits && b == '=')) {
+        break;
+      }
+
+      this.cursor++;
+    }
+
+    if (start == this.cursor) {
+      throw this.error("missing " + description);
+    }
+
+    return this.string(this.names, start, this.cursor);
+  }
+
+  private String readValue(String description) throws LineProtocolParseException {
+    final var start = this.cursor;
+
+    this.escaped = false;
+
+    while (this.cursor < this.lineEnd) {
+      final var b = this.buffer[this.cursor];
+
+      if (b == '\\' && this.cursor + 1 < this.lineEnd) {
+        this.escaped = true;
+        this.cursor += 2;
+
+        continue;
+      }
+
+      if (b == ',' || b == ' ' || b == '=') {
+        break;
+      }
+
+      this.cursor++;
+    }
+
+    if (start == this.cursor) {
+      throw this.error("missing " + description);
+    }
+
+    return this.string(this.values, start, this.cursor);
+  }
+
+  private String readQuotedString() throws LineProtocolParseException {
+    final var start = ++this.cursor;
+
+    this.escaped = false;
+
+    while (this.cursor < this.lineEnd) {
+      final var b = this.buffer[this.cursor];
+
+      if (b == '\\' && this.cursor + 1 < this.lineEnd) {
+        this.escaped = true;
+        this.cursor += 2;
+
+        continue;
+      }
+
+      if (b == '"') {
+        final var value = this.string(this.values, start, this.cursor);
+
+        this.cursor++;
+
+        return value;
+      }
+
+      this.cursor++;
+    }
+
+    throw this.error("unterminated string value");
+  }
+
+  /** Returns the (unescaped) string of the given range of the current line. */
+  private String string(StringCache cache, int start, int end) {
+    if (!this.escaped) {
+      return cache.get(this.buffer, start, end);
+    }
+
+    if (this.scratch.length < end - start) {
+      this.scratch = new byte[end - start];
+    }
+
+    var length = 0;
+
+    for (var i = start; i < end; i++) {
+      if (this.buffer[i] == '\\' && i + 1 < end && isEscapable(this.buffer[i + 1])) {
+        i++;
+      }
+
+      this.scratch[length++] = this.buffer[i];
+    }
+
+    return cache.get(this.scratch, 0, length);
+  }
+
+  private long parseLong(int start, int end, String description) throws LineProtocolParseException {
+    var i = start;
+    final var negative = i < end && this.buffer[i] == '-';
+
+    if (negative) {
+      i++;
+    }
+
+    if (i == end) {
+      throw this.error("missing " + description);
+    }
+
+    // Accumulated negatively, as Long.MIN_VALUE has no positive counterpart.
+    var result = 0L;
+
+    for (; i < end; i++) {
+      final var digit = this.buffer[i] - '0';
+
+      if (digit < 0 || digit > 9) {
+        throw this.error("invalid " + description);
+      }
+
+      if (result < (Long.MIN_VALUE + digit) / 10) {
+        throw this.error(description + " is out of range");
+      }
+
+      result = result * 10 - digit;
+    }
+
+    if (negative) {
+      return result;
+    }
+
+    if (result == Long.MIN_VALUE) {
+      throw this.error(description + " is out of range");
+    }
+
+    return -result;
+  }
+
+  /**
+   * Parses a decimal floating point number. Numbers with up to 15 significant digits and a decimal
+   * exponent of at most 22 are exactly representable as one multiplication or division of two
+   * doubles, which covers practically all sensor values. Others fall back to {@link
+   * Double#parseDouble(String)}.
+   */
+  private double parseDouble(int start, int end) throws LineProtocolParseException {
+    var i = start;
+    final var negative = this.buffer[i] == '-';
+
+    if (negative || this.buffer[i] == '+') {
+      i++;
+    }
+
+    var mantissa = 0L;
+    var digits = 0;
+    var exponent = 0;
+    var seenDigit = false;
+    var seenDot = false;
+
+    for (; i < end; i++) {
+      final var b = this.buffer[i];
+
+      if (b >= '0' && b <= '9') {
+        seenDigit = true;
+
+        if (digits < 18) {
+          mantissa = mantissa * 10 + (b - '0');
+
+          if (mantissa != 0) {
+            digits++;
+          }
+
+          if (seenDot) {
+            exponent--;
+          }
+        } else {
+          digits++;
+
+          if (!seenDot) {
+            exponent++;
+          }
+        }
+      } else if (b == '.' && !seenDot) {
+        seenDot = true;
+      } else {
+        break;
+      }
+    }
+
+    if (seenDigit && i < end && (this.buffer[i] == 'e' || this.buffer[i] == 'E')) {
+      i++;
+
+      final var negativeExponent = i < end && this.buffer[i] == '-';
+
+      if (i < end && (this.buffer[i] == '-' || this.buffer[i] == '+')) {
+        i++;
+      }
+
+      if (i == end) {
+        throw this.error("invalid float value");
+      }
+
+      var exponentValue = 0;
+
+      for (; i < end && this.buffer[i] >= '0' && this.buffer[i] <= '9'; i++) {
+        exponentValue = Math.min(exponentValue * 10 + (this.buffer[i] - '0'), 10_000);
+      }
+
+      exponent += negativeExponent ? -exponentValue : exponentValue;
+    }
+
+    if (!seenDigit || i != end) {
+      throw this.error("invalid float value");
+    }
+
+    final double value;
+
+    if (digits <= MAXIMUM_FAST_PATH_DIGITS && Math.abs(exponent) < POWERS_OF_TEN.length) {
+      final var magnitude =
+          exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+
+      value = negative ? -magnitude : magnitude;
+    } else {
+      value =
+          Double.parseDouble(
+              new String(this.buffer, start, end - start, StandardCharsets.US_ASCII));
+    }
+
+    if (!Double.isFinite(value)) {
+      throw this.error("float value is out of range");
+    }
+
+    return value;
+  }
+
+  private boolean nextLine() throws IOException, LineProtocolParseException {
+    var scanned = this.position;
+
+    while (true) {
+      for (var i = scanned; i < this.limit; i++) {
+        if (this.buffer[i] == '\n') {
+          this.cursor = this.position;
+          this.lineEnd = i;
+          this.position = i + 1;
+
+          return true;
+        }
+      }
+
+      if (this.endOfStream) {
+        if (this.position == this.limit) {
+          return false;
+        }
+
+        this.cursor = this.position;
+        this.lineEnd = this.limit;
+        this.position = this.limit;
+
+        return true;
+      }
+
+      scanned = this.limit - this.position;
+
+      this.fill();
+    }
+  }
+
+  /** Moves the unread bytes to the start of the buffer and reads more bytes after them. */
+  private void fill() throws IOException, LineProtocolParseException {
+    final var remaining = this.limit - this.position;
+
+    if (this.position > 0) {
+      System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+
+      this.position = 0;
+      this.limit = remaining;
+    }
+
+    if (this.limit == this.buffer.length) {
+      if (this.buffer.length >= MAXIMUM_LINE_LENGTH) {
+        throw new LineProtocolParseException(
+            String.format(
+                "Line %d: line exceeds the maximum length of %d bytes",
+                this.lineNumber + 1, MAXIMUM_LINE_LENGTH));
+      }
+
+      this.buffer =
+          Arrays.copyOf(this.buffer, Math.min(this.buffer.length * 2, MAXIMUM_LINE_LENGTH));
+    }
+
+    final var read =
+        this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+
+    if (read < 0) {
+      this.endOfStream = true;
+    } else {
+      this.limit += read;
+    }
+  }
+
+  private byte current() {
+    return this.cursor < this.lineEnd ? this.buffer[this.cursor] : 0;
+  }
+
+  private void expect(char expected, String message) throws LineProtocolParseException {
+    if (this.current() != expected) {
+      throw this.error(message);
+    }
+
+    this.cursor++;
+  }
+
+  private void skipWhitespace() {
+    while (this.cursor < this.lineEnd
+        && (this.buffer[this.cursor] == ' ' || this.buffer[this.cursor] == '\t')) {
+      this.cursor++;
+    }
+  }
+
+  private LineProtocolParseException error(String message) {
+    return new LineProtocolParseException(String.format("Line %d: %s", this.lineNumber, message));
+  }
+
+  private static boolean isEscapable(byte b) {
+    return b == ',' || b == '=' || b == ' ' || b == '"' || b == '\\';
+  }
+
+  private static boolean isBoolean(byte first) {
+    return first == 't' || first == 'T' || first == 'f' || first == 'F';
+  }
+
+  /**
+   * Direct mapped cache of strings by their UTF-8 bytes. A colliding entry simply replaces the
+   * previous one, so the cache never grows and a miss costs no more than creating the string.
+   */
+  private static final class StringCache {
+    private final byte[][] keys;
+    private final String[] strings;
+    private final int mask;
+
+    private StringCache(int size) {
+      this.keys = new byte[size][];
+      this.strings = new String[size];
+      this.mask = size - 1;
+    }
+
+    private String get(byte[] bytes, int start, int end) {
+      var hash = 1;
+
+      for (var i = start; i < end; i++) {
+        hash = 31 * hash + bytes[i];
+      }
+
+      final var index = (hash ^ (hash >>> 16)) & this.mask;
+      final var key = this.keys[index];
+
+      if (key != null && Arrays.equals(key, 0, key.length, bytes, start, end)) {
+        return this.strings[index];
+      }
+
+      final var string = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+
+      this.keys[index] = Arrays.copyOfRange(bytes, start, end);
+      this.strings[index] = string;
+
+      return string;
+    }
+  }
+}
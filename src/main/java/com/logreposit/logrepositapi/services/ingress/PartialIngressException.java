@@ -0,0 +1,19 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+/**
+ * Thrown when processing a streamed request body fails. The cause is the actual failure, the
+ * readings before the first one that has not been accepted have already been published.
+ */
+public class PartialIngressException extends IngressServiceException {
+  private final long accepted;
+
+  public PartialIngressException(long accepted, Throwable cause) {
+    super(String.format("Ingress failed after %d accepted readings", accepted), cause);
+
+    this.accepted = accepted;
+  }
+
+  public long getAccepted() {
+    return this.accepted;
+  }
+}
@@ -0,0 +1,269 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.validation.ValidKeyName;
+import com.logreposit.logrepositapi.utils.definition.DefinitionValidationException;
+import com.logreposit.logrepositapi.utils.definition.DefinitionValidator;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.validation.FieldError;
+
+/**
+ * Checks a {@link ReadingBatch} for the bean validation constraints of {@link ReadingDto} and its
+ * tags and fields, without materializing them. Violations are reported with the same paths,
+ * messages and rejected values as bean validation does.
+ *
+ * <p>The readings are checked against the device definition in the same pass. Violations of the
+ * constraints are reported first, as bean validation used to run before the definition check.
+ *
+ * <p>Every distinct name of the batch is checked once per kind. Tag and field names used as such by
+ * the device definition are known to be valid and are not checked at all.
+ */
+public final class ReadingBatchValidator {
+  private static final String OBJECT_NAME = "ingressV2RequestDto";
+
+  private static final String TAGS = "tags";
+  private static final String FIELDS = "fields";
+
+  private static final String NOT_NULL = "must not be null";
+  private static final String NOT_BLANK = "must not be blank";
+  private static final String NOT_EMPTY = "must not be empty";
+  private static final String KEY_NAME_PATTERN =
+      String.format("must match \"%s\"", ValidKeyName.REGEXP);
+
+  private static final byte NAME_UNCHECKED = 0;
+  private static final byte NAME_VALID = 1;
+  private static final byte NAME_BLANK = 2;
+  private static final byte NAME_MISMATCH = 3;
+  private static final byte NAME_BLANK_AND_MISMATCH = 4;
+
+  private final DefinitionValidator definitionValidator;
+
+  private ReadingBatchValidator(DefinitionValidator definitionValidator) {
+    this.definitionValidator = definitionValidator;
+  }
+
+  public static ReadingBatchValidator forDefinition(DeviceDefinition deviceDefinition) {
+    return new ReadingBatchValidator(DefinitionValidator.forDefinition(deviceDefinition));
+  }
+
+  public void validate(ReadingBatch batch) throws ReadingValidationException {
+    this.validate(batch, 0);
+  }
+
+  /**
+   * Validates the batch, whose first reading has the given index within the request.
+   *
+   * @throws ReadingValidationException with all violations of the batch
+   * @throws DefinitionValidationException if the readings are valid, but do not conform to the
+   *     definition or the definition has not been set
+   */
+  public void validate(ReadingBatch batch, long firstIndex) throws ReadingValidationException {
+    final var tagNameStates = new byte[batch.dictionarySize()];
+    final var fieldNameStates = new byte[batch.dictionarySize()];
+    final var errors = new Errors(firstIndex);
+    final var readingCheck =
+        this.definitionValidator.isDefinitionPresent()
+            ? this.definitionValidator.forBatch(batch)
+            : null;
+
+    DefinitionValidationException definitionViolation = null;
+
+    for (var r = 0; r < batch.size(); r++) {
+      if (!batch.hasDate(r)) {
+        errors.add(r, "date", null, NOT_NULL);
+      }
+
+      final var measurement = batch.measurement(r);
+
+      if (isBlank(measurement)) {
+        errors.add(r, "measurement", measurement, NOT_BLANK);
+      }
+
+      for (var t = batch.tagStart(r); t < batch.tagEnd(r); t++) {
+        final var tag = t - batch.tagStart(r);
+
+        this.validateKeyName(batch, tagNameStates, batch.tagNameId(t), errors, r, TAGS, tag);
+
+        final var value = batch.tagValue(t);
+
+        if (isBlank(value)) {
+          errors.add(r, path(TAGS, tag, "value"), value, NOT_BLANK);
+        }
+      }
+
+      if (!batch.hasFields(r) || batch.fieldStart(r) == batch.fieldEnd(r)) {
+        errors.add(r, FIELDS, batch.hasFields(r) ? List.of() : null, NOT_EMPTY);
+      } else {
+        for (var f = batch.fieldStart(r); f < batch.fieldEnd(r); f++) {
+          final var field = f - batch.fieldStart(r);
+
+          this.validateKeyName(
+              batch, fieldNameStates, batch.fieldNameId(f), errors, r, FIELDS, field);
+          validateFieldValue(batch, f, errors, r, field);
+        }
+      }
+
+      if (readingCheck != null && definitionViolation == null && errors.isEmpty()) {
+        try {
+          readingCheck.validate(r);
+        } catch (DefinitionValidationException e) {
+          definitionViolation = e;
+        }
+      }
+    }
+
+    errors.throwIfAny();
+
+    this.definitionValidator.validateDefinitionPresent();
+
+    if (definitionViolation != null) {
+      throw definitionViolation;
+    }
+  }
+
+  private void validateKeyName(
+      ReadingBatch batch,
+      byte[] nameStates,
+      int id,
+      Errors errors,
+      int reading,
+      String collection,
+      int element) {
+    final var name = batch.name(id);
+    var state = id == ReadingBatch.NULL_ID ? NAME_BLANK : nameStates[id];
+
+    if (state == NAME_UNCHECKED) {
+      state = this.checkKeyName(name, collection);
+
+      nameStates[id] = state;
+    }
+
+    if (state == NAME_BLANK || state == NAME_BLANK_AND_MISMATCH) {
+      errors.add(reading, path(collection, element, "name"), name, NOT_BLANK);
+    }
+
+    if (state == NAME_MISMATCH || state == NAME_BLANK_AND_MISMATCH) {
+      errors.add(reading, path(collection, element, "name"), name, KEY_NAME_PATTERN);
+    }
+  }
+
+  private byte checkKeyName(String name, String collection) {
+    final var defined =
+        TAGS.equals(collection)
+            ? this.definitionValidator.isDefinedTagName(name)
+            : this.definitionValidator.isDefinedFieldName(name);
+
+    if (defined || isKeyName(name)) {
+      return NAME_VALID;
+    }
+
+    return isBlank(name) ? NAME_BLANK_AND_MISMATCH : NAME_MISMATCH;
+  }
+
+  private static void validateFieldValue(
+      ReadingBatch batch, int f, Errors errors, int reading, int field) {
+    final var datatype = batch.fieldType(f);
+
+    if (datatype == null) {
+      errors.add(reading, path(FIELDS, field, "datatype"), null, NOT_NULL);
+    } else if (datatype == DataType.STRING) {
+      final var value = batch.stringValue(f);
+
+      if (isBlank(value)) {
+        errors.add(reading, path(FIELDS, field, "value"), value, NOT_BLANK);
+      }
+    } else if (!batch.hasValue(f)) {
+      errors.add(reading, path(FIELDS, field, "value"), null, NOT_NULL);
+    }
+  }
+
+  private static String path(String collection, int element, String property) {
+    return String.format("%s[%d].%s", collection, element, property);
+  }
+
+  /** Same as {@code @NotBlank}, which trims the value. */
+  private static boolean isBlank(String value) {
+    return value == null || value.trim().isEmpty();
+  }
+
+  /** Same as matching {@link ValidKeyName#REGEXP}, but without a regular expression. */
+  static boolean isKeyName(String name) {
+    final var length = name.length();
+
+    if (length == 0
+        || !isLowerCaseLetter(name.charAt(0))
+        || !isLowerCaseLetterOrDigit(name.charAt(length - 1))
+        || name.equals("time")) {
+      return false;
+    }
+
+    for (var i = 1; i < length - 1; i++) {
+      final var c = name.charAt(i);
+
+      if (!isLowerCaseLetterOrDigit(c) && c != '_') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isLowerCaseLetter(char c) {
+    return c >= 'a' && c <= 'z';
+  }
+
+  private static boolean isLowerCaseLetterOrDigit(char c) {
+    return isLowerCaseLetter(c) || (c >= '0' && c <= '9');
+  }
+
+  /**
+   * Collects the violations of a batch, their paths are relative to the readings of the request.
+   */
+  private static final class Errors {
+    private final long firstIndex;
+
+    private List<FieldError> fieldErrors;
+    private long firstInvalidIndex;
+
+    private Errors(long firstIndex) {
+      this.firstIndex = firstIndex;
+    }
+
+    private void add(int reading, String path, Object rejectedValue, String message) {
+      final var index = this.firstIndex + reading;
+
+      if (this.fieldErrors == null) {
+        this.fieldErrors = new ArrayList<>();
+        this.firstInvalidIndex = index;
+      }
+
+      this.fieldErrors.add(
+          new FieldError(
+              OBJECT_NAME,
+              String.format("readings[%d].%s", index, path),
+              rejectedValue,
+              false,
+              null,
+              null,
+              message));
+    }
+
+    private boolean isEmpty() {
+      return this.fieldErrors == null;
+    }
+
+    private void throwIfAny() throws ReadingValidationException {
+      if (this.fieldErrors == null) {
+        return;
+      }
+
+      throw new ReadingValidationException(
+          String.format("Reading at index %d is invalid", this.firstInvalidIndex),
+          this.fieldErrors);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import java.io.Closeable;
+import java.io.IOException;
+
+/** Reads the readings of an ingress request body one by one. */
+interface ReadingReader extends Closeable {
+  /** Returns the next reading or {@code null} when all readings have been read. */
+  ReadingDto next() throws IOException, ReadingStreamParseException;
+}
@@ -0,0 +1,11 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+public class ReadingStreamParseException extends IngressServiceException {
+  public ReadingStreamParseException(String message) {
+    super(message);
+  }
+
+  public ReadingStreamParseException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,101 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the readings of an ingress request body one by one, so that only a single {@link
+ * ReadingDto} has to be held in memory at a time. Top-level properties other than {@code readings}
+ * are skipped, a body without a {@code readings} array is rejected.
+ */
+class ReadingStreamReader implements ReadingReader {
+  private static final String READINGS_FIELD_NAME = "readings";
+
+  private final JsonParser parser;
+  private final ObjectReader readingReader;
+
+  private boolean started;
+  private boolean finished;
+
+  ReadingStreamReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+    this.parser = objectMapper.createParser(inputStream);
+    this.readingReader = objectMapper.readerFor(ReadingDto.class);
+  }
+
+  @Override
+  public ReadingDto next() throws IOException {
+    if (this.finished) {
+      return null;
+    }
+
+    if (!this.started) {
+      this.started = true;
+
+      this.advanceToReadings();
+    }
+
+    final var token = this.parser.nextToken();
+
+    if (token == JsonToken.END_ARRAY) {
+      this.skipRemainingFields();
+      this.finish();
+
+      return null;
+    }
+
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(this.parser, "Expected reading to be a JSON object");
+    }
+
+    return this.readingReader.readValue(this.parser);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.parser.close();
+  }
+
+  private void advanceToReadings() throws IOException {
+    if (this.parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new JsonParseException(this.parser, "Expected request body to be a JSON object");
+    }
+
+    while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var fieldName = this.parser.currentName();
+      final var valueToken = this.parser.nextToken();
+
+      if (READINGS_FIELD_NAME.equals(fieldName)) {
+        if (valueToken != JsonToken.START_ARRAY) {
+          throw new JsonParseException(this.parser, "Expected readings to be a JSON array");
+        }
+
+        return;
+      }
+
+      this.parser.skipChildren();
+    }
+
+    throw new JsonParseException(this.parser, "Expected request body to contain readings");
+  }
+
+  private void skipRemainingFields() throws IOException {
+    while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+      this.parser.nextToken();
+      this.parser.skipChildren();
+    }
+  }
+
+  private void finish() throws IOException {
+    if (this.parser.currentToken() != JsonToken.END_OBJECT) {
+      throw new JsonParseException(this.parser, "Unexpected end of request body");
+    }
+
+    this.finished = true;
+  }
+}
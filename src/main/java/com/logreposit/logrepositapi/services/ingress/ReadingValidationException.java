@@ -0,0 +1,18 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import java.util.List;
+import org.springframework.validation.FieldError;
+
+public class ReadingValidationException extends IngressServiceException {
+  private final List<FieldError> fieldErrors;
+
+  public ReadingValidationException(String message, List<FieldError> fieldErrors) {
+    super(message);
+
+    this.fieldErrors = fieldErrors;
+  }
+
+  public List<FieldError> getFieldErrors() {
+    return this.fieldErrors;
+  }
+}
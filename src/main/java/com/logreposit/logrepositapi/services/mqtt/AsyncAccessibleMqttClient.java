@@ -0,0 +1,18 @@
+package com.logreposit.logrepositapi.services.mqtt;
+
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttClientPersistence;
+import org.eclipse.paho.client.mqttv3.MqttException;
+
+/** Blocking MQTT client which also exposes the asynchronous client it is built upon. */
+class AsyncAccessibleMqttClient extends MqttClient {
+  AsyncAccessibleMqttClient(String serverUri, String clientId, MqttClientPersistence persistence)
+      throws MqttException {
+    super(serverUri, clientId, persistence);
+  }
+
+  IMqttAsyncClient getAsyncClient() {
+    return this.aClient;
+  }
+}
@@ -0,0 +1,135 @@
+package com.logreposit.logrepositapi.services.mqtt;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Thread-safe pool of MQTT clients, one per username.
+ *
+ * <p>Clients are created at most once per username at a time: concurrent callers wait for the
+ * client which is currently being created instead of opening another connection. Pooled clients
+ * which are no longer connected are evicted and replaced on the next access, all clients are
+ * disconnected on shutdown. Reconnecting is left to the pool, clients must not reconnect
+ * automatically, otherwise a client which is reconnecting would be evicted and closed.
+ */
+@Slf4j
+@Service
+public class MqttClientPool {
+  private final ConcurrentMap<String, CompletableFuture<IMqttClient>> clients =
+      new ConcurrentHashMap<>();
+
+  public IMqttClient getOrCreate(String username, MqttClientFactory factory) throws MqttException {
+    while (true) {
+      final var pending = new CompletableFuture<IMqttClient>();
+      final var existing = this.clients.putIfAbsent(username, pending);
+
+      if (existing == null) {
+        return this.create(username, factory, pending);
+      }
+
+      final var client = await(existing);
+
+      if (client.isConnected()) {
+        return client;
+      }
+
+      if (this.clients.remove(username, existing)) {
+        log.warn("Evicting disconnected MQTT client with username '{}'.", username);
+
+        close(client);
+      }
+    }
+  }
+
+  public long getClientCount() {
+    return this.clients.values().stream().filter(MqttClientPool::isCreated).count();
+  }
+
+  public long getConnectedClientCount() {
+    return this.clients.values().stream()
+        .filter(MqttClientPool::isCreated)
+        .filter(f -> f.join().isConnected())
+        .count();
+  }
+
+  @PreDestroy
+  public void closeAll() {
+    this.clients
+        .keySet()
+        .forEach(
+            username -> {
+              final var future = this.clients.remove(username);
+
+              if (future != null && isCreated(future)) {
+                close(future.join());
+              }
+            });
+  }
+
+  private IMqttClient create(
+      String username, MqttClientFactory factory, CompletableFuture<IMqttClient> pending)
+      throws MqttException {
+    log.info("No MQTT client with username '{}' initialized yet.", username);
+
+    try {
+      final var client = factory.create();
+
+      pending.complete(client);
+
+      return client;
+    } catch (MqttException | RuntimeException e) {
+      this.clients.remove(username, pending);
+      pending.completeExceptionally(e);
+
+      throw e;
+    }
+  }
+
+  private static IMqttClient await(CompletableFuture<IMqttClient> future) throws MqttException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new MqttClientProviderException("Interrupted while waiting for MQTT client");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MqttException mqttException) {
+        throw mqttException;
+      }
+
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static boolean isCreated(CompletableFuture<IMqttClient> future) {
+    return future.isDone() && !future.isCompletedExceptionally();
+  }
+
+  private static void close(IMqttClient client) {
+    try {
+      if (client.isConnected()) {
+        client.disconnectForcibly();
+      }
+
+      client.close();
+    } catch (MqttException e) {
+      log.warn("Unable to close MQTT client '{}': {}", client.getClientId(), e.getMessage());
+    }
+  }
+
+  @FunctionalInterface
+  public interface MqttClientFactory {
+    IMqttClient create() throws MqttException;
+  }
+}
@@ -3,8 +3,8 @@ package com.logreposit.logrepositapi.services.mqtt;
 import com.logreposit.logrepositapi.configuration.MqttConfiguration;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
-import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
@@ -14,11 +14,11 @@ import org.springframework.stereotype.Service;
 @Service
 public class MqttClientProvider {
   private final MqttConfiguration mqttConfiguration;
-  private final MqttClientCache mqttClientCache;
+  private final MqttClientPool mqttClientPool;
 
-  public MqttClientProvider(MqttConfiguration mqttConfiguration, MqttClientCache mqttClientCache) {
+  public MqttClientProvider(MqttConfiguration mqttConfiguration, MqttClientPool mqttClientPool) {
     this.mqttConfiguration = mqttConfiguration;
-    this.mqttClientCache = mqttClientCache;
+    this.mqttClientPool = mqttClientPool;
   }
 
   public IMqttClient getMqttClient(String username, String password) throws MqttException {
@@ -26,19 +26,24 @@ public class MqttClientProvider {
       throw new MqttClientProviderException("MQTT support is not enabled!");
     }
 
-    final var cachedClient = mqttClientCache.get(username);
-
-    if (cachedClient.isPresent()) {
-      return cachedClient.get();
-    }
-
-    log.info("No MQTT client with username '{}' initialized yet.", username);
+    return mqttClientPool.getOrCreate(username, () -> mqttClient(username, password));
+  }
 
-    final var mqttClient = mqttClient(username, password);
+  /**
+   * Returns the asynchronous client of the pooled client for the given username, both share the
+   * same connection.
+   */
+  public IMqttAsyncClient getMqttAsyncClient(String username, String password)
+      throws MqttException {
+    final var mqttClient = getMqttClient(username, password);
 
-    mqttClientCache.put(username, mqttClient);
+    if (mqttClient instanceof AsyncAccessibleMqttClient asyncAccessibleMqttClient) {
+      return asyncAccessibleMqttClient.getAsyncClient();
+    }
 
-    return mqttClient;
+    throw new MqttClientProviderException(
+        String.format(
+            "MQTT client with username '%s' does not support async publishing", username));
   }
 
   private IMqttClient mqttClient(String username, String password) throws MqttException {
@@ -47,13 +52,15 @@ public class MqttClientProvider {
     options.setUserName(username);
     options.setPassword(password.toCharArray());
     options.setConnectionTimeout(10);
-    options.setAutomaticReconnect(true);
+    options.setAutomaticReconnect(false);
+    options.setMaxInflight(mqttConfiguration.getMaxInflight());
 
     final var endpoint =
         String.format("tcp://%s:%d", mqttConfiguration.getHost(), mqttConfiguration.getPort());
     // TODO DoM: check if this clientId is ok
     final var clientId = String.format("%s_%s", username, UUID.randomUUID());
-    final var mqttClient = new MqttClient(endpoint, clientId, new MemoryPersistence());
+    final var mqttClient =
+        new AsyncAccessibleMqttClient(endpoint, clientId, new MemoryPersistence());
 
     if (!mqttClient.isConnected()) {
       mqttClient.connect(options);
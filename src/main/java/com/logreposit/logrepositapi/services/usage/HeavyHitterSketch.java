@@ -0,0 +1,104 @@
+package com.logreposit.logrepositapi.services.usage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-saving sketch which tracks the keys with the highest weights using a fixed number of
+ * counters. When a new key arrives while all counters are in use, the key with the lowest count is
+ * replaced and the new key inherits its count as error. Every key whose true weight exceeds {@code
+ * total / capacity} is guaranteed to be tracked, and the reported counts overestimate the true
+ * weights by at most the reported error.
+ *
+ * <p>Evictions scan all counters, which is cheap for the few thousand counters this is meant for.
+ */
+public class HeavyHitterSketch {
+  private final int capacity;
+  private final Map<String, Counter> counters;
+
+  public HeavyHitterSketch(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity has to be positive");
+    }
+
+    this.capacity = capacity;
+    this.counters = new HashMap<>(capacity * 2);
+  }
+
+  public synchronized void add(String key, long weight) {
+    if (weight <= 0) {
+      return;
+    }
+
+    final var counter = this.counters.get(key);
+
+    if (counter != null) {
+      counter.count += weight;
+
+      return;
+    }
+
+    if (this.counters.size() < this.capacity) {
+      this.counters.put(key, new Counter(weight, 0));
+
+      return;
+    }
+
+    final var minimum = this.minimum();
+    final var evicted = this.counters.remove(minimum);
+
+    evicted.error = evicted.count;
+    evicted.count += weight;
+
+    this.counters.put(key, evicted);
+  }
+
+  /** Returns the {@code k} keys with the highest counts, highest first. */
+  public synchronized List<HeavyHitter> top(int k) {
+    final var heavyHitters = new ArrayList<HeavyHitter>(this.counters.size());
+
+    this.counters.forEach(
+        (key, counter) -> heavyHitters.add(new HeavyHitter(key, counter.count, counter.error)));
+
+    heavyHitters.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+
+    return heavyHitters.subList(0, Math.min(k, heavyHitters.size()));
+  }
+
+  public synchronized void clear() {
+    this.counters.clear();
+  }
+
+  private String minimum() {
+    String minimumKey = null;
+    var minimumCount = Long.MAX_VALUE;
+
+    for (final var entry : this.counters.entrySet()) {
+      if (entry.getValue().count < minimumCount) {
+        minimumKey = entry.getKey();
+        minimumCount = entry.getValue().count;
+      }
+    }
+
+    return minimumKey;
+  }
+
+  /**
+   * A tracked key with its estimated count. The true count lies between {@code count - error} and
+   * {@code count}.
+   */
+  public record HeavyHitter(String key, long count, long error) {}
+
+  private static class Counter {
+    private long count;
+    private long error;
+
+    private Counter(long count, long error) {
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package com.logreposit.logrepositapi.services.usage;
+
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.persistence.documents.DeviceUsage;
+import com.logreposit.logrepositapi.persistence.repositories.DeviceUsageRepository;
+import com.logreposit.logrepositapi.utils.LoggingUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters the readings, fields and request bytes accepted and rejected per device and user. Request
+ * bytes are the size of the (decompressed) request body the readings have been read from.
+ *
+ * <p>Exact counts are kept in memory per device only until the next flush, which adds them to the
+ * {@link DeviceUsage} of the device in Mongo. Per-user totals are the sum over the devices of a
+ * user. For monitoring, the heaviest devices and users of the current window are tracked by {@link
+ * HeavyHitterSketch}es, so that the number of exported time series stays bounded.
+ */
+@Service
+public class UsageMeter {
+  private static final Logger logger = LoggerFactory.getLogger(UsageMeter.class);
+
+  private final ApplicationConfiguration.UsageConfiguration configuration;
+  private final DeviceUsageRepository deviceUsageRepository;
+  private final ConcurrentHashMap<String, UsageCounters> pending = new ConcurrentHashMap<>();
+  private final HeavyHitterSketch deviceReadings;
+  private final HeavyHitterSketch deviceBytes;
+  private final HeavyHitterSketch userReadings;
+  private final HeavyHitterSketch userBytes;
+  private final List<Runnable> flushListeners = new CopyOnWriteArrayList<>();
+
+  private volatile boolean running;
+  private long windowStart;
+  private Thread flusherThread;
+
+  public UsageMeter(
+      ApplicationConfiguration applicationConfiguration,
+      DeviceUsageRepository deviceUsageRepository) {
+    this.configuration = applicationConfiguration.getUsage();
+    this.deviceUsageRepository = deviceUsageRepository;
+
+    final var capacity = this.configuration.getSketchCapacity();
+
+    this.deviceReadings = new HeavyHitterSketch(capacity);
+    this.deviceBytes = new HeavyHitterSketch(capacity);
+    this.userReadings = new HeavyHitterSketch(capacity);
+    this.userBytes = new HeavyHitterSketch(capacity);
+    this.windowStart = System.nanoTime();
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!this.configuration.isEnabled()) {
+      return;
+    }
+
+    this.running = true;
+    this.flusherThread = Thread.ofPlatform().name("usage-flusher").daemon().start(this::run);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (this.flusherThread == null) {
+      return;
+    }
+
+    this.running = false;
+    this.flusherThread.interrupt();
+    this.flusherThread.join();
+    this.flush();
+  }
+
+  public void recordAccepted(Device device, long readings, long fields, long bytes) {
+    if (!this.configuration.isEnabled()) {
+      return;
+    }
+
+    this.pending.compute(
+        device.getId(),
+        (deviceId, counters) -> {
+          final var usage = counters != null ? counters : new UsageCounters(device.getUserId());
+
+          usage.readingsAccepted.addAndGet(readings);
+          usage.fieldsAccepted.addAndGet(fields);
+          usage.bytesAccepted.addAndGet(bytes);
+
+          return usage;
+        });
+
+    this.deviceReadings.add(device.getId(), readings);
+    this.deviceBytes.add(device.getId(), bytes);
+    this.userReadings.add(device.getUserId(), readings);
+    this.userBytes.add(device.getUserId(), bytes);
+  }
+
+  public void recordRejected(Device device, long readings, long fields, long bytes) {
+    if (!this.configuration.isEnabled()) {
+      return;
+    }
+
+    this.pending.compute(
+        device.getId(),
+        (deviceId, counters) -> {
+          final var usage = counters != null ? counters : new UsageCounters(device.getUserId());
+
+          usage.readingsRejected.addAndGet(readings);
+          usage.fieldsRejected.addAndGet(fields);
+          usage.bytesRejected.addAndGet(bytes);
+
+          return usage;
+        });
+  }
+
+  public List<HeavyHitterSketch.HeavyHitter> getTopDevicesByReadings() {
+    return this.deviceReadings.top(this.configuration.getTopK());
+  }
+
+  public List<HeavyHitterSketch.HeavyHitter> getTopDevicesByBytes() {
+    return this.deviceBytes.top(this.configuration.getTopK());
+  }
+
+  public List<HeavyHitterSketch.HeavyHitter> getTopUsersByReadings() {
+    return this.userReadings.top(this.configuration.getTopK());
+  }
+
+  public List<HeavyHitterSketch.HeavyHitter> getTopUsersByBytes() {
+    return this.userBytes.top(this.configuration.getTopK());
+  }
+
+  /** Registers a callback which is invoked after every flush, e.g. to refresh exported metrics. */
+  public void addFlushListener(Runnable listener) {
+    this.flushListeners.add(listener);
+  }
+
+  /**
+   * Adds the counts recorded since the last flush to the stored usage. Counts which cannot be
+   * stored are kept for the next flush. Once the heavy hitter window has elapsed, the sketches are
+   * reset after the listeners have been notified.
+   */
+  public void flush() {
+    for (final var deviceId : this.pending.keySet()) {
+      this.flush(deviceId);
+    }
+
+    this.flushListeners.forEach(Runnable::run);
+
+    if (System.nanoTime() - this.windowStart
+        >= this.configuration.getHeavyHitterWindow().toNanos()) {
+      this.deviceReadings.clear();
+      this.deviceBytes.clear();
+      this.userReadings.clear();
+      this.userBytes.clear();
+      this.windowStart = System.nanoTime();
+    }
+  }
+
+  private void flush(String deviceId) {
+    final var counters = this.pending.get(deviceId);
+
+    if (counters == null) {
+      return;
+    }
+
+    final var delta = counters.drain(deviceId);
+
+    if (delta == null) {
+      // Idle since the last flush. Counts are only added within compute(), so removing it here
+      // cannot lose any of them.
+      this.pending.computeIfPresent(deviceId, (id, c) -> c.isEmpty() ? null : c);
+
+      return;
+    }
+
+    try {
+      this.deviceUsageRepository.incrementUsage(delta);
+    } catch (RuntimeException e) {
+      logger.warn(
+          "Unable to store usage of device {}, retrying with the next flush: {}",
+          deviceId,
+          LoggingUtils.getLogForException(e));
+
+      this.pending.compute(
+          deviceId,
+          (id, c) -> {
+            final var usage = c != null ? c : new UsageCounters(delta.getUserId());
+
+            usage.restore(delta);
+
+            return usage;
+          });
+    }
+  }
+
+  private void run() {
+    while (this.running) {
+      try {
+        Thread.sleep(this.configuration.getFlushInterval());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+
+        return;
+      }
+
+      try {
+        this.flush();
+      } catch (RuntimeException e) {
+        logger.error("Unable to flush usage: {}", LoggingUtils.getLogForException(e));
+      }
+    }
+  }
+
+  private static class UsageCounters {
+    private final String userId;
+    private final AtomicLong readingsAccepted = new AtomicLong();
+    private final AtomicLong readingsRejected = new AtomicLong();
+    private final AtomicLong fieldsAccepted = new AtomicLong();
+    private final AtomicLong fieldsRejected = new AtomicLong();
+    private final AtomicLong bytesAccepted = new AtomicLong();
+    private final AtomicLong bytesRejected = new AtomicLong();
+
+    private UsageCounters(String userId) {
+      this.userId = userId;
+    }
+
+    private boolean isEmpty() {
+      return this.readingsAccepted.get() == 0
+          && this.readingsRejected.get() == 0
+          && this.fieldsAccepted.get() == 0
+          && this.fieldsRejected.get() == 0
+          && this.bytesAccepted.get() == 0
+          && this.bytesRejected.get() == 0;
+    }
+
+    /** Resets the counters and returns their previous values, or null if they were all zero. */
+    private DeviceUsage drain(String deviceId) {
+      final var delta = new DeviceUsage();
+
+      delta.setId(deviceId);
+      delta.setUserId(this.userId);
+      delta.setReadingsAccepted(this.readingsAccepted.getAndSet(0));
+      delta.setReadingsRejected(this.readingsRejected.getAndSet(0));
+      delta.setFieldsAccepted(this.fieldsAccepted.getAndSet(0));
+      delta.setFieldsRejected(this.fieldsRejected.getAndSet(0));
+      delta.setBytesAccepted(this.bytesAccepted.getAndSet(0));
+      delta.setBytesRejected(this.bytesRejected.getAndSet(0));
+
+      final var empty =
+          delta.getReadingsAccepted() == 0
+              && delta.getReadingsRejected() == 0
+              && delta.getFieldsAccepted() == 0
+              && delta.getFieldsRejected() == 0
+              && delta.getBytesAccepted() == 0
+              && delta.getBytesRejected() == 0;
+
+      return empty ? null : delta;
+    }
+
+    private void restore(DeviceUsage delta) {
+      this.readingsAccepted.addAndGet(delta.getReadingsAccepted());
+      this.readingsRejected.addAndGet(delta.getReadingsRejected());
+      this.fieldsAccepted.addAndGet(delta.getFieldsAccepted());
+      this.fieldsRejected.addAndGet(delta.getFieldsRejected());
+      this.bytesAccepted.addAndGet(delta.getBytesAccepted());
+      this.bytesRejected.addAndGet(delta.getBytesRejected());
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package com.logreposit.logrepositapi.services.user;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.logreposit.logrepositapi.communication.messaging.dtos.UserCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
@@ -11,6 +10,7 @@ import com.logreposit.logrepositapi.persistence.repositories.ApiKeyRepository;
 import com.logreposit.logrepositapi.persistence.repositories.UserRepository;
 import com.logreposit.logrepositapi.rest.security.UserRoles;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import com.logreposit.logrepositapi.utils.LoggingUtils;
 import java.util.Date;
 import java.util.UUID;
@@ -29,16 +29,19 @@ public class UserServiceImpl implements UserService {
   private final ApiKeyRepository apiKeyRepository;
   private final MessageFactory messageFactory;
   private final RabbitMessageSender messageSender;
+  private final AuthenticationCache authenticationCache;
 
   public UserServiceImpl(
       UserRepository userRepository,
       ApiKeyRepository apiKeyRepository,
       MessageFactory messageFactory,
-      RabbitMessageSender messageSender) {
+      RabbitMessageSender messageSender,
+      AuthenticationCache authenticationCache) {
     this.userRepository = userRepository;
     this.apiKeyRepository = apiKeyRepository;
     this.messageFactory = messageFactory;
     this.messageSender = messageSender;
+    this.authenticationCache = authenticationCache;
   }
 
   @Override
@@ -70,11 +73,25 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public User getByApiKey(String key) throws ApiKeyNotFoundException, UserNotFoundException {
+    final var cachedUser = this.authenticationCache.getUser(key);
+
+    if (cachedUser.isPresent()) {
+      return cachedUser.get();
+    }
+
+    if (this.authenticationCache.isInvalidApiKey(key)) {
+      logger.error("api key {} is cached as not existent.", key);
+
+      throw new ApiKeyNotFoundException("Api Key not found.");
+    }
+
     final var apiKey = this.apiKeyRepository.findByKey(key);
 
     if (apiKey.isEmpty()) {
       logger.error("api key {} not found in database.", key);
 
+      this.authenticationCache.putInvalidApiKey(key);
+
       throw new ApiKeyNotFoundException("Api Key not found.");
     }
 
@@ -86,6 +103,8 @@ public class UserServiceImpl implements UserService {
       throw new UserNotFoundException("User for given Api Key not found.");
     }
 
+    this.authenticationCache.putUser(key, user.get());
+
     return user.get();
   }
 
@@ -147,10 +166,6 @@ public class UserServiceImpl implements UserService {
           this.messageFactory.buildEventUserCreatedMessage(userCreatedMessageDto);
 
       this.messageSender.send(userCreatedMessage);
-    } catch (JsonProcessingException e) {
-      logger.error("Unable to create userCreatedMessage: {}", LoggingUtils.getLogForException(e));
-
-      throw new UserServiceException("Unable to create userCreatedMessage", e);
     } catch (MessageSenderException e) {
       logger.error("Unable to send userCreatedMessage: {}", LoggingUtils.getLogForException(e));
 
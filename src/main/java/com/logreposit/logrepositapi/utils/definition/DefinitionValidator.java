@@ -1,39 +1,69 @@
 package com.logreposit.logrepositapi.utils.definition;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Validates readings against a {@link DeviceDefinition}.
+ *
+ * <p>The definition is compiled into hash based lookup tables once. Compiled validators are cached
+ * by the identity of the definition instance, which lives as long as the (cached) device it belongs
+ * to. Definition updates always produce a new instance, so stale validators are never reused.
+ */
 public class DefinitionValidator {
   private static final Logger logger = LoggerFactory.getLogger(DefinitionValidator.class);
 
-  private final DeviceDefinition deviceDefinition;
+  private static final Cache<DeviceDefinition, DefinitionValidator> validators =
+      Caffeine.newBuilder().weakKeys().build();
+
+  private final Map<String, CompiledMeasurement> measurements;
+  private final Set<String> tagNames;
+  private final Set<String> fieldNames;
 
   private DefinitionValidator(DeviceDefinition deviceDefinition) {
-    this.deviceDefinition = deviceDefinition;
+    this.measurements = compile(deviceDefinition);
+    this.tagNames = collectTagNames(this.measurements.values());
+    this.fieldNames = collectFieldNames(this.measurements.values());
   }
 
   public static DefinitionValidator forDefinition(DeviceDefinition deviceDefinition) {
-    return new DefinitionValidator(deviceDefinition);
+    if (deviceDefinition == null) {
+      return new DefinitionValidator(null);
+    }
+
+    return validators.get(deviceDefinition, DefinitionValidator::new);
   }
 
   public void validate(List<ReadingDto> readings) {
-    if (this.deviceDefinition == null
-        || CollectionUtils.isEmpty(this.deviceDefinition.getMeasurements())) {
-      logger.info("Device definition has not been set yet. Cannot perform definition check.");
+    if (readings instanceof ReadingBatch batch) {
+      this.validate(batch);
 
-      throw new DefinitionValidationException(
-          "Device definition has not been set yet. Cannot perform definition check.");
+      return;
     }
 
+    this.validateDefinitionPresent();
+
     if (CollectionUtils.isEmpty(readings)) {
       logger.info("Readings are null or empty, so nothing to validate.");
 
@@ -43,59 +73,250 @@ public class DefinitionValidator {
     readings.forEach(this::validateReading);
   }
 
+  /**
+   * Same as {@link #validate(List)}, but reads the batch through its primitive accessors. Each
+   * measurement is looked up once per distinct name.
+   */
+  public void validate(ReadingBatch batch) {
+    this.validateDefinitionPresent();
+
+    final var readingCheck = this.forBatch(batch);
+
+    for (var r = 0; r < batch.size(); r++) {
+      readingCheck.validate(r);
+    }
+  }
+
+  /**
+   * Returns a check of single readings of the batch, for callers which walk the batch themselves.
+   * The definition is expected to be present.
+   */
+  public ReadingCheck forBatch(ReadingBatch batch) {
+    return new ReadingCheck(batch);
+  }
+
+  public void validate(ReadingDto readingDto) {
+    this.validateDefinitionPresent();
+    this.validateReading(readingDto);
+  }
+
+  /**
+   * Returns whether the name is used by the definition as name of a tag of any measurement. Such
+   * names have been validated as tag names when the definition was set.
+   */
+  public boolean isDefinedTagName(String name) {
+    return this.tagNames.contains(name);
+  }
+
+  /** Same as {@link #isDefinedTagName(String)}, but for the names of fields. */
+  public boolean isDefinedFieldName(String name) {
+    return this.fieldNames.contains(name);
+  }
+
+  public boolean isDefinitionPresent() {
+    return !this.measurements.isEmpty();
+  }
+
+  public void validateDefinitionPresent() {
+    if (!this.isDefinitionPresent()) {
+      logger.info("Device definition has not been set yet. Cannot perform definition check.");
+
+      throw new DefinitionValidationException(
+          "Device definition has not been set yet. Cannot perform definition check.");
+    }
+  }
+
+  /**
+   * Validates the measurement, tags and fields of a column block once for all of its rows, as they
+   * all share them.
+   */
+  public void validate(ColumnBlockDto block) {
+    this.validateDefinitionPresent();
+
+    final var measurement = this.getMeasurement(block.getMeasurement());
+
+    validateTags(measurement, block.getTags());
+
+    for (final ColumnDto column : block.getFields()) {
+      validateField(measurement, column.getName(), column.getDatatype());
+    }
+  }
+
   private void validateReading(ReadingDto readingDto) {
-    final var tags =
-        readingDto.getTags().stream().collect(Collectors.toMap(TagDto::getName, TagDto::getValue));
+    final var measurement = this.getMeasurement(readingDto.getMeasurement());
 
-    final var measurementName = readingDto.getMeasurement();
-    final var fields = readingDto.getFields();
-    final var measurementDefinition = this.getMeasurementDefinition(measurementName);
+    validateTags(measurement, readingDto.getTags());
 
-    final var invalidTags =
-        new HashSet<>(CollectionUtils.subtract(tags.keySet(), measurementDefinition.getTags()));
+    for (final FieldDto field : readingDto.getFields()) {
+      validateField(measurement, field.getName(), field.getDatatype());
+    }
+  }
+
+  private static void validateField(
+      CompiledMeasurement measurement, String name, DataType datatype) {
+    final var expectedDatatype = measurement.fields().get(name);
+
+    if (expectedDatatype == null) {
+      throw new DefinitionValidationException(
+          String.format(
+              "Field with name '%s' does not exist within Measurement with name '%s' for the given device.",
+              name, measurement.name()));
+    }
 
-    if (CollectionUtils.isNotEmpty(invalidTags)) {
+    if (expectedDatatype != datatype) {
+      throw new DefinitionValidationException(
+          String.format(
+              "Field with name '%s' within Measurement with name '%s' does not have the correct dataType defined. Given: %s / Expected: %s",
+              name, measurement.name(), datatype, expectedDatatype));
+    }
+  }
+
+  private CompiledMeasurement getMeasurement(String name) {
+    final var measurement = this.measurements.get(name);
+
+    if (measurement == null) {
+      throw new DefinitionValidationException(
+          String.format("Measurement with name '%s' does not exist for the given device.", name));
+    }
+
+    return measurement;
+  }
+
+  private static void validateTags(CompiledMeasurement measurement, List<TagDto> tags) {
+    if (tags == null) {
+      return;
+    }
+
+    Set<String> invalidTags = null;
+
+    for (final TagDto tag : tags) {
+      if (!measurement.tags().contains(tag.getName())) {
+        if (invalidTags == null) {
+          invalidTags = new TreeSet<>();
+        }
+
+        invalidTags.add(tag.getName());
+      }
+    }
+
+    if (invalidTags != null) {
+      throw new DefinitionValidationException(
+          String.format(
+              "Measurement with name '%s' does not have the following tags defined: %s",
+              measurement.name(), invalidTags));
+    }
+  }
+
+  private static void validateTags(CompiledMeasurement measurement, ReadingBatch batch, int index) {
+    Set<String> invalidTags = null;
+
+    for (var t = batch.tagStart(index); t < batch.tagEnd(index); t++) {
+      final var name = batch.tagName(t);
+
+      if (!measurement.tags().contains(name)) {
+        if (invalidTags == null) {
+          invalidTags = new TreeSet<>();
+        }
+
+        invalidTags.add(name);
+      }
+    }
+
+    if (invalidTags != null) {
       throw new DefinitionValidationException(
           String.format(
               "Measurement with name '%s' does not have the following tags defined: %s",
-              measurementName, invalidTags.stream().sorted().collect(Collectors.toList())));
-    }
-
-    fields.forEach(
-        f -> {
-          final FieldDefinition fieldDefinition =
-              this.getFieldDefinition(measurementDefinition, f.getName());
-
-          if (!fieldDefinition.getDatatype().equals(f.getDatatype())) {
-            throw new DefinitionValidationException(
-                String.format(
-                    "Field with name '%s' within Measurement with name '%s' does not have the correct dataType defined. Given: %s / Expected: %s",
-                    f.getName(), measurementName, f.getDatatype(), fieldDefinition.getDatatype()));
-          }
-        });
-  }
-
-  private MeasurementDefinition getMeasurementDefinition(String name) {
-    return this.deviceDefinition.getMeasurements().stream()
-        .filter(m -> name.equals(m.getName()))
-        .findFirst()
-        .orElseThrow(
-            () ->
-                new DefinitionValidationException(
-                    String.format(
-                        "Measurement with name '%s' does not exist for the given device.", name)));
-  }
-
-  private FieldDefinition getFieldDefinition(
-      MeasurementDefinition measurementDefinition, String fieldName) {
-    return measurementDefinition.getFields().stream()
-        .filter(f -> fieldName.equals(f.getName()))
-        .findFirst()
-        .orElseThrow(
-            () ->
-                new DefinitionValidationException(
-                    String.format(
-                        "Field with name '%s' does not exist within Measurement with name '%s' for the given device.",
-                        fieldName, measurementDefinition.getName())));
+              measurement.name(), invalidTags));
+    }
+  }
+
+  private static Map<String, CompiledMeasurement> compile(DeviceDefinition deviceDefinition) {
+    if (deviceDefinition == null || CollectionUtils.isEmpty(deviceDefinition.getMeasurements())) {
+      return Collections.emptyMap();
+    }
+
+    final var measurements =
+        new HashMap<String, CompiledMeasurement>(deviceDefinition.getMeasurements().size() * 2);
+
+    for (final MeasurementDefinition measurementDefinition : deviceDefinition.getMeasurements()) {
+      measurements.putIfAbsent(measurementDefinition.getName(), compile(measurementDefinition));
+    }
+
+    return measurements;
   }
+
+  private static CompiledMeasurement compile(MeasurementDefinition measurementDefinition) {
+    final var tags =
+        measurementDefinition.getTags() == null
+            ? Set.<String>of()
+            : new HashSet<>(measurementDefinition.getTags());
+
+    final var fields = new HashMap<String, DataType>();
+
+    if (measurementDefinition.getFields() != null) {
+      for (final FieldDefinition fieldDefinition : measurementDefinition.getFields()) {
+        fields.putIfAbsent(fieldDefinition.getName(), fieldDefinition.getDatatype());
+      }
+    }
+
+    return new CompiledMeasurement(measurementDefinition.getName(), tags, fields);
+  }
+
+  private static Set<String> collectTagNames(Collection<CompiledMeasurement> measurements) {
+    final var names = new HashSet<String>();
+
+    for (final CompiledMeasurement measurement : measurements) {
+      names.addAll(measurement.tags());
+    }
+
+    return names;
+  }
+
+  private static Set<String> collectFieldNames(Collection<CompiledMeasurement> measurements) {
+    final var names = new HashSet<String>();
+
+    for (final CompiledMeasurement measurement : measurements) {
+      names.addAll(measurement.fields().keySet());
+    }
+
+    return names;
+  }
+
+  /**
+   * Validates the readings of one batch by their index. Each measurement is looked up once per
+   * distinct name.
+   */
+  public final class ReadingCheck {
+    private final ReadingBatch batch;
+    private final CompiledMeasurement[] measurements;
+
+    private ReadingCheck(ReadingBatch batch) {
+      this.batch = batch;
+      this.measurements = new CompiledMeasurement[batch.dictionarySize()];
+    }
+
+    public void validate(int index) {
+      final var measurementId = this.batch.measurementId(index);
+
+      if (measurementId == ReadingBatch.NULL_ID) {
+        DefinitionValidator.this.getMeasurement(null);
+      }
+
+      var measurement = this.measurements[measurementId];
+
+      if (measurement == null) {
+        measurement = DefinitionValidator.this.getMeasurement(this.batch.measurement(index));
+
+        this.measurements[measurementId] = measurement;
+      }
+
+      validateTags(measurement, this.batch, index);
+
+      for (var f = this.batch.fieldStart(index); f < this.batch.fieldEnd(index); f++) {
+        validateField(measurement, this.batch.fieldName(f), this.batch.fieldType(f));
+      }
+    }
+  }
+
+  private record CompiledMeasurement(String name, Set<String> tags, Map<String, DataType> fields) {}
 }
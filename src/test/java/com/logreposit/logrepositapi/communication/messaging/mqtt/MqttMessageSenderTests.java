@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,10 +18,19 @@ import com.logreposit.logrepositapi.configuration.MqttConfiguration;
 import com.logreposit.logrepositapi.persistence.documents.MqttCredential;
 import com.logreposit.logrepositapi.services.mqtt.MqttClientProvider;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,14 +53,21 @@ public class MqttMessageSenderTests {
   @Mock private MqttClientProvider mqttClientProvider;
   @Mock private MqttCredentialService mqttCredentialService;
   @Mock private IMqttClient mqttClient;
+  @Mock private IMqttAsyncClient mqttAsyncClient;
 
   @BeforeEach
   public void setUp() {
     final var objectMapper = new ObjectMapper();
 
+    when(mqttConfiguration.getMaxInflight()).thenReturn(1);
+
     mqttMessageSender =
         new MqttMessageSender(
-            objectMapper, mqttConfiguration, mqttClientProvider, mqttCredentialService);
+            objectMapper,
+            mqttConfiguration,
+            mqttClientProvider,
+            mqttCredentialService,
+            new SimpleMeterRegistry());
   }
 
   @Test
@@ -96,32 +113,26 @@ public class MqttMessageSenderTests {
   }
 
   @Test
-  public void testSend_twice_givenMqttIsEnabled_expectClientIsBeingCached() throws MqttException {
+  public void testSend_twice_givenMqttIsEnabled_expectClientFetchedFromPoolPerPublish()
+      throws MqttException {
+    final var reconnectedMqttClient = mock(IMqttClient.class);
+
     when(mqttConfiguration.isEnabled()).thenReturn(true);
     when(mqttCredentialService.getGlobalDeviceDataWriteCredential())
         .thenReturn(SAMPLE_MQTT_CREDENTIAL);
     when(mqttClientProvider.getMqttClient(
             eq(SAMPLE_MQTT_CREDENTIAL.getUsername()), eq(sampleMqttCredential().getPassword())))
-        .thenReturn(mqttClient);
+        .thenReturn(mqttClient, reconnectedMqttClient);
 
     mqttMessageSender.send(SAMPLE_TOPIC, SAMPLE_MESSAGE);
     mqttMessageSender.send("mySecondTopic", SAMPLE_MESSAGE);
 
-    final var topicArgumentCaptor = ArgumentCaptor.forClass(String.class);
-    final var mqttMessageArgumentCaptor = ArgumentCaptor.forClass(MqttMessage.class);
-
     verify(mqttCredentialService).getGlobalDeviceDataWriteCredential();
-    verify(mqttClientProvider)
+    verify(mqttClientProvider, times(2))
         .getMqttClient(
             eq(SAMPLE_MQTT_CREDENTIAL.getUsername()), eq(sampleMqttCredential().getPassword()));
-    verify(mqttClient, times(2))
-        .publish(topicArgumentCaptor.capture(), mqttMessageArgumentCaptor.capture());
-
-    assertThat(topicArgumentCaptor.getAllValues()).hasSize(2);
-    assertThat(mqttMessageArgumentCaptor.getAllValues()).hasSize(2);
-
-    assertThat(topicArgumentCaptor.getAllValues().get(0)).isEqualTo(SAMPLE_TOPIC);
-    assertThat(topicArgumentCaptor.getAllValues().get(1)).isEqualTo("mySecondTopic");
+    verify(mqttClient).publish(eq(SAMPLE_TOPIC), any(MqttMessage.class));
+    verify(reconnectedMqttClient).publish(eq("mySecondTopic"), any(MqttMessage.class));
   }
 
   @Test
@@ -174,7 +185,11 @@ public class MqttMessageSenderTests {
 
     final var messageSenderWithCustomObjectMapper =
         new MqttMessageSender(
-            objectMapper, mqttConfiguration, mqttClientProvider, mqttCredentialService);
+            objectMapper,
+            mqttConfiguration,
+            mqttClientProvider,
+            mqttCredentialService,
+            new SimpleMeterRegistry());
 
     when(mqttConfiguration.isEnabled()).thenReturn(true);
     when(objectMapper.writeValueAsBytes(any())).thenThrow(new CustomJsonProcessingException());
@@ -187,6 +202,135 @@ public class MqttMessageSenderTests {
         .hasRootCauseMessage("dummy");
   }
 
+  @Test
+  public void testSend_givenAsyncPublishMode_expectPublishedAsynchronouslyAndRecorded()
+      throws MqttException {
+    final var meterRegistry = new SimpleMeterRegistry();
+    final var asyncMessageSender =
+        new MqttMessageSender(
+            new ObjectMapper(),
+            mqttConfiguration,
+            mqttClientProvider,
+            mqttCredentialService,
+            meterRegistry);
+    final var topic =
+        "logreposit/users/5f1b4c2e9d3a4b0012345678/devices/5f1b4c2e9d3a4b0087654321/ingress";
+
+    when(mqttConfiguration.isEnabled()).thenReturn(true);
+    when(mqttConfiguration.getPublishMode()).thenReturn(MqttConfiguration.PublishMode.ASYNCHRONOUS);
+    when(mqttCredentialService.getGlobalDeviceDataWriteCredential())
+        .thenReturn(SAMPLE_MQTT_CREDENTIAL);
+    when(mqttClientProvider.getMqttAsyncClient(
+            eq(SAMPLE_MQTT_CREDENTIAL.getUsername()), eq(sampleMqttCredential().getPassword())))
+        .thenReturn(mqttAsyncClient);
+
+    final var future = asyncMessageSender.sendAsync(topic, SAMPLE_MESSAGE);
+
+    final var listenerArgumentCaptor = ArgumentCaptor.forClass(IMqttActionListener.class);
+
+    verify(mqttAsyncClient)
+        .publish(eq(topic), any(MqttMessage.class), any(), listenerArgumentCaptor.capture());
+    verify(mqttClientProvider, never()).getMqttClient(any(), any());
+
+    assertThat(meterRegistry.get("logreposit.mqtt.publish.inflight").gauge().value()).isEqualTo(1);
+    assertThat(future).isNotDone();
+
+    listenerArgumentCaptor.getValue().onSuccess(mock(IMqttToken.class));
+
+    assertThat(future).isCompleted();
+    assertThat(meterRegistry.get("logreposit.mqtt.publish.inflight").gauge().value()).isEqualTo(0);
+    assertThat(
+            meterRegistry
+                .get("logreposit.mqtt.publish")
+                .tag("topic", "logreposit/users/+/devices/+/ingress")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testSend_givenAsyncPublishModeAndInflightWindowFull_expectBlocksUntilAcknowledged()
+      throws Exception {
+    when(mqttConfiguration.isEnabled()).thenReturn(true);
+    when(mqttConfiguration.getPublishMode()).thenReturn(MqttConfiguration.PublishMode.ASYNCHRONOUS);
+    when(mqttCredentialService.getGlobalDeviceDataWriteCredential())
+        .thenReturn(SAMPLE_MQTT_CREDENTIAL);
+    when(mqttClientProvider.getMqttAsyncClient(
+            eq(SAMPLE_MQTT_CREDENTIAL.getUsername()), eq(sampleMqttCredential().getPassword())))
+        .thenReturn(mqttAsyncClient);
+
+    final var firstSend = mqttMessageSender.sendAsync(SAMPLE_TOPIC, SAMPLE_MESSAGE);
+
+    final var secondSend =
+        CompletableFuture.runAsync(() -> mqttMessageSender.sendAsync(SAMPLE_TOPIC, SAMPLE_MESSAGE));
+
+    assertThatThrownBy(() -> secondSend.get(200, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    final var listenerArgumentCaptor = ArgumentCaptor.forClass(IMqttActionListener.class);
+
+    verify(mqttAsyncClient)
+        .publish(eq(SAMPLE_TOPIC), any(MqttMessage.class), any(), listenerArgumentCaptor.capture());
+
+    listenerArgumentCaptor
+        .getValue()
+        .onFailure(
+            mock(IMqttToken.class), new MqttException(MqttException.REASON_CODE_CLIENT_TIMEOUT));
+
+    secondSend.get(5, TimeUnit.SECONDS);
+
+    assertThat(firstSend)
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(MqttMessageSenderException.class);
+
+    verify(mqttAsyncClient, times(2))
+        .publish(eq(SAMPLE_TOPIC), any(MqttMessage.class), any(), any());
+  }
+
+  @Test
+  public void testSend_givenAsyncPublishMode_expectWaitsForAcknowledgement() throws Exception {
+    when(mqttConfiguration.isEnabled()).thenReturn(true);
+    when(mqttConfiguration.getPublishMode()).thenReturn(MqttConfiguration.PublishMode.ASYNCHRONOUS);
+    when(mqttCredentialService.getGlobalDeviceDataWriteCredential())
+        .thenReturn(SAMPLE_MQTT_CREDENTIAL);
+    when(mqttClientProvider.getMqttAsyncClient(
+            eq(SAMPLE_MQTT_CREDENTIAL.getUsername()), eq(sampleMqttCredential().getPassword())))
+        .thenReturn(mqttAsyncClient);
+
+    final var send =
+        CompletableFuture.runAsync(() -> mqttMessageSender.send(SAMPLE_TOPIC, SAMPLE_MESSAGE));
+
+    final var listenerArgumentCaptor = ArgumentCaptor.forClass(IMqttActionListener.class);
+
+    verify(mqttAsyncClient, timeout(5000))
+        .publish(eq(SAMPLE_TOPIC), any(MqttMessage.class), any(), listenerArgumentCaptor.capture());
+
+    assertThatThrownBy(() -> send.get(200, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    listenerArgumentCaptor
+        .getValue()
+        .onFailure(
+            mock(IMqttToken.class), new MqttException(MqttException.REASON_CODE_CLIENT_TIMEOUT));
+
+    assertThatThrownBy(() -> send.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .cause()
+        .isExactlyInstanceOf(MqttMessageSenderException.class)
+        .hasMessage("Unable to publish MQTT message");
+  }
+
+  @Test
+  public void testTopicPattern_givenTopicWithIds_expectIdsReplacedByWildcards() {
+    assertThat(
+            MqttMessageSender.topicPattern(
+                "logreposit/users/5f1b4c2e9d3a4b0012345678/devices/0b5e9c4a-3f7d-4d3e-9c1a-2b3c4d5e6f70/ingress"))
+        .isEqualTo("logreposit/users/+/devices/+/ingress");
+    assertThat(MqttMessageSender.topicPattern("myTopic")).isEqualTo("myTopic");
+  }
+
   private static MqttCredential sampleMqttCredential() {
     final var mqttCredential = new MqttCredential();
 
@@ -3,22 +3,30 @@ package com.logreposit.logrepositapi.communication.messaging.processors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
+import com.logreposit.logrepositapi.communication.messaging.common.MessagePayloadSerializer;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
 import com.logreposit.logrepositapi.communication.messaging.mqtt.MqttMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.mqtt.dtos.IngressV2MqttDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -101,6 +109,44 @@ public class EventLogdataReceivedMessageProcessorTests {
         });
   }
 
+  @Test
+  public void testProcessMessage_givenEmbeddedPayload_expectReadingsBoundFromBufferedTokens()
+      throws Exception {
+    final var reading = sampleReading("data");
+    final var message = getSampleMessage();
+
+    message.setPayload(List.of(reading));
+
+    final var envelope =
+        this.objectMapper
+            .writerFor(Message.class)
+            .withAttribute(MessagePayloadSerializer.EMBED_PAYLOAD_ATTRIBUTE, true)
+            .writeValueAsString(message);
+    final var receivedMessage = this.objectMapper.readValue(envelope, Message.class);
+
+    assertThat(receivedMessage.getPayload()).isInstanceOf(TokenBuffer.class);
+
+    this.eventLogdataReceivedMessageProcessor.processMessage(receivedMessage);
+
+    verify(mqttMessageSender).send(any(), ingressV2MqttDtoArgumentCaptor.capture());
+
+    assertThat(ingressV2MqttDtoArgumentCaptor.getValue().getReadings()).containsExactly(reading);
+  }
+
+  @Test
+  public void testProcessMessage_givenPayloadObject_expectReadingsConverted() throws Exception {
+    final var reading = sampleReading("data");
+    final var message = getSampleMessage();
+
+    message.setPayload(List.of(reading));
+
+    this.eventLogdataReceivedMessageProcessor.processMessage(message);
+
+    verify(mqttMessageSender).send(any(), ingressV2MqttDtoArgumentCaptor.capture());
+
+    assertThat(ingressV2MqttDtoArgumentCaptor.getValue().getReadings()).containsExactly(reading);
+  }
+
   @Test
   public void testProcessMessage_givenWrongPayload_expectRuntimeException() {
     final var message = getSampleMessage();
@@ -116,7 +162,7 @@ public class EventLogdataReceivedMessageProcessorTests {
     assertThat(e).hasCauseInstanceOf(MismatchedInputException.class);
     assertThat(e)
         .hasRootCauseMessage(
-            "Cannot deserialize value of type `java.util.ArrayList<com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto>` from Object value (token `JsonToken.START_OBJECT`)\n"
+            "Cannot deserialize value of type `com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch` from Object value (token `JsonToken.START_OBJECT`)\n"
                 + " at [Source: REDACTED (`StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION` disabled); line: 1, column: 1]");
   }
 
@@ -154,6 +200,111 @@ public class EventLogdataReceivedMessageProcessorTests {
     assertThat(e).isExactlyInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  public void testProcessMessages_givenMessagesOfSameDevice_expectSingleCombinedPublish()
+      throws MessagingException, JsonProcessingException {
+    final var firstReading = sampleReading("first");
+    final var secondReading = sampleReading("second");
+    final var thirdReading = sampleReading("third");
+
+    final var firstMessage = getSampleMessage();
+    final var secondMessage = getSampleMessage();
+
+    firstMessage.setPayload(objectMapper.writeValueAsString(List.of(firstReading)));
+    secondMessage.setPayload(objectMapper.writeValueAsString(List.of(secondReading, thirdReading)));
+    secondMessage.getMetaData().setCorrelationId("other-correlation-id");
+
+    final var published = new CompletableFuture<Void>();
+
+    when(mqttMessageSender.sendAsync(any(), any())).thenReturn(published);
+
+    assertThat(
+            this.eventLogdataReceivedMessageProcessor.processMessages(
+                List.of(firstMessage, secondMessage)))
+        .isSameAs(published);
+
+    verify(mqttMessageSender)
+        .sendAsync(topicArgumentCaptor.capture(), ingressV2MqttDtoArgumentCaptor.capture());
+
+    assertThat(topicArgumentCaptor.getValue())
+        .isEqualTo(
+            "logreposit/users/f8e9550b-6ca8-4da1-86e5-79df1defd7a1/devices/6313e4fd-a056-4dad-8636-9399470f3087/ingress");
+
+    final var capturedPayload = ingressV2MqttDtoArgumentCaptor.getValue();
+
+    assertThat(capturedPayload.getCorrelationId()).isNull();
+    assertThat(capturedPayload.getReadings())
+        .containsExactly(firstReading, secondReading, thirdReading);
+  }
+
+  @Test
+  public void testProcessMessages_givenColumnarMessage_expectReadingsExpanded()
+      throws MessagingException, JsonProcessingException {
+    final var column = new FloatColumnDto();
+
+    column.setName("temperature");
+    column.setValues(new double[] {20.003, 20.003});
+
+    final var block = new ColumnBlockDto();
+
+    block.setMeasurement("second");
+    block.setTimestamps(new long[] {1662389834325L, 1662389834325L});
+    block.setFields(List.of(column));
+
+    final var firstMessage = getSampleMessage();
+    final var secondMessage = getSampleMessage();
+
+    firstMessage.setPayload(objectMapper.writeValueAsString(List.of(sampleReading("first"))));
+    secondMessage.setType(MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.toString());
+    secondMessage.setPayload(objectMapper.writeValueAsString(List.of(block)));
+
+    this.eventLogdataReceivedMessageProcessor.processMessages(List.of(firstMessage, secondMessage));
+
+    verify(mqttMessageSender).sendAsync(any(), ingressV2MqttDtoArgumentCaptor.capture());
+
+    final var capturedPayload = ingressV2MqttDtoArgumentCaptor.getValue();
+
+    assertThat(capturedPayload.getCorrelationId()).isEqualTo(TEST_CORRELATION_ID);
+    assertThat(capturedPayload.getReadings())
+        .containsExactly(sampleReading("first"), sampleReading("second"), sampleReading("second"));
+  }
+
+  @Test
+  public void testProcessMessages_givenMessagesOfDifferentDevices_expectException()
+      throws JsonProcessingException {
+    final var firstMessage = getSampleMessage();
+    final var secondMessage = getSampleMessage();
+
+    firstMessage.setPayload(objectMapper.writeValueAsString(List.of(sampleReading("first"))));
+    secondMessage.setPayload(objectMapper.writeValueAsString(List.of(sampleReading("second"))));
+    secondMessage.getMetaData().setDeviceId("another-device");
+
+    final var messages = List.of(firstMessage, secondMessage);
+
+    var e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.eventLogdataReceivedMessageProcessor.processMessages(messages));
+
+    assertThat(e).hasMessage("All messages have to belong to the same device!");
+  }
+
+  private static ReadingDto sampleReading(String measurement) {
+    final var field = new FloatFieldDto();
+
+    field.setName("temperature");
+    field.setValue(20.003);
+
+    final var reading = new ReadingDto();
+
+    reading.setDate(Instant.ofEpochMilli(1662389834325L));
+    reading.setMeasurement(measurement);
+    reading.setTags(List.of());
+    reading.setFields(List.of(field));
+
+    return reading;
+  }
+
   private static Message getSampleMessage() {
     final var messageMetaData = new MessageMetaData();
 
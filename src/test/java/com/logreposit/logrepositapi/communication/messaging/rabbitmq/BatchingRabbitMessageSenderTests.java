@@ -0,0 +1,182 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BatchingRabbitMessageSenderTests {
+  @Mock private RabbitTemplate rabbitTemplate;
+
+  @Mock private RabbitOperations rabbitOperations;
+
+  @Mock private ConnectionFactory connectionFactory;
+
+  private ApplicationConfiguration applicationConfiguration;
+
+  private BatchingRabbitMessageSender batchingRabbitMessageSender;
+
+  @BeforeEach
+  public void setUp() {
+    this.applicationConfiguration = new ApplicationConfiguration();
+
+    final var messagePublisherConfiguration = this.applicationConfiguration.getMessagePublisher();
+
+    messagePublisherConfiguration.setMode(ApplicationConfiguration.MessagePublisherMode.BATCHING);
+    messagePublisherConfiguration.setBatchSize(3);
+    messagePublisherConfiguration.setBatchLinger(Duration.ofSeconds(1));
+    messagePublisherConfiguration.setConfirmTimeout(Duration.ofSeconds(5));
+
+    Mockito.when(this.rabbitTemplate.getConnectionFactory()).thenReturn(this.connectionFactory);
+    Mockito.when(this.connectionFactory.isPublisherConfirms()).thenReturn(true);
+    Mockito.when(this.rabbitTemplate.invoke(Mockito.any()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<RabbitTemplate.OperationsCallback<?>>getArgument(0)
+                    .doInRabbit(this.rabbitOperations));
+
+    this.batchingRabbitMessageSender =
+        new BatchingRabbitMessageSender(
+            this.applicationConfiguration,
+            this.rabbitTemplate,
+            new RabbitMessageSender(
+                this.applicationConfiguration, new ObjectMapper(), this.rabbitTemplate));
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    this.batchingRabbitMessageSender.stop();
+  }
+
+  @Test
+  public void testSend_givenFullBatch_expectPublishedOnSingleChannelAndConfirmed()
+      throws Exception {
+    this.confirmAll(true);
+    this.batchingRabbitMessageSender.start();
+
+    final var futures =
+        new CompletableFuture<?>[] {
+          this.batchingRabbitMessageSender.send(sampleMessage()),
+          this.batchingRabbitMessageSender.send(sampleMessage()),
+          this.batchingRabbitMessageSender.send(sampleMessage())
+        };
+
+    CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+
+    Mockito.verify(this.rabbitTemplate, Mockito.times(1)).invoke(Mockito.any());
+    Mockito.verify(this.rabbitOperations, Mockito.times(3))
+        .send(
+            Mockito.eq("x.event_generic_logdata_received"),
+            Mockito.anyString(),
+            Mockito.any(org.springframework.amqp.core.Message.class),
+            Mockito.any(CorrelationData.class));
+  }
+
+  @Test
+  public void testSendAndAwaitConfirm_givenNack_expectMessageSenderException() {
+    this.confirmAll(false);
+    this.batchingRabbitMessageSender.start();
+
+    final var e =
+        assertThrows(
+            MessageSenderException.class,
+            () -> this.batchingRabbitMessageSender.sendAndAwaitConfirm(sampleMessage()));
+
+    assertThat(e).hasMessage("Message has been nacked by the broker: some_reason");
+  }
+
+  @Test
+  public void testSend_givenNoConfirm_expectTimeout() {
+    this.applicationConfiguration.getMessagePublisher().setBatchLinger(Duration.ZERO);
+    this.applicationConfiguration.getMessagePublisher().setConfirmTimeout(Duration.ofMillis(200));
+    this.batchingRabbitMessageSender.start();
+
+    final var e =
+        assertThrows(
+            MessageSenderException.class,
+            () -> this.batchingRabbitMessageSender.sendAndAwaitConfirm(sampleMessage()));
+
+    assertThat(e).hasMessage("Publisher confirm timed out");
+  }
+
+  @Test
+  public void testSend_givenSynchronousMode_expectNotRunning() {
+    this.applicationConfiguration
+        .getMessagePublisher()
+        .setMode(ApplicationConfiguration.MessagePublisherMode.SYNCHRONOUS);
+    this.batchingRabbitMessageSender.start();
+
+    final var future = this.batchingRabbitMessageSender.send(sampleMessage());
+
+    final var e = assertThrows(ExecutionException.class, future::get);
+
+    assertThat(e.getCause())
+        .isInstanceOf(MessageSenderException.class)
+        .hasMessage("Batching message publisher is not running");
+
+    Mockito.verify(this.rabbitTemplate, Mockito.never()).invoke(Mockito.any());
+  }
+
+  @Test
+  public void testStart_givenPublisherConfirmsDisabled_expectException() {
+    Mockito.when(this.connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+    assertThrows(IllegalStateException.class, () -> this.batchingRabbitMessageSender.start());
+  }
+
+  private void confirmAll(boolean ack) {
+    Mockito.doAnswer(
+            invocation -> {
+              invocation
+                  .<CorrelationData>getArgument(3)
+                  .getFuture()
+                  .complete(new CorrelationData.Confirm(ack, ack ? null : "some_reason"));
+
+              return null;
+            })
+        .when(this.rabbitOperations)
+        .send(
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.any(org.springframework.amqp.core.Message.class),
+            Mockito.any(CorrelationData.class));
+  }
+
+  private static Message sampleMessage() {
+    final var message = new Message();
+
+    message.setId(UUID.randomUUID().toString());
+    message.setDate(new Date());
+    message.setType("EVENT_GENERIC_LOGDATA_RECEIVED");
+    message.setMetaData(new MessageMetaData());
+    message.setPayload("[]");
+
+    return message;
+  }
+}
@@ -4,16 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
 import com.logreposit.logrepositapi.communication.messaging.handler.MessageHandler;
 import com.logreposit.logrepositapi.configuration.RabbitConfiguration;
 import java.util.HashMap;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -135,6 +138,24 @@ public class MessagingRetryIntegrationTests {
     }
   }
 
+  @Test
+  public void testConsume_givenColumnarLogdataMessage_expectHandled() throws MessagingException {
+    final var message = new Message();
+
+    message.setId(UUID.randomUUID().toString());
+    message.setPayload("[]");
+    message.setType(MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.toString());
+
+    this.rabbitMessageSender.send(message);
+
+    await()
+        .atMost(15, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                verify(this.messageHandler)
+                    .handle(argThat(m -> message.getId().equals(m.getId()))));
+  }
+
   private static void assertErrorCountIs(
       org.springframework.amqp.core.Message message, Long expectedCount) {
     final var errorCountHeader =
@@ -0,0 +1,228 @@
+package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessagingException;
+import com.logreposit.logrepositapi.communication.messaging.handler.MessageHandler;
+import com.logreposit.logrepositapi.communication.messaging.mqtt.MqttMessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.processors.EventLogdataReceivedMessageProcessor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+
+@ExtendWith(MockitoExtension.class)
+public class RabbitBatchMessageListenerTests {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock private MessageHandler messageHandler;
+
+  @Mock private EventLogdataReceivedMessageProcessor eventLogdataReceivedMessageProcessor;
+
+  @Mock private MessageRecoverer messageRecoverer;
+
+  @Captor private ArgumentCaptor<List<Message>> messagesCaptor;
+
+  private RabbitBatchMessageListener rabbitBatchMessageListener;
+
+  @BeforeEach
+  public void setUp() {
+    this.rabbitBatchMessageListener =
+        new RabbitBatchMessageListener(
+            this.objectMapper,
+            this.messageHandler,
+            this.eventLogdataReceivedMessageProcessor,
+            this.messageRecoverer);
+  }
+
+  @Test
+  public void testListen_givenMessagesOfTwoDevices_expectGroupedByDevice() throws Exception {
+    final var first = logdataMessage("user", "device1");
+    final var second = logdataMessage("user", "device2");
+    final var third = logdataMessage("user", "device1");
+
+    this.rabbitBatchMessageListener.listen(amqpMessages(first, second, third));
+
+    verify(this.eventLogdataReceivedMessageProcessor, times(2))
+        .processMessages(this.messagesCaptor.capture());
+
+    assertThat(this.messagesCaptor.getAllValues().get(0))
+        .extracting(Message::getId)
+        .containsExactly(first.getId(), third.getId());
+    assertThat(this.messagesCaptor.getAllValues().get(1))
+        .extracting(Message::getId)
+        .containsExactly(second.getId());
+
+    verify(this.messageRecoverer, never()).recover(any(), any());
+  }
+
+  @Test
+  public void testListen_givenRowAndColumnarMessagesOfDevice_expectGroupedTogether()
+      throws Exception {
+    final var first = logdataMessage("user", "device1");
+    final var second = logdataMessage("user", "device1");
+
+    second.setType(MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.name());
+
+    this.rabbitBatchMessageListener.listen(amqpMessages(first, second));
+
+    verify(this.eventLogdataReceivedMessageProcessor)
+        .processMessages(this.messagesCaptor.capture());
+
+    assertThat(this.messagesCaptor.getValue())
+        .extracting(Message::getId)
+        .containsExactly(first.getId(), second.getId());
+
+    verify(this.messageHandler, never()).handle(any());
+  }
+
+  @Test
+  public void testListen_givenOtherMessageType_expectHandledIndividually() throws Exception {
+    final var message = logdataMessage("user", "device1");
+
+    message.setType(MessageType.EVENT_USER_CREATED.name());
+
+    this.rabbitBatchMessageListener.listen(amqpMessages(message));
+
+    verify(this.messageHandler).handle(any());
+    verify(this.eventLogdataReceivedMessageProcessor, never()).processMessages(any());
+  }
+
+  @Test
+  public void testListen_givenCombinedPublishFails_expectOnlyFailingMessageRecovered()
+      throws Exception {
+    final var first = logdataMessage("user", "device1");
+    final var second = logdataMessage("user", "device1");
+    final var amqpMessages = amqpMessages(first, second);
+    final var exception = new MessagingException("broken");
+
+    doThrow(exception).when(this.eventLogdataReceivedMessageProcessor).processMessages(any());
+    lenient()
+        .doThrow(exception)
+        .when(this.messageHandler)
+        .handle(argThat(m -> m.getId().equals(second.getId())));
+
+    this.rabbitBatchMessageListener.listen(amqpMessages);
+
+    verify(this.messageHandler, times(2)).handle(any());
+    verify(this.messageRecoverer).recover(same(amqpMessages.get(1)), same(exception));
+    verify(this.messageRecoverer, never()).recover(same(amqpMessages.get(0)), any());
+  }
+
+  @Test
+  public void testListen_givenMessagesOfTwoDevices_expectPublishesStartedBeforeAwaited()
+      throws Exception {
+    final var first = logdataMessage("user", "device1");
+    final var second = logdataMessage("user", "device2");
+    final var firstPublish = new CompletableFuture<Void>();
+    final var secondPublish = new CompletableFuture<Void>();
+
+    when(this.eventLogdataReceivedMessageProcessor.processMessages(any()))
+        .thenReturn(firstPublish, secondPublish);
+
+    final var amqpMessages = amqpMessages(first, second);
+    final var listen =
+        CompletableFuture.runAsync(() -> this.rabbitBatchMessageListener.listen(amqpMessages));
+
+    verify(this.eventLogdataReceivedMessageProcessor, timeout(5000).times(2))
+        .processMessages(any());
+
+    assertThat(listen).isNotDone();
+
+    secondPublish.complete(null);
+    firstPublish.complete(null);
+
+    listen.get(5, TimeUnit.SECONDS);
+
+    verify(this.messageRecoverer, never()).recover(any(), any());
+  }
+
+  @Test
+  public void testListen_givenCombinedPublishNotAcknowledged_expectProcessedOneByOne()
+      throws Exception {
+    final var first = logdataMessage("user", "device1");
+    final var second = logdataMessage("user", "device1");
+    final var amqpMessages = amqpMessages(first, second);
+    final var exception = new MqttMessageSenderException("Unable to publish MQTT message", null);
+
+    when(this.eventLogdataReceivedMessageProcessor.processMessages(any()))
+        .thenReturn(CompletableFuture.failedFuture(exception));
+    lenient()
+        .doThrow(exception)
+        .when(this.messageHandler)
+        .handle(argThat(m -> m.getId().equals(second.getId())));
+
+    this.rabbitBatchMessageListener.listen(amqpMessages);
+
+    verify(this.messageHandler, times(2)).handle(any());
+    verify(this.messageRecoverer).recover(same(amqpMessages.get(1)), same(exception));
+    verify(this.messageRecoverer, never()).recover(same(amqpMessages.get(0)), any());
+  }
+
+  @Test
+  public void testListen_givenUnparseableMessage_expectRecovered() throws Exception {
+    final var valid = logdataMessage("user", "device1");
+    final var invalid =
+        MessageBuilder.withBody("not json".getBytes(StandardCharsets.UTF_8)).build();
+
+    this.rabbitBatchMessageListener.listen(List.of(invalid, amqpMessages(valid).get(0)));
+
+    verify(this.messageRecoverer).recover(same(invalid), any(MessagingException.class));
+    verify(this.eventLogdataReceivedMessageProcessor).processMessages(any());
+  }
+
+  private List<org.springframework.amqp.core.Message> amqpMessages(Message... messages)
+      throws JsonProcessingException {
+    final var amqpMessages = new ArrayList<org.springframework.amqp.core.Message>();
+
+    for (final var message : messages) {
+      amqpMessages.add(
+          MessageBuilder.withBody(this.objectMapper.writeValueAsBytes(message)).build());
+    }
+
+    return amqpMessages;
+  }
+
+  private static Message logdataMessage(String userId, String deviceId) {
+    final var metaData = new MessageMetaData();
+
+    metaData.setUserId(userId);
+    metaData.setDeviceId(deviceId);
+    metaData.setCorrelationId(UUID.randomUUID().toString());
+
+    final var message = new Message();
+
+    message.setId(UUID.randomUUID().toString());
+    message.setType(MessageType.EVENT_GENERIC_LOGDATA_RECEIVED.name());
+    message.setMetaData(metaData);
+    message.setPayload("[]");
+
+    return message;
+  }
+}
@@ -1,20 +1,30 @@
 package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -28,11 +38,11 @@ public class RabbitMessageSenderTests {
 
   @MockBean private RabbitTemplate rabbitTemplate;
 
-  private RabbitMessageSender rabbitMessageSender;
+  private ApplicationConfiguration applicationConfiguration;
 
   @BeforeEach
   public void setUp() {
-    this.rabbitMessageSender = new RabbitMessageSender(this.objectMapper, this.rabbitTemplate);
+    this.applicationConfiguration = new ApplicationConfiguration();
   }
 
   @Test
@@ -40,7 +50,13 @@ public class RabbitMessageSenderTests {
     final var now = new Date();
     final var message = sampleMessage(now);
 
-    this.rabbitMessageSender.send(message);
+    this.applicationConfiguration
+        .getMessagePublisher()
+        .setPayloadFormat(ApplicationConfiguration.MessagePayloadFormat.STRING);
+
+    final var rabbitMessageSender = this.createRabbitMessageSender();
+
+    rabbitMessageSender.send(message);
 
     final var messageArgumentCaptor =
         ArgumentCaptor.forClass(org.springframework.amqp.core.Message.class);
@@ -63,6 +79,178 @@ public class RabbitMessageSenderTests {
         .isEqualTo(serializedMessage);
   }
 
+  @Test
+  public void testSend_givenEmbeddedPayloadFormat_expectPayloadNotEscaped()
+      throws MessageSenderException, IOException {
+    final var message = sampleMessage(new Date());
+
+    message.setPayload(List.of(new TreeMap<>(Map.of("measurement", "data", "value", 12.5))));
+
+    this.applicationConfiguration
+        .getMessagePublisher()
+        .setPayloadFormat(ApplicationConfiguration.MessagePayloadFormat.EMBEDDED);
+
+    final var body = this.sendAndCaptureBody(message);
+
+    assertThat(body).contains("\"payload\":[{\"measurement\":\"data\",\"value\":12.5}]");
+
+    final var deserializedMessage = this.objectMapper.readValue(body, Message.class);
+
+    assertThat(deserializedMessage.getId()).isEqualTo(message.getId());
+    assertThat(deserializedMessage.getPayload()).isInstanceOf(TokenBuffer.class);
+
+    try (final var parser =
+        ((TokenBuffer) deserializedMessage.getPayload()).asParser(this.objectMapper)) {
+      assertThat(this.objectMapper.readValue(parser, List.class)).isEqualTo(message.getPayload());
+    }
+  }
+
+  @Test
+  public void testSend_givenStringPayloadFormatAndPayloadObject_expectPayloadAsJsonString()
+      throws MessageSenderException, JsonProcessingException {
+    final var message = sampleMessage(new Date());
+    final var payload = List.of(new TreeMap<>(Map.of("measurement", "data", "value", 12.5)));
+
+    message.setPayload(payload);
+
+    final var body = this.sendAndCaptureBody(message);
+    final var deserializedMessage = this.objectMapper.readValue(body, Message.class);
+
+    assertThat(deserializedMessage.getPayload())
+        .isEqualTo(this.objectMapper.writeValueAsString(payload));
+  }
+
+  @Test
+  public void testDeserialize_givenLegacyStringPayload_expectPayloadUnchanged()
+      throws JsonProcessingException {
+    final var message = sampleMessage(new Date());
+
+    message.setPayload("{\"name\":\"device\"}");
+
+    final var legacyJson =
+        String.format(
+            "{\"id\":\"%s\",\"type\":\"%s\",\"payload\":%s}",
+            message.getId(),
+            message.getType(),
+            this.objectMapper.writeValueAsString(message.getPayload()));
+
+    final var deserializedMessage = this.objectMapper.readValue(legacyJson, Message.class);
+
+    assertThat(deserializedMessage.getPayload()).isEqualTo(message.getPayload());
+  }
+
+  @Test
+  public void testSend_givenPartitioningEnabled_expectDevicePartitionAsRoutingKey()
+      throws MessageSenderException {
+    this.applicationConfiguration.getPartitioning().setEnabled(true);
+    this.applicationConfiguration.getPartitioning().setPartitions(8);
+
+    final var rabbitMessageSender = this.createRabbitMessageSender();
+    final var message = sampleMessage(new Date());
+
+    message.getMetaData().setDeviceId("6374a55ae4b0b5e3c9d6d1a4");
+
+    rabbitMessageSender.send(message);
+    rabbitMessageSender.send(message);
+
+    final var expectedPartition = RabbitPartitioning.getPartition("6374a55ae4b0b5e3c9d6d1a4", 8);
+
+    Mockito.verify(this.rabbitTemplate, Mockito.times(2))
+        .convertAndSend(
+            Mockito.anyString(),
+            Mockito.eq(String.valueOf(expectedPartition)),
+            Mockito.any(org.springframework.amqp.core.Message.class));
+
+    assertThat(expectedPartition).isBetween(0, 7);
+  }
+
+  @Test
+  public void testSendAndAwaitConfirm_givenAck_expectNoException() throws Exception {
+    this.confirmWith(true, null);
+
+    this.createRabbitMessageSender()
+        .sendAndAwaitConfirm(sampleMessage(new Date()), Duration.ofSeconds(1));
+  }
+
+  @Test
+  public void testSendAndAwaitConfirm_givenNack_expectException() {
+    this.confirmWith(false, null);
+
+    final var sender = this.createRabbitMessageSender();
+    final var message = sampleMessage(new Date());
+
+    assertThatThrownBy(() -> sender.sendAndAwaitConfirm(message, Duration.ofSeconds(1)))
+        .isInstanceOf(MessageSenderException.class)
+        .hasMessage("Message has been nacked by the broker: reason");
+  }
+
+  @Test
+  public void testSendAndAwaitConfirm_givenReturned_expectException() {
+    this.confirmWith(
+        true,
+        new ReturnedMessage(
+            new org.springframework.amqp.core.Message(new byte[0]),
+            312,
+            "NO_ROUTE",
+            "x.type",
+            "routing-key"));
+
+    final var sender = this.createRabbitMessageSender();
+    final var message = sampleMessage(new Date());
+
+    assertThatThrownBy(() -> sender.sendAndAwaitConfirm(message, Duration.ofSeconds(1)))
+        .isInstanceOf(MessageSenderException.class)
+        .hasMessage("Message has been returned by the broker: NO_ROUTE");
+  }
+
+  @Test
+  public void testSendAndAwaitConfirm_givenNoConfirm_expectTimeout() {
+    final var sender = this.createRabbitMessageSender();
+    final var message = sampleMessage(new Date());
+
+    assertThatThrownBy(() -> sender.sendAndAwaitConfirm(message, Duration.ofMillis(10)))
+        .isInstanceOf(MessageSenderException.class)
+        .hasMessage("Publisher confirm timed out");
+  }
+
+  private void confirmWith(boolean ack, ReturnedMessage returned) {
+    Mockito.doAnswer(
+            invocation -> {
+              final var correlationData = invocation.<CorrelationData>getArgument(3);
+
+              correlationData.setReturned(returned);
+              correlationData.getFuture().complete(new CorrelationData.Confirm(ack, "reason"));
+
+              return null;
+            })
+        .when(this.rabbitTemplate)
+        .convertAndSend(
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.any(Object.class),
+            Mockito.any(CorrelationData.class));
+  }
+
+  private String sendAndCaptureBody(Message message) throws MessageSenderException {
+    this.createRabbitMessageSender().send(message);
+
+    final var messageArgumentCaptor =
+        ArgumentCaptor.forClass(org.springframework.amqp.core.Message.class);
+
+    Mockito.verify(this.rabbitTemplate, Mockito.times(1))
+        .convertAndSend(
+            Mockito.eq(String.format("x.%s", message.getType())),
+            Mockito.anyString(),
+            messageArgumentCaptor.capture());
+
+    return new String(messageArgumentCaptor.getValue().getBody(), StandardCharsets.UTF_8);
+  }
+
+  private RabbitMessageSender createRabbitMessageSender() {
+    return new RabbitMessageSender(
+        this.applicationConfiguration, this.objectMapper, this.rabbitTemplate);
+  }
+
   private static Message sampleMessage(Date date) {
     final var message = new Message();
 
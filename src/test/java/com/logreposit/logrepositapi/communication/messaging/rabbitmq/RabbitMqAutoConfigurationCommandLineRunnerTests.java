@@ -1,11 +1,25 @@
 package com.logreposit.logrepositapi.communication.messaging.rabbitmq;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
 import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import java.io.IOException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpIOException;
 import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Queue;
 
 @ExtendWith(MockitoExtension.class)
 public class RabbitMqAutoConfigurationCommandLineRunnerTests {
@@ -16,4 +30,105 @@ public class RabbitMqAutoConfigurationCommandLineRunnerTests {
 
   @Test
   public void testRun() {}
+
+  @Test
+  public void testRun_givenPartitioningEnabled_expectPartitionQueuesBoundThroughDirectExchange() {
+    final var configuration = new ApplicationConfiguration();
+
+    configuration.setQueueName("q.test");
+    configuration.setMessageRetryIntervals(List.of(10, 20, 30));
+    configuration.getPartitioning().setEnabled(true);
+    configuration.getPartitioning().setPartitions(2);
+
+    new RabbitMqAutoConfigurationCommandLineRunner(configuration, this.amqpAdmin).run();
+
+    final var queueCaptor = ArgumentCaptor.forClass(Queue.class);
+    final var bindingCaptor = ArgumentCaptor.forClass(Binding.class);
+
+    verify(this.amqpAdmin, atLeastOnce()).declareQueue(queueCaptor.capture());
+    verify(this.amqpAdmin, atLeastOnce()).declareBinding(bindingCaptor.capture());
+
+    assertThat(queueCaptor.getAllValues())
+        .extracting(Queue::getName)
+        .contains("q.test", "q.test.0", "q.test.1");
+
+    assertThat(queueCaptor.getAllValues())
+        .filteredOn(q -> q.getName().startsWith("q.test."))
+        .allSatisfy(
+            q -> assertThat(q.getArguments()).containsEntry("x-single-active-consumer", true));
+
+    assertThat(bindingCaptor.getAllValues())
+        .extracting(Binding::getExchange, Binding::getRoutingKey, Binding::getDestination)
+        .contains(
+            tuple("partition.x.q.test", "0", "q.test.0"),
+            tuple("partition.x.q.test", "1", "q.test.1"),
+            tuple("x.event_generic_logdata_received", "", "partition.x.q.test"),
+            tuple("x.event_generic_columnar_logdata_received", "", "partition.x.q.test"),
+            tuple(RabbitRetryStrategy.ERROR_EXCHANGE_NAME, "q.test.1", "error.q.test"))
+        .doesNotContain(
+            tuple("x.event_generic_logdata_received", "", "q.test"),
+            tuple("x.event_generic_columnar_logdata_received", "", "q.test"));
+
+    final var removedBindingCaptor = ArgumentCaptor.forClass(Binding.class);
+
+    verify(this.amqpAdmin, times(2)).removeBinding(removedBindingCaptor.capture());
+
+    assertThat(removedBindingCaptor.getAllValues())
+        .extracting(Binding::getExchange, Binding::getDestination)
+        .containsExactly(
+            tuple("x.event_generic_logdata_received", "q.test"),
+            tuple("x.event_generic_columnar_logdata_received", "q.test"));
+  }
+
+  @Test
+  public void testRun_givenPartitioningDisabled_expectPartitionExchangeBindingRemoved() {
+    final var configuration = new ApplicationConfiguration();
+
+    configuration.setQueueName("q.test");
+    configuration.setMessageRetryIntervals(List.of(10, 20, 30));
+
+    new RabbitMqAutoConfigurationCommandLineRunner(configuration, this.amqpAdmin).run();
+
+    final var bindingCaptor = ArgumentCaptor.forClass(Binding.class);
+    final var removedBindingCaptor = ArgumentCaptor.forClass(Binding.class);
+
+    verify(this.amqpAdmin, atLeastOnce()).declareBinding(bindingCaptor.capture());
+    verify(this.amqpAdmin, atLeastOnce()).removeBinding(removedBindingCaptor.capture());
+
+    assertThat(bindingCaptor.getAllValues())
+        .extracting(Binding::getExchange, Binding::getRoutingKey, Binding::getDestination)
+        .contains(
+            tuple("x.event_generic_logdata_received", "", "q.test"),
+            tuple("x.event_generic_columnar_logdata_received", "", "q.test"));
+
+    assertThat(removedBindingCaptor.getAllValues())
+        .extracting(Binding::getExchange, Binding::getDestination, Binding::getDestinationType)
+        .contains(
+            tuple(
+                "x.event_generic_logdata_received",
+                "partition.x.q.test",
+                Binding.DestinationType.EXCHANGE));
+  }
+
+  @Test
+  public void testRun_givenPartitionExchangeMissing_expectBindingsDeclared() {
+    final var configuration = new ApplicationConfiguration();
+
+    configuration.setQueueName("q.test");
+    configuration.setMessageRetryIntervals(List.of(10, 20, 30));
+
+    doThrow(new AmqpIOException(new IOException("NOT_FOUND")))
+        .when(this.amqpAdmin)
+        .removeBinding(any());
+
+    new RabbitMqAutoConfigurationCommandLineRunner(configuration, this.amqpAdmin).run();
+
+    final var bindingCaptor = ArgumentCaptor.forClass(Binding.class);
+
+    verify(this.amqpAdmin, atLeastOnce()).declareBinding(bindingCaptor.capture());
+
+    assertThat(bindingCaptor.getAllValues())
+        .extracting(Binding::getExchange, Binding::getDestination)
+        .contains(tuple("x.event_generic_logdata_received", "q.test"));
+  }
 }
@@ -0,0 +1,162 @@
+package com.logreposit.logrepositapi.communication.messaging.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logreposit.logrepositapi.communication.messaging.common.Message;
+import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSpoolException;
+import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+
+@ExtendWith(MockitoExtension.class)
+public class MessageSpoolTests {
+  @TempDir private Path directory;
+
+  @Mock private RabbitMessageSender messageSender;
+
+  private ApplicationConfiguration applicationConfiguration;
+
+  private MessageSpool messageSpool;
+
+  @BeforeEach
+  public void setUp() {
+    this.applicationConfiguration = new ApplicationConfiguration();
+
+    final var spoolConfiguration = this.applicationConfiguration.getSpool();
+
+    spoolConfiguration.setEnabled(true);
+    spoolConfiguration.setDirectory(this.directory.toString());
+    spoolConfiguration.setDrainInterval(Duration.ofMillis(10));
+    spoolConfiguration.setFsync(false);
+
+    this.messageSpool =
+        new MessageSpool(this.applicationConfiguration, new ObjectMapper(), this.messageSender);
+
+    Mockito.lenient().when(this.messageSender.isPublisherConfirms()).thenReturn(true);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    this.messageSpool.stop();
+  }
+
+  @Test
+  public void testAppend_givenBrokerAvailable_expectMessagesReplayedInOrder() throws Exception {
+    final var first = sampleMessage();
+    final var second = sampleMessage();
+
+    this.messageSpool.start();
+    this.messageSpool.append(first);
+    this.messageSpool.append(second);
+
+    final var captor = ArgumentCaptor.forClass(Message.class);
+
+    Mockito.verify(this.messageSender, Mockito.timeout(5000).times(2))
+        .sendAndAwaitConfirm(captor.capture(), Mockito.eq(Duration.ofSeconds(10)));
+
+    assertThat(captor.getAllValues())
+        .extracting(Message::getId)
+        .containsExactly(first.getId(), second.getId());
+    assertThat(new ObjectMapper().writeValueAsString(captor.getAllValues().get(0).getPayload()))
+        .isEqualTo(first.getPayload());
+  }
+
+  @Test
+  public void testAppend_givenBrokerUnavailable_expectMessageKeptUntilPublished() throws Exception {
+    final var message = sampleMessage();
+
+    Mockito.doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+        .doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+        .doNothing()
+        .when(this.messageSender)
+        .sendAndAwaitConfirm(Mockito.any(), Mockito.any());
+
+    this.messageSpool.start();
+    this.messageSpool.append(message);
+
+    Mockito.verify(this.messageSender, Mockito.timeout(5000).times(3))
+        .sendAndAwaitConfirm(Mockito.any(), Mockito.any());
+
+    for (var i = 0; i < 100 && !this.messageSpool.isEmpty(); i++) {
+      Thread.sleep(10);
+    }
+
+    assertThat(this.messageSpool.isEmpty()).isTrue();
+    assertThat(this.messageSpool.getLag()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void testDrain_givenMessageNotConfirmed_expectMessageKeptAtHead() throws Exception {
+    final var first = sampleMessage();
+    final var second = sampleMessage();
+
+    Mockito.doThrow(new MessageSenderException("Message has been nacked by the broker: null"))
+        .doThrow(new MessageSenderException("Publisher confirm timed out"))
+        .doNothing()
+        .when(this.messageSender)
+        .sendAndAwaitConfirm(Mockito.any(), Mockito.any());
+
+    this.messageSpool.start();
+    this.messageSpool.append(first);
+    this.messageSpool.append(second);
+
+    final var captor = ArgumentCaptor.forClass(Message.class);
+
+    Mockito.verify(this.messageSender, Mockito.timeout(5000).times(4))
+        .sendAndAwaitConfirm(captor.capture(), Mockito.any());
+
+    assertThat(captor.getAllValues())
+        .extracting(Message::getId)
+        .containsExactly(first.getId(), first.getId(), first.getId(), second.getId());
+  }
+
+  @Test
+  public void testStart_givenPublisherConfirmsDisabled_expectException() {
+    Mockito.when(this.messageSender.isPublisherConfirms()).thenReturn(false);
+
+    assertThrows(IllegalStateException.class, () -> this.messageSpool.start());
+  }
+
+  @Test
+  public void testAppend_givenSpoolDisabled_expectException() throws Exception {
+    this.applicationConfiguration.getSpool().setEnabled(false);
+    this.messageSpool.start();
+
+    assertThat(this.messageSpool.isEnabled()).isFalse();
+
+    final var message = sampleMessage();
+    final var e =
+        assertThrows(MessageSpoolException.class, () -> this.messageSpool.append(message));
+
+    assertThat(e).hasMessage("Message spool is not enabled");
+  }
+
+  private static Message sampleMessage() {
+    final var message = new Message();
+
+    message.setId(UUID.randomUUID().toString());
+    message.setDate(new Date());
+    message.setType("EVENT_GENERIC_LOGDATA_RECEIVED");
+    message.setMetaData(new MessageMetaData());
+    message.setPayload("{\"readings\":[]}");
+
+    return message;
+  }
+}
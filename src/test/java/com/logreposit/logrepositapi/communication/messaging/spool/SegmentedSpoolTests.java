@@ -0,0 +1,182 @@
+package com.logreposit.logrepositapi.communication.messaging.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SegmentedSpoolTests {
+  @TempDir private Path directory;
+
+  @Test
+  public void testPeekAndCommit_givenAppendedRecords_expectFifoOrder() throws IOException {
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 1024 * 1024, false)) {
+      assertThat(spool.peek()).isNull();
+
+      spool.append(bytes("first"));
+      spool.append(bytes("second"));
+
+      assertThat(spool.getPendingRecords()).isEqualTo(2);
+      assertThat(spool.getHeadTimestamp()).isPositive();
+
+      final var first = spool.peek();
+
+      assertThat(string(first.data())).isEqualTo("first");
+      assertThat(string(spool.peek().data())).isEqualTo("first");
+
+      spool.commit(first);
+
+      final var second = spool.peek();
+
+      assertThat(string(second.data())).isEqualTo("second");
+
+      spool.commit(second);
+
+      assertThat(spool.peek()).isNull();
+      assertThat(spool.getPendingRecords()).isZero();
+      assertThat(spool.getHeadTimestamp()).isZero();
+    }
+  }
+
+  @Test
+  public void testAppend_givenSegmentSizeExceeded_expectRolledAndConsumedSegmentsDeleted()
+      throws IOException {
+    try (final var spool = new SegmentedSpool(this.directory, 40, 1024 * 1024, false)) {
+      for (var i = 0; i < 5; i++) {
+        spool.append(bytes("record-" + i));
+      }
+
+      assertThat(segmentCount()).isEqualTo(5);
+
+      for (var i = 0; i < 5; i++) {
+        final var record = spool.peek();
+
+        assertThat(string(record.data())).isEqualTo("record-" + i);
+
+        spool.commit(record);
+      }
+
+      assertThat(spool.peek()).isNull();
+      assertThat(segmentCount()).isEqualTo(1);
+      assertThat(spool.getSizeBytes()).isEqualTo(SegmentedSpool.HEADER_SIZE + 8);
+    }
+  }
+
+  @Test
+  public void testAppend_givenConcurrentAppendsWithFsync_expectAllRecordsStored() throws Exception {
+    try (final var spool = new SegmentedSpool(this.directory, 256, 1024 * 1024, true)) {
+      final var threads = new ArrayList<Thread>();
+
+      for (var t = 0; t < 8; t++) {
+        final var thread = t;
+
+        threads.add(
+            Thread.ofPlatform()
+                .start(
+                    () -> {
+                      for (var i = 0; i < 50; i++) {
+                        try {
+                          assertThat(spool.append(bytes(thread + "-" + i))).isTrue();
+                        } catch (IOException e) {
+                          throw new IllegalStateException(e);
+                        }
+                      }
+                    }));
+      }
+
+      for (final var thread : threads) {
+        thread.join();
+      }
+
+      final var records = new ArrayList<String>();
+
+      for (var record = spool.peek(); record != null; record = spool.peek()) {
+        records.add(string(record.data()));
+        spool.commit(record);
+      }
+
+      assertThat(records).hasSize(400).doesNotHaveDuplicates();
+    }
+  }
+
+  @Test
+  public void testAppend_givenMaxSizeExceeded_expectRejected() throws IOException {
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 50, false)) {
+      assertThat(spool.append(bytes("0123456789"))).isTrue();
+      assertThat(spool.append(bytes("0123456789"))).isFalse();
+      assertThat(spool.getPendingRecords()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void testOpen_givenExistingSpool_expectPendingRecordsRestored() throws IOException {
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 1024 * 1024, true)) {
+      spool.append(bytes("first"));
+      spool.append(bytes("second"));
+      spool.append(bytes("third"));
+      spool.commit(spool.peek());
+    }
+
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 1024 * 1024, true)) {
+      assertThat(spool.getPendingRecords()).isEqualTo(2);
+
+      spool.append(bytes("fourth"));
+
+      assertThat(drain(spool)).containsExactly("second", "third", "fourth");
+    }
+  }
+
+  @Test
+  public void testOpen_givenIncompleteRecordAtEndOfSegment_expectSkipped() throws IOException {
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 1024 * 1024, false)) {
+      spool.append(bytes("first"));
+    }
+
+    try (final var files = Files.list(this.directory)) {
+      final var segment =
+          files.filter(p -> p.getFileName().toString().startsWith("segment-")).findFirst().get();
+
+      Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+    }
+
+    try (final var spool = new SegmentedSpool(this.directory, 1024, 1024 * 1024, false)) {
+      assertThat(spool.getPendingRecords()).isEqualTo(1);
+
+      spool.append(bytes("second"));
+
+      assertThat(drain(spool)).containsExactly("first", "second");
+    }
+  }
+
+  private long segmentCount() throws IOException {
+    try (final var files = Files.list(this.directory)) {
+      return files.filter(p -> p.getFileName().toString().startsWith("segment-")).count();
+    }
+  }
+
+  private static List<String> drain(SegmentedSpool spool) throws IOException {
+    final var result = new ArrayList<String>();
+
+    for (var record = spool.peek(); record != null; record = spool.peek()) {
+      result.add(string(record.data()));
+      spool.commit(record);
+    }
+
+    return result;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String string(byte[] value) {
+    return new String(value, StandardCharsets.UTF_8);
+  }
+}
@@ -3,10 +3,11 @@ package com.logreposit.logrepositapi.communication.messaging.utils;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageType;
 import com.logreposit.logrepositapi.communication.messaging.dtos.DeviceCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.dtos.UserCreatedMessageDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
@@ -20,21 +21,13 @@ import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.json.JsonTest;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-@ExtendWith(SpringExtension.class)
-@JsonTest
 public class MessageFactoryTests {
-  @Autowired private ObjectMapper objectMapper;
-
   private MessageFactory messageFactory;
 
   @BeforeEach
   public void setUp() {
-    this.messageFactory = new MessageFactory(this.objectMapper);
+    this.messageFactory = new MessageFactory();
   }
 
   @Test
@@ -54,13 +47,43 @@ public class MessageFactoryTests {
     assertThat(message.getType()).isEqualTo(MessageType.EVENT_GENERIC_LOGDATA_RECEIVED.toString());
     assertThat(message.getId()).isNotBlank();
     assertThat(message.getMetaData()).isNotNull();
-    assertThat(message.getPayload()).isNotBlank();
+    assertThat(message.getPayload()).isNotNull();
+
+    assertThat(message.getMetaData().getCorrelationId()).isEqualTo(correlationId);
+    assertThat(message.getMetaData().getDeviceId()).isEqualTo(deviceId);
+    assertThat(message.getMetaData().getUserId()).isEqualTo(userId);
+    assertThat(message.getPayload()).isSameAs(sampleReadings);
+  }
 
+  @Test
+  public void testBuildEventGenericColumnarLogdataReceivedMessage() throws JsonProcessingException {
+    final var correlationId = UUID.randomUUID().toString();
+    final var deviceId = UUID.randomUUID().toString();
+    final var userId = UUID.randomUUID().toString();
+    final var column = new FloatColumnDto();
+
+    column.setName("temperature");
+    column.setValues(new double[] {19.74, 19.8});
+
+    final var block = new ColumnBlockDto();
+
+    block.setMeasurement("data");
+    block.setTimestamps(new long[] {1714564800000L, 1714564801000L});
+    block.setFields(List.of(column));
+
+    RequestCorrelation.setCorrelationId(correlationId);
+
+    final var message =
+        this.messageFactory.buildEventGenericColumnarLogdataReceivedMessage(
+            List.of(block), deviceId, userId);
+
+    assertThat(message.getType())
+        .isEqualTo(MessageType.EVENT_GENERIC_COLUMNAR_LOGDATA_RECEIVED.toString());
+    assertThat(message.getId()).isNotBlank();
     assertThat(message.getMetaData().getCorrelationId()).isEqualTo(correlationId);
     assertThat(message.getMetaData().getDeviceId()).isEqualTo(deviceId);
     assertThat(message.getMetaData().getUserId()).isEqualTo(userId);
-    assertThat(message.getPayload())
-        .isEqualTo(this.objectMapper.writeValueAsString(sampleReadings));
+    assertThat(message.getPayload()).isEqualTo(List.of(block));
   }
 
   @Test
@@ -81,11 +104,10 @@ public class MessageFactoryTests {
     assertThat(message.getType()).isEqualTo(MessageType.EVENT_USER_CREATED.toString());
     assertThat(message.getId()).isNotBlank();
     assertThat(message.getMetaData()).isNotNull();
-    assertThat(message.getPayload()).isNotBlank();
+    assertThat(message.getPayload()).isNotNull();
 
     assertThat(message.getMetaData().getCorrelationId()).isEqualTo(correlationId);
-    assertThat(message.getPayload())
-        .isEqualTo(this.objectMapper.writeValueAsString(userCreatedMessageDto));
+    assertThat(message.getPayload()).isSameAs(userCreatedMessageDto);
   }
 
   @Test
@@ -109,14 +131,13 @@ public class MessageFactoryTests {
     assertThat(message.getType()).isEqualTo(MessageType.EVENT_DEVICE_CREATED.toString());
     assertThat(message.getId()).isNotBlank();
     assertThat(message.getMetaData()).isNotNull();
-    assertThat(message.getPayload()).isNotBlank();
+    assertThat(message.getPayload()).isNotNull();
 
     assertThat(message.getMetaData().getCorrelationId()).isEqualTo(correlationId);
     assertThat(message.getMetaData().getUserId()).isEqualTo(userId);
     assertThat(message.getMetaData().getUserEmail()).isEqualTo(userEmail);
     assertThat(message.getMetaData().getDeviceId()).isEqualTo(deviceCreatedMessageDto.getId());
-    assertThat(message.getPayload())
-        .isEqualTo(this.objectMapper.writeValueAsString(deviceCreatedMessageDto));
+    assertThat(message.getPayload()).isSameAs(deviceCreatedMessageDto);
   }
 
   private static List<ReadingDto> sampleReadings() {
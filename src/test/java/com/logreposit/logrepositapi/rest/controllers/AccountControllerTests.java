@@ -8,11 +8,13 @@ import com.logreposit.logrepositapi.persistence.documents.User;
 import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfiguration;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -30,6 +32,8 @@ public class AccountControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @Autowired private MockMvc controller;
 
   @BeforeEach
@@ -56,5 +60,8 @@ public class AccountControllerTests {
         .andExpect(jsonPath("$.status").value("SUCCESS"))
         .andExpect(jsonPath("$.data").exists())
         .andExpect(jsonPath("$.data.email").value(regularUser.getEmail()));
+
+    Mockito.verify(this.userService, Mockito.times(1))
+        .getByApiKey(Mockito.eq(ControllerTestUtils.REGULAR_USER_API_KEY));
   }
 }
@@ -12,6 +12,7 @@ import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfigura
 import com.logreposit.logrepositapi.services.apikey.ApiKeyService;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserService;
 import java.util.Arrays;
@@ -46,6 +47,8 @@ public class ApiKeyControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @Autowired private MockMvc controller;
 
   @BeforeEach
@@ -14,6 +14,7 @@ import com.logreposit.logrepositapi.rest.dtos.request.DeviceCreationRequestDto;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserService;
 import java.util.Arrays;
@@ -46,6 +47,8 @@ public class DeviceControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @Autowired private MockMvc controller;
 
   @Captor private ArgumentCaptor<Device> deviceArgumentCaptor;
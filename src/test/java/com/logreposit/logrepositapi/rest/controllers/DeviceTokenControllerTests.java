@@ -15,6 +15,7 @@ import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
 import com.logreposit.logrepositapi.services.devicetoken.DeviceTokenService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserService;
 import java.util.Arrays;
@@ -48,6 +49,8 @@ public class DeviceTokenControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @MockBean private DeviceTokenService deviceTokenService;
 
   @Autowired private MockMvc controller;
@@ -2,34 +2,66 @@ package com.logreposit.logrepositapi.rest.controllers;
 
 import static com.logreposit.logrepositapi.rest.controllers.ControllerTestUtils.VALID_DEVICE_TOKEN;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
 import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfiguration;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.IngressV2RequestDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import com.logreposit.logrepositapi.rest.filters.RequestBodyTooLargeException;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.BatchInFlightException;
+import com.logreposit.logrepositapi.services.ingress.IngressOverloadedException;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.ingress.IngressService;
 import com.logreposit.logrepositapi.services.ingress.IngressServiceException;
+import com.logreposit.logrepositapi.services.ingress.LineProtocolParseException;
+import com.logreposit.logrepositapi.services.ingress.LineProtocolPrecision;
+import com.logreposit.logrepositapi.services.ingress.PartialIngressException;
+import com.logreposit.logrepositapi.services.ingress.ReadingBatchValidator;
+import com.logreposit.logrepositapi.services.ingress.ReadingStreamParseException;
+import com.logreposit.logrepositapi.services.ingress.ReadingValidationException;
 import com.logreposit.logrepositapi.services.user.UserService;
 import com.logreposit.logrepositapi.utils.definition.DefinitionValidationException;
 import com.logreposit.logrepositapi.utils.duration.DurationCalculator;
 import com.logreposit.logrepositapi.utils.duration.DurationCalculatorException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -38,15 +70,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mockito;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.validation.FieldError;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = {IngressV2Controller.class})
@@ -55,6 +90,8 @@ public class IngressV2ControllerDataInsertionTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @MockBean private DurationCalculator durationCalculator;
 
   @MockBean private UserService userService;
@@ -67,17 +104,33 @@ public class IngressV2ControllerDataInsertionTests {
 
   @Captor private ArgumentCaptor<List<ReadingDto>> readingsArgumentCaptor;
 
+  @Captor private ArgumentCaptor<List<ColumnBlockDto>> blocksArgumentCaptor;
+
   private final Pattern successfulInsertPattern =
       Pattern.compile("^Data was accepted for processing in [0-9]+ milliseconds\\.$");
 
   @BeforeEach
   public void setUp()
-      throws DeviceTokenNotFoundException, DeviceNotFoundException, DurationCalculatorException {
+      throws DeviceTokenNotFoundException,
+          DeviceNotFoundException,
+          DurationCalculatorException,
+          IngressServiceException {
     ControllerTestUtils.prepareDefaultDevice(this.deviceService);
 
     Mockito.when(
             this.durationCalculator.getDuration(Mockito.any(Date.class), Mockito.any(Date.class)))
         .thenReturn(0L);
+
+    // The readings are validated by the service, as IngressService does it.
+    Mockito.doAnswer(
+            invocation -> {
+              ReadingBatchValidator.forDefinition(sampleDeviceDefinition())
+                  .validate(ReadingBatch.of(invocation.getArgument(1)));
+
+              return null;
+            })
+        .when(this.ingressService)
+        .processData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
   }
 
   @Test
@@ -100,6 +153,30 @@ public class IngressV2ControllerDataInsertionTests {
         .andExpect(jsonPath("$.message").value("Unauthenticated"));
   }
 
+  @Test
+  public void testIngressData_givenRateLimitExceeded_expectTooManyRequests() throws Exception {
+    Mockito.when(this.ingressRateLimiter.tryAcquire(Mockito.any()))
+        .thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{ not even json");
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "2"))
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(50003))
+        .andExpect(jsonPath("$.message").value("Rate limit exceeded"));
+
+    Mockito.verifyNoInteractions(this.ingressService);
+  }
+
   @Test
   public void testIngressData_withEmptyReadings_shouldSucceed() throws Exception {
     IngressV2RequestDto ingressDto = new IngressV2RequestDto();
@@ -122,7 +199,10 @@ public class IngressV2ControllerDataInsertionTests {
 
     Mockito.verify(this.ingressService, Mockito.times(1))
         .processData(
-            Mockito.eq(ControllerTestUtils.sampleDevice()), this.readingsArgumentCaptor.capture());
+            Mockito.eq(ControllerTestUtils.sampleDevice()),
+            this.readingsArgumentCaptor.capture(),
+            Mockito.isNull(),
+            Mockito.anyLong());
 
     List<ReadingDto> capturedReadingDtos = this.readingsArgumentCaptor.getValue();
 
@@ -130,6 +210,107 @@ public class IngressV2ControllerDataInsertionTests {
     assertThat(capturedReadingDtos).isEqualTo(ingressDto.getReadings());
   }
 
+  @Test
+  public void testIngressData_withIdempotencyKey_expectKeyPassedToService() throws Exception {
+    IngressV2RequestDto ingressDto = new IngressV2RequestDto();
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .header(LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME, "batch-42")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(ingressDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted());
+
+    Mockito.verify(this.ingressService, Mockito.times(1))
+        .processData(
+            Mockito.eq(ControllerTestUtils.sampleDevice()),
+            Mockito.any(),
+            Mockito.eq("batch-42"),
+            Mockito.anyLong());
+  }
+
+  @Test
+  public void testIngressData_withCborBody_expectReadingsPassedToService() throws Exception {
+    assertBinaryIngressDataAccepted(new MediaType("application", "cbor"), new CBORFactory());
+  }
+
+  @Test
+  public void testIngressData_withSmileBody_expectReadingsPassedToService() throws Exception {
+    assertBinaryIngressDataAccepted(
+        new MediaType("application", "x-jackson-smile"), new SmileFactory());
+  }
+
+  @Test
+  public void testIngressData_withMessagePackBody_expectReadingsPassedToService() throws Exception {
+    assertBinaryIngressDataAccepted(
+        new MediaType("application", "msgpack"), new MessagePackFactory());
+  }
+
+  @Test
+  public void testIngressData_withCborBodyMissingMeasurementName_expectError() throws Exception {
+    IngressV2RequestDto ingressDto = sampleIngressDto();
+
+    ingressDto.getReadings().get(0).setMeasurement(null);
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(new MediaType("application", "cbor"))
+            .content(this.objectMapper.copyWith(new CBORFactory()).writeValueAsBytes(ingressDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80005));
+  }
+
+  @Test
+  public void testIngressData_withTooLongIdempotencyKey_expectError() throws Exception {
+    IngressV2RequestDto ingressDto = new IngressV2RequestDto();
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .header(LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME, "k".repeat(256))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(ingressDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("ERROR"));
+
+    Mockito.verifyNoInteractions(this.ingressService);
+  }
+
+  @Test
+  public void testIngressData_withValidDeviceToken_expectDeviceResolvedOnlyOnce() throws Exception {
+    IngressV2RequestDto ingressDto = new IngressV2RequestDto();
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(ingressDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted());
+
+    Mockito.verify(this.deviceService, Mockito.times(1))
+        .getByDeviceToken(Mockito.eq(VALID_DEVICE_TOKEN));
+  }
+
   @Test
   public void testIngressData_withReadingDtoMissingDate_expectError() throws Exception {
     IngressV2RequestDto ingressDto = sampleIngressDto();
@@ -517,7 +698,7 @@ public class IngressV2ControllerDataInsertionTests {
 
     Mockito.doThrow(new DefinitionValidationException("custom error message"))
         .when(this.ingressService)
-        .processData(Mockito.any(), Mockito.any());
+        .processData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
 
     this.controller
         .perform(request)
@@ -543,7 +724,7 @@ public class IngressV2ControllerDataInsertionTests {
 
     Mockito.doThrow(new IngressServiceException("some error occurred"))
         .when(this.ingressService)
-        .processData(Mockito.any(), Mockito.any());
+        .processData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
 
     this.controller
         .perform(request)
@@ -556,6 +737,31 @@ public class IngressV2ControllerDataInsertionTests {
         .andExpect(jsonPath("$.message").value("Error processing data."));
   }
 
+  @Test
+  public void testIngressData_batchInFlight_expectConflictWithRetryAfter() throws Exception {
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .header(LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME, "batch-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(sampleIngressDto()));
+
+    Mockito.doThrow(new BatchInFlightException("Batch is still being published"))
+        .when(this.ingressService)
+        .processData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isConflict())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(50005))
+        .andExpect(
+            jsonPath("$.message").value("The same batch is still being processed, retry later."));
+  }
+
   @Test
   public void testIngressData_throwsRuntimeException_expectError() throws Exception {
     IngressV2RequestDto ingressDto = sampleIngressDto();
@@ -604,7 +810,465 @@ public class IngressV2ControllerDataInsertionTests {
         .andExpect(
             jsonPath("$.message")
                 .value(
-                    "Given MediaType 'application/octet-stream;charset=UTF-8' is not supported. Supported MediaTypes are: application/*+json, application/json"));
+                    "Given MediaType 'application/octet-stream;charset=UTF-8' is not supported. Supported MediaTypes are: application/*+json, application/cbor, application/json, application/msgpack, application/x-jackson-smile, application/x-msgpack"));
+  }
+
+  @Test
+  public void testIngressDataAsync_withValidReadings_shouldSucceed() throws Exception {
+    final var ingressDto = sampleIngressDto();
+
+    Mockito.when(
+            this.ingressService.processDataAsync(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/async")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(ingressDto));
+
+    final var result =
+        this.controller.perform(request).andExpect(request().asyncStarted()).andReturn();
+
+    this.controller
+        .perform(asyncDispatch(result))
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.correlationId").isString())
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(jsonPath("$.data.message").value(matchesPattern(this.successfulInsertPattern)));
+
+    Mockito.verify(this.ingressService, Mockito.times(1))
+        .processDataAsync(
+            Mockito.eq(ControllerTestUtils.sampleDevice()),
+            this.readingsArgumentCaptor.capture(),
+            Mockito.isNull(),
+            Mockito.anyLong());
+
+    assertThat(this.readingsArgumentCaptor.getValue()).isEqualTo(ingressDto.getReadings());
+  }
+
+  @Test
+  public void testIngressDataAsync_ingressServiceThrowsIngressServiceException_expectError()
+      throws Exception {
+    Mockito.when(
+            this.ingressService.processDataAsync(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong()))
+        .thenReturn(
+            CompletableFuture.failedFuture(new IngressServiceException("some error occurred")));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/async")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(sampleIngressDto()));
+
+    final var result =
+        this.controller.perform(request).andExpect(request().asyncStarted()).andReturn();
+
+    this.controller
+        .perform(asyncDispatch(result))
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isInternalServerError())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.correlationId").isString())
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(50001))
+        .andExpect(jsonPath("$.message").value("Error processing data."));
+  }
+
+  @Test
+  public void testIngressDataAsync_ingressServiceOverloaded_expectServiceUnavailable()
+      throws Exception {
+    Mockito.when(
+            this.ingressService.processDataAsync(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong()))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new IngressOverloadedException("Too many asynchronous ingress requests")));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/async")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(sampleIngressDto()));
+
+    final var result =
+        this.controller.perform(request).andExpect(request().asyncStarted()).andReturn();
+
+    this.controller
+        .perform(asyncDispatch(result))
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(50004))
+        .andExpect(
+            jsonPath("$.message").value("Too many requests are being processed, retry later."));
+  }
+
+  @Test
+  public void testIngressDataStream_withValidReadings_shouldSucceed() throws Exception {
+    final var ingressDto = sampleIngressDto();
+    final var content = this.objectMapper.writeValueAsBytes(ingressDto);
+
+    Mockito.when(
+            this.ingressService.processDataStream(
+                Mockito.eq(ControllerTestUtils.sampleDevice()), Mockito.any(InputStream.class)))
+        .thenAnswer(
+            invocation -> {
+              assertThat(invocation.<InputStream>getArgument(1).readAllBytes()).isEqualTo(content);
+
+              return 3L;
+            });
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/stream")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content);
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.correlationId").isString())
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(
+            jsonPath("$.data.message")
+                .value("3 readings were accepted for processing in 0 milliseconds."));
+
+    Mockito.verify(this.ingressService, Mockito.times(1))
+        .processDataStream(Mockito.eq(ControllerTestUtils.sampleDevice()), Mockito.any());
+  }
+
+  @Test
+  public void testIngressDataStream_decompressedBodyTooLarge_expectPayloadTooLarge()
+      throws Exception {
+    Mockito.when(this.ingressService.processDataStream(Mockito.any(), Mockito.any()))
+        .thenThrow(
+            new PartialIngressException(
+                4,
+                new IngressServiceException(
+                    "Unable to read readings",
+                    new RequestBodyTooLargeException(
+                        "Decompressed request body exceeds 10 bytes"))));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/stream")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(sampleIngressDto()));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80017))
+        .andExpect(jsonPath("$.message").value("Decompressed request body exceeds 10 bytes"))
+        .andExpect(jsonPath("$.accepted").value(4));
+  }
+
+  @Test
+  public void testIngressDataStream_ingressServiceThrowsReadingValidationException_expectError()
+      throws Exception {
+    final var fieldError =
+        new FieldError(
+            "ingressV2RequestDto",
+            "readings[2].measurement",
+            "",
+            false,
+            null,
+            null,
+            "must not be blank");
+
+    Mockito.when(this.ingressService.processDataStream(Mockito.any(), Mockito.any()))
+        .thenThrow(
+            new PartialIngressException(
+                2, new ReadingValidationException("invalid", List.of(fieldError))));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/stream")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.objectMapper.writeValueAsString(sampleIngressDto()));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80005))
+        .andExpect(
+            jsonPath("$.message")
+                .value(
+                    "Invalid input data. Field Errors: readings[2].measurement -> must not be blank (actual value: ) => Please check your input."))
+        .andExpect(jsonPath("$.accepted").value(2));
+  }
+
+  @Test
+  public void testIngressDataStream_ingressServiceThrowsReadingStreamParseException_expectError()
+      throws Exception {
+    Mockito.when(this.ingressService.processDataStream(Mockito.any(), Mockito.any()))
+        .thenThrow(
+            new PartialIngressException(
+                0, new ReadingStreamParseException("unparseable", new IOException())));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data/stream")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"readings\":[");
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80004))
+        .andExpect(
+            jsonPath("$.message")
+                .value("Request could not be processed. Please check if the JSON syntax is valid."))
+        .andExpect(jsonPath("$.accepted").value(0));
+  }
+
+  @Test
+  public void testIngressLineProtocol_withPrecision_expectBodyAndPrecisionPassedToService()
+      throws Exception {
+    final var content = "data,location=operation_room_32 humidity=62i 1594216000000";
+
+    Mockito.when(
+            this.ingressService.processLineProtocol(
+                Mockito.eq(ControllerTestUtils.sampleDevice()),
+                Mockito.any(InputStream.class),
+                Mockito.eq(LineProtocolPrecision.MILLISECONDS)))
+        .thenAnswer(
+            invocation -> {
+              assertThat(invocation.<InputStream>getArgument(1).readAllBytes())
+                  .isEqualTo(content.getBytes(StandardCharsets.UTF_8));
+
+              return 1L;
+            });
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .queryParam("precision", "ms")
+            .contentType(MediaType.TEXT_PLAIN)
+            .content(content);
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(
+            jsonPath("$.data.message")
+                .value("1 readings were accepted for processing in 0 milliseconds."));
+
+    Mockito.verify(this.ingressService, Mockito.never())
+        .processData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+  }
+
+  @Test
+  public void testIngressLineProtocol_withInvalidPrecision_expectError() throws Exception {
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .queryParam("precision", "h")
+            .contentType(MediaType.TEXT_PLAIN)
+            .content("data humidity=62i");
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80016));
+
+    Mockito.verifyNoInteractions(this.ingressService);
+  }
+
+  @Test
+  public void testIngressLineProtocol_ingressServiceThrowsLineProtocolParseException_expectError()
+      throws Exception {
+    Mockito.when(
+            this.ingressService.processLineProtocol(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenThrow(
+            new PartialIngressException(
+                2, new LineProtocolParseException("Line 3: missing tag value")));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.TEXT_PLAIN)
+            .content("data,location= humidity=62i");
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80004))
+        .andExpect(
+            jsonPath("$.message")
+                .value(
+                    "Request could not be processed. Please check if the line protocol syntax is valid. Line 3: missing tag value"))
+        .andExpect(jsonPath("$.accepted").value(2));
+  }
+
+  @Test
+  public void testIngressColumns_withValidBlocks_expectBlocksPassedToService() throws Exception {
+    final var body =
+        """
+        {
+          "blocks": [
+            {
+              "measurement": "data",
+              "tags": [{"name": "location", "value": "b112"}],
+              "timestamps": [1714564800000, 1714564801000],
+              "fields": [
+                {"name": "temperature", "datatype": "FLOAT", "values": [19.74, 19.8]},
+                {"name": "humidity", "datatype": "INTEGER", "values": [62, 63]},
+                {"name": "state", "datatype": "STRING", "values": ["on", "off"]}
+              ]
+            }
+          ]
+        }
+        """;
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/columns")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .header(LogrepositWebMvcConfiguration.IDEMPOTENCY_KEY_HEADER_NAME, "batch-42")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(jsonPath("$.data.message").value(matchesPattern(this.successfulInsertPattern)));
+
+    Mockito.verify(this.ingressService, Mockito.times(1))
+        .processColumns(
+            Mockito.eq(ControllerTestUtils.sampleDevice()),
+            this.blocksArgumentCaptor.capture(),
+            Mockito.eq("batch-42"),
+            Mockito.anyLong());
+
+    final var block = this.blocksArgumentCaptor.getValue().get(0);
+
+    assertThat(block.getMeasurement()).isEqualTo("data");
+    assertThat(block.getTimestamps()).containsExactly(1714564800000L, 1714564801000L);
+    assertThat(block.getFields())
+        .extracting(ColumnDto::getClass)
+        .containsExactly(FloatColumnDto.class, IntegerColumnDto.class, StringColumnDto.class);
+    assertThat(((FloatColumnDto) block.getFields().get(0)).getValues())
+        .containsExactly(19.74, 19.8);
+    assertThat(((IntegerColumnDto) block.getFields().get(1)).getValues()).containsExactly(62, 63);
+    assertThat(((StringColumnDto) block.getFields().get(2)).getValues())
+        .containsExactly("on", "off");
+  }
+
+  @Test
+  public void testIngressColumns_withColumnLengthMismatch_expectError() throws Exception {
+    final var body =
+        """
+        {
+          "blocks": [
+            {
+              "measurement": "data",
+              "timestamps": [1714564800000, 1714564801000],
+              "fields": [
+                {"name": "temperature", "datatype": "FLOAT", "values": [19.74, 19.8]},
+                {"name": "humidity", "datatype": "INTEGER", "values": [62]}
+              ]
+            }
+          ]
+        }
+        """;
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/columns")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("ERROR"))
+        .andExpect(jsonPath("$.code").value(80005))
+        .andExpect(
+            jsonPath("$.message")
+                .value(
+                    containsString(
+                        "blocks[0].fields[1].values -> must contain one value per timestamp (expected: 2)")));
+
+    Mockito.verifyNoInteractions(this.ingressService);
+  }
+
+  private void assertBinaryIngressDataAccepted(MediaType contentType, JsonFactory jsonFactory)
+      throws Exception {
+    IngressV2RequestDto ingressDto = sampleIngressDto();
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.post("/v2/ingress/data")
+            .header(LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME, VALID_DEVICE_TOKEN)
+            .contentType(contentType)
+            .content(this.objectMapper.copyWith(jsonFactory).writeValueAsBytes(ingressDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isAccepted())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(jsonPath("$.data.message").value(matchesPattern(this.successfulInsertPattern)));
+
+    Mockito.verify(this.ingressService, Mockito.times(1))
+        .processData(
+            Mockito.eq(ControllerTestUtils.sampleDevice()),
+            this.readingsArgumentCaptor.capture(),
+            Mockito.isNull(),
+            Mockito.anyLong());
+
+    assertThat(this.readingsArgumentCaptor.getValue()).isEqualTo(ingressDto.getReadings());
+  }
+
+  private static DeviceDefinition sampleDeviceDefinition() {
+    final var humidityField = new FieldDefinition();
+
+    humidityField.setName("humidity");
+    humidityField.setDatatype(DataType.INTEGER);
+
+    final var measurementDefinition = new MeasurementDefinition();
+
+    measurementDefinition.setName("data");
+    measurementDefinition.setTags(Set.of("location", "sensor_id"));
+    measurementDefinition.setFields(Set.of(humidityField));
+
+    final var deviceDefinition = new DeviceDefinition();
+
+    deviceDefinition.setMeasurements(List.of(measurementDefinition));
+
+    return deviceDefinition;
   }
 
   private static IngressV2RequestDto sampleIngressDto() {
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.logreposit.logrepositapi.persistence.documents.Device;
 import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
@@ -18,6 +19,7 @@ import com.logreposit.logrepositapi.rest.mappers.DeviceDefinitionMapper;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.ingress.IngressService;
 import com.logreposit.logrepositapi.services.user.UserService;
 import com.logreposit.logrepositapi.utils.definition.DefinitionUpdateValidationException;
@@ -48,6 +50,8 @@ public class IngressV2ControllerDefinitionUpdateTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @MockBean private DurationCalculator durationCalculator;
 
   @MockBean private UserService userService;
@@ -148,6 +152,47 @@ public class IngressV2ControllerDefinitionUpdateTests {
         .isEqualTo(sampleDeviceDefinitionDto);
   }
 
+  @Test
+  public void testDefinitionUpdate_givenCborDefinition_expectDeviceServiceCallAndSuccess()
+      throws Exception {
+    DeviceDefinitionDto sampleDeviceDefinitionDto = getSampleDeviceDefinitionDto();
+    Device sampleDevice = ControllerTestUtils.sampleDevice();
+
+    Mockito.when(
+            this.deviceService.updateDefinition(
+                Mockito.eq(sampleDevice.getId()), Mockito.any(DeviceDefinition.class)))
+        .thenReturn(DeviceDefinitionMapper.toEntity(sampleDeviceDefinitionDto));
+
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.put("/v2/ingress/definition")
+            .header(
+                LogrepositWebMvcConfiguration.DEVICE_TOKEN_HEADER_NAME,
+                ControllerTestUtils.VALID_DEVICE_TOKEN)
+            .contentType(new MediaType("application", "cbor"))
+            .content(
+                this.objectMapper
+                    .copyWith(new CBORFactory())
+                    .writeValueAsBytes(sampleDeviceDefinitionDto));
+
+    this.controller
+        .perform(request)
+        .andDo(MockMvcResultHandlers.print())
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
+        .andExpect(jsonPath("$.status").value("SUCCESS"))
+        .andExpect(jsonPath("$.data.measurements[0].name").value("data"));
+
+    ArgumentCaptor<DeviceDefinition> deviceDefinitionArgumentCaptor =
+        ArgumentCaptor.forClass(DeviceDefinition.class);
+
+    Mockito.verify(this.deviceService, Mockito.times(1))
+        .updateDefinition(
+            Mockito.eq(sampleDevice.getId()), deviceDefinitionArgumentCaptor.capture());
+
+    assertThat(DeviceDefinitionMapper.toDto(deviceDefinitionArgumentCaptor.getValue()))
+        .isEqualTo(sampleDeviceDefinitionDto);
+  }
+
   @Test
   public void testDefinitionUpdate_givenInvalidDefinitionWithoutMeasurements_expectError()
       throws Exception {
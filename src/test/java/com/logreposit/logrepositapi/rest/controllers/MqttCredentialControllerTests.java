@@ -17,6 +17,7 @@ import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfigura
 import com.logreposit.logrepositapi.rest.dtos.request.MqttCredentialRequestDto;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialNotFoundException;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialService;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
@@ -54,6 +55,8 @@ public class MqttCredentialControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @MockBean private MqttCredentialService mqttCredentialService;
 
   @Autowired private ObjectMapper objectMapper;
@@ -9,6 +9,7 @@ import com.logreposit.logrepositapi.rest.configuration.LogrepositWebMvcConfigura
 import com.logreposit.logrepositapi.rest.controllers.ControllerTestUtils;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.mqtt.MqttCredentialService;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
 import com.logreposit.logrepositapi.services.user.UserService;
@@ -32,6 +33,8 @@ public class MqttManagementControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @MockBean private MqttCredentialService mqttCredentialService;
 
   @BeforeEach
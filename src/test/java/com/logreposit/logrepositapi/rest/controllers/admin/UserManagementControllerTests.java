@@ -15,6 +15,7 @@ import com.logreposit.logrepositapi.rest.dtos.request.UserCreationRequestDto;
 import com.logreposit.logrepositapi.rest.security.UserRoles;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
+import com.logreposit.logrepositapi.services.ingress.IngressRateLimiter;
 import com.logreposit.logrepositapi.services.user.CreatedUser;
 import com.logreposit.logrepositapi.services.user.UserAlreadyExistentException;
 import com.logreposit.logrepositapi.services.user.UserNotFoundException;
@@ -49,6 +50,8 @@ public class UserManagementControllerTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private IngressRateLimiter ingressRateLimiter;
+
   @Autowired private MockMvc controller;
 
   @Autowired private ObjectMapper objectMapper;
@@ -582,7 +585,7 @@ public class UserManagementControllerTests {
         .andExpect(
             jsonPath("$.message")
                 .value(
-                    "Given MediaType 'application/xml;charset=UTF-8' is not supported. Supported MediaTypes are: application/*+json, application/json"));
+                    "Given MediaType 'application/xml;charset=UTF-8' is not supported. Supported MediaTypes are: application/*+json, application/cbor, application/json, application/msgpack, application/x-jackson-smile, application/x-msgpack"));
   }
 
   @Test
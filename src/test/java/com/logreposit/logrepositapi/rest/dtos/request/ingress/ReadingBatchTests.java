@@ -0,0 +1,164 @@
+package com.logreposit.logrepositapi.rest.dtos.request.ingress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@JsonTest
+public class ReadingBatchTests {
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  public void testOf_givenReadings_expectEqualList() {
+    final var readings = sampleReadings();
+
+    final var batch = ReadingBatch.of(readings);
+
+    assertThat(batch).isEqualTo(readings);
+    assertThat(batch.fieldCount()).isEqualTo(4);
+    assertThat(ReadingBatch.of(batch)).isSameAs(batch);
+  }
+
+  @Test
+  public void testSerialize_givenBatch_expectSameJsonAsReadings() throws JsonProcessingException {
+    final var readings = sampleReadings();
+
+    assertThat(this.objectMapper.writeValueAsString(ReadingBatch.of(readings)))
+        .isEqualTo(this.objectMapper.writeValueAsString(new ArrayList<>(readings)));
+  }
+
+  @Test
+  public void testDeserialize_givenSerializedReadings_expectEqualReadings()
+      throws JsonProcessingException {
+    final var readings = List.of(sampleReadings().get(0));
+    final var json = this.objectMapper.writeValueAsString(readings);
+
+    final var batch = this.objectMapper.readValue(json, ReadingBatch.class);
+
+    assertThat(batch).isEqualTo(readings);
+    assertThat(batch)
+        .isEqualTo(this.objectMapper.readValue(json, new TypeReference<List<ReadingDto>>() {}));
+  }
+
+  @Test
+  public void testDeserialize_givenValueBeforeDatatypeAndCoercibleValues_expectValuesRead()
+      throws JsonProcessingException {
+    final var json =
+        """
+        [{"date": "2024-01-01T00:00:00Z", "measurement": "data", "unknown": {"a": 1},
+          "fields": [
+            {"value": "12", "name": "counter", "datatype": "INTEGER"},
+            {"name": "temperature", "datatype": "FLOAT", "value": 21},
+            {"name": "state", "value": "on", "datatype": "STRING"}]}]
+        """;
+
+    final var batch = this.objectMapper.readValue(json, ReadingBatch.class);
+
+    assertThat(batch).hasSize(1);
+    assertThat(batch.get(0).getTags()).isEmpty();
+    assertThat(batch.get(0).getFields())
+        .extracting(FieldDto::getName, FieldDto::getDatatype)
+        .containsExactly(
+            tuple("counter", DataType.INTEGER),
+            tuple("temperature", DataType.FLOAT),
+            tuple("state", DataType.STRING));
+    assertThat(batch.integerValue(0)).isEqualTo(12L);
+    assertThat(batch.floatValue(1)).isEqualTo(21.0);
+    assertThat(batch.stringValue(2)).isEqualTo("on");
+  }
+
+  @Test
+  public void testDeserialize_givenUnknownDatatype_expectException() {
+    final var json =
+        """
+        [{"measurement": "data", "fields": [{"name": "counter", "datatype": "BOOLEAN"}]}]
+        """;
+
+    assertThatThrownBy(() -> this.objectMapper.readValue(json, ReadingBatch.class))
+        .isInstanceOf(MismatchedInputException.class);
+  }
+
+  @Test
+  public void testAddAll_givenBatches_expectNamesRemapped() {
+    final var first = ReadingBatch.builder();
+
+    first.startReading().date(Instant.EPOCH).measurement("data").tag("location", "b112");
+    first.integerField(first.intern("counter"), 1);
+
+    final var second = ReadingBatch.builder();
+
+    second.startReading().date(Instant.EPOCH).measurement("other").tag("room", "b112");
+    second.integerField(second.intern("counter"), 2);
+
+    final var combined = ReadingBatch.builder();
+
+    combined.addAll(first.build());
+    combined.addAll(second.build());
+
+    final var batch = combined.build();
+
+    assertThat(batch).extracting(ReadingDto::getMeasurement).containsExactly("data", "other");
+    assertThat(batch.get(1).getTags())
+        .extracting(TagDto::getName, TagDto::getValue)
+        .containsExactly(tuple("room", "b112"));
+    assertThat(batch.fieldName(1)).isEqualTo("counter");
+    assertThat(batch.integerValue(1)).isEqualTo(2L);
+    assertThat(batch.dictionarySize()).isEqualTo(6);
+  }
+
+  private static List<ReadingDto> sampleReadings() {
+    final var tag = new TagDto();
+
+    tag.setName("location");
+    tag.setValue("b112");
+
+    final var temperature = new FloatFieldDto();
+
+    temperature.setName("temperature");
+    temperature.setDatatype(DataType.FLOAT);
+    temperature.setValue(21.5);
+
+    final var counter = new IntegerFieldDto();
+
+    counter.setName("counter");
+    counter.setDatatype(DataType.INTEGER);
+    counter.setValue(-3L);
+
+    final var state = new StringFieldDto();
+
+    state.setName("state");
+    state.setDatatype(DataType.STRING);
+
+    final var first = new ReadingDto();
+
+    first.setDate(Instant.parse("2024-01-01T12:00:00.123456789Z"));
+    first.setMeasurement("data");
+    first.setTags(List.of(tag));
+    first.setFields(List.of(temperature, counter, state));
+
+    final var untyped = new FieldDto();
+
+    untyped.setName("untyped");
+
+    final var second = new ReadingDto();
+
+    second.setFields(List.of(untyped));
+
+    return List.of(first, second);
+  }
+}
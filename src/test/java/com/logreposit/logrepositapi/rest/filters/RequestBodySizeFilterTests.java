@@ -0,0 +1,70 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestBodySizeFilterTests {
+  private static final byte[] BODY =
+      "{\"readings\":[]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+  private final RequestBodySizeFilter filter = new RequestBodySizeFilter();
+
+  @Test
+  public void testDoFilter_givenBodyRead_expectSizeCounted() throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+
+    request.setContent(BODY);
+
+    this.filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (req, res) -> {
+          assertThat(RequestBodySizeFilter.getRequestBodySize(req)).isZero();
+
+          req.getInputStream().readAllBytes();
+        });
+
+    assertThat(RequestBodySizeFilter.getRequestBodySize(request)).isEqualTo(BODY.length);
+  }
+
+  @Test
+  public void testDoFilter_givenCompressedBody_expectDecompressedSizeCounted() throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+
+    request.addHeader("Content-Encoding", "gzip");
+    request.setContent(gzip(BODY));
+
+    new RequestDecompressionFilter(JsonMapper.builder().build(), 10_000)
+        .doFilter(
+            request,
+            new MockHttpServletResponse(),
+            (decompressed, response) ->
+                this.filter.doFilter(
+                    decompressed, response, (req, res) -> req.getInputStream().readAllBytes()));
+
+    assertThat(RequestBodySizeFilter.getRequestBodySize(request)).isEqualTo(BODY.length);
+  }
+
+  @Test
+  public void testGetRequestBodySize_givenRequestNotFiltered_expectZero() {
+    assertThat(RequestBodySizeFilter.getRequestBodySize(new MockHttpServletRequest())).isZero();
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    final var outputStream = new ByteArrayOutputStream();
+
+    try (final var gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(content);
+    }
+
+    return outputStream.toByteArray();
+  }
+}
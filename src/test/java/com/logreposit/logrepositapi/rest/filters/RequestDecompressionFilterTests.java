@@ -0,0 +1,136 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.luben.zstd.Zstd;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestDecompressionFilterTests {
+  private static final String BODY = "{\"readings\":[]}".repeat(100);
+
+  private final RequestDecompressionFilter filter =
+      new RequestDecompressionFilter(JsonMapper.builder().build(), 10_000);
+
+  @Test
+  public void testDoFilter_givenGzipBody_expectDecompressedBodyWithoutEncodingHeaders()
+      throws Exception {
+    final var request = request("gzip", gzip(BODY.getBytes(StandardCharsets.UTF_8)));
+    final var filtered = new AtomicReference<HttpServletRequest>();
+    final var body = new AtomicReference<String>();
+
+    this.filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (req, res) -> {
+          filtered.set((HttpServletRequest) req);
+          body.set(readBody(req));
+        });
+
+    assertThat(body.get()).isEqualTo(BODY);
+    assertThat(filtered.get().getHeader("Content-Encoding")).isNull();
+    assertThat(filtered.get().getContentLengthLong()).isEqualTo(-1);
+    assertThat(Collections.list(filtered.get().getHeaderNames()))
+        .contains("Content-Type")
+        .doesNotContain("Content-Encoding", "Content-Length");
+  }
+
+  @Test
+  public void testDoFilter_givenZstdBody_expectDecompressedBody() throws Exception {
+    final var request = request("zstd", Zstd.compress(BODY.getBytes(StandardCharsets.UTF_8)));
+    final var body = new AtomicReference<String>();
+
+    this.filter.doFilter(
+        request, new MockHttpServletResponse(), (req, res) -> body.set(readBody(req)));
+
+    assertThat(body.get()).isEqualTo(BODY);
+  }
+
+  @Test
+  public void testDoFilter_givenBodyInflatingBeyondLimit_expectRequestBodyTooLargeException()
+      throws Exception {
+    final var request = request("gzip", gzip(new byte[1_000_000]));
+
+    assertThatThrownBy(
+            () ->
+                this.filter.doFilter(
+                    request, new MockHttpServletResponse(), (req, res) -> readBody(req)))
+        .isInstanceOf(RequestBodyTooLargeException.class)
+        .hasMessage("Decompressed request body exceeds 10000 bytes");
+  }
+
+  @Test
+  public void testDoFilter_givenReadListener_expectIllegalStateException() throws Exception {
+    final var request = request("gzip", gzip(BODY.getBytes(StandardCharsets.UTF_8)));
+
+    this.filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (req, res) ->
+            assertThatThrownBy(() -> req.getInputStream().setReadListener(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Decompressed request bodies can only be read with blocking I/O"));
+  }
+
+  @Test
+  public void testDoFilter_givenUncompressedBody_expectRequestPassedUnchanged() throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+    final var filtered = new AtomicReference<ServletRequest>();
+
+    this.filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> filtered.set(req));
+
+    assertThat(filtered.get()).isSameAs(request);
+  }
+
+  @Test
+  public void testDoFilter_givenUnsupportedEncoding_expectUnsupportedMediaType() throws Exception {
+    final var request = request("br", new byte[] {1, 2, 3});
+    final var response = new MockHttpServletResponse();
+
+    this.filter.doFilter(
+        request,
+        response,
+        (req, res) -> {
+          throw new AssertionError("Request must not be passed on");
+        });
+
+    assertThat(response.getStatus()).isEqualTo(415);
+    assertThat(response.getHeader("Accept-Encoding")).isEqualTo("gzip, zstd");
+    assertThat(response.getContentAsString()).contains("\"code\":80018");
+  }
+
+  private static MockHttpServletRequest request(String contentEncoding, byte[] content) {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+
+    request.addHeader("Content-Encoding", contentEncoding);
+    request.addHeader("Content-Type", "application/json");
+    request.setContent(content);
+
+    return request;
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    final var outputStream = new ByteArrayOutputStream();
+
+    try (final var gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(content);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  private static String readBody(ServletRequest request) throws IOException {
+    return new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+  }
+}
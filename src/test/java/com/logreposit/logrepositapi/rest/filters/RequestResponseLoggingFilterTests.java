@@ -0,0 +1,121 @@
+package com.logreposit.logrepositapi.rest.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.rest.security.LogrepositAuthenticationAndAuthorizationInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestResponseLoggingFilterTests {
+  private final Logger logger =
+      (Logger) LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
+
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+  @BeforeEach
+  public void setUp() {
+    this.appender.start();
+    this.logger.addAppender(this.appender);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.logger.detachAppender(this.appender);
+  }
+
+  @Test
+  public void testDoFilter_givenSuccessfulRequest_expectSingleInfoLine() throws Exception {
+    final var request = new MockHttpServletRequest("GET", "/v1/devices");
+    final var response = new MockHttpServletResponse();
+
+    request.addHeader("User-Agent", "curl/8.5.0");
+
+    new RequestResponseLoggingFilter(0.0).doFilter(request, response, new MockFilterChain());
+
+    assertThat(this.appender.list).hasSize(1);
+    assertThat(this.appender.list.getFirst().getLevel()).isEqualTo(Level.INFO);
+    assertThat(this.appender.list.getFirst().getFormattedMessage())
+        .startsWith("method=GET uri=/v1/devices status=200 duration_us=")
+        .endsWith("ip=127.0.0.1 user_agent=\"curl/8.5.0\"");
+  }
+
+  @Test
+  public void testDoFilter_givenSuccessfulIngressRequestNotSampled_expectNothingLogged()
+      throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+
+    new RequestResponseLoggingFilter(0.0)
+        .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(this.appender.list).isEmpty();
+  }
+
+  @Test
+  public void testDoFilter_givenSuccessfulIngressRequestSampled_expectDeviceLogged()
+      throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+    final var device = new Device();
+
+    device.setId("device-1");
+    device.setUserId("user-1");
+
+    request.setAttribute(
+        LogrepositAuthenticationAndAuthorizationInterceptor.AUTHENTICATED_DEVICE_ATTRIBUTE, device);
+
+    new RequestResponseLoggingFilter(1.0)
+        .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(this.appender.list).hasSize(1);
+    assertThat(this.appender.list.getFirst().getFormattedMessage())
+        .contains(" user=user-1 device=device-1 ");
+  }
+
+  @Test
+  public void testDoFilter_givenFailedIngressRequest_expectErrorLoggedWithClientInfo()
+      throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/v2/ingress/data");
+    final var response = new MockHttpServletResponse();
+
+    request.setQueryString("a=b");
+    request.addHeader("referer", "https://example.com");
+
+    new RequestResponseLoggingFilter(0.0)
+        .doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(400));
+
+    assertThat(this.appender.list).hasSize(1);
+    assertThat(this.appender.list.getFirst().getLevel()).isEqualTo(Level.ERROR);
+    assertThat(this.appender.list.getFirst().getFormattedMessage())
+        .contains("status=400")
+        .contains("full_url=\"http://localhost/v2/ingress/data?a=b\"")
+        .contains("referer=\"https://example.com\"");
+  }
+
+  @Test
+  public void testDoFilter_givenAsyncRequest_expectLoggedOnCompletion() throws Exception {
+    final var request = new MockHttpServletRequest("PUT", "/v1/devices/1");
+    final var response = new MockHttpServletResponse();
+
+    request.setAsyncSupported(true);
+
+    new RequestResponseLoggingFilter(0.0)
+        .doFilter(request, response, (req, res) -> req.startAsync());
+
+    assertThat(this.appender.list).isEmpty();
+
+    response.setStatus(503);
+    request.getAsyncContext().complete();
+
+    assertThat(this.appender.list).hasSize(1);
+    assertThat(this.appender.list.getFirst().getFormattedMessage()).contains("status=503");
+  }
+}
@@ -0,0 +1,101 @@
+package com.logreposit.logrepositapi.rest.mappers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringColumnDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ColumnBlockMapperTests {
+  @Test
+  public void testToReadings_givenBlocks_expectOneReadingPerRow() {
+    final var blocks = List.of(sampleBlock(), sampleBlock());
+
+    blocks.get(1).setMeasurement("other");
+
+    final var readings = ColumnBlockMapper.toReadings(blocks);
+
+    assertThat(readings)
+        .extracting(ReadingDto::getMeasurement, ReadingDto::getDate)
+        .containsExactly(
+            tuple("data", Instant.ofEpochMilli(1000)),
+            tuple("data", Instant.ofEpochMilli(2000)),
+            tuple("other", Instant.ofEpochMilli(1000)),
+            tuple("other", Instant.ofEpochMilli(2000)));
+
+    final var second = readings.get(1);
+
+    assertThat(second.getTags())
+        .extracting(TagDto::getName, TagDto::getValue)
+        .containsExactly(tuple("location", "b112"));
+    assertThat(second.getFields())
+        .extracting(FieldDto::getName, FieldDto::getDatatype)
+        .containsExactly(
+            tuple("temperature", DataType.FLOAT),
+            tuple("counter", DataType.INTEGER),
+            tuple("state", DataType.STRING));
+    assertThat(((FloatFieldDto) second.getFields().get(0)).getValue()).isEqualTo(21.5);
+    assertThat(((IntegerFieldDto) second.getFields().get(1)).getValue()).isEqualTo(2L);
+    assertThat(((StringFieldDto) second.getFields().get(2)).getValue()).isEqualTo("off");
+  }
+
+  @Test
+  public void testToReadings_givenBlocks_expectNamesStoredOnce() {
+    final var readings = ColumnBlockMapper.toReadings(List.of(sampleBlock(), sampleBlock()));
+
+    assertThat(readings.size()).isEqualTo(4);
+    assertThat(readings.fieldCount()).isEqualTo(12);
+    assertThat(readings.dictionarySize()).isEqualTo(8);
+  }
+
+  @Test
+  public void testCountRowsAndFields_givenBlocks_expectRowsTimesColumns() {
+    final var blocks = List.of(sampleBlock(), sampleBlock());
+
+    assertThat(ColumnBlockMapper.countRows(blocks)).isEqualTo(4);
+    assertThat(ColumnBlockMapper.countFields(blocks)).isEqualTo(12);
+  }
+
+  private static ColumnBlockDto sampleBlock() {
+    final var tag = new TagDto();
+
+    tag.setName("location");
+    tag.setValue("b112");
+
+    final var temperature = new FloatColumnDto();
+
+    temperature.setName("temperature");
+    temperature.setValues(new double[] {20.5, 21.5});
+
+    final var counter = new IntegerColumnDto();
+
+    counter.setName("counter");
+    counter.setValues(new long[] {1, 2});
+
+    final var state = new StringColumnDto();
+
+    state.setName("state");
+    state.setValues(new String[] {"on", "off"});
+
+    final var block = new ColumnBlockDto();
+
+    block.setMeasurement("data");
+    block.setTags(List.of(tag));
+    block.setTimestamps(new long[] {1000, 2000});
+    block.setFields(List.of(temperature, counter, state));
+
+    return block;
+  }
+}
@@ -8,6 +8,7 @@ import com.logreposit.logrepositapi.persistence.documents.User;
 import com.logreposit.logrepositapi.persistence.repositories.ApiKeyRepository;
 import com.logreposit.logrepositapi.rest.security.UserRoles;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
@@ -27,6 +28,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 public class ApiKeyServiceImplTests {
   @MockBean private ApiKeyRepository apiKeyRepository;
 
+  @MockBean private AuthenticationCache authenticationCache;
+
   @Captor private ArgumentCaptor<ApiKey> apiKeyArgumentCaptor;
 
   @Captor private ArgumentCaptor<PageRequest> pageRequestArgumentCaptor;
@@ -35,7 +38,7 @@ public class ApiKeyServiceImplTests {
 
   @BeforeEach
   public void setUp() {
-    this.apiKeyService = new ApiKeyServiceImpl(this.apiKeyRepository);
+    this.apiKeyService = new ApiKeyServiceImpl(this.apiKeyRepository, this.authenticationCache);
   }
 
   @Test
@@ -188,6 +191,8 @@ public class ApiKeyServiceImplTests {
     Mockito.verify(this.apiKeyRepository, Mockito.times(1))
         .findByIdAndUserId(Mockito.eq(apiKeyId), Mockito.eq(userId));
     Mockito.verify(this.apiKeyRepository, Mockito.times(1)).delete(Mockito.eq(existentApiKey));
+    Mockito.verify(this.authenticationCache, Mockito.times(1))
+        .invalidateApiKey(Mockito.eq(existentApiKey.getKey()));
 
     assertThat(apiKey).isSameAs(existentApiKey);
   }
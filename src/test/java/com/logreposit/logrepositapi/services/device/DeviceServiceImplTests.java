@@ -3,12 +3,12 @@ package com.logreposit.logrepositapi.services.device;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.dtos.DeviceCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.utils.MessageFactory;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
 import com.logreposit.logrepositapi.persistence.documents.Device;
 import com.logreposit.logrepositapi.persistence.documents.DeviceToken;
 import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
@@ -17,7 +17,10 @@ import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefini
 import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceRepository;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceTokenRepository;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
+import com.logreposit.logrepositapi.services.ingress.IngressStageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -49,21 +52,26 @@ public class DeviceServiceImplTests {
 
   @Captor private ArgumentCaptor<PageRequest> pageRequestArgumentCaptor;
 
+  private AuthenticationCache authenticationCache;
+
   private DeviceServiceImpl deviceService;
 
   @BeforeEach
   public void setUp() {
+    this.authenticationCache = new AuthenticationCache(new ApplicationConfiguration());
+
     this.deviceService =
         new DeviceServiceImpl(
             this.deviceRepository,
             this.deviceTokenRepository,
             this.messageFactory,
-            this.messageSender);
+            this.messageSender,
+            this.authenticationCache,
+            new IngressStageTimer(new SimpleMeterRegistry()));
   }
 
   @Test
-  public void testCreate()
-      throws DeviceServiceException, JsonProcessingException, MessageSenderException {
+  public void testCreate() throws DeviceServiceException, MessageSenderException {
     String email = "admin@localhost";
 
     final var device = new Device();
@@ -185,6 +193,62 @@ public class DeviceServiceImplTests {
     assertThat(result).isSameAs(existentDevice);
   }
 
+  @Test
+  public void testGetByDeviceToken_givenCachedToken_expectNoDatabaseLookup()
+      throws DeviceTokenNotFoundException, DeviceNotFoundException {
+    final var deviceToken = UUID.randomUUID().toString();
+    final var existentDevice = this.mockDeviceForToken(deviceToken);
+
+    final var first = this.deviceService.getByDeviceToken(deviceToken);
+    final var second = this.deviceService.getByDeviceToken(deviceToken);
+
+    assertThat(first).isSameAs(existentDevice);
+    assertThat(second).isSameAs(existentDevice);
+
+    Mockito.verify(this.deviceTokenRepository, Mockito.times(1))
+        .findByToken(Mockito.eq(deviceToken));
+    Mockito.verify(this.deviceRepository, Mockito.times(1))
+        .findById(Mockito.eq(existentDevice.getId()));
+  }
+
+  @Test
+  public void testGetByDeviceToken_givenDeletedDevice_expectCacheInvalidated()
+      throws DeviceTokenNotFoundException, DeviceNotFoundException {
+    final var deviceToken = UUID.randomUUID().toString();
+    final var existentDevice = this.mockDeviceForToken(deviceToken);
+
+    Mockito.when(
+            this.deviceRepository.findByIdAndUserId(
+                Mockito.eq(existentDevice.getId()), Mockito.eq(existentDevice.getUserId())))
+        .thenReturn(Optional.of(existentDevice));
+
+    this.deviceService.getByDeviceToken(deviceToken);
+    this.deviceService.delete(existentDevice.getId(), existentDevice.getUserId());
+
+    assertThat(this.authenticationCache.getDevice(deviceToken)).isEmpty();
+
+    this.deviceService.getByDeviceToken(deviceToken);
+
+    Mockito.verify(this.deviceTokenRepository, Mockito.times(2))
+        .findByToken(Mockito.eq(deviceToken));
+  }
+
+  @Test
+  public void testGetByDeviceToken_givenUnknownTokenTwice_expectSingleDatabaseLookup() {
+    final var deviceToken = UUID.randomUUID().toString();
+
+    Mockito.when(this.deviceTokenRepository.findByToken(Mockito.eq(deviceToken)))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        DeviceTokenNotFoundException.class, () -> this.deviceService.getByDeviceToken(deviceToken));
+    assertThrows(
+        DeviceTokenNotFoundException.class, () -> this.deviceService.getByDeviceToken(deviceToken));
+
+    Mockito.verify(this.deviceTokenRepository, Mockito.times(1))
+        .findByToken(Mockito.eq(deviceToken));
+  }
+
   @Test
   public void testGetByDeviceToken_noSuchToken() {
     final var deviceToken = UUID.randomUUID().toString();
@@ -484,4 +548,26 @@ public class DeviceServiceImplTests {
 
     return deviceDefinition;
   }
+
+  private Device mockDeviceForToken(String token) {
+    final var existentDevice = new Device();
+
+    existentDevice.setId(UUID.randomUUID().toString());
+    existentDevice.setUserId(UUID.randomUUID().toString());
+    existentDevice.setName("some_device_92");
+
+    final var existentDeviceToken = new DeviceToken();
+
+    existentDeviceToken.setId(UUID.randomUUID().toString());
+    existentDeviceToken.setToken(token);
+    existentDeviceToken.setDeviceId(existentDevice.getId());
+    existentDeviceToken.setCreatedAt(new Date());
+
+    Mockito.when(this.deviceTokenRepository.findByToken(Mockito.eq(token)))
+        .thenReturn(Optional.of(existentDeviceToken));
+    Mockito.when(this.deviceRepository.findById(Mockito.eq(existentDevice.getId())))
+        .thenReturn(Optional.of(existentDevice));
+
+    return existentDevice;
+  }
 }
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.logreposit.logrepositapi.persistence.documents.DeviceToken;
 import com.logreposit.logrepositapi.persistence.repositories.DeviceTokenRepository;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import com.logreposit.logrepositapi.services.common.DeviceTokenNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceNotFoundException;
 import com.logreposit.logrepositapi.services.device.DeviceService;
@@ -29,6 +30,8 @@ public class DeviceTokenServiceImplTests {
 
   @MockBean private DeviceService deviceService;
 
+  @MockBean private AuthenticationCache authenticationCache;
+
   @Captor private ArgumentCaptor<DeviceToken> deviceTokenArgumentCaptor;
 
   @Captor private ArgumentCaptor<PageRequest> pageRequestArgumentCaptor;
@@ -38,7 +41,8 @@ public class DeviceTokenServiceImplTests {
   @BeforeEach
   public void setUp() {
     this.deviceTokenService =
-        new DeviceTokenServiceImpl(this.deviceTokenRepository, this.deviceService);
+        new DeviceTokenServiceImpl(
+            this.deviceTokenRepository, this.deviceService, this.authenticationCache);
   }
 
   @Test
@@ -309,6 +313,8 @@ public class DeviceTokenServiceImplTests {
         .findByIdAndDeviceId(Mockito.eq(deviceTokenId), Mockito.eq(deviceId));
     Mockito.verify(this.deviceTokenRepository, Mockito.times(1))
         .delete(Mockito.same(existentDeviceToken));
+    Mockito.verify(this.authenticationCache, Mockito.times(1))
+        .invalidateDeviceToken(Mockito.eq(existentDeviceToken.getToken()));
   }
 
   @Test
@@ -0,0 +1,142 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IngressRateLimiterTests {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ApplicationConfiguration applicationConfiguration;
+
+  @BeforeEach
+  public void setUp() {
+    this.applicationConfiguration = new ApplicationConfiguration();
+
+    final var rateLimit = this.applicationConfiguration.getRateLimit();
+
+    rateLimit.setEnabled(true);
+    rateLimit.setDevice(new ApplicationConfiguration.RateLimit(1.0, 3));
+    rateLimit.setUser(new ApplicationConfiguration.RateLimit(1.0, 5));
+  }
+
+  @Test
+  public void testTryAcquire_givenBurstExhausted_expectRetryAfterOneInterval() {
+    final var rateLimiter = this.rateLimiter();
+    final var device = device("device-1", "user-1");
+
+    for (var i = 0; i < 3; i++) {
+      assertThat(rateLimiter.tryAcquire(device)).isZero();
+    }
+
+    assertThat(rateLimiter.tryAcquire(device))
+        .isPositive()
+        .isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    assertThat(this.rejections("device")).isEqualTo(1);
+  }
+
+  @Test
+  public void testTryAcquire_givenManyDevicesOfOneUser_expectUserLimitApplied() {
+    final var rateLimiter = this.rateLimiter();
+
+    for (var i = 0; i < 5; i++) {
+      assertThat(rateLimiter.tryAcquire(device("device-" + i, "user-1"))).isZero();
+    }
+
+    assertThat(rateLimiter.tryAcquire(device("device-5", "user-1"))).isPositive();
+    assertThat(rateLimiter.tryAcquire(device("device-6", "user-2"))).isZero();
+    assertThat(this.rejections("user")).isEqualTo(1);
+  }
+
+  @Test
+  public void testTryAcquire_givenUserLimitExceeded_expectDeviceTokenNotConsumed() {
+    this.applicationConfiguration
+        .getRateLimit()
+        .setUser(new ApplicationConfiguration.RateLimit(1.0, 1));
+
+    final var rateLimiter = this.rateLimiter();
+    final var device = device("device-1", "user-1");
+
+    assertThat(rateLimiter.tryAcquire(device("device-2", "user-1"))).isZero();
+
+    for (var i = 0; i < 10; i++) {
+      assertThat(rateLimiter.tryAcquire(device)).isPositive();
+    }
+
+    // The rejected requests did not use up the burst of the device.
+    this.applicationConfiguration.getRateLimit().getUsers().put("user-1", userLimits(100));
+
+    for (var i = 0; i < 3; i++) {
+      assertThat(rateLimiter.tryAcquire(device)).isZero();
+    }
+
+    assertThat(this.rejections("user")).isEqualTo(10);
+    assertThat(this.rejections("device")).isZero();
+  }
+
+  @Test
+  public void testTryAcquire_givenUserSpecificLimits_expectDefaultsReplaced() {
+    final var userRateLimits = new ApplicationConfiguration.UserRateLimits();
+
+    userRateLimits.setDevice(new ApplicationConfiguration.RateLimit(1.0, 10));
+
+    this.applicationConfiguration.getRateLimit().getUsers().put("user-1", userRateLimits);
+
+    final var rateLimiter = this.rateLimiter();
+    final var device = device("device-1", "user-1");
+
+    for (var i = 0; i < 5; i++) {
+      assertThat(rateLimiter.tryAcquire(device)).isZero();
+    }
+
+    // The device limit of the user is raised, the user limit still is the default one.
+    assertThat(rateLimiter.tryAcquire(device)).isPositive();
+    assertThat(this.rejections("user")).isEqualTo(1);
+  }
+
+  @Test
+  public void testTryAcquire_givenDisabled_expectAlwaysAdmitted() {
+    this.applicationConfiguration.getRateLimit().setEnabled(false);
+
+    final var rateLimiter = this.rateLimiter();
+    final var device = device("device-1", "user-1");
+
+    for (var i = 0; i < 100; i++) {
+      assertThat(rateLimiter.tryAcquire(device)).isZero();
+    }
+  }
+
+  private IngressRateLimiter rateLimiter() {
+    return new IngressRateLimiter(this.applicationConfiguration, this.meterRegistry);
+  }
+
+  private static ApplicationConfiguration.UserRateLimits userLimits(int userBurst) {
+    final var userRateLimits = new ApplicationConfiguration.UserRateLimits();
+
+    userRateLimits.setUser(new ApplicationConfiguration.RateLimit(1.0, userBurst));
+
+    return userRateLimits;
+  }
+
+  private double rejections(String scope) {
+    return this.meterRegistry
+        .get("logreposit.ingress.rate_limited")
+        .tag("scope", scope)
+        .counter()
+        .count();
+  }
+
+  private static Device device(String id, String userId) {
+    final var device = new Device();
+
+    device.setId(id);
+    device.setUserId(userId);
+
+    return device;
+  }
+}
@@ -4,21 +4,37 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.common.MessageMetaData;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
+import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSpoolException;
+import com.logreposit.logrepositapi.communication.messaging.rabbitmq.BatchingRabbitMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
+import com.logreposit.logrepositapi.communication.messaging.spool.MessageSpool;
 import com.logreposit.logrepositapi.communication.messaging.utils.MessageFactory;
 import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.configuration.IngressExecutorConfiguration;
 import com.logreposit.logrepositapi.persistence.documents.Device;
 import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import com.logreposit.logrepositapi.rest.filters.RequestCorrelation;
+import com.logreposit.logrepositapi.services.usage.UsageMeter;
+import com.logreposit.logrepositapi.utils.definition.DefinitionValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -26,12 +42,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mockito;
+import org.slf4j.MDC;
+import org.springframework.amqp.AmqpConnectException;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -45,16 +68,38 @@ public class IngressServiceTests {
 
   @MockBean private RabbitMessageSender messageSender;
 
+  @MockBean private BatchingRabbitMessageSender batchingMessageSender;
+
+  @MockBean private MessageSpool messageSpool;
+
   @MockBean private MessageFactory messageFactory;
 
+  @MockBean private UsageMeter usageMeter;
+
   @Captor private ArgumentCaptor<List<ReadingDto>> readingsArgumentCaptor;
 
+  private ApplicationConfiguration.MessagePublisherConfiguration messagePublisherConfiguration;
+
+  private ApplicationConfiguration.IngressConfiguration ingressConfiguration;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final ApplicationConfiguration idempotencyApplicationConfiguration =
+      new ApplicationConfiguration();
+
   private IngressService ingressService;
 
   @BeforeEach
   public void setUp() {
-    this.ingressService =
-        new IngressService(this.applicationConfiguration, this.messageSender, this.messageFactory);
+    this.messagePublisherConfiguration =
+        new ApplicationConfiguration.MessagePublisherConfiguration();
+    this.ingressConfiguration = new ApplicationConfiguration.IngressConfiguration();
+
+    Mockito.when(this.applicationConfiguration.getMessagePublisher())
+        .thenReturn(this.messagePublisherConfiguration);
+    Mockito.when(this.applicationConfiguration.getIngress()).thenReturn(this.ingressConfiguration);
 
     Mockito.when(this.applicationConfiguration.getMessageSenderRetryCount())
         .thenReturn(MESSAGE_SENDER_RETRY_COUNT);
@@ -62,11 +107,25 @@ public class IngressServiceTests {
         .thenReturn(MESSAGE_SENDER_INITIAL_BACKOFF_INTERVAL);
     Mockito.when(this.applicationConfiguration.getMessageSenderBackOffMultiplier())
         .thenReturn(MESSAGE_SENDER_BACKOFF_MULTIPLIER);
+
+    this.ingressService =
+        new IngressService(
+            this.applicationConfiguration,
+            this.messageSender,
+            this.batchingMessageSender,
+            this.messageSpool,
+            this.messageFactory,
+            this.objectMapper,
+            Runnable::run,
+            new IngressStageTimer(this.meterRegistry),
+            this.usageMeter,
+            new IngressDeduplicator(
+                this.idempotencyApplicationConfiguration, this.objectMapper, this.meterRegistry));
   }
 
   @Test
   public void testProcessData_givenGenericData_expectSuccess()
-      throws JsonProcessingException, IngressServiceException, MessageSenderException {
+      throws IngressServiceException, MessageSenderException {
     final var device = getTestDevice();
     final var readings = sampleReadings();
     final var message = getTestMessage();
@@ -78,7 +137,7 @@ public class IngressServiceTests {
                 Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
         .thenReturn(message);
 
-    this.ingressService.processData(device, readings);
+    this.ingressService.processData(device, readings, null, 1234);
 
     Mockito.verify(this.messageFactory, Mockito.times(1))
         .buildEventGenericLogdataReceivedMessage(
@@ -91,31 +150,450 @@ public class IngressServiceTests {
     final var capturedReadings = this.readingsArgumentCaptor.getValue();
 
     assertThat(capturedReadings).isEqualTo(readings);
+
+    Mockito.verify(this.usageMeter)
+        .recordAccepted(
+            Mockito.same(device),
+            Mockito.eq((long) readings.size()),
+            Mockito.eq(readings.stream().mapToLong(r -> r.getFields().size()).sum()),
+            Mockito.eq(1234L));
+    Mockito.verify(this.usageMeter, Mockito.never())
+        .recordRejected(Mockito.any(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong());
   }
 
   @Test
-  public void testProcessData_givenGeneric_throwsJsonProcessingException()
-      throws JsonProcessingException {
+  public void testProcessData_givenGenericData_expectStagesTimed() throws IngressServiceException {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+
+    this.ingressService.processData(device, sampleReadings());
+
+    for (final var stage :
+        List.of(
+            IngressStage.DEFINITION_VALIDATION,
+            IngressStage.MESSAGE_BUILD,
+            IngressStage.MESSAGE_PUBLISH)) {
+      assertThat(
+              this.meterRegistry
+                  .get("logreposit.ingress.stage")
+                  .tag("stage", stage.getTagValue())
+                  .tag("outcome", "success")
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void testProcessData_givenRepeatedIdempotencyKey_expectPublishedOnce() throws Exception {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+
+    this.ingressService.processData(device, sampleReadings(), "batch-1", 0);
+    this.ingressService.processData(device, sampleReadings(), "batch-1", 0);
+    this.ingressService.processData(device, sampleReadings(), "batch-2", 0);
+
+    Mockito.verify(this.messageSender, Mockito.times(2)).send(Mockito.any());
+    assertThat(this.meterRegistry.get("logreposit.ingress.duplicates").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testProcessData_givenRetryWhilePublishing_expectBatchInFlightException()
+      throws Exception {
+    final var device = getTestDevice();
+    final var publishing = new CountDownLatch(1);
+    final var retried = new CountDownLatch(1);
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+    Mockito.doAnswer(
+            invocation -> {
+              publishing.countDown();
+
+              assertThat(retried.await(10, TimeUnit.SECONDS)).isTrue();
+
+              return null;
+            })
+        .when(this.messageSender)
+        .send(Mockito.any());
+
+    final var first = this.processDataInBackground(device, "batch-1");
+
+    assertThat(publishing.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThrows(
+        BatchInFlightException.class,
+        () -> this.ingressService.processData(device, sampleReadings(), "batch-1", 0));
+
+    retried.countDown();
+    first.get(10, TimeUnit.SECONDS);
+
+    this.ingressService.processData(device, sampleReadings(), "batch-1", 0);
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.any());
+    assertThat(this.meterRegistry.get("logreposit.ingress.duplicates").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testProcessData_givenPublishFailsWhileRetryInFlight_expectRetryPublishedLater()
+      throws Exception {
+    final var device = getTestDevice();
+    final var publishing = new CountDownLatch(1);
+    final var retried = new CountDownLatch(1);
+    final var failing = new AtomicBoolean(true);
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+    Mockito.doAnswer(
+            invocation -> {
+              if (!failing.get()) {
+                return null;
+              }
+
+              publishing.countDown();
+
+              assertThat(retried.await(10, TimeUnit.SECONDS)).isTrue();
+
+              throw new MessageSenderException("broker down", new RuntimeException());
+            })
+        .when(this.messageSender)
+        .send(Mockito.any());
+
+    final var first = this.processDataInBackground(device, "batch-1");
+
+    assertThat(publishing.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThrows(
+        BatchInFlightException.class,
+        () -> this.ingressService.processData(device, sampleReadings(), "batch-1", 0));
+
+    retried.countDown();
+
+    assertThat(first)
+        .failsWithin(Duration.ofSeconds(10))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IngressServiceException.class);
+
+    failing.set(false);
+
+    this.ingressService.processData(device, sampleReadings(), "batch-1", 0);
+
+    Mockito.verify(this.messageSender, Mockito.times(MESSAGE_SENDER_RETRY_COUNT + 1))
+        .send(Mockito.any());
+    assertThat(this.meterRegistry.get("logreposit.ingress.duplicates").counter().count()).isZero();
+  }
+
+  @Test
+  public void testProcessData_givenIdempotencyKeyOfFailedBatch_expectRetryPublished()
+      throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(message);
+    Mockito.doThrow(new MessageSenderException("broker down", new RuntimeException()))
+        .doThrow(new MessageSenderException("broker down", new RuntimeException()))
+        .doThrow(new MessageSenderException("broker down", new RuntimeException()))
+        .doNothing()
+        .when(this.messageSender)
+        .send(Mockito.same(message));
+
+    assertThrows(
+        IngressServiceException.class,
+        () -> this.ingressService.processData(device, sampleReadings(), "batch-1", 0));
+
+    this.ingressService.processData(device, sampleReadings(), "batch-1", 0);
+
+    Mockito.verify(this.messageSender, Mockito.times(MESSAGE_SENDER_RETRY_COUNT + 1))
+        .send(Mockito.same(message));
+  }
+
+  @Test
+  public void testProcessData_givenContentHashEnabledAndSameBatch_expectPublishedOnce()
+      throws Exception {
+    this.idempotencyApplicationConfiguration.getIdempotency().setContentHash(true);
+    this.setUp();
+
+    final var device = getTestDevice();
+    final var otherMessage = getTestMessage();
+
+    otherMessage.setPayload("{\"readings\":[]}");
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage(), getTestMessage(), otherMessage);
+
+    this.ingressService.processData(device, sampleReadings());
+    this.ingressService.processData(device, sampleReadings());
+    this.ingressService.processData(device, sampleReadings());
+
+    Mockito.verify(this.messageSender, Mockito.times(2)).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessData_givenBatchingPublisherMode_expectBatchingSenderUsed()
+      throws IngressServiceException, MessageSenderException {
     final var device = getTestDevice();
     final var readings = sampleReadings();
+    final var message = getTestMessage();
 
     device.setDefinition(sampleDeviceDefinition());
 
+    this.messagePublisherConfiguration.setMode(
+        ApplicationConfiguration.MessagePublisherMode.BATCHING);
+
     Mockito.when(
             this.messageFactory.buildEventGenericLogdataReceivedMessage(
                 Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
-        .thenThrow(new TestJsonProcessingException(""));
+        .thenReturn(message);
 
-    var e =
+    this.ingressService.processData(device, readings);
+
+    Mockito.verify(this.batchingMessageSender, Mockito.times(1))
+        .sendAndAwaitConfirm(Mockito.same(message));
+    Mockito.verify(this.messageSender, Mockito.never()).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessData_givenSpoolEnabledAndBrokerUnavailable_expectMessageSpooled()
+      throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(this.messageSpool.isEnabled()).thenReturn(true);
+    Mockito.when(this.messageSpool.isEmpty()).thenReturn(true);
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+    Mockito.doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+        .when(this.messageSender)
+        .send(Mockito.eq(message));
+
+    this.ingressService.processData(device, sampleReadings());
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.same(message));
+    Mockito.verify(this.messageSpool, Mockito.times(1)).append(Mockito.same(message));
+  }
+
+  @Test
+  public void testProcessData_givenSpoolNotEmpty_expectMessageSpooledWithoutSending()
+      throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(this.messageSpool.isEnabled()).thenReturn(true);
+    Mockito.when(this.messageSpool.isEmpty()).thenReturn(false);
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    this.ingressService.processData(device, sampleReadings());
+
+    Mockito.verify(this.messageSender, Mockito.never()).send(Mockito.any());
+    Mockito.verify(this.messageSpool, Mockito.times(1)).append(Mockito.same(message));
+  }
+
+  @Test
+  public void testProcessData_givenSpoolFull_expectIngressServiceException() throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(this.messageSpool.isEnabled()).thenReturn(true);
+    Mockito.when(this.messageSpool.isEmpty()).thenReturn(false);
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+    Mockito.doThrow(new MessageSpoolException("Message spool is full"))
+        .when(this.messageSpool)
+        .append(Mockito.same(message));
+
+    final var readings = sampleReadings();
+    final var e =
         assertThrows(
             IngressServiceException.class, () -> this.ingressService.processData(device, readings));
 
-    assertThat(e).hasMessage("Unable to create Log Data Received Message");
+    assertThat(e).hasMessage("Could not send Message");
+  }
+
+  @Test
+  public void testProcessDataAsync_givenGenericData_expectCompletedFuture() throws Exception {
+    final var device = getTestDevice();
+    final var readings = sampleReadings();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    final var future = this.ingressService.processDataAsync(device, readings);
+
+    assertThat(future).isCompleted();
+
+    future.get();
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.same(message));
+  }
+
+  @Test
+  public void testProcessDataAsync_givenLimitReached_expectRejectedUntilPermitReleased()
+      throws Exception {
+    this.ingressConfiguration.setMaximumConcurrentAsyncRequests(1);
+
+    final var tasks = new ArrayList<Runnable>();
+    final var ingressService =
+        new IngressService(
+            this.applicationConfiguration,
+            this.messageSender,
+            this.batchingMessageSender,
+            this.messageSpool,
+            this.messageFactory,
+            this.objectMapper,
+            tasks::add,
+            new IngressStageTimer(this.meterRegistry),
+            this.usageMeter,
+            new IngressDeduplicator(
+                this.idempotencyApplicationConfiguration, this.objectMapper, this.meterRegistry));
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+
+    final var first = ingressService.processDataAsync(device, sampleReadings());
+    final var rejected = ingressService.processDataAsync(device, sampleReadings());
+
+    assertThat(rejected)
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IngressOverloadedException.class);
+
+    tasks.remove(0).run();
+
+    assertThat(first).isCompleted();
+    assertThat(ingressService.processDataAsync(device, sampleReadings())).isNotDone();
+    assertThat(tasks).hasSize(1);
+  }
+
+  @Test
+  public void testProcessDataAsync_givenRequestCorrelation_expectCorrelationIdPropagated()
+      throws Exception {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    final var ingressService =
+        new IngressService(
+            this.applicationConfiguration,
+            this.messageSender,
+            this.batchingMessageSender,
+            this.messageSpool,
+            new MessageFactory(),
+            this.objectMapper,
+            new IngressExecutorConfiguration().ingressExecutor(),
+            new IngressStageTimer(this.meterRegistry),
+            this.usageMeter,
+            new IngressDeduplicator(
+                this.idempotencyApplicationConfiguration, this.objectMapper, this.meterRegistry));
+
+    RequestCorrelation.setCorrelationId("2a5c54ab-5d8e-4b09-b2c2-7eb3ad1b7b6e");
+
+    try {
+      final var context =
+          ingressService
+              .processDataAsync(device, sampleReadings())
+              .thenApply(
+                  v -> List.of(RequestCorrelation.getCorrelationId(), MDC.get("correlationId")))
+              .get();
+
+      assertThat(context)
+          .containsExactly(
+              "2a5c54ab-5d8e-4b09-b2c2-7eb3ad1b7b6e", "2a5c54ab-5d8e-4b09-b2c2-7eb3ad1b7b6e");
+    } finally {
+      RequestCorrelation.setCorrelationId(null);
+    }
+
+    final var messageCaptor = ArgumentCaptor.forClass(Message.class);
+
+    Mockito.verify(this.messageSender).send(messageCaptor.capture());
+
+    assertThat(messageCaptor.getValue().getMetaData().getCorrelationId())
+        .isEqualTo("2a5c54ab-5d8e-4b09-b2c2-7eb3ad1b7b6e");
+  }
+
+  @Test
+  public void testProcessDataAsync_givenSendMessageRetriesExceeded_expectFailedFuture()
+      throws MessageSenderException {
+    final var device = getTestDevice();
+    final var readings = sampleReadings();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    Mockito.doThrow(new MessageSenderException("some error occurred", new RuntimeException()))
+        .when(this.messageSender)
+        .send(Mockito.eq(message));
+
+    final var future = this.ingressService.processDataAsync(device, readings);
+
+    final var e = assertThrows(ExecutionException.class, future::get);
+
+    assertThat(e.getCause())
+        .isInstanceOf(IngressServiceException.class)
+        .hasMessage("Could not send Message");
   }
 
   @Test
   public void testProcessData_givenGeneric_sendMessageRetriesExceeded()
-      throws JsonProcessingException, MessageSenderException {
+      throws MessageSenderException {
     final var device = getTestDevice();
     final var readings = sampleReadings();
     final var message = getTestMessage();
@@ -133,7 +611,8 @@ public class IngressServiceTests {
 
     var e =
         assertThrows(
-            IngressServiceException.class, () -> this.ingressService.processData(device, readings));
+            IngressServiceException.class,
+            () -> this.ingressService.processData(device, readings, null, 1234));
 
     assertThat(e).hasMessage("Could not send Message");
 
@@ -143,6 +622,402 @@ public class IngressServiceTests {
 
     Mockito.verify(this.messageSender, Mockito.times(MESSAGE_SENDER_RETRY_COUNT))
         .send(Mockito.eq(message));
+
+    Mockito.verify(this.usageMeter)
+        .recordRejected(
+            Mockito.same(device),
+            Mockito.eq((long) readings.size()),
+            Mockito.anyLong(),
+            Mockito.eq(1234L));
+    Mockito.verify(this.usageMeter, Mockito.never())
+        .recordAccepted(Mockito.any(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong());
+  }
+
+  @Test
+  public void testProcessData_givenInvalidAndUndefinedReadings_expectReadingValidationException() {
+    final var device = getTestDevice();
+    final var undefinedReading = sampleReadings().get(0);
+    final var invalidReading = sampleReadings().get(0);
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    undefinedReading.setMeasurement("undefined");
+    invalidReading.setDate(null);
+
+    final var readings = List.of(undefinedReading, invalidReading);
+
+    final var e =
+        assertThrows(
+            ReadingValidationException.class,
+            () -> this.ingressService.processData(device, readings, null, 1234));
+
+    assertThat(e.getFieldErrors()).hasSize(1);
+    assertThat(e.getFieldErrors().get(0).getField()).isEqualTo("readings[1].date");
+
+    Mockito.verifyNoInteractions(this.messageFactory, this.messageSender);
+    Mockito.verify(this.usageMeter)
+        .recordRejected(Mockito.same(device), Mockito.eq(2L), Mockito.anyLong(), Mockito.eq(1234L));
+  }
+
+  @Test
+  public void testProcessDataStream_givenMoreReadingsThanChunkSize_expectPublishedInChunks()
+      throws Exception {
+    final var device = getTestDevice();
+    final var reading = sampleReadings().get(0);
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    this.ingressConfiguration.setStreamingChunkSize(2);
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    final var body =
+        this.requestBody(
+            "{\"other\":{\"a\":[1,2]},\"readings\":%s,\"trailing\":true}",
+            List.of(reading, reading, reading, reading, reading));
+    final var bodySize = body.available();
+
+    final var accepted = this.ingressService.processDataStream(device, body);
+
+    assertThat(accepted).isEqualTo(5);
+
+    Mockito.verify(this.messageFactory, Mockito.times(3))
+        .buildEventGenericLogdataReceivedMessage(
+            this.readingsArgumentCaptor.capture(),
+            Mockito.eq(device.getId()),
+            Mockito.eq(device.getUserId()));
+
+    Mockito.verify(this.messageSender, Mockito.times(3)).send(Mockito.same(message));
+
+    assertThat(this.readingsArgumentCaptor.getAllValues())
+        .extracting(List::size)
+        .containsExactly(2, 2, 1);
+    assertThat(this.readingsArgumentCaptor.getAllValues().get(0).get(0)).isEqualTo(reading);
+
+    final var bytesCaptor = ArgumentCaptor.forClass(Long.class);
+
+    Mockito.verify(this.usageMeter, Mockito.times(3))
+        .recordAccepted(
+            Mockito.same(device), Mockito.anyLong(), Mockito.anyLong(), bytesCaptor.capture());
+
+    assertThat(bytesCaptor.getAllValues().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(bodySize);
+  }
+
+  @Test
+  public void testProcessDataStream_givenInvalidReading_expectReadingValidationException()
+      throws Exception {
+    final var device = getTestDevice();
+    final var reading = sampleReadings().get(0);
+    final var invalidReading = sampleReadings().get(0);
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    invalidReading.setMeasurement(" ");
+
+    this.ingressConfiguration.setStreamingChunkSize(1);
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+
+    final var body = this.requestBody("{\"readings\":%s}", List.of(reading, invalidReading));
+
+    final var partial =
+        assertThrows(
+            PartialIngressException.class,
+            () -> this.ingressService.processDataStream(device, body));
+
+    assertThat(partial.getAccepted()).isEqualTo(1);
+    assertThat(partial).cause().isInstanceOf(ReadingValidationException.class);
+
+    final var e = (ReadingValidationException) partial.getCause();
+
+    assertThat(e.getFieldErrors()).hasSize(1);
+    assertThat(e.getFieldErrors().get(0).getField()).isEqualTo("readings[1].measurement");
+    assertThat(e.getFieldErrors().get(0).getDefaultMessage()).isEqualTo("must not be blank");
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessDataStream_givenUndefinedMeasurement_expectDefinitionValidationException()
+      throws Exception {
+    final var device = getTestDevice();
+    final var reading = sampleReadings().get(0);
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    reading.setMeasurement("unknown");
+
+    final var body = this.requestBody("{\"readings\":%s}", List.of(reading));
+
+    final var e =
+        assertThrows(
+            PartialIngressException.class,
+            () -> this.ingressService.processDataStream(device, body));
+
+    assertThat(e.getAccepted()).isZero();
+    assertThat(e)
+        .cause()
+        .isInstanceOf(DefinitionValidationException.class)
+        .hasMessage("Measurement with name 'unknown' does not exist for the given device.");
+
+    Mockito.verify(this.messageSender, Mockito.never()).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessDataStream_givenMalformedJson_expectReadingStreamParseException() {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    final var body =
+        new ByteArrayInputStream(
+            "{\"readings\":[{\"measurement\":".getBytes(StandardCharsets.UTF_8));
+
+    final var e =
+        assertThrows(
+            PartialIngressException.class,
+            () -> this.ingressService.processDataStream(device, body));
+
+    assertThat(e.getAccepted()).isZero();
+    assertThat(e).cause().isInstanceOf(ReadingStreamParseException.class);
+  }
+
+  @Test
+  public void testProcessDataStream_givenEmptyReadings_expectNothingPublished() throws Exception {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    final var body = new ByteArrayInputStream("{\"readings\":[]}".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(this.ingressService.processDataStream(device, body)).isZero();
+
+    Mockito.verify(this.messageSender, Mockito.never()).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessDataStream_givenNoReadingsField_expectReadingStreamParseException()
+      throws Exception {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    final var body = new ByteArrayInputStream("{\"other\":[]}".getBytes(StandardCharsets.UTF_8));
+
+    final var e =
+        assertThrows(
+            PartialIngressException.class,
+            () -> this.ingressService.processDataStream(device, body));
+
+    assertThat(e).cause().isInstanceOf(ReadingStreamParseException.class);
+
+    Mockito.verify(this.messageSender, Mockito.never()).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessLineProtocol_givenValidLines_expectPublishedInChunks() throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    this.ingressConfiguration.setStreamingChunkSize(2);
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    final var body =
+        lineProtocol(
+            "data,location=b112_312b,sensor_id=0x14402 temperature=19.74 1714564800",
+            "data,location=b112_312b temperature=19.8 1714564801",
+            "data temperature=19.9 1714564802");
+
+    final var accepted =
+        this.ingressService.processLineProtocol(device, body, LineProtocolPrecision.SECONDS);
+
+    assertThat(accepted).isEqualTo(3);
+
+    Mockito.verify(this.messageFactory, Mockito.times(2))
+        .buildEventGenericLogdataReceivedMessage(
+            this.readingsArgumentCaptor.capture(),
+            Mockito.eq(device.getId()),
+            Mockito.eq(device.getUserId()));
+
+    Mockito.verify(this.messageSender, Mockito.times(2)).send(Mockito.same(message));
+
+    assertThat(this.readingsArgumentCaptor.getAllValues())
+        .extracting(List::size)
+        .containsExactly(2, 1);
+
+    final var reading = this.readingsArgumentCaptor.getAllValues().get(0).get(0);
+    final var expectedReading = sampleReadings().get(0);
+
+    expectedReading.setDate(Instant.parse("2024-05-01T12:00:00Z"));
+
+    assertThat(reading).isEqualTo(expectedReading);
+  }
+
+  @Test
+  public void testProcessLineProtocol_givenWrongFieldType_expectDefinitionValidationException() {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    final var body = lineProtocol("data temperature=19i");
+
+    final var e =
+        assertThrows(
+            PartialIngressException.class,
+            () ->
+                this.ingressService.processLineProtocol(
+                    device, body, LineProtocolPrecision.NANOSECONDS));
+
+    assertThat(e.getAccepted()).isZero();
+    assertThat(e)
+        .cause()
+        .isInstanceOf(DefinitionValidationException.class)
+        .hasMessage(
+            "Field with name 'temperature' within Measurement with name 'data' does not have the correct dataType defined. Given: INTEGER / Expected: FLOAT");
+
+    Mockito.verify(this.usageMeter, Mockito.times(1)).recordRejected(device, 1, 1, 20);
+  }
+
+  @Test
+  public void testProcessLineProtocol_givenMalformedLine_expectLineProtocolParseException()
+      throws Exception {
+    final var device = getTestDevice();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    this.ingressConfiguration.setStreamingChunkSize(1);
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericLogdataReceivedMessage(
+                Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(getTestMessage());
+
+    final var body = lineProtocol("data temperature=19.74", "data temperature=");
+
+    final var e =
+        assertThrows(
+            PartialIngressException.class,
+            () ->
+                this.ingressService.processLineProtocol(
+                    device, body, LineProtocolPrecision.NANOSECONDS));
+
+    assertThat(e.getAccepted()).isEqualTo(1);
+    assertThat(e)
+        .cause()
+        .isInstanceOf(LineProtocolParseException.class)
+        .hasMessage("Line 2: missing value of field 'temperature'");
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.any());
+  }
+
+  @Test
+  public void testProcessColumns_givenValidBlocks_expectPublishedAsColumns() throws Exception {
+    final var device = getTestDevice();
+    final var message = getTestMessage();
+    final var blocks = List.of(sampleColumnBlock(), sampleColumnBlock());
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    Mockito.when(
+            this.messageFactory.buildEventGenericColumnarLogdataReceivedMessage(
+                Mockito.same(blocks), Mockito.eq(device.getId()), Mockito.eq(device.getUserId())))
+        .thenReturn(message);
+
+    this.ingressService.processColumns(device, blocks, null, 2048);
+
+    Mockito.verify(this.messageSender, Mockito.times(1)).send(Mockito.same(message));
+    Mockito.verify(this.messageFactory, Mockito.never())
+        .buildEventGenericLogdataReceivedMessage(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(this.usageMeter)
+        .recordAccepted(Mockito.same(device), Mockito.eq(6L), Mockito.eq(6L), Mockito.eq(2048L));
+  }
+
+  @Test
+  public void testProcessColumns_givenUndefinedField_expectDefinitionValidationException() {
+    final var device = getTestDevice();
+    final var block = sampleColumnBlock();
+
+    device.setDefinition(sampleDeviceDefinition());
+
+    block.getFields().get(0).setName("humidity");
+
+    final var blocks = List.of(block);
+
+    final var e =
+        assertThrows(
+            DefinitionValidationException.class,
+            () -> this.ingressService.processColumns(device, blocks, null, 0));
+
+    assertThat(e)
+        .hasMessage(
+            "Field with name 'humidity' does not exist within Measurement with name 'data' for the given device.");
+
+    Mockito.verify(this.usageMeter, Mockito.times(1)).recordRejected(device, 3, 3, 0);
+    Mockito.verifyNoInteractions(this.messageSender);
+  }
+
+  private static ColumnBlockDto sampleColumnBlock() {
+    final var tag = new TagDto();
+
+    tag.setName("location");
+    tag.setValue("b112_312b");
+
+    final var temperature = new FloatColumnDto();
+
+    temperature.setName("temperature");
+    temperature.setValues(new double[] {19.74, 19.8, 19.9});
+
+    final var block = new ColumnBlockDto();
+
+    block.setMeasurement("data");
+    block.setTags(List.of(tag));
+    block.setTimestamps(new long[] {1714564800000L, 1714564801000L, 1714564802000L});
+    block.setFields(List.of(temperature));
+
+    return block;
+  }
+
+  private CompletableFuture<Void> processDataInBackground(Device device, String idempotencyKey) {
+    final var future = new CompletableFuture<Void>();
+
+    new Thread(
+            () -> {
+              try {
+                this.ingressService.processData(device, sampleReadings(), idempotencyKey, 0);
+
+                future.complete(null);
+              } catch (IngressServiceException | RuntimeException e) {
+                future.completeExceptionally(e);
+              }
+            })
+        .start();
+
+    return future;
+  }
+
+  private static ByteArrayInputStream lineProtocol(String... lines) {
+    return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private ByteArrayInputStream requestBody(String template, List<ReadingDto> readings)
+      throws JsonProcessingException {
+    final var json = String.format(template, this.objectMapper.writeValueAsString(readings));
+
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
   }
 
   private static Device getTestDevice() {
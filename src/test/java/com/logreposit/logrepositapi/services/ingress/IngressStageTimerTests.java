@@ -0,0 +1,84 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IngressStageTimerTests {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final IngressStageTimer ingressStageTimer = new IngressStageTimer(this.meterRegistry);
+
+  @TempDir private Path directory;
+
+  @Test
+  public void testRecord_givenSuccessfulAction_expectSuccessTimerAndResult() {
+    final var result =
+        this.ingressStageTimer.record(IngressStage.MESSAGE_BUILD, "device", 3, () -> "done");
+
+    assertThat(result).isEqualTo("done");
+    assertThat(this.count(IngressStage.MESSAGE_BUILD, "success")).isEqualTo(1);
+    assertThat(this.count(IngressStage.MESSAGE_BUILD, "failure")).isZero();
+  }
+
+  @Test
+  public void testRecord_givenFailingAction_expectFailureTimerAndExceptionRethrown() {
+    assertThatThrownBy(
+            () ->
+                this.ingressStageTimer.record(
+                    IngressStage.MESSAGE_PUBLISH,
+                    "device",
+                    3,
+                    () -> {
+                      throw new IOException("broker down");
+                    }))
+        .isInstanceOf(IOException.class)
+        .hasMessage("broker down");
+
+    assertThat(this.count(IngressStage.MESSAGE_PUBLISH, "failure")).isEqualTo(1);
+    assertThat(this.count(IngressStage.MESSAGE_PUBLISH, "success")).isZero();
+  }
+
+  @Test
+  public void testRecord_givenRecordingEnabled_expectJfrEventCommitted() throws IOException {
+    final var file = this.directory.resolve("ingress.jfr");
+
+    try (final var recording = new Recording()) {
+      recording.enable(IngressStageEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+
+      this.ingressStageTimer.record(IngressStage.DEFINITION_VALIDATION, "device", 7, () -> null);
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    final var events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals("com.logreposit.IngressStage"))
+            .toList();
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("stage")).isEqualTo("definition_validation");
+    assertThat(events.get(0).getString("deviceId")).isEqualTo("device");
+    assertThat(events.get(0).getInt("readings")).isEqualTo(7);
+    assertThat(events.get(0).getBoolean("success")).isTrue();
+  }
+
+  private long count(IngressStage stage, String outcome) {
+    return this.meterRegistry
+        .get("logreposit.ingress.stage")
+        .tag("stage", stage.getTagValue())
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,209 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LineProtocolReaderTests {
+  private static final Instant DEFAULT_DATE = Instant.parse("2024-05-01T12:00:00Z");
+
+  @Test
+  public void testNext_givenLineWithTagsAndAllFieldTypes_expectReading() throws Exception {
+    final var readings =
+        read(
+            "weather,location=us-midwest,sensor_id=0x14402 temperature=82.5,humidity=62i,"
+                + "count=7u,state=\"ok\" 1465839830100400200");
+
+    assertThat(readings).hasSize(1);
+
+    final var reading = readings.get(0);
+
+    assertThat(reading.getMeasurement()).isEqualTo("weather");
+    assertThat(reading.getDate()).isEqualTo(Instant.parse("2016-06-13T17:43:50.100400200Z"));
+    assertThat(reading.getTags())
+        .extracting(TagDto::getName, TagDto::getValue)
+        .containsExactly(tuple("location", "us-midwest"), tuple("sensor_id", "0x14402"));
+    assertThat(reading.getFields())
+        .extracting(FieldDto::getName, FieldDto::getDatatype)
+        .containsExactly(
+            tuple("temperature", DataType.FLOAT),
+            tuple("humidity", DataType.INTEGER),
+            tuple("count", DataType.INTEGER),
+            tuple("state", DataType.STRING));
+    assertThat(((FloatFieldDto) reading.getFields().get(0)).getValue()).isEqualTo(82.5);
+    assertThat(((IntegerFieldDto) reading.getFields().get(1)).getValue()).isEqualTo(62L);
+    assertThat(((IntegerFieldDto) reading.getFields().get(2)).getValue()).isEqualTo(7L);
+    assertThat(((StringFieldDto) reading.getFields().get(3)).getValue()).isEqualTo("ok");
+  }
+
+  @Test
+  public void testNext_givenLineWithoutTagsAndTimestamp_expectDefaultDate() throws Exception {
+    final var reading = read("data temperature=-1.5e-3").get(0);
+
+    assertThat(reading.getDate()).isEqualTo(DEFAULT_DATE);
+    assertThat(reading.getTags()).isEmpty();
+    assertThat(((FloatFieldDto) reading.getFields().get(0)).getValue()).isEqualTo(-0.0015);
+  }
+
+  @Test
+  public void testNext_givenMultipleLines_expectCommentsAndBlankLinesSkipped() throws Exception {
+    final var readings =
+        read("# comment\r\ndata value=1 1\r\n\r\n   \ndata value=2 2\ndata value=3 3");
+
+    assertThat(readings)
+        .extracting(r -> ((FloatFieldDto) r.getFields().get(0)).getValue())
+        .containsExactly(1.0, 2.0, 3.0);
+  }
+
+  @Test
+  public void testNext_givenRepeatedNames_expectSameStringInstances() throws Exception {
+    final var readings = read("data,location=a value=1 1\ndata,location=a value=2 2");
+
+    assertThat(readings.get(1).getMeasurement()).isSameAs(readings.get(0).getMeasurement());
+    assertThat(readings.get(1).getTags().get(0).getValue())
+        .isSameAs(readings.get(0).getTags().get(0).getValue());
+    assertThat(readings.get(1).getFields().get(0).getName())
+        .isSameAs(readings.get(0).getFields().get(0).getName());
+  }
+
+  @Test
+  public void testNext_givenEscapedCharacters_expectUnescapedValues() throws Exception {
+    final var reading =
+        read("my\\ data,the\\,tag=a\\=b\\ c field\\=key=\"say \\\"hi\\\" \\\\o/\"").get(0);
+
+    assertThat(reading.getMeasurement()).isEqualTo("my data");
+    assertThat(reading.getTags().get(0).getName()).isEqualTo("the,tag");
+    assertThat(reading.getTags().get(0).getValue()).isEqualTo("a=b c");
+    assertThat(reading.getFields().get(0).getName()).isEqualTo("field=key");
+    assertThat(((StringFieldDto) reading.getFields().get(0)).getValue())
+        .isEqualTo("say \"hi\" \\o/");
+  }
+
+  @Test
+  public void testNext_givenMillisecondPrecision_expectTimestampScaled() throws Exception {
+    final var reader =
+        new LineProtocolReader(
+            stream("data value=1 -1500"), LineProtocolPrecision.MILLISECONDS, DEFAULT_DATE);
+
+    assertThat(reader.next().getDate()).isEqualTo(Instant.parse("1969-12-31T23:59:58.500Z"));
+  }
+
+  @Test
+  public void testNext_givenTimestampBeyondInstantRange_expectLineProtocolParseException()
+      throws Exception {
+    for (final var timestamp : List.of("9223372036854775807", "-9223372036854775808")) {
+      final var reader =
+          new LineProtocolReader(
+              stream("m f=1 " + timestamp), LineProtocolPrecision.SECONDS, DEFAULT_DATE);
+
+      final var e = assertThrows(LineProtocolParseException.class, reader::next, timestamp);
+
+      assertThat(e).hasMessage("Line 1: timestamp is out of range");
+    }
+
+    final var reader =
+        new LineProtocolReader(
+            stream("m f=1 31556889864403199"), LineProtocolPrecision.SECONDS, DEFAULT_DATE);
+
+    assertThat(reader.next().getDate()).isEqualTo(Instant.MAX.minusNanos(999_999_999));
+  }
+
+  @Test
+  public void testNext_givenFloatValues_expectSameResultAsDoubleParsing() throws Exception {
+    final var values =
+        List.of(
+            "0",
+            "-0.0",
+            "1.",
+            ".5",
+            "3.141592653589793",
+            "1e22",
+            "1E-22",
+            "123456789012345678901",
+            "0.1234567890123456789",
+            "4.9e-324",
+            "1.7976931348623157e308",
+            "+42");
+
+    for (final var value : values) {
+      final var reading = read("data value=" + value).get(0);
+
+      assertThat(((FloatFieldDto) reading.getFields().get(0)).getValue())
+          .as(value)
+          .isEqualTo(Double.parseDouble(value));
+    }
+  }
+
+  @Test
+  public void testNext_givenIntegerLimits_expectParsed() throws Exception {
+    final var reading = read("data min=-9223372036854775808i,max=9223372036854775807u").get(0);
+
+    assertThat(((IntegerFieldDto) reading.getFields().get(0)).getValue()).isEqualTo(Long.MIN_VALUE);
+    assertThat(((IntegerFieldDto) reading.getFields().get(1)).getValue()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testNext_givenLineLongerThanBuffer_expectReading() throws Exception {
+    final var value = "x".repeat(200_000);
+    final var reading = read("data value=\"" + value + "\"\ndata value=1").get(0);
+
+    assertThat(((StringFieldDto) reading.getFields().get(0)).getValue()).isEqualTo(value);
+  }
+
+  @Test
+  public void testNext_givenInvalidLines_expectLineProtocolParseException() {
+    assertParseError("data", "Line 1: expected field set after measurement and tags");
+    assertParseError("data value", "Line 1: expected '=' after field key");
+    assertParseError("data,location value=1", "Line 1: expected '=' after tag key");
+    assertParseError("data,location= value=1", "Line 1: missing tag value");
+    assertParseError("data value=", "Line 1: missing value of field 'value'");
+    assertParseError("data value=true", "Line 1: boolean value of field 'value' is not supported");
+    assertParseError("data value=1x", "Line 1: invalid float value");
+    assertParseError("data value=NaN", "Line 1: invalid float value");
+    assertParseError("data value=1e999", "Line 1: float value is out of range");
+    assertParseError("data value=9223372036854775808i", "Line 1: integer value is out of range");
+    assertParseError("data value=-1u", "Line 1: unsigned value of field 'value' is negative");
+    assertParseError("data value=\"open", "Line 1: unterminated string value");
+    assertParseError("data value=1 12ab", "Line 1: invalid timestamp");
+    assertParseError("data value=1 1 2", "Line 1: unexpected content after timestamp");
+    assertParseError("data value=1\n,tag=a value=1", "Line 2: missing measurement");
+  }
+
+  private static void assertParseError(String body, String message) {
+    final var e = assertThrows(LineProtocolParseException.class, () -> read(body), body);
+
+    assertThat(e).as(body).hasMessage(message);
+  }
+
+  private static List<ReadingDto> read(String body) throws IOException, LineProtocolParseException {
+    final var readings = new ArrayList<ReadingDto>();
+
+    try (final var reader =
+        new LineProtocolReader(stream(body), LineProtocolPrecision.NANOSECONDS, DEFAULT_DATE)) {
+      for (var reading = reader.next(); reading != null; reading = reader.next()) {
+        readings.add(reading);
+      }
+    }
+
+    return readings;
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,311 @@
+package com.logreposit.logrepositapi.services.ingress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
+import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
+import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingBatch;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
+import com.logreposit.logrepositapi.rest.dtos.validation.ValidKeyName;
+import com.logreposit.logrepositapi.utils.definition.DefinitionValidationException;
+import jakarta.validation.Validation;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+
+public class ReadingBatchValidatorTests {
+  private static final String KEY_NAME_PATTERN =
+      String.format("must match \"%s\"", ValidKeyName.REGEXP);
+
+  @Test
+  public void testValidate_givenValidReadings_expectNoException() throws Exception {
+    final var readings = List.of(sampleReading(), sampleReading());
+
+    ReadingBatchValidator.forDefinition(sampleDefinition()).validate(ReadingBatch.of(readings));
+  }
+
+  @Test
+  public void testValidate_givenUndefinedField_expectDefinitionValidationException() {
+    final var reading = sampleReading();
+
+    reading.getFields().get(1).setName("humidity");
+
+    final var e =
+        assertThrows(
+            DefinitionValidationException.class,
+            () ->
+                ReadingBatchValidator.forDefinition(sampleDefinition())
+                    .validate(ReadingBatch.of(List.of(sampleReading(), reading))));
+
+    assertThat(e)
+        .hasMessage(
+            "Field with name 'humidity' does not exist within Measurement with name 'data' for the given device.");
+  }
+
+  @Test
+  public void testValidate_givenUndefinedAndInvalidReadings_expectReadingValidationException() {
+    final var undefined = sampleReading();
+
+    undefined.setMeasurement("undefined");
+
+    final var invalid = sampleReading();
+
+    invalid.setDate(null);
+
+    final var e =
+        assertThrows(
+            ReadingValidationException.class,
+            () ->
+                ReadingBatchValidator.forDefinition(sampleDefinition())
+                    .validate(ReadingBatch.of(List.of(undefined, invalid))));
+
+    assertThat(e.getFieldErrors())
+        .extracting(FieldError::getField, FieldError::getDefaultMessage)
+        .containsExactly(tuple("readings[1].date", "must not be null"));
+  }
+
+  @Test
+  public void testValidate_givenNoDefinition_expectDefinitionValidationException() {
+    final var batch = ReadingBatch.of(List.of(sampleReading()));
+    final var validator = ReadingBatchValidator.forDefinition(null);
+
+    final var e =
+        assertThrows(DefinitionValidationException.class, () -> validator.validate(batch));
+
+    assertThat(e)
+        .hasMessage("Device definition has not been set yet. Cannot perform definition check.");
+  }
+
+  @Test
+  public void testValidate_givenInvalidReadings_expectSameErrorsAsBeanValidation() {
+    final var readings = new ArrayList<ReadingDto>();
+
+    final var missingDate = sampleReading();
+
+    missingDate.setDate(null);
+    missingDate.setMeasurement(" ");
+    readings.add(missingDate);
+
+    final var invalidTags = sampleReading();
+
+    invalidTags.getTags().get(0).setName("time");
+    invalidTags.getTags().get(0).setValue("");
+    invalidTags.getTags().add(tag("", "b112"));
+    invalidTags.getTags().add(tag(null, "b112"));
+    readings.add(invalidTags);
+
+    final var missingValues = sampleReading();
+
+    missingValues.getFields().add(new FloatFieldDto());
+    missingValues.getFields().add(new IntegerFieldDto());
+    missingValues.getFields().add(new StringFieldDto());
+    missingValues.getFields().add(untypedField("untyped"));
+    missingValues.getFields().get(0).setName("temperature_");
+    readings.add(missingValues);
+
+    final var noFields = sampleReading();
+
+    noFields.setFields(List.of());
+    readings.add(noFields);
+
+    final var nullFields = sampleReading();
+
+    nullFields.setFields(null);
+    readings.add(nullFields);
+
+    final var e =
+        assertThrows(
+            ReadingValidationException.class,
+            () -> ReadingBatchValidator.forDefinition(null).validate(ReadingBatch.of(readings)));
+
+    assertThat(e).hasMessage("Reading at index 0 is invalid");
+    assertThat(e.getFieldErrors())
+        .extracting(
+            FieldError::getField, FieldError::getDefaultMessage, FieldError::getRejectedValue)
+        .containsExactlyInAnyOrderElementsOf(beanValidationErrors(readings));
+  }
+
+  @Test
+  public void testValidate_givenFirstIndex_expectIndicesOffset() {
+    final var reading = sampleReading();
+
+    reading.setMeasurement(null);
+
+    final var e =
+        assertThrows(
+            ReadingValidationException.class,
+            () ->
+                ReadingBatchValidator.forDefinition(null)
+                    .validate(ReadingBatch.of(List.of(sampleReading(), reading)), 10));
+
+    assertThat(e).hasMessage("Reading at index 11 is invalid");
+    assertThat(e.getFieldErrors())
+        .extracting(FieldError::getField, FieldError::getDefaultMessage)
+        .containsExactly(tuple("readings[11].measurement", "must not be blank"));
+  }
+
+  @Test
+  public void testValidate_givenNameDefinedByDefinition_expectNameNotChecked() throws Exception {
+    final var definition = sampleDefinition();
+
+    definition.getMeasurements().get(0).getFields().add(field("Temperature", DataType.FLOAT));
+
+    final var reading = sampleReading();
+
+    reading.getFields().get(0).setName("Temperature");
+
+    ReadingBatchValidator.forDefinition(definition).validate(ReadingBatch.of(List.of(reading)));
+
+    assertThrows(
+        ReadingValidationException.class,
+        () ->
+            ReadingBatchValidator.forDefinition(null).validate(ReadingBatch.of(List.of(reading))));
+  }
+
+  @Test
+  public void testValidate_givenFieldNameOfDefinitionUsedAsTag_expectNameChecked() {
+    final var field = new FieldDefinition();
+
+    field.setName("Temperature");
+    field.setDatatype(DataType.FLOAT);
+
+    final var measurement = new MeasurementDefinition();
+
+    measurement.setName("Data");
+    measurement.setTags(Set.of("location"));
+    measurement.setFields(Set.of(field));
+
+    final var definition = new DeviceDefinition();
+
+    definition.setMeasurements(List.of(measurement));
+
+    final var reading = sampleReading();
+
+    reading.getTags().add(tag("Temperature", "b112"));
+    reading.getFields().get(0).setName("Data");
+
+    final var e =
+        assertThrows(
+            ReadingValidationException.class,
+            () ->
+                ReadingBatchValidator.forDefinition(definition)
+                    .validate(ReadingBatch.of(List.of(reading))));
+
+    assertThat(e.getFieldErrors())
+        .extracting(FieldError::getField, FieldError::getDefaultMessage)
+        .containsExactlyInAnyOrder(
+            tuple("readings[0].tags[1].name", KEY_NAME_PATTERN),
+            tuple("readings[0].fields[0].name", KEY_NAME_PATTERN));
+  }
+
+  @Test
+  public void testIsKeyName_givenNames_expectSameResultAsPattern() {
+    final var pattern = Pattern.compile(ValidKeyName.REGEXP);
+    final var names =
+        List.of(
+            "a", "ab", "a1", "a_1", "a__b", "time", "times", "atime", "_a", "a_", "1a", "A", "aB",
+            "a-b", "a b", " ", "", "t1me", "ä");
+
+    for (final var name : names) {
+      assertThat(ReadingBatchValidator.isKeyName(name))
+          .as(name)
+          .isEqualTo(pattern.matcher(name).matches());
+    }
+  }
+
+  private static List<Tuple> beanValidationErrors(List<ReadingDto> readings) {
+    final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+    final var errors = new ArrayList<Tuple>();
+
+    for (var i = 0; i < readings.size(); i++) {
+      for (final var violation : validator.validate(readings.get(i))) {
+        errors.add(
+            tuple(
+                String.format("readings[%d].%s", i, violation.getPropertyPath()),
+                violation.getMessage(),
+                violation.getInvalidValue()));
+      }
+    }
+
+    return errors;
+  }
+
+  private static DeviceDefinition sampleDefinition() {
+    final var measurement = new MeasurementDefinition();
+
+    measurement.setName("data");
+    measurement.setTags(Set.of("location"));
+    measurement.setFields(
+        new HashSet<>(
+            List.of(field("temperature", DataType.FLOAT), field("state", DataType.STRING))));
+
+    final var definition = new DeviceDefinition();
+
+    definition.setMeasurements(List.of(measurement));
+
+    return definition;
+  }
+
+  private static FieldDefinition field(String name, DataType datatype) {
+    final var field = new FieldDefinition();
+
+    field.setName(name);
+    field.setDatatype(datatype);
+
+    return field;
+  }
+
+  private static ReadingDto sampleReading() {
+    final var temperature = new FloatFieldDto();
+
+    temperature.setName("temperature");
+    temperature.setValue(19.74);
+
+    final var state = new StringFieldDto();
+
+    state.setName("state");
+    state.setValue("on");
+
+    final var reading = new ReadingDto();
+
+    reading.setDate(Instant.now());
+    reading.setMeasurement("data");
+    reading.getTags().add(tag("location", "b112"));
+    reading.getFields().add(temperature);
+    reading.getFields().add(state);
+
+    return reading;
+  }
+
+  private static TagDto tag(String name, String value) {
+    final var tag = new TagDto();
+
+    tag.setName(name);
+    tag.setValue(value);
+
+    return tag;
+  }
+
+  private static FieldDto untypedField(String name) {
+    final var field = new FieldDto();
+
+    field.setName(name);
+
+    return field;
+  }
+}
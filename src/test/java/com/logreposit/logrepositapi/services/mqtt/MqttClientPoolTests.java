@@ -0,0 +1,110 @@
+package com.logreposit.logrepositapi.services.mqtt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.junit.jupiter.api.Test;
+
+public class MqttClientPoolTests {
+  private final MqttClientPool mqttClientPool = new MqttClientPool();
+
+  @Test
+  public void testGetOrCreate_givenConcurrentCallers_expectClientCreatedOnlyOnce()
+      throws Exception {
+    final var client = connectedClient();
+    final var creations = new AtomicInteger();
+    final var start = new CountDownLatch(1);
+    final var futures = new ArrayList<Future<IMqttClient>>();
+
+    try (final var executor = Executors.newFixedThreadPool(8)) {
+      for (var i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+
+                  return this.mqttClientPool.getOrCreate(
+                      "myUser",
+                      () -> {
+                        creations.incrementAndGet();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+
+                        return client;
+                      });
+                }));
+      }
+
+      start.countDown();
+
+      for (final var future : futures) {
+        assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(client);
+      }
+    }
+
+    assertThat(creations).hasValue(1);
+    assertThat(this.mqttClientPool.getClientCount()).isEqualTo(1);
+    assertThat(this.mqttClientPool.getConnectedClientCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGetOrCreate_givenDisconnectedClient_expectEvictedAndReplaced()
+      throws MqttException {
+    final var disconnectedClient = mock(IMqttClient.class);
+    final var newClient = connectedClient();
+
+    this.mqttClientPool.getOrCreate("myUser", () -> disconnectedClient);
+
+    final var client = this.mqttClientPool.getOrCreate("myUser", () -> newClient);
+
+    assertThat(client).isSameAs(newClient);
+
+    verify(disconnectedClient).close();
+  }
+
+  @Test
+  public void testGetOrCreate_givenCreationFails_expectExceptionAndNoClientPooled() {
+    assertThatThrownBy(
+            () ->
+                this.mqttClientPool.getOrCreate(
+                    "myUser",
+                    () -> {
+                      throw new MqttException(MqttException.REASON_CODE_SERVER_CONNECT_ERROR);
+                    }))
+        .isInstanceOf(MqttException.class);
+
+    assertThat(this.mqttClientPool.getClientCount()).isZero();
+  }
+
+  @Test
+  public void testCloseAll_expectClientsDisconnectedAndClosed() throws MqttException {
+    final var client = connectedClient();
+
+    this.mqttClientPool.getOrCreate("myUser", () -> client);
+    this.mqttClientPool.closeAll();
+
+    verify(client).disconnectForcibly();
+    verify(client).close();
+
+    assertThat(this.mqttClientPool.getClientCount()).isZero();
+  }
+
+  private static IMqttClient connectedClient() {
+    final var client = mock(IMqttClient.class);
+
+    when(client.isConnected()).thenReturn(true);
+
+    return client;
+  }
+}
@@ -2,14 +2,14 @@ package com.logreposit.logrepositapi.services.mqtt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.logreposit.logrepositapi.configuration.MqttConfiguration;
 import java.net.UnknownHostException;
-import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
 import org.eclipse.paho.client.mqttv3.MqttException;
-import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -21,7 +21,7 @@ public class MqttClientProviderTests {
 
   @Test
   public void testGetMqttClient_givenMqttSupportDisabled_expectThrowsException() {
-    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, new MqttClientCache());
+    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, new MqttClientPool());
 
     when(mqttConfiguration.isEnabled()).thenReturn(false);
 
@@ -35,10 +35,11 @@ public class MqttClientProviderTests {
   @Test
   public void
       testGetMqttClient_givenMqttSupportEnabled_expectTriesToConnectToConfiguredHostAndThrowsException() {
-    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, new MqttClientCache());
+    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, new MqttClientPool());
 
     when(mqttConfiguration.isEnabled()).thenReturn(true);
     when(mqttConfiguration.getHost()).thenReturn("unknownMqttHost");
+    when(mqttConfiguration.getMaxInflight()).thenReturn(10);
 
     assertThatThrownBy(() -> mqttClientProvider.getMqttClient("myUser", "myPassword"))
         .isExactlyInstanceOf(MqttException.class)
@@ -53,13 +54,14 @@ public class MqttClientProviderTests {
   public void
       testGetMqttClient_givenMqttSupportEnabledAndClientAlreadyCached_expectReturnsCachedClient()
           throws MqttException {
-    final var mqttClientCache = new MqttClientCache();
-    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, mqttClientCache);
+    final var mqttClientPool = new MqttClientPool();
+    final var mqttClientProvider = new MqttClientProvider(mqttConfiguration, mqttClientPool);
 
-    final var alreadyInitializedMqttClient =
-        new MqttClient("tcp://host:12345", "myClientId", new MemoryPersistence());
+    final var alreadyInitializedMqttClient = mock(IMqttClient.class);
 
-    mqttClientCache.put("myUser", alreadyInitializedMqttClient);
+    when(alreadyInitializedMqttClient.isConnected()).thenReturn(true);
+
+    mqttClientPool.getOrCreate("myUser", () -> alreadyInitializedMqttClient);
 
     when(mqttConfiguration.isEnabled()).thenReturn(true);
 
@@ -0,0 +1,63 @@
+package com.logreposit.logrepositapi.services.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class HeavyHitterSketchTests {
+  @Test
+  public void testTop_givenFewerKeysThanCapacity_expectExactCountsInDescendingOrder() {
+    final var sketch = new HeavyHitterSketch(10);
+
+    sketch.add("a", 5);
+    sketch.add("b", 20);
+    sketch.add("a", 10);
+    sketch.add("c", 1);
+
+    assertThat(sketch.top(2))
+        .containsExactly(
+            new HeavyHitterSketch.HeavyHitter("b", 20, 0),
+            new HeavyHitterSketch.HeavyHitter("a", 15, 0));
+  }
+
+  @Test
+  public void testAdd_givenFullSketch_expectMinimumReplacedWithInheritedError() {
+    final var sketch = new HeavyHitterSketch(2);
+
+    sketch.add("a", 10);
+    sketch.add("b", 3);
+    sketch.add("c", 2);
+
+    assertThat(sketch.top(2))
+        .containsExactly(
+            new HeavyHitterSketch.HeavyHitter("a", 10, 0),
+            new HeavyHitterSketch.HeavyHitter("c", 5, 3));
+  }
+
+  @Test
+  public void testTop_givenSkewedStreamWithManyKeys_expectHeavyHittersFound() {
+    final var sketch = new HeavyHitterSketch(50);
+    final var random = new Random(42);
+
+    for (var i = 0; i < 100_000; i++) {
+      final var key = i % 10 == 0 ? "heavy-" + (i / 10 % 3) : "device-" + random.nextInt(10_000);
+
+      sketch.add(key, 1);
+    }
+
+    assertThat(sketch.top(3))
+        .extracting(HeavyHitterSketch.HeavyHitter::key)
+        .containsExactlyInAnyOrder("heavy-0", "heavy-1", "heavy-2");
+  }
+
+  @Test
+  public void testClear_expectNoHeavyHitters() {
+    final var sketch = new HeavyHitterSketch(2);
+
+    sketch.add("a", 1);
+    sketch.clear();
+
+    assertThat(sketch.top(2)).isEmpty();
+  }
+}
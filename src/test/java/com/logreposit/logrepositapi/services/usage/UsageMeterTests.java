@@ -0,0 +1,135 @@
+package com.logreposit.logrepositapi.services.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
+import com.logreposit.logrepositapi.persistence.documents.Device;
+import com.logreposit.logrepositapi.persistence.documents.DeviceUsage;
+import com.logreposit.logrepositapi.persistence.repositories.DeviceUsageRepository;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class UsageMeterTests {
+  @Mock private DeviceUsageRepository deviceUsageRepository;
+
+  @Captor private ArgumentCaptor<DeviceUsage> deviceUsageCaptor;
+
+  private ApplicationConfiguration applicationConfiguration;
+
+  private UsageMeter usageMeter;
+
+  @BeforeEach
+  public void setUp() {
+    this.applicationConfiguration = new ApplicationConfiguration();
+    this.applicationConfiguration.getUsage().setEnabled(true);
+    this.applicationConfiguration.getUsage().setTopK(2);
+
+    this.usageMeter = new UsageMeter(this.applicationConfiguration, this.deviceUsageRepository);
+  }
+
+  @Test
+  public void testFlush_givenRecordedUsage_expectDeltaStoredPerDevice() {
+    final var device = device("device-1", "user-1");
+
+    this.usageMeter.recordAccepted(device, 10, 30, 1000);
+    this.usageMeter.recordAccepted(device, 5, 15, 500);
+    this.usageMeter.recordRejected(device, 2, 4, 0);
+
+    this.usageMeter.flush();
+
+    Mockito.verify(this.deviceUsageRepository).incrementUsage(this.deviceUsageCaptor.capture());
+
+    final var delta = this.deviceUsageCaptor.getValue();
+
+    assertThat(delta.getId()).isEqualTo("device-1");
+    assertThat(delta.getUserId()).isEqualTo("user-1");
+    assertThat(delta.getReadingsAccepted()).isEqualTo(15);
+    assertThat(delta.getFieldsAccepted()).isEqualTo(45);
+    assertThat(delta.getBytesAccepted()).isEqualTo(1500);
+    assertThat(delta.getReadingsRejected()).isEqualTo(2);
+    assertThat(delta.getFieldsRejected()).isEqualTo(4);
+    assertThat(delta.getBytesRejected()).isZero();
+
+    this.usageMeter.flush();
+
+    Mockito.verifyNoMoreInteractions(this.deviceUsageRepository);
+  }
+
+  @Test
+  public void testFlush_givenRepositoryFailure_expectDeltaRetriedWithNextFlush() {
+    final var device = device("device-1", "user-1");
+
+    Mockito.doThrow(new RuntimeException("mongo down"))
+        .doNothing()
+        .when(this.deviceUsageRepository)
+        .incrementUsage(Mockito.any());
+
+    this.usageMeter.recordAccepted(device, 10, 30, 1000);
+    this.usageMeter.flush();
+    this.usageMeter.recordAccepted(device, 1, 3, 100);
+    this.usageMeter.flush();
+
+    Mockito.verify(this.deviceUsageRepository, Mockito.times(2))
+        .incrementUsage(this.deviceUsageCaptor.capture());
+
+    assertThat(this.deviceUsageCaptor.getValue().getReadingsAccepted()).isEqualTo(11);
+    assertThat(this.deviceUsageCaptor.getValue().getBytesAccepted()).isEqualTo(1100);
+  }
+
+  @Test
+  public void testGetTopDevices_givenAcceptedUsage_expectHeaviestDevicesAndUsers() {
+    this.usageMeter.recordAccepted(device("device-1", "user-1"), 10, 10, 100);
+    this.usageMeter.recordAccepted(device("device-2", "user-1"), 30, 30, 50);
+    this.usageMeter.recordAccepted(device("device-3", "user-2"), 20, 20, 300);
+    this.usageMeter.recordRejected(device("device-4", "user-3"), 1000, 1000, 1000);
+
+    assertThat(this.usageMeter.getTopDevicesByReadings())
+        .extracting(HeavyHitterSketch.HeavyHitter::key)
+        .containsExactly("device-2", "device-3");
+    assertThat(this.usageMeter.getTopDevicesByBytes())
+        .extracting(HeavyHitterSketch.HeavyHitter::key)
+        .containsExactly("device-3", "device-1");
+    assertThat(this.usageMeter.getTopUsersByReadings())
+        .extracting(HeavyHitterSketch.HeavyHitter::key, HeavyHitterSketch.HeavyHitter::count)
+        .containsExactly(tuple("user-1", 40L), tuple("user-2", 20L));
+  }
+
+  @Test
+  public void testFlush_expectListenersNotified() {
+    final var notifications = new AtomicInteger();
+
+    this.usageMeter.addFlushListener(notifications::incrementAndGet);
+    this.usageMeter.flush();
+
+    assertThat(notifications).hasValue(1);
+  }
+
+  @Test
+  public void testRecord_givenDisabled_expectNothingRecorded() {
+    this.applicationConfiguration.getUsage().setEnabled(false);
+
+    this.usageMeter.recordAccepted(device("device-1", "user-1"), 10, 10, 100);
+    this.usageMeter.flush();
+
+    assertThat(this.usageMeter.getTopDevicesByReadings()).isEmpty();
+    Mockito.verifyNoInteractions(this.deviceUsageRepository);
+  }
+
+  private static Device device(String id, String userId) {
+    final var device = new Device();
+
+    device.setId(id);
+    device.setUserId(userId);
+
+    return device;
+  }
+}
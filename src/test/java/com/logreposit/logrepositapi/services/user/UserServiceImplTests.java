@@ -3,18 +3,19 @@ package com.logreposit.logrepositapi.services.user;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.logreposit.logrepositapi.communication.messaging.common.Message;
 import com.logreposit.logrepositapi.communication.messaging.dtos.UserCreatedMessageDto;
 import com.logreposit.logrepositapi.communication.messaging.exceptions.MessageSenderException;
 import com.logreposit.logrepositapi.communication.messaging.rabbitmq.RabbitMessageSender;
 import com.logreposit.logrepositapi.communication.messaging.utils.MessageFactory;
+import com.logreposit.logrepositapi.configuration.ApplicationConfiguration;
 import com.logreposit.logrepositapi.persistence.documents.ApiKey;
 import com.logreposit.logrepositapi.persistence.documents.User;
 import com.logreposit.logrepositapi.persistence.repositories.ApiKeyRepository;
 import com.logreposit.logrepositapi.persistence.repositories.UserRepository;
 import com.logreposit.logrepositapi.rest.security.UserRoles;
 import com.logreposit.logrepositapi.services.common.ApiKeyNotFoundException;
+import com.logreposit.logrepositapi.services.common.AuthenticationCache;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -46,18 +47,25 @@ public class UserServiceImplTests {
 
   @Captor private ArgumentCaptor<PageRequest> pageRequestArgumentCaptor;
 
+  private AuthenticationCache authenticationCache;
+
   private UserServiceImpl userService;
 
   @BeforeEach
   public void setUp() {
+    this.authenticationCache = new AuthenticationCache(new ApplicationConfiguration());
+
     this.userService =
         new UserServiceImpl(
-            this.userRepository, this.apiKeyRepository, this.messageFactory, this.messageSender);
+            this.userRepository,
+            this.apiKeyRepository,
+            this.messageFactory,
+            this.messageSender,
+            this.authenticationCache);
   }
 
   @Test
-  public void testCreate()
-      throws UserServiceException, JsonProcessingException, MessageSenderException {
+  public void testCreate() throws UserServiceException, MessageSenderException {
     final var email = UUID.randomUUID() + "@local.local";
     final var roles = Arrays.asList("ROLE1", "ROLE2");
     final var plainTextPassword = UUID.randomUUID().toString();
@@ -208,6 +216,52 @@ public class UserServiceImplTests {
         .findById(Mockito.eq(existentApiKey.getUserId()));
   }
 
+  @Test
+  public void testGetByApiKey_givenCachedApiKey_expectNoDatabaseLookup()
+      throws UserNotFoundException, ApiKeyNotFoundException {
+    final var apiKey = UUID.randomUUID().toString();
+
+    final var existentUser = new User();
+
+    existentUser.setId(UUID.randomUUID().toString());
+    existentUser.setRoles(Arrays.asList("ROLE0", "ROLE1"));
+    existentUser.setEmail("existent@local");
+
+    final var existentApiKey = new ApiKey();
+
+    existentApiKey.setId(UUID.randomUUID().toString());
+    existentApiKey.setKey(apiKey);
+    existentApiKey.setUserId(existentUser.getId());
+    existentApiKey.setCreatedAt(new Date());
+
+    Mockito.when(this.apiKeyRepository.findByKey(Mockito.eq(apiKey)))
+        .thenReturn(Optional.of(existentApiKey));
+    Mockito.when(this.userRepository.findById(Mockito.eq(existentApiKey.getUserId())))
+        .thenReturn(Optional.of(existentUser));
+
+    final var first = this.userService.getByApiKey(apiKey);
+    final var second = this.userService.getByApiKey(apiKey);
+
+    assertThat(first).isSameAs(existentUser);
+    assertThat(second).isSameAs(existentUser);
+
+    Mockito.verify(this.apiKeyRepository, Mockito.times(1)).findByKey(Mockito.eq(apiKey));
+    Mockito.verify(this.userRepository, Mockito.times(1))
+        .findById(Mockito.eq(existentApiKey.getUserId()));
+  }
+
+  @Test
+  public void testGetByApiKey_givenUnknownApiKeyTwice_expectSingleDatabaseLookup() {
+    final var apiKey = UUID.randomUUID().toString();
+
+    Mockito.when(this.apiKeyRepository.findByKey(Mockito.eq(apiKey))).thenReturn(Optional.empty());
+
+    assertThrows(ApiKeyNotFoundException.class, () -> this.userService.getByApiKey(apiKey));
+    assertThrows(ApiKeyNotFoundException.class, () -> this.userService.getByApiKey(apiKey));
+
+    Mockito.verify(this.apiKeyRepository, Mockito.times(1)).findByKey(Mockito.eq(apiKey));
+  }
+
   @Test
   public void testGetByApiKey_noSuchKey() {
     final var apiKey = UUID.randomUUID().toString();
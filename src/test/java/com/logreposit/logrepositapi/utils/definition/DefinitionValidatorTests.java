@@ -7,9 +7,13 @@ import com.logreposit.logrepositapi.persistence.documents.definition.DataType;
 import com.logreposit.logrepositapi.persistence.documents.definition.DeviceDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.FieldDefinition;
 import com.logreposit.logrepositapi.persistence.documents.definition.MeasurementDefinition;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.ColumnBlockDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.FloatFieldDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.IntegerFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.ReadingDto;
+import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringColumnDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.StringFieldDto;
 import com.logreposit.logrepositapi.rest.dtos.request.ingress.TagDto;
 import java.time.Instant;
@@ -144,6 +148,105 @@ public class DefinitionValidatorTests {
             "Measurement with name 'data' does not have the following tags defined: [device_name, network]");
   }
 
+  @Test
+  public void testValidate_givenMeasurementWithoutTagsDefined_expectError() {
+    final var deviceDefinition = sampleDeviceDefinition();
+
+    deviceDefinition.getMeasurements().forEach(m -> m.setTags(null));
+
+    final var definitionValidator = DefinitionValidator.forDefinition(deviceDefinition);
+    final var readingDto = sampleReadingDto();
+
+    final var e =
+        assertThrows(
+            DefinitionValidationException.class,
+            () -> definitionValidator.validate(Collections.singletonList(readingDto)));
+
+    assertThat(e)
+        .hasMessage(
+            "Measurement with name 'data' does not have the following tags defined: [location, sensor_id]");
+  }
+
+  @Test
+  public void testForDefinition_givenSameDefinitionInstance_expectCompiledValidatorReused() {
+    final var deviceDefinition = sampleDeviceDefinition();
+
+    final var first = DefinitionValidator.forDefinition(deviceDefinition);
+    final var second = DefinitionValidator.forDefinition(deviceDefinition);
+    final var third = DefinitionValidator.forDefinition(sampleDeviceDefinition());
+
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotSameAs(first);
+  }
+
+  @Test
+  public void testValidateColumnBlock_givenNoErrors_expectSucceeds() {
+    final var definitionValidator = DefinitionValidator.forDefinition(sampleDeviceDefinition());
+
+    definitionValidator.validate(sampleColumnBlockDto());
+  }
+
+  @Test
+  public void testValidateColumnBlock_givenColumnHasIncorrectDatatype_expectError() {
+    final var definitionValidator = DefinitionValidator.forDefinition(sampleDeviceDefinition());
+    final var block = sampleColumnBlockDto();
+    final var humidityColumn = new FloatColumnDto();
+
+    humidityColumn.setName("humidity");
+    humidityColumn.setValues(new double[] {44.12});
+
+    block.setFields(List.of(humidityColumn));
+
+    final var e =
+        assertThrows(
+            DefinitionValidationException.class, () -> definitionValidator.validate(block));
+
+    assertThat(e)
+        .hasMessage(
+            "Field with name 'humidity' within Measurement with name 'data' does not have the correct dataType defined. Given: FLOAT / Expected: INTEGER");
+  }
+
+  @Test
+  public void testValidateColumnBlock_givenDefinitionNull_expectError() {
+    final var definitionValidator = DefinitionValidator.forDefinition(null);
+    final var block = sampleColumnBlockDto();
+
+    final var e =
+        assertThrows(
+            DefinitionValidationException.class, () -> definitionValidator.validate(block));
+
+    assertThat(e)
+        .hasMessage("Device definition has not been set yet. Cannot perform definition check.");
+  }
+
+  private static ColumnBlockDto sampleColumnBlockDto() {
+    final var readingDto = sampleReadingDto();
+
+    final var temperatureColumn = new FloatColumnDto();
+
+    temperatureColumn.setName("temperature");
+    temperatureColumn.setValues(new double[] {19.242});
+
+    final var humidityColumn = new IntegerColumnDto();
+
+    humidityColumn.setName("humidity");
+    humidityColumn.setValues(new long[] {48L});
+
+    final var stateColumn = new StringColumnDto();
+
+    stateColumn.setName("state");
+    stateColumn.setValues(new String[] {"HUMIDITY_DECREASE"});
+
+    final var block = new ColumnBlockDto();
+
+    block.setMeasurement(readingDto.getMeasurement());
+    block.setTags(readingDto.getTags());
+    block.setTimestamps(new long[] {readingDto.getDate().toEpochMilli()});
+    block.setFields(List.of(temperatureColumn, humidityColumn, stateColumn));
+
+    return block;
+  }
+
   private static ReadingDto sampleReadingDto() {
     final var temperatureField = new FloatFieldDto();
 